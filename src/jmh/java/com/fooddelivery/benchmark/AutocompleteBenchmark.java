@@ -0,0 +1,85 @@
+package com.fooddelivery.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.dto.Suggestion;
+import com.fooddelivery.service.SuggestionTrie;
+
+/**
+ * Latency of autocomplete lookups against {@link SuggestionTrie} for one,
+ * three and eight typed characters. The setup prints the trie's estimated
+ * size and the measured heap growth per entry, so the footprint per million
+ * names can be read off the trial output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AutocompleteBenchmark {
+
+	private static final String[] DISHES = { "pad thai", "green curry", "butter chicken", "margherita pizza",
+			"beef burger", "caesar salad", "pho", "ramen", "falafel wrap", "chicken tikka", "paella", "lasagne",
+			"sushi roll", "tacos al pastor", "fish and chips", "bibimbap", "moussaka", "pierogi", "goulash" };
+	private static final String[] MODIFIERS = { "spicy", "vegan", "gluten free", "classic", "large", "family",
+			"crispy", "smoked", "grilled", "house", "tofu", "prawn", "mushroom", "truffle" };
+
+	@Param({ "1000000" })
+	private int entryCount;
+
+	private SuggestionTrie trie;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		long before = runtime.totalMemory() - runtime.freeMemory();
+
+		SuggestionTrie.Builder builder = SuggestionTrie.builder();
+		Random random = new Random(42);
+		for (int i = 1; i <= entryCount; i++) {
+			String name = MODIFIERS[random.nextInt(MODIFIERS.length)] + " "
+					+ DISHES[random.nextInt(DISHES.length)] + " " + Integer.toString(i, 36);
+			Suggestion.Type type = i % 10 == 0 ? Suggestion.Type.RESTAURANT : Suggestion.Type.DISH;
+			builder.add(type, (long) i, name, random.nextInt(10_000));
+		}
+		trie = builder.build();
+
+		System.gc();
+		long after = runtime.totalMemory() - runtime.freeMemory();
+		System.out.printf("%nentries=%d nodes=%d estimated=%d MiB measured=%d MiB (%d bytes/entry)%n",
+				trie.size(), trie.nodeCount(), trie.estimatedBytes() >> 20, (after - before) >> 20,
+				(after - before) / Math.max(1, trie.size()));
+	}
+
+	@Benchmark
+	public List<Suggestion> oneCharacter() {
+		return trie.suggest("c", 8);
+	}
+
+	@Benchmark
+	public List<Suggestion> threeCharacters() {
+		return trie.suggest("chi", 8);
+	}
+
+	@Benchmark
+	public List<Suggestion> eightCharacters() {
+		return trie.suggest("butter c", 8);
+	}
+}
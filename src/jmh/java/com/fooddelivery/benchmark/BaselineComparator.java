@@ -0,0 +1,107 @@
+package com.fooddelivery.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result file against the checked-in baseline and exits
+ * with a non-zero status when a benchmark regressed by more than the allowed
+ * threshold, either in its primary score or in allocated bytes per operation.
+ *
+ * Usage: {@code BaselineComparator <result.json> <baseline.json> <threshold> [update]}.
+ * With {@code update} set to {@code true} the result file replaces the baseline
+ * instead of being compared. An empty or missing baseline fails the comparison,
+ * since a gate with nothing to compare against would pass every run; record
+ * one first with {@code -Djmh.updateBaseline=true}.
+ */
+public final class BaselineComparator {
+
+	private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+	private BaselineComparator() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("Usage: BaselineComparator <result.json> <baseline.json> <threshold> [update]");
+			System.exit(2);
+		}
+		File resultFile = new File(args[0]);
+		File baselineFile = new File(args[1]);
+		double threshold = Double.parseDouble(args[2]);
+		boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+		if (update) {
+			Files.copy(resultFile.toPath(), baselineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			System.out.println("Baseline updated from " + resultFile);
+			return;
+		}
+
+		ObjectMapper mapper = new ObjectMapper();
+		Map<String, JsonNode> baseline = baselineFile.isFile() ? index(mapper.readTree(baselineFile)) : Map.of();
+		if (baseline.isEmpty()) {
+			System.err.println("No benchmarks in baseline " + baselineFile
+					+ "; record one with -Djmh.updateBaseline=true before relying on the regression gate");
+			System.exit(1);
+		}
+		Map<String, JsonNode> results = index(mapper.readTree(resultFile));
+
+		int regressions = 0;
+		for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+			JsonNode previous = baseline.get(entry.getKey());
+			if (previous == null) {
+				System.out.println("[NEW]  " + entry.getKey() + " (no baseline)");
+				continue;
+			}
+			JsonNode current = entry.getValue();
+			boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+
+			double change = relativeChange(previous.path("primaryResult").path("score").asDouble(),
+					current.path("primaryResult").path("score").asDouble(), higherIsBetter);
+			double allocChange = relativeChange(
+					previous.path("secondaryMetrics").path(ALLOC_METRIC).path("score").asDouble(),
+					current.path("secondaryMetrics").path(ALLOC_METRIC).path("score").asDouble(), false);
+
+			boolean regressed = change > threshold || allocChange > threshold;
+			if (regressed) {
+				regressions++;
+			}
+			System.out.printf("[%s] %s score %+.1f%%, alloc %+.1f%%%n", regressed ? "FAIL" : " OK ", entry.getKey(),
+					change * 100, allocChange * 100);
+		}
+
+		if (regressions > 0) {
+			System.err.println(regressions + " benchmark(s) regressed by more than " + (threshold * 100) + "%");
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Relative change in the "worse" direction: positive means a regression.
+	 */
+	private static double relativeChange(double previous, double current, boolean higherIsBetter) {
+		if (previous <= 0) {
+			return 0;
+		}
+		double change = (current - previous) / previous;
+		return higherIsBetter ? -change : change;
+	}
+
+	private static Map<String, JsonNode> index(JsonNode runs) {
+		Map<String, JsonNode> byKey = new LinkedHashMap<>();
+		for (JsonNode run : runs) {
+			StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+			run.path("params").fields().forEachRemaining(
+					param -> key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+			byKey.put(key.toString(), run);
+		}
+		return byKey;
+	}
+}
@@ -0,0 +1,133 @@
+package com.fooddelivery.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.dto.CourierPing;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.PingBatchResult;
+import com.fooddelivery.repository.CourierLocationSampleRepository;
+import com.fooddelivery.service.CourierLocationStore;
+
+/**
+ * Throughput of {@link CourierLocationStore} in pings per second: batches of
+ * {@value #BATCH_SIZE} pings from four threads, each thread reporting for its
+ * own share of the fleet with a ping every 5 seconds of simulated time per
+ * courier, so one ping in six is sampled into the history. The history is
+ * flushed into a repository that discards it after every iteration; the
+ * database insert itself is not measured. {@code latest} measures the reads
+ * of customers following their courier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(4)
+public class CourierIngestBenchmark {
+
+	static final int BATCH_SIZE = 50;
+
+	private static final long PING_INTERVAL_MILLIS = 5000;
+
+	@Param({ "20000" })
+	private int courierCount;
+
+	private CourierLocationStore store;
+	private final AtomicInteger threads = new AtomicInteger();
+	private long startMillis;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Simulated time runs much faster than the wall clock, so it starts in the past and nothing expires
+		startMillis = Instant.now().minus(Duration.ofDays(7)).toEpochMilli();
+		store = new CourierLocationStore(discardingRepository(), Duration.ofSeconds(30), 200_000,
+				Duration.ofDays(365), Clock.systemUTC());
+	}
+
+	@TearDown(Level.Iteration)
+	public void flush() {
+		store.flush();
+	}
+
+	/**
+	 * The couriers one benchmark thread reports for.
+	 */
+	@State(Scope.Thread)
+	public static class Fleet {
+		long firstCourierId;
+		int size;
+		int next;
+		long round;
+		long startMillis;
+		Random random;
+
+		@Setup(Level.Trial)
+		public void setUp(CourierIngestBenchmark benchmark) {
+			int thread = benchmark.threads.getAndIncrement();
+			size = benchmark.courierCount / 4;
+			firstCourierId = 1 + (long) thread * size;
+			startMillis = benchmark.startMillis;
+			random = new Random(thread);
+		}
+
+		List<CourierPing> nextBatch() {
+			List<CourierPing> batch = new ArrayList<>(BATCH_SIZE);
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				if (next == size) {
+					next = 0;
+					round++;
+				}
+				batch.add(new CourierPing(firstCourierId + next++, 52.1 + random.nextDouble() * 0.5,
+						4.6 + random.nextDouble() * 0.8, Instant.ofEpochMilli(startMillis + round * PING_INTERVAL_MILLIS)));
+			}
+			return batch;
+		}
+
+		long randomCourierId() {
+			return firstCourierId + random.nextInt(size);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public PingBatchResult ingest(Fleet fleet) {
+		return store.ingest(fleet.nextBatch());
+	}
+
+	@Benchmark
+	public CourierPosition latest(Fleet fleet) {
+		return store.latest(fleet.randomCourierId());
+	}
+
+	private static CourierLocationSampleRepository discardingRepository() {
+		return (CourierLocationSampleRepository) Proxy.newProxyInstance(
+				CourierLocationSampleRepository.class.getClassLoader(),
+				new Class<?>[] { CourierLocationSampleRepository.class },
+				(proxy, method, args) -> method.getName().equals("saveAll") ? args[0] : null);
+	}
+}
@@ -0,0 +1,132 @@
+package com.fooddelivery.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CourierRoute;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.service.DispatchPlanner;
+
+/**
+ * Latency of one dispatch round of {@link DispatchPlanner} for 10k orders
+ * waiting in a metropolitan area of about 55 by 55 km, with customers within
+ * about 3 km of their restaurant and fewer couriers than orders, as at peak.
+ * {@code greedy} assigns each order in turn the nearest idle courier, one
+ * order per courier, for comparison. The route cost of both (orders served
+ * and meters travelled per order) is printed after the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class DispatchBenchmark {
+
+	private static final double MAX_PICKUP_METERS = 5000;
+
+	@Param({ "10000" })
+	private int orderCount;
+
+	@Param({ "4000" })
+	private int courierCount;
+
+	private final DispatchPlanner planner = new DispatchPlanner(0.1, 3, 2000, MAX_PICKUP_METERS);
+	private List<DispatchPlanner.Job> jobs;
+	private List<GeoPoint> pickups;
+	private List<GeoPoint> dropoffs;
+	private List<CourierPosition> couriers;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		GeoPoint[] restaurants = new GeoPoint[2000];
+		for (int i = 0; i < restaurants.length; i++) {
+			restaurants[i] = GeoPoint.of(52.1 + random.nextDouble() * 0.5, 4.6 + random.nextDouble() * 0.8);
+		}
+		jobs = new ArrayList<>(orderCount);
+		pickups = new ArrayList<>(orderCount);
+		dropoffs = new ArrayList<>(orderCount);
+		for (int i = 0; i < orderCount; i++) {
+			GeoPoint pickup = restaurants[random.nextInt(restaurants.length)];
+			GeoPoint dropoff = GeoPoint.of(pickup.getLatitude() + (random.nextDouble() - 0.5) * 0.06,
+					pickup.getLongitude() + (random.nextDouble() - 0.5) * 0.1);
+			jobs.add(new DispatchPlanner.Job((long) i, List.of(pickup), dropoff));
+			pickups.add(pickup);
+			dropoffs.add(dropoff);
+		}
+		couriers = new ArrayList<>(courierCount);
+		Instant now = Instant.now();
+		for (int i = 0; i < courierCount; i++) {
+			couriers.add(new CourierPosition((long) i, 52.1 + random.nextDouble() * 0.5,
+					4.6 + random.nextDouble() * 0.8, now));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void reportRouteCost() {
+		int served = 0;
+		double meters = 0;
+		for (CourierRoute route : planner.plan(jobs, couriers)) {
+			served += route.getOrderIds().size();
+			meters += route.getDistanceMeters();
+		}
+		System.out.printf("%nbatched: %d of %d orders served, %.0f m per order%n", served, orderCount,
+				meters / served);
+		double[] greedy = greedy();
+		System.out.printf("greedy:  %.0f of %d orders served, %.0f m per order%n", greedy[0], orderCount,
+				greedy[1] / greedy[0]);
+	}
+
+	@Benchmark
+	public List<CourierRoute> batched() {
+		return planner.plan(jobs, couriers);
+	}
+
+	@Benchmark
+	public double[] greedy() {
+		boolean[] busy = new boolean[couriers.size()];
+		int served = 0;
+		double meters = 0;
+		for (int i = 0; i < pickups.size(); i++) {
+			GeoPoint pickup = pickups.get(i);
+			int nearest = -1;
+			double nearestMeters = MAX_PICKUP_METERS;
+			for (int c = 0; c < busy.length; c++) {
+				if (!busy[c]) {
+					CourierPosition courier = couriers.get(c);
+					double distance = GeoPoint.distanceMeters(courier.getLatitude(), courier.getLongitude(),
+							pickup.getLatitude(), pickup.getLongitude());
+					if (distance < nearestMeters) {
+						nearest = c;
+						nearestMeters = distance;
+					}
+				}
+			}
+			if (nearest >= 0) {
+				busy[nearest] = true;
+				served++;
+				meters += nearestMeters + pickup.distanceTo(dropoffs.get(i));
+			}
+		}
+		return new double[] { served, meters };
+	}
+}
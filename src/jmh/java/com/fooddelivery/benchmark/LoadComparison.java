@@ -0,0 +1,137 @@
+package com.fooddelivery.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test used to compare the platform-thread and the
+ * virtual-thread mode of the application. Each target is a running instance;
+ * every simulated client repeatedly sends a request and waits for the
+ * response until the duration has elapsed. Reports throughput, error count
+ * and latency percentiles per target.
+ *
+ * Usage: {@code LoadComparison <label=url>[,<label=url>...] <path> <clients> <duration>},
+ * e.g. {@code platform=http://localhost:8080,virtual=http://localhost:8081
+ * /api/orders/status/DELIVERED?limit=20 1000 PT60S}. Start one instance with
+ * {@code --spring.threads.virtual.enabled=false} and one with {@code true}.
+ * Pick a path served from the database, not from an in-memory index, so the
+ * comparison includes waiting for a connection.
+ */
+public final class LoadComparison {
+
+	private static final Duration WARMUP = Duration.ofSeconds(10);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+	private LoadComparison() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 4) {
+			System.err.println("Usage: LoadComparison <label=url>[,<label=url>...] <path> <clients> <duration>");
+			System.exit(2);
+		}
+		Map<String, String> targets = new LinkedHashMap<>();
+		for (String target : args[0].split(",")) {
+			int separator = target.indexOf('=');
+			targets.put(target.substring(0, separator), target.substring(separator + 1));
+		}
+		String path = args[1];
+		int clients = Integer.parseInt(args[2]);
+		Duration duration = Duration.parse(args[3]);
+
+		System.out.printf("%-10s %8s %12s %8s %10s %10s %10s%n", "target", "clients", "req/s", "errors", "p50 ms",
+				"p99 ms", "max ms");
+		for (Map.Entry<String, String> target : targets.entrySet()) {
+			URI uri = URI.create(target.getValue() + path);
+			run(uri, clients, WARMUP);
+			Result result = run(uri, clients, duration);
+			System.out.printf("%-10s %8d %12.1f %8d %10.1f %10.1f %10.1f%n", target.getKey(), clients,
+					result.requests / (duration.toNanos() / 1e9), result.errors, result.percentileMillis(0.50),
+					result.percentileMillis(0.99), result.percentileMillis(1.0));
+		}
+	}
+
+	private static Result run(URI uri, int clients, Duration duration) throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+		long deadline = System.nanoTime() + duration.toNanos();
+
+		List<Future<Result>> futures = new ArrayList<>(clients);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				futures.add(executor.submit(() -> {
+					Result result = new Result();
+					while (System.nanoTime() < deadline) {
+						long start = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() >= 400) {
+								result.errors++;
+							}
+						} catch (Exception e) {
+							result.errors++;
+						}
+						result.record(System.nanoTime() - start);
+					}
+					return result;
+				}));
+			}
+		}
+
+		Result total = new Result();
+		for (Future<Result> future : futures) {
+			total.merge(future.get());
+		}
+		return total;
+	}
+
+	/**
+	 * Latencies and error count of one client, mergeable into a total.
+	 */
+	private static final class Result {
+		long[] latencies = new long[1024];
+		int requests;
+		int errors;
+
+		void record(long nanos) {
+			if (requests == latencies.length) {
+				latencies = Arrays.copyOf(latencies, requests * 2);
+			}
+			latencies[requests++] = nanos;
+		}
+
+		void merge(Result other) {
+			if (requests + other.requests > latencies.length) {
+				latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, requests + other.requests));
+			}
+			System.arraycopy(other.latencies, 0, latencies, requests, other.requests);
+			requests += other.requests;
+			errors += other.errors;
+		}
+
+		double percentileMillis(double percentile) {
+			if (requests == 0) {
+				return 0;
+			}
+			long[] sorted = Arrays.copyOf(latencies, requests);
+			Arrays.sort(sorted);
+			int index = (int) Math.min(requests - 1, Math.ceil(percentile * requests) - 1);
+			return sorted[Math.max(index, 0)] / 1e6;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.fooddelivery.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.dto.MenuSearchHit;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.service.MenuSearchIndex;
+
+/**
+ * Latency of menu searches against {@link MenuSearchIndex} over a synthetic
+ * catalog built from a small cuisine vocabulary, so common words match a
+ * large share of the items: an exact two-word query, a query with typos and
+ * a single very common word.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class MenuSearchBenchmark {
+
+	private static final String[] DISHES = { "pad thai", "green curry", "butter chicken", "margherita pizza",
+			"beef burger", "caesar salad", "pho", "ramen", "falafel wrap", "chicken tikka", "paella", "lasagne",
+			"sushi roll", "tacos al pastor", "fish and chips", "pho ga", "bibimbap", "moussaka", "pierogi",
+			"goulash" };
+	private static final String[] MODIFIERS = { "spicy", "vegan", "gluten free", "classic", "large", "family",
+			"crispy", "smoked", "grilled", "house", "chicken", "tofu", "prawn", "mushroom", "truffle" };
+
+	@Param({ "100000", "1000000" })
+	private int itemCount;
+
+	private MenuSearchIndex index;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		index = new MenuSearchIndex(null);
+		Random random = new Random(42);
+		for (int i = 1; i <= itemCount; i++) {
+			Restaurant restaurant = new Restaurant();
+			restaurant.setId((long) (i % 20_000));
+			String name = MODIFIERS[random.nextInt(MODIFIERS.length)] + " "
+					+ DISHES[random.nextInt(DISHES.length)] + " " + Integer.toString(i, 36);
+			String description = MODIFIERS[random.nextInt(MODIFIERS.length)] + " "
+					+ MODIFIERS[random.nextInt(MODIFIERS.length)] + " with rice";
+			index.index(new MenuItem((long) i, name, description, Money.ofMinor(500 + i % 2000), restaurant));
+		}
+	}
+
+	@Benchmark
+	public List<MenuSearchHit> exactPhrase() {
+		return index.search("spicy pad thai", 20);
+	}
+
+	@Benchmark
+	public List<MenuSearchHit> withTypos() {
+		return index.search("buter chiken", 20);
+	}
+
+	@Benchmark
+	public List<MenuSearchHit> commonWord() {
+		return index.search("chicken", 20);
+	}
+}
@@ -0,0 +1,244 @@
+package com.fooddelivery.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.User;
+import com.fooddelivery.service.JournaledOrder;
+import com.fooddelivery.service.OrderJournal;
+import com.fooddelivery.service.OrderService;
+
+/**
+ * Latency distribution of making a placed order durable, sampled so the
+ * report includes p99 and p99.9: inserting the order and its items and
+ * committing, as {@code OrderService.placeOrder} does, against appending it to
+ * the {@link OrderJournal} and waiting for its group commit, as
+ * {@code OrderService.acceptOrder} does.
+ *
+ * The direct mode runs against a file-based H2 database by default, which
+ * does not fsync every commit and so understates commit latency; pass
+ * {@code -Dbenchmark.jdbc-url=jdbc:postgresql://...} (with
+ * {@code benchmark.jdbc-user} and {@code benchmark.jdbc-password}) to measure
+ * against PostgreSQL, where the direct mode pays a WAL flush per order. The
+ * journal always fsyncs, to a temporary directory that should be on the same
+ * kind of disk.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class OrderPlacementLatencyBenchmark {
+
+	private static final int ITEMS_PER_ORDER = 3;
+
+	/**
+	 * The order each thread places over and over: three items, like a typical
+	 * basket.
+	 */
+	@State(Scope.Thread)
+	public static class Basket {
+
+		Order order;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			User customer = new User();
+			customer.setId(1L);
+			List<OrderItem> items = new ArrayList<>();
+			for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+				MenuItem menuItem = new MenuItem();
+				menuItem.setId(100L + i);
+				menuItem.setPrice(Money.ofMinor(500 + i * 250L));
+				OrderItem item = new OrderItem();
+				item.setMenuItem(menuItem);
+				item.setQuantity(i + 1);
+				item.setUnitPrice(menuItem.getPrice());
+				items.add(item);
+			}
+			order = new Order();
+			order.setCustomer(customer);
+			order.setItems(items);
+			order.setStatus(Order.OrderStatus.PLACED);
+			order.setTotalPrice(OrderService.calculateTotal(items));
+		}
+	}
+
+	/**
+	 * The orders tables and an ID sequence shared by all threads.
+	 */
+	@State(Scope.Benchmark)
+	public static class Database {
+
+		String url;
+		String user;
+		String password;
+		Path directory;
+		final AtomicLong ids = new AtomicLong();
+
+		@Setup(Level.Trial)
+		public void setUp() throws IOException, SQLException {
+			url = System.getProperty("benchmark.jdbc-url");
+			user = System.getProperty("benchmark.jdbc-user", "");
+			password = System.getProperty("benchmark.jdbc-password", "");
+			if (url == null) {
+				directory = Files.createTempDirectory("order-placement");
+				url = "jdbc:h2:file:" + directory.resolve("orders") + ";LOCK_TIMEOUT=10000";
+			}
+			try (Connection connection = DriverManager.getConnection(url, user, password);
+					Statement statement = connection.createStatement()) {
+				statement.execute("drop table if exists bench_order_item");
+				statement.execute("drop table if exists bench_order");
+				statement.execute("create table bench_order (id bigint primary key, customer_id bigint not null,"
+						+ " total_price_cents bigint not null, status int not null, order_time timestamp not null,"
+						+ " version bigint not null)");
+				statement.execute("create table bench_order_item (id bigint primary key, order_id bigint not null"
+						+ " references bench_order (id), menu_item_id bigint not null, quantity int not null,"
+						+ " unit_price_cents bigint not null)");
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException, SQLException {
+			try (Connection connection = DriverManager.getConnection(url, user, password);
+					Statement statement = connection.createStatement()) {
+				statement.execute("drop table bench_order_item");
+				statement.execute("drop table bench_order");
+			}
+			deleteRecursively(directory);
+		}
+	}
+
+	/**
+	 * One JDBC connection per benchmark thread, like a pooled connection per
+	 * request.
+	 */
+	@State(Scope.Thread)
+	public static class Session {
+
+		Connection connection;
+		PreparedStatement insertOrder;
+		PreparedStatement insertItem;
+
+		@Setup(Level.Trial)
+		public void open(Database database) throws SQLException {
+			connection = DriverManager.getConnection(database.url, database.user, database.password);
+			connection.setAutoCommit(false);
+			insertOrder = connection.prepareStatement("insert into bench_order"
+					+ " (id, customer_id, total_price_cents, status, order_time, version) values (?, ?, ?, 0, ?, 0)");
+			insertItem = connection.prepareStatement("insert into bench_order_item"
+					+ " (id, order_id, menu_item_id, quantity, unit_price_cents) values (?, ?, ?, ?, ?)");
+		}
+
+		@TearDown(Level.Trial)
+		public void close() throws SQLException {
+			connection.close();
+		}
+	}
+
+	/**
+	 * The journal, in a temporary directory.
+	 */
+	@State(Scope.Benchmark)
+	public static class Journal {
+
+		@Param({ "0", "2" })
+		int groupCommitMillis;
+
+		Path directory;
+		OrderJournal journal;
+
+		@Setup(Level.Trial)
+		public void open() throws IOException {
+			directory = Files.createTempDirectory("order-journal");
+			journal = new OrderJournal(directory, 64 * 1024 * 1024, Duration.ofMillis(groupCommitMillis), 1);
+		}
+
+		@TearDown(Level.Trial)
+		public void close() throws IOException {
+			journal.close();
+			deleteRecursively(directory);
+		}
+	}
+
+	/**
+	 * Inserts the order and its items and commits.
+	 */
+	@Benchmark
+	public long directCommit(Basket basket, Database database, Session session) throws SQLException {
+		Order order = basket.order;
+		long id = database.ids.addAndGet(1 + ITEMS_PER_ORDER) - ITEMS_PER_ORDER;
+		session.insertOrder.setLong(1, id);
+		session.insertOrder.setLong(2, order.getCustomer().getId());
+		session.insertOrder.setLong(3, order.getTotalPrice().getMinorUnits());
+		session.insertOrder.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+		session.insertOrder.executeUpdate();
+		long itemId = id;
+		for (OrderItem item : order.getItems()) {
+			session.insertItem.setLong(1, ++itemId);
+			session.insertItem.setLong(2, id);
+			session.insertItem.setLong(3, item.getMenuItem().getId());
+			session.insertItem.setInt(4, item.getQuantity());
+			session.insertItem.setLong(5, item.getUnitPrice().getMinorUnits());
+			session.insertItem.addBatch();
+		}
+		session.insertItem.executeBatch();
+		session.connection.commit();
+		return id;
+	}
+
+	/**
+	 * Appends the order to the journal and waits until it is on disk.
+	 */
+	@Benchmark
+	public long journalGroupCommit(Basket basket, Journal journal) {
+		basket.order.setOrderTime(LocalDateTime.now());
+		return journal.journal.append(JournaledOrder.of(basket.order).encode()).join();
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		if (directory == null) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.fooddelivery.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.service.OrderService;
+
+/**
+ * Cost of computing an order total: {@link OrderService#calculateTotal} on
+ * integer minor units against the former double-to-BigDecimal stream reduce.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+	@Param({ "3", "30", "300" })
+	private int itemCount;
+
+	private List<OrderItem> items;
+	private List<LegacyLine> legacyLines;
+
+	/**
+	 * An order line as it was priced before the money type: a double price.
+	 */
+	private static final class LegacyLine {
+		final double price;
+		final int quantity;
+
+		LegacyLine(double price, int quantity) {
+			this.price = price;
+			this.quantity = quantity;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		items = new ArrayList<>(itemCount);
+		legacyLines = new ArrayList<>(itemCount);
+		for (int i = 0; i < itemCount; i++) {
+			long priceMinor = 499 + (i % 7) * 100L;
+			int quantity = i % 3 + 1;
+
+			MenuItem menuItem = new MenuItem();
+			menuItem.setId((long) i);
+			menuItem.setName("Item " + i);
+			menuItem.setPrice(Money.ofMinor(priceMinor));
+
+			OrderItem item = new OrderItem();
+			item.setMenuItem(menuItem);
+			item.setQuantity(quantity);
+			items.add(item);
+
+			legacyLines.add(new LegacyLine(priceMinor / 100.0, quantity));
+		}
+	}
+
+	@Benchmark
+	public Money minorUnitsTotal() {
+		return OrderService.calculateTotal(items);
+	}
+
+	@Benchmark
+	public BigDecimal bigDecimalStreamTotal() {
+		return legacyLines.stream()
+				.map(line -> BigDecimal.valueOf(line.price).multiply(BigDecimal.valueOf(line.quantity)))
+				.reduce(BigDecimal.ZERO, BigDecimal::add);
+	}
+}
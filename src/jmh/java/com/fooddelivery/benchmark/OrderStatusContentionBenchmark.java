@@ -0,0 +1,156 @@
+package com.fooddelivery.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of concurrent status transitions on a small set of hot orders:
+ * the optimistic read-then-conditional-UPDATE used by
+ * {@code OrderService.transitionStatus} against a pessimistic SELECT ... FOR
+ * UPDATE. Runs against in-memory H2 over plain JDBC so it needs no database
+ * server; absolute numbers differ from PostgreSQL but the effect of holding
+ * row locks across the read does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class OrderStatusContentionBenchmark {
+
+	private static final String URL = "jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+	// Statuses are stored as ordinals, like the Order entity; transitions cycle between the first two
+	private static final int PLACED = 0;
+	private static final int PREPARING = 1;
+
+	@Param({ "1", "16", "256" })
+	private int hotOrders;
+
+	private Connection setupConnection;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		setupConnection = DriverManager.getConnection(URL);
+		try (Statement statement = setupConnection.createStatement()) {
+			statement.execute("drop table if exists orders");
+			statement.execute("create table orders (id bigint primary key, status int not null, version bigint not null)");
+		}
+		try (PreparedStatement insert = setupConnection
+				.prepareStatement("insert into orders (id, status, version) values (?, ?, 0)")) {
+			for (int id = 0; id < hotOrders; id++) {
+				insert.setLong(1, id);
+				insert.setInt(2, PLACED);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		setupConnection.close();
+	}
+
+	/**
+	 * One JDBC connection per benchmark thread, like a pooled connection per
+	 * request.
+	 */
+	@State(Scope.Thread)
+	public static class Session {
+
+		Connection connection;
+		PreparedStatement readStatus;
+		PreparedStatement updateIfVersion;
+		PreparedStatement lockStatus;
+		PreparedStatement updateLocked;
+
+		@Setup(Level.Trial)
+		public void open() throws SQLException {
+			connection = DriverManager.getConnection(URL);
+			connection.setAutoCommit(false);
+			connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+			readStatus = connection.prepareStatement("select status, version from orders where id = ?");
+			updateIfVersion = connection.prepareStatement(
+					"update orders set status = ?, version = version + 1 where id = ? and version = ?");
+			lockStatus = connection.prepareStatement("select status, version from orders where id = ? for update");
+			updateLocked = connection.prepareStatement("update orders set status = ?, version = version + 1 where id = ?");
+		}
+
+		@TearDown(Level.Trial)
+		public void close() throws SQLException {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Reads status and version, then applies the transition only if the
+	 * version is unchanged, retrying after losing a race.
+	 */
+	@Benchmark
+	public int optimisticConditionalUpdate(Session session) throws SQLException {
+		long id = ThreadLocalRandom.current().nextInt(hotOrders);
+		int attempts = 0;
+		while (true) {
+			attempts++;
+			int status;
+			long version;
+			session.readStatus.setLong(1, id);
+			try (ResultSet row = session.readStatus.executeQuery()) {
+				row.next();
+				status = row.getInt(1);
+				version = row.getLong(2);
+			}
+			session.updateIfVersion.setInt(1, status == PLACED ? PREPARING : PLACED);
+			session.updateIfVersion.setLong(2, id);
+			session.updateIfVersion.setLong(3, version);
+			int updated = session.updateIfVersion.executeUpdate();
+			session.connection.commit();
+			if (updated == 1) {
+				return attempts;
+			}
+		}
+	}
+
+	/**
+	 * Locks the row while reading it, then updates it unconditionally.
+	 */
+	@Benchmark
+	public int pessimisticSelectForUpdate(Session session) throws SQLException {
+		long id = ThreadLocalRandom.current().nextInt(hotOrders);
+		int status;
+		session.lockStatus.setLong(1, id);
+		try (ResultSet row = session.lockStatus.executeQuery()) {
+			row.next();
+			status = row.getInt(1);
+		}
+		session.updateLocked.setInt(1, status == PLACED ? PREPARING : PLACED);
+		session.updateLocked.setLong(2, id);
+		int updated = session.updateLocked.executeUpdate();
+		session.connection.commit();
+		return updated;
+	}
+}
@@ -0,0 +1,97 @@
+package com.fooddelivery.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.service.OrderItemValidator;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Per-order cost of validating the items of an order: the previous approach
+ * (a new validator factory per call) against the shared, fail-fast
+ * {@link OrderItemValidator}. Run with {@code -prof gc} to see allocations per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderValidationBenchmark {
+
+	@Param({ "3", "30" })
+	private int itemCount;
+
+	private List<OrderItem> items;
+	private OrderItemValidator sharedValidator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		MenuItem menuItem = new MenuItem();
+		menuItem.setId(1L);
+		menuItem.setName("Pizza");
+		menuItem.setPrice(Money.of("9.99"));
+
+		items = new ArrayList<>(itemCount);
+		for (int i = 0; i < itemCount; i++) {
+			OrderItem item = new OrderItem();
+			item.setMenuItem(menuItem);
+			item.setQuantity(i % 4 + 1);
+			items.add(item);
+		}
+
+		sharedValidator = new OrderItemValidator();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sharedValidator.close();
+	}
+
+	/**
+	 * The validation code formerly inlined in OrderService.placeOrder.
+	 */
+	@Benchmark
+	public void factoryPerCall(Blackhole blackhole) {
+		ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+		Validator validator = factory.getValidator();
+
+		for (OrderItem item : items) {
+			Set<ConstraintViolation<OrderItem>> violations = validator.validate(item);
+			if (!violations.isEmpty()) {
+				throw new IllegalArgumentException("Invalid OrderItem: " + violations.iterator().next().getMessage());
+			}
+			blackhole.consume(violations);
+		}
+	}
+
+	@Benchmark
+	public void sharedValidator() {
+		sharedValidator.validate(items);
+	}
+}
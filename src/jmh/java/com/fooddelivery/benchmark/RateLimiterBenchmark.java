@@ -0,0 +1,88 @@
+package com.fooddelivery.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.service.AdmissionControl;
+import com.fooddelivery.service.TokenBucketLimiter;
+
+/**
+ * Cost per request of the rate limits in front of the write endpoints: one
+ * user bucket and one address bucket, as {@link AdmissionControl#admit} takes
+ * for an order. Keys are drawn at random from a population of users and
+ * addresses whose buckets all exist already, so the numbers include cache
+ * misses on a large map; {@code hotKey} has every thread hit the same user and
+ * address, the worst case for compare-and-set contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+	/**
+	 * The limiter, with buckets for every key, and the keys.
+	 */
+	@State(Scope.Benchmark)
+	public static class Limits {
+
+		@Param({ "10000", "1000000" })
+		int keyCount;
+
+		AdmissionControl admissionControl;
+		Long[] userIds;
+		String[] addresses;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			// A high rate, so nearly every request is admitted and updates its buckets
+			admissionControl = new AdmissionControl(
+					new TokenBucketLimiter<>(1_000_000, 1_000_000, 64),
+					new TokenBucketLimiter<>(1_000_000, 1_000_000, 64),
+					new TokenBucketLimiter<>(1_000_000, 1_000_000, 64), System::nanoTime);
+			userIds = new Long[keyCount];
+			addresses = new String[keyCount];
+			for (int i = 0; i < keyCount; i++) {
+				userIds[i] = (long) i;
+				addresses[i] = "10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+				admissionControl.admit(userIds[i], addresses[i]);
+			}
+		}
+	}
+
+	/**
+	 * A random source per thread.
+	 */
+	@State(Scope.Thread)
+	public static class Picker {
+
+		final SplittableRandom random = new SplittableRandom();
+	}
+
+	@Benchmark
+	public long randomKey(Limits limits, Picker picker) {
+		int i = picker.random.nextInt(limits.keyCount);
+		return limits.admissionControl.admit(limits.userIds[i], limits.addresses[i]);
+	}
+
+	@Benchmark
+	public long hotKey(Limits limits) {
+		return limits.admissionControl.admit(limits.userIds[0], limits.addresses[0]);
+	}
+}
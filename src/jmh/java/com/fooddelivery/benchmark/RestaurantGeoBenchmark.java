@@ -0,0 +1,86 @@
+package com.fooddelivery.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fooddelivery.dto.NearbyRestaurant;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.service.RestaurantGeoIndex;
+
+/**
+ * Latency of location searches against {@link RestaurantGeoIndex} with the
+ * restaurants spread over a metropolitan area of about 55 by 55 km: the ten
+ * nearest, the ten nearest of one cuisine, and the nearest within 2 km.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RestaurantGeoBenchmark {
+
+	private static final String[] CUISINES = { "thai", "italian", "indian", "mexican", "japanese", "greek",
+			"turkish", "chinese", "french", "lebanese" };
+	private static final int QUERIES = 1024;
+
+	@Param({ "100000" })
+	private int restaurantCount;
+
+	private RestaurantGeoIndex index;
+	private GeoPoint[] queries;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		index = new RestaurantGeoIndex(null);
+		Random random = new Random(42);
+		for (int i = 1; i <= restaurantCount; i++) {
+			Restaurant restaurant = new Restaurant();
+			restaurant.setId((long) i);
+			restaurant.setName("Restaurant " + i);
+			restaurant.setCuisine(CUISINES[random.nextInt(CUISINES.length)]);
+			restaurant.setLatitude(52.1 + random.nextDouble() * 0.5);
+			restaurant.setLongitude(4.6 + random.nextDouble() * 0.8);
+			index.index(restaurant);
+		}
+		queries = new GeoPoint[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = GeoPoint.of(52.1 + random.nextDouble() * 0.5, 4.6 + random.nextDouble() * 0.8);
+		}
+	}
+
+	private GeoPoint nextQuery() {
+		return queries[next++ & (QUERIES - 1)];
+	}
+
+	@Benchmark
+	public List<NearbyRestaurant> nearest() {
+		return index.nearest(nextQuery(), 10, null);
+	}
+
+	@Benchmark
+	public List<NearbyRestaurant> nearestOfCuisine() {
+		return index.nearest(nextQuery(), 10, "thai");
+	}
+
+	@Benchmark
+	public List<NearbyRestaurant> withinRadius() {
+		return index.withinRadius(nextQuery(), 2000, null, 20);
+	}
+}
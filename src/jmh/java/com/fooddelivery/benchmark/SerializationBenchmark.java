@@ -0,0 +1,111 @@
+package com.fooddelivery.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.model.User;
+
+/**
+ * Jackson serialization of the entity graphs returned by the REST endpoints,
+ * using an ObjectMapper configured the way the application configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+	@Param({ "5", "50" })
+	private int size;
+
+	private ObjectMapper objectMapper;
+	private Order order;
+	private MenuItem menuItem;
+	private Restaurant restaurant;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.failOnEmptyBeans(false)
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+
+		restaurant = new Restaurant();
+		restaurant.setId(1L);
+		restaurant.setName("Luigi's");
+		restaurant.setAddress("1 Main Street");
+		restaurant.setCuisine("Italian");
+
+		List<MenuItem> menu = new ArrayList<>(size);
+		List<OrderItem> items = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			MenuItem item = new MenuItem((long) i, "Dish " + i, "A tasty dish number " + i,
+					Money.ofMinor(750 + i * 100L), restaurant);
+			menu.add(item);
+
+			OrderItem orderItem = new OrderItem();
+			orderItem.setId((long) i);
+			orderItem.setMenuItem(item);
+			orderItem.setQuantity(i % 3 + 1);
+			items.add(orderItem);
+		}
+		restaurant.setMenuItems(menu);
+		menuItem = menu.get(0);
+
+		User customer = new User();
+		customer.setId(1L);
+		customer.setName("Jane Doe");
+		customer.setEmail("jane@example.com");
+		customer.setPhoneNumber("5551234567");
+		customer.setAddress("2 Side Street");
+
+		order = new Order();
+		order.setId(1L);
+		order.setCustomer(customer);
+		order.setItems(items);
+		order.setTotalPrice(Money.of("123.45"));
+		order.setStatus(Order.OrderStatus.PLACED);
+		order.setOrderTime(LocalDateTime.of(2025, 1, 1, 12, 0));
+	}
+
+	@Benchmark
+	public byte[] serializeOrder() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(order);
+	}
+
+	@Benchmark
+	public byte[] serializeMenuItem() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(menuItem);
+	}
+
+	@Benchmark
+	public byte[] serializeRestaurant() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(restaurant);
+	}
+}
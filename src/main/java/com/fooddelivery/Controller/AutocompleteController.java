@@ -0,0 +1,43 @@
+package com.fooddelivery.Controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fooddelivery.dto.Suggestion;
+import com.fooddelivery.service.AutocompleteService;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+/**
+ * Controller for search-box suggestions.
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+@Api(value = "Autocomplete", tags = { "Search" })
+public class AutocompleteController {
+
+	@Autowired
+	private AutocompleteService autocompleteService;
+
+	/**
+	 * Suggests restaurant and dish names for what the user typed so far. Not
+	 * logged per request: it is called on every keystroke.
+	 *
+	 * @param q     the prefix typed so far
+	 * @param limit the maximum number of suggestions
+	 * @return ResponseEntity containing the suggestions, most popular first
+	 */
+	@GetMapping
+	@ApiOperation(value = "Suggest restaurant and dish names", response = List.class)
+	public ResponseEntity<List<Suggestion>> suggest(@RequestParam String q,
+			@RequestParam(defaultValue = "" + AutocompleteService.DEFAULT_LIMIT) int limit) {
+		return ResponseEntity.ok(autocompleteService.suggest(q, limit));
+	}
+}
@@ -0,0 +1,149 @@
+package com.fooddelivery.Controller;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fooddelivery.dto.CourierPing;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CourierRoute;
+import com.fooddelivery.dto.PingBatchResult;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.Courier;
+import com.fooddelivery.service.CourierService;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import jakarta.validation.Valid;
+
+/**
+ * Controller for managing couriers and receiving their position pings.
+ */
+@RestController
+@RequestMapping("/api/couriers")
+@Api(value = "Courier Tracking", tags = { "Couriers" })
+public class CourierController {
+
+	private static final Logger logger = LoggerFactory.getLogger(CourierController.class);
+
+	@Autowired
+	private CourierService courierService;
+
+	/**
+	 * Creates a new courier.
+	 *
+	 * @param courier the courier to be created
+	 * @return ResponseEntity containing the created Courier object
+	 */
+	@PostMapping
+	@ApiOperation(value = "Create a new courier", response = Courier.class)
+	public ResponseEntity<Courier> createCourier(@Valid @RequestBody Courier courier) {
+		return ResponseEntity.ok(courierService.createCourier(courier));
+	}
+
+	/**
+	 * Retrieves a courier by its ID.
+	 *
+	 * @param id the ID of the courier
+	 * @return ResponseEntity containing the courier, or 404 if not found
+	 */
+	@GetMapping("/{id}")
+	@ApiOperation(value = "Get courier by ID", response = Courier.class)
+	public ResponseEntity<?> getCourierById(@PathVariable Long id) {
+		try {
+			return ResponseEntity.ok(courierService.getCourierById(id));
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Courier not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Receives a batch of position pings. Apps buffer their fixes and send
+	 * them together, so one request carries many pings, of one or several
+	 * couriers. The pings are applied in memory and the request is answered
+	 * with 202 Accepted before their history is written.
+	 *
+	 * @param pings the pings, at most {@value CourierService#MAX_PINGS_PER_BATCH}
+	 * @return ResponseEntity containing how many pings were accepted, stale or
+	 *         rejected
+	 */
+	@PostMapping("/pings")
+	@ApiOperation(value = "Report courier positions", response = PingBatchResult.class)
+	public ResponseEntity<?> ingestPings(@RequestBody List<CourierPing> pings) {
+		try {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(courierService.ingestPings(pings));
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the latest known position of a courier.
+	 *
+	 * @param id the ID of the courier
+	 * @return ResponseEntity containing the position, or 404 if the courier has
+	 *         not reported one recently
+	 */
+	@GetMapping("/{id}/location")
+	@ApiOperation(value = "Get the latest position of a courier", response = CourierPosition.class)
+	public ResponseEntity<?> getLatestPosition(@PathVariable Long id) {
+		try {
+			return ResponseEntity.ok(courierService.getLatestPosition(id));
+		} catch (ResourceNotFoundException e) {
+			logger.debug("No position: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the route the dispatcher assigned to a courier.
+	 *
+	 * @param id the ID of the courier
+	 * @return ResponseEntity containing the route, or 404 if the courier has no
+	 *         dispatched orders
+	 */
+	@GetMapping("/{id}/route")
+	@ApiOperation(value = "Get the dispatched route of a courier", response = CourierRoute.class)
+	public ResponseEntity<?> getRoute(@PathVariable Long id) {
+		try {
+			return ResponseEntity.ok(courierService.getRoute(id));
+		} catch (ResourceNotFoundException e) {
+			logger.debug("No route: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the downsampled location history of a courier.
+	 *
+	 * @param id      the ID of the courier
+	 * @param minutes how many minutes back to look
+	 * @param limit   the maximum number of samples
+	 * @return ResponseEntity containing the samples, newest first
+	 */
+	@GetMapping("/{id}/history")
+	@ApiOperation(value = "Get the location history of a courier", response = List.class)
+	public ResponseEntity<?> getHistory(@PathVariable Long id, @RequestParam(defaultValue = "60") long minutes,
+			@RequestParam(defaultValue = "" + CourierService.DEFAULT_HISTORY_SIZE) int limit) {
+		try {
+			return ResponseEntity.ok(courierService.getHistory(id, Duration.ofMinutes(minutes), limit));
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+}
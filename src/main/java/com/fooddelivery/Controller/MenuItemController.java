@@ -1,6 +1,7 @@
 package com.fooddelivery.Controller;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.validation.Valid;
 
@@ -17,8 +18,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fooddelivery.dto.MenuSearchHit;
 import com.fooddelivery.model.MenuItem;
 import com.fooddelivery.service.MenuItemService;
 
@@ -88,6 +91,39 @@ public class MenuItemController {
 		return ResponseEntity.ok(menuItems);
 	}
 
+	/**
+	 * Returns hit, miss and load statistics of the restaurant menu cache.
+	 *
+	 * @return ResponseEntity containing the cache statistics
+	 */
+	@GetMapping("/cache/stats")
+	@ApiOperation(value = "Get menu cache statistics", response = Map.class)
+	public ResponseEntity<Map<String, Object>> getMenuCacheStats() {
+		return ResponseEntity.ok(menuItemService.getMenuCacheStats());
+	}
+
+	/**
+	 * Searches dishes by name and description across all restaurants.
+	 *
+	 * @param q     the words to search for; every word must match
+	 * @param limit the maximum number of results, at most
+	 *              {@value MenuItemService#MAX_SEARCH_LIMIT}
+	 * @return ResponseEntity containing the matches, best first
+	 */
+	@GetMapping("/search")
+	@ApiOperation(value = "Search menu items", response = List.class)
+	public ResponseEntity<?> searchMenuItems(@RequestParam String q,
+			@RequestParam(defaultValue = "" + MenuItemService.DEFAULT_SEARCH_LIMIT) int limit) {
+		logger.debug("Searching menu items for: {}", q);
+		try {
+			List<MenuSearchHit> hits = menuItemService.searchMenuItems(q, limit);
+			return ResponseEntity.ok(hits);
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Updates menu item details.
 	 *
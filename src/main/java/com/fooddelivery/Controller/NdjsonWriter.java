@@ -0,0 +1,57 @@
+package com.fooddelivery.Controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes a sequence of objects as newline-delimited JSON, one object per line,
+ * flushing as it goes so the client receives rows while the query is still
+ * running.
+ */
+public final class NdjsonWriter {
+
+	private static final int FLUSH_INTERVAL = 100;
+
+	private NdjsonWriter() {
+	}
+
+	/**
+	 * Creates a response body that serializes everything the source emits.
+	 *
+	 * @param objectMapper the mapper used to serialize each element
+	 * @param source       pushes elements into the consumer it is given
+	 * @param <T>          the element type
+	 * @return the streaming response body
+	 */
+	public static <T> StreamingResponseBody stream(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+		ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		return out -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+				generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+				generator.setRootValueSeparator(null);
+				int[] written = { 0 };
+				source.accept(element -> {
+					try {
+						writer.writeValue(generator, element);
+						generator.writeRaw('\n');
+						if (++written[0] % FLUSH_INTERVAL == 0) {
+							generator.flush();
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+	}
+}
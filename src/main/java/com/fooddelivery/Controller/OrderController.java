@@ -1,29 +1,57 @@
 package com.fooddelivery.Controller;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
-import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fooddelivery.dto.BatchOrderRequest;
+import com.fooddelivery.dto.BatchOrderResult;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.OrderReceipt;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.dto.StatusTransitionRequest;
+import com.fooddelivery.exception.IdempotencyKeyReusedException;
+import com.fooddelivery.exception.OrderConflictException;
+import com.fooddelivery.exception.RequestInProgressException;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.MenuItem;
 import com.fooddelivery.model.Order;
 import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.service.AdmissionControl;
+import com.fooddelivery.service.IdempotencyStore;
+import com.fooddelivery.service.OrderEventBroadcaster;
 import com.fooddelivery.service.OrderService;
+import com.fooddelivery.service.OrderStatusWatcher;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controller for managing orders.
@@ -36,19 +64,76 @@ public class OrderController {
 
 	private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
 
+	static final int MAX_BATCH_SIZE = 500;
+
+	static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
 	@Autowired
 	private OrderService orderService;
 
+	@Autowired
+	private OrderEventBroadcaster orderEventBroadcaster;
+
+	@Autowired
+	private OrderStatusWatcher orderStatusWatcher;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private IdempotencyStore idempotencyStore;
+
+	@Autowired
+	private AdmissionControl admissionControl;
+
 	/**
-	 * Places a new order for the specified user.
+	 * Places a new order for the specified user. The items are validated once,
+	 * in {@link OrderService#placeOrder}, rather than here and again there.
+	 * With the order journal enabled the order is acknowledged with 202 and a
+	 * receipt once it is durable in the journal, and can be fetched by its
+	 * journal sequence.
 	 *
-	 * @param userId the ID of the user placing the order
-	 * @param items  the list of order items
-	 * @return ResponseEntity containing the created Order object
+	 * With an {@code Idempotency-Key} header the order is placed at most once
+	 * per user and key: retries get the stored response of the first request,
+	 * marked with an {@code Idempotent-Replayed} header, and retries arriving
+	 * while it runs wait for it. Reusing a key for different items is refused
+	 * with 422, and a retry that cannot wait for the first request gets 409.
+	 *
+	 * @param userId         the ID of the user placing the order
+	 * @param items          the list of order items
+	 * @param idempotencyKey a key chosen by the client for this order, or null
+	 * @return ResponseEntity containing the created Order object, or the
+	 *         receipt of the accepted order
 	 */
 	@PostMapping("/place")
 	@ApiOperation(value = "Place a new order", response = Order.class)
-	public ResponseEntity<?> placeOrder(@NotNull @RequestParam Long userId, @Valid @RequestBody List<OrderItem> items) {
+	public ResponseEntity<?> placeOrder(@NotNull @RequestParam Long userId, @RequestBody List<OrderItem> items,
+			@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+		if (idempotencyKey == null) {
+			return place(userId, items);
+		}
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyStore.MAX_KEY_LENGTH) {
+			logger.warn("Invalid idempotency key for user ID: {}", userId);
+			return ResponseEntity.badRequest()
+					.body("Idempotency key must be 1 to " + IdempotencyStore.MAX_KEY_LENGTH + " characters");
+		}
+
+		try {
+			return idempotencyStore.execute("orders/place:" + userId + ":" + idempotencyKey,
+					requestHash(userId, items), () -> place(userId, items));
+		} catch (IdempotencyKeyReusedException e) {
+			logger.warn("Idempotency key reused by user ID {}: {}", userId, e.getMessage());
+			return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getMessage());
+		} catch (RequestInProgressException e) {
+			logger.info("Order with the same idempotency key in progress for user ID {}", userId);
+			return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error placing order for user ID {}: {}", userId, e.getMessage(), e);
+			return ResponseEntity.status(500).body("Error placing order: " + e.getMessage());
+		}
+	}
+
+	private ResponseEntity<?> place(Long userId, List<OrderItem> items) {
 		logger.info("Placing order for user ID: {}", userId);
 		try {
 			if (items == null || items.isEmpty()) {
@@ -56,6 +141,10 @@ public class OrderController {
 				return ResponseEntity.badRequest().body("Order items cannot be empty");
 			}
 
+			if (orderService.isJournalEnabled()) {
+				OrderReceipt receipt = orderService.acceptOrder(userId, items);
+				return ResponseEntity.status(HttpStatus.ACCEPTED).body(receipt);
+			}
 			Order order = orderService.placeOrder(userId, items);
 			return ResponseEntity.ok(order);
 
@@ -69,14 +158,114 @@ public class OrderController {
 	}
 
 	/**
-	 * Retrieves orders by their status.
+	 * Renders what makes two order requests the same: the user and each item's
+	 * menu item and quantity. The price sent with an item is left out, since
+	 * orders are priced from the catalogue.
+	 */
+	private static String requestHash(Long userId, List<OrderItem> items) {
+		StringBuilder request = new StringBuilder().append(userId);
+		if (items != null) {
+			for (OrderItem item : items) {
+				request.append('|');
+				if (item == null) {
+					continue;
+				}
+				MenuItem menuItem = item.getMenuItem();
+				request.append(menuItem == null ? null : menuItem.getId()).append(':').append(item.getQuantity());
+			}
+		}
+		return IdempotencyStore.hash(request.toString());
+	}
+
+	/**
+	 * Retrieves an order accepted through the order journal.
+	 *
+	 * @param sequence the journal sequence from the receipt
+	 * @return ResponseEntity containing the order once stored, 202 while it
+	 *         waits to be stored, or 404 if there is no such entry or the
+	 *         order was rejected
+	 */
+	@GetMapping("/journal/{sequence}")
+	@ApiOperation(value = "Get an order by its journal sequence", response = Order.class)
+	public ResponseEntity<?> getJournaledOrder(@PathVariable long sequence) {
+		try {
+			Optional<Order> order = orderService.getJournaledOrder(sequence);
+			if (order.isEmpty()) {
+				return ResponseEntity.accepted().build();
+			}
+			return ResponseEntity.ok(order.get());
+		} catch (ResourceNotFoundException e) {
+			logger.debug("No journaled order: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the position of the order journal and how many orders were
+	 * accepted, stored and rejected through it.
+	 *
+	 * @return ResponseEntity containing the statistics
+	 */
+	@GetMapping("/journal/stats")
+	@ApiOperation(value = "Get order journal statistics", response = Map.class)
+	public ResponseEntity<Map<String, Object>> getJournalStats() {
+		return ResponseEntity.ok(orderService.getJournalStats());
+	}
+
+	/**
+	 * Places many orders in one request and one transaction. Every order in
+	 * the batch counts against the rate limit of the client address, so a
+	 * batch is refused with 429 Too Many Requests when the address has placed
+	 * too many orders recently.
+	 *
+	 * @param requests    the orders to place, at most {@value #MAX_BATCH_SIZE}
+	 * @param httpRequest the request, for the client address
+	 * @return ResponseEntity containing one result per order, in request order
+	 */
+	@PostMapping("/batch")
+	@ApiOperation(value = "Place a batch of orders", response = List.class)
+	public ResponseEntity<?> placeOrders(@RequestBody List<BatchOrderRequest> requests,
+			HttpServletRequest httpRequest) {
+		if (requests == null || requests.isEmpty()) {
+			logger.warn("Order batch cannot be empty");
+			return ResponseEntity.badRequest().body("Order batch cannot be empty");
+		}
+		if (requests.size() > MAX_BATCH_SIZE) {
+			logger.warn("Order batch of {} exceeds the limit of {}", requests.size(), MAX_BATCH_SIZE);
+			return ResponseEntity.badRequest().body("Order batch cannot contain more than " + MAX_BATCH_SIZE + " orders");
+		}
+		long wait = admissionControl.admitBatch(httpRequest.getRemoteAddr(), requests.size());
+		if (wait > 0) {
+			long seconds = AdmissionControl.retryAfterSeconds(wait);
+			logger.warn("Order batch of {} refused by the rate limit", requests.size());
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+					.body("Too many requests, retry after " + seconds + " seconds");
+		}
+
+		logger.info("Placing batch of {} orders", requests.size());
+		try {
+			List<BatchOrderResult> results = orderService.placeOrders(requests);
+			return ResponseEntity.ok(results);
+		} catch (Exception e) {
+			logger.error("Error placing order batch: {}", e.getMessage(), e);
+			return ResponseEntity.status(500).body("Error placing order batch: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves a page of orders by their status. Pages are ordered by order time
+	 * and addressed with the opaque cursor returned as {@code nextCursor}.
 	 *
 	 * @param status the status of the orders to retrieve
-	 * @return ResponseEntity containing a list of orders
+	 * @param cursor the cursor of the page to fetch, or null for the first page
+	 * @param limit  the page size, at most {@value OrderService#MAX_PAGE_SIZE}
+	 * @return ResponseEntity containing a page of orders
 	 */
 	@GetMapping("/status/{status}")
-	@ApiOperation(value = "Get orders by status", response = List.class)
-	public ResponseEntity<?> getOrdersByStatus(@PathVariable Order.OrderStatus status) {
+	@ApiOperation(value = "Get orders by status", response = CursorPage.class)
+	public ResponseEntity<?> getOrdersByStatus(@PathVariable Order.OrderStatus status,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
 		logger.info("Retrieving orders with status: {}", status);
 		try {
 			if (status == null) {
@@ -84,11 +273,157 @@ public class OrderController {
 				return ResponseEntity.badRequest().body("Order status cannot be null");
 			}
 
-			List<Order> orders = orderService.getOrdersByStatus(status);
+			CursorPage<Order> orders = orderService.getOrdersByStatus(status, cursor, limit);
 			return ResponseEntity.ok(orders);
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
 		} catch (Exception e) {
 			logger.error("Error retrieving orders: {}", e.getMessage());
 			return ResponseEntity.internalServerError().body("Error retrieving orders: " + e.getMessage());
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Streams all orders with the given status as newline-delimited JSON.
+	 *
+	 * @param status the status of the orders to stream
+	 * @return ResponseEntity whose body is written incrementally
+	 */
+	@GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@ApiOperation(value = "Stream orders by status as NDJSON")
+	public ResponseEntity<StreamingResponseBody> streamOrdersByStatus(@PathVariable Order.OrderStatus status) {
+		logger.info("Streaming orders with status: {}", status);
+		StreamingResponseBody body = NdjsonWriter.<Order>stream(objectMapper,
+				consumer -> orderService.streamOrdersByStatus(status, consumer));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	/**
+	 * Moves an order to a new status. Concurrent transitions of the same order
+	 * are resolved optimistically: at most one of two conflicting requests
+	 * succeeds and the other receives 409 Conflict.
+	 *
+	 * @param id      the ID of the order
+	 * @param request the target status and, optionally, the expected version
+	 * @return ResponseEntity containing the new status and version
+	 */
+	@PutMapping("/{id}/status")
+	@ApiOperation(value = "Change the status of an order", response = OrderStatusView.class)
+	public ResponseEntity<?> transitionStatus(@PathVariable Long id, @RequestBody StatusTransitionRequest request) {
+		logger.info("Changing status of order ID: {}", id);
+		try {
+			if (request == null || request.getStatus() == null) {
+				logger.warn("Order status cannot be null");
+				return ResponseEntity.badRequest().body("Order status cannot be null");
+			}
+
+			OrderStatusView status = orderService.transitionStatus(id, request.getStatus(),
+					request.getExpectedVersion());
+			return ResponseEntity.ok(status);
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Order not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (OrderConflictException e) {
+			logger.warn("Order conflict: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error changing status of order ID {}: {}", id, e.getMessage(), e);
+			return ResponseEntity.internalServerError().body("Error changing order status: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Assigns a courier to an order.
+	 *
+	 * @param id        the ID of the order
+	 * @param courierId the ID of the courier
+	 * @return ResponseEntity containing the status and new version of the order
+	 */
+	@PutMapping("/{id}/courier")
+	@ApiOperation(value = "Assign a courier to an order", response = OrderStatusView.class)
+	public ResponseEntity<?> assignCourier(@PathVariable Long id, @RequestParam Long courierId) {
+		logger.info("Assigning courier {} to order ID: {}", courierId, id);
+		try {
+			return ResponseEntity.ok(orderService.assignCourier(id, courierId));
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (OrderConflictException e) {
+			logger.warn("Order conflict: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error assigning courier to order ID {}: {}", id, e.getMessage(), e);
+			return ResponseEntity.internalServerError().body("Error assigning courier: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the latest position of the courier delivering an order, for
+	 * orders out for delivery.
+	 *
+	 * @param id the ID of the order
+	 * @return ResponseEntity containing the position, or 404 if the order is
+	 *         not out for delivery or its courier's position is unknown
+	 */
+	@GetMapping("/{id}/courier-location")
+	@ApiOperation(value = "Get the position of the courier of an order", response = CourierPosition.class)
+	public ResponseEntity<?> getCourierPosition(@PathVariable Long id) {
+		try {
+			return ResponseEntity.ok(orderService.getCourierPosition(id));
+		} catch (ResourceNotFoundException e) {
+			logger.debug("No courier position: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the status of an order. With {@code sinceVersion}, the request is
+	 * held open until the order moves past that version or the long-poll
+	 * timeout expires; a response with the same version means nothing
+	 * changed. Unknown orders are answered with 404 by the exception handler.
+	 *
+	 * @param id           the ID of the order
+	 * @param sinceVersion the version the client already has, if any
+	 * @return the current or next status and version of the order
+	 */
+	@GetMapping("/{id}/status")
+	@ApiOperation(value = "Get or wait for the status of an order", response = OrderStatusView.class)
+	public DeferredResult<OrderStatusView> getOrderStatus(@PathVariable Long id,
+			@RequestParam(required = false) Long sinceVersion) {
+		logger.debug("Watching status of order ID: {} since version {}", id, sinceVersion);
+		return orderStatusWatcher.watch(id, sinceVersion);
+	}
+
+	/**
+	 * Streams order creation and status-change events for a restaurant as
+	 * Server-Sent Events. Reconnecting clients send the standard
+	 * {@code Last-Event-ID} header to receive the events they missed.
+	 *
+	 * @param restaurantId the restaurant whose orders to follow
+	 * @param lastEventId  the ID of the last event received, if reconnecting
+	 * @return ResponseEntity whose body is the event stream, or 400 if the
+	 *         Last-Event-ID is not a number
+	 */
+	@GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ApiOperation(value = "Stream order events for a restaurant")
+	public ResponseEntity<SseEmitter> streamOrderEvents(@RequestParam Long restaurantId,
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		logger.info("Opening order event stream for restaurant ID: {}", restaurantId);
+		Long resumeAfter;
+		try {
+			resumeAfter = lastEventId == null || lastEventId.isBlank() ? null : Long.valueOf(lastEventId.trim());
+		} catch (NumberFormatException e) {
+			logger.warn("Invalid Last-Event-ID: {}", lastEventId);
+			return ResponseEntity.badRequest().build();
+		}
+		SseEmitter emitter = orderEventBroadcaster.subscribe(restaurantId, resumeAfter);
+		return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+	}
+}
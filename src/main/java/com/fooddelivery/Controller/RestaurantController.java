@@ -0,0 +1,241 @@
+package com.fooddelivery.Controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fooddelivery.dto.CuisineFacet;
+import com.fooddelivery.dto.NearbyRestaurant;
+import com.fooddelivery.dto.RestaurantBrowsePage;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.exception.UserNotFoundException;
+import com.fooddelivery.model.DeliveryZone;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.service.RestaurantService;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+/**
+ * Controller for browsing and locating restaurants.
+ */
+@RestController
+@RequestMapping("/api/restaurants")
+@Api(value = "Restaurant Browsing", tags = { "Restaurants" })
+public class RestaurantController {
+
+	private static final Logger logger = LoggerFactory.getLogger(RestaurantController.class);
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	/**
+	 * Retrieves a page of restaurants ordered by ID, optionally filtered by
+	 * cuisine, with the number of restaurants per cuisine.
+	 *
+	 * @param cuisine the cuisine to filter by, case-insensitive, or null for all
+	 * @param cursor  the cursor of the page to fetch, or null for the first page
+	 * @param limit   the page size, at most {@value RestaurantService#MAX_PAGE_SIZE}
+	 * @return ResponseEntity containing a page of restaurants and the facets
+	 */
+	@GetMapping
+	@ApiOperation(value = "Browse restaurants", response = RestaurantBrowsePage.class)
+	public ResponseEntity<?> browseRestaurants(@RequestParam(required = false) String cuisine,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + RestaurantService.DEFAULT_PAGE_SIZE) int limit) {
+		logger.debug("Browsing restaurants of cuisine {} after cursor: {}", cuisine, cursor);
+		try {
+			RestaurantBrowsePage page = restaurantService.browse(cuisine, cursor, limit);
+			return ResponseEntity.ok(page);
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error browsing restaurants: {}", e.getMessage(), e);
+			return ResponseEntity.internalServerError().body("Error browsing restaurants: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the number of restaurants per cuisine.
+	 *
+	 * @return ResponseEntity containing the cuisine facets
+	 */
+	@GetMapping("/cuisines")
+	@ApiOperation(value = "Count restaurants per cuisine", response = List.class)
+	public ResponseEntity<List<CuisineFacet>> getCuisineFacets() {
+		return ResponseEntity.ok(restaurantService.getCuisineFacets());
+	}
+
+	/**
+	 * Retrieves the restaurants nearest to a position, or to the delivery
+	 * address of a user, optionally within a radius and of one cuisine.
+	 *
+	 * @param lat          the latitude to search around
+	 * @param lon          the longitude to search around
+	 * @param userId       the user to search around when no coordinates are given
+	 * @param radiusMeters the maximum distance, or null for the nearest at any
+	 *                     distance up to the service maximum
+	 * @param cuisine      the cuisine to filter by, case-insensitive, or null for all
+	 * @param limit        the maximum number of restaurants
+	 * @return ResponseEntity containing the restaurants, nearest first
+	 */
+	@GetMapping("/nearby")
+	@ApiOperation(value = "Find restaurants near a position", response = List.class)
+	public ResponseEntity<?> findNearby(@RequestParam(required = false) Double lat,
+			@RequestParam(required = false) Double lon, @RequestParam(required = false) Long userId,
+			@RequestParam(required = false) Double radiusMeters, @RequestParam(required = false) String cuisine,
+			@RequestParam(defaultValue = "" + RestaurantService.DEFAULT_PAGE_SIZE) int limit) {
+		logger.debug("Finding restaurants near {},{} (user {}) within {} m", lat, lon, userId, radiusMeters);
+		try {
+			List<NearbyRestaurant> restaurants = restaurantService.findNearby(lat, lon, userId, radiusMeters,
+					cuisine, limit);
+			return ResponseEntity.ok(restaurants);
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (UserNotFoundException e) {
+			logger.warn("User not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error finding nearby restaurants: {}", e.getMessage(), e);
+			return ResponseEntity.internalServerError().body("Error finding nearby restaurants: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the IDs of the restaurants whose delivery zone contains a
+	 * position or the delivery address of a user.
+	 *
+	 * @param lat    the latitude to deliver to
+	 * @param lon    the longitude to deliver to
+	 * @param userId the user to deliver to when no coordinates are given
+	 * @return ResponseEntity containing the restaurant IDs
+	 */
+	@GetMapping("/delivering")
+	@ApiOperation(value = "Find restaurants delivering to a position", response = List.class)
+	public ResponseEntity<?> findDeliveringTo(@RequestParam(required = false) Double lat,
+			@RequestParam(required = false) Double lon, @RequestParam(required = false) Long userId) {
+		try {
+			return ResponseEntity.ok(restaurantService.findDeliveringTo(lat, lon, userId));
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (UserNotFoundException e) {
+			logger.warn("User not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the delivery zone of a restaurant.
+	 *
+	 * @param id the ID of the restaurant
+	 * @return ResponseEntity containing the zone as [latitude, longitude]
+	 *         pairs, 204 if the restaurant delivers anywhere or 404 if not found
+	 */
+	@GetMapping("/{id}/delivery-zone")
+	@ApiOperation(value = "Get the delivery zone of a restaurant", response = DeliveryZone.class)
+	public ResponseEntity<?> getDeliveryZone(@PathVariable Long id) {
+		try {
+			DeliveryZone zone = restaurantService.getRestaurantById(id).getDeliveryZone();
+			return zone == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(zone);
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Restaurant not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Sets the delivery zone of a restaurant.
+	 *
+	 * @param id   the ID of the restaurant
+	 * @param zone the zone as [latitude, longitude] pairs
+	 * @return ResponseEntity containing the zone, or 404 if not found
+	 */
+	@PutMapping("/{id}/delivery-zone")
+	@ApiOperation(value = "Set the delivery zone of a restaurant", response = DeliveryZone.class)
+	public ResponseEntity<?> updateDeliveryZone(@PathVariable Long id, @RequestBody DeliveryZone zone) {
+		logger.info("Setting delivery zone of restaurant {}", id);
+		try {
+			return ResponseEntity.ok(restaurantService.updateDeliveryZone(id, zone).getDeliveryZone());
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Restaurant not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Removes the delivery zone of a restaurant, so it delivers anywhere.
+	 *
+	 * @param id the ID of the restaurant
+	 * @return ResponseEntity with no content, or 404 if not found
+	 */
+	@DeleteMapping("/{id}/delivery-zone")
+	@ApiOperation(value = "Remove the delivery zone of a restaurant")
+	public ResponseEntity<?> deleteDeliveryZone(@PathVariable Long id) {
+		logger.info("Removing delivery zone of restaurant {}", id);
+		try {
+			restaurantService.updateDeliveryZone(id, null);
+			return ResponseEntity.noContent().build();
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Restaurant not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Sets the position of a restaurant.
+	 *
+	 * @param id  the ID of the restaurant
+	 * @param lat the new latitude
+	 * @param lon the new longitude
+	 * @return ResponseEntity containing the updated restaurant, 400 for an
+	 *         invalid position or 404 if not found
+	 */
+	@PutMapping("/{id}/location")
+	@ApiOperation(value = "Set the position of a restaurant", response = Restaurant.class)
+	public ResponseEntity<?> updateLocation(@PathVariable Long id, @RequestParam double lat,
+			@RequestParam double lon) {
+		logger.info("Setting position of restaurant {} to {},{}", id, lat, lon);
+		try {
+			return ResponseEntity.ok(restaurantService.updateLocation(id, lat, lon));
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid input: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Restaurant not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves a restaurant by its ID.
+	 *
+	 * @param id the ID of the restaurant
+	 * @return ResponseEntity containing the restaurant, or 404 if not found
+	 */
+	@GetMapping("/{id}")
+	@ApiOperation(value = "Get restaurant by ID", response = Restaurant.class)
+	public ResponseEntity<?> getRestaurantById(@PathVariable Long id) {
+		logger.info("Retrieving restaurant with ID: {}", id);
+		try {
+			return ResponseEntity.ok(restaurantService.getRestaurantById(id));
+		} catch (ResourceNotFoundException e) {
+			logger.warn("Restaurant not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.fooddelivery.Controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.dto.CursorPage;
 import com.fooddelivery.exception.UserNotFoundException;
 import com.fooddelivery.model.User;
 import com.fooddelivery.service.UserService;
@@ -8,14 +10,18 @@ import io.swagger.annotations.ApiOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -32,6 +38,9 @@ public class UserController {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * Creates a new user.
 	 *
@@ -81,16 +90,64 @@ public class UserController {
 	}
 
 	/**
-	 * Retrieves all users.
+	 * Tells whether an email is already taken, ignoring case, e.g. to validate
+	 * a signup form before it is submitted.
+	 *
+	 * @param email the email to check
+	 * @return ResponseEntity containing the email and whether it is registered
+	 */
+	@GetMapping("/email-registered")
+	@ApiOperation(value = "Check whether an email is registered", response = Map.class)
+	public ResponseEntity<Map<String, Object>> isEmailRegistered(@RequestParam @NotBlank @Email String email) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("email", email);
+		body.put("registered", userService.isEmailRegistered(email));
+		return ResponseEntity.ok(body);
+	}
+
+	/**
+	 * Returns hit, miss and load statistics of the user cache.
 	 *
-	 * @return ResponseEntity containing a list of Users
+	 * @return ResponseEntity containing the cache statistics
+	 */
+	@GetMapping("/cache/stats")
+	@ApiOperation(value = "Get user cache statistics", response = Map.class)
+	public ResponseEntity<Map<String, Object>> getUserCacheStats() {
+		return ResponseEntity.ok(userService.getUserCacheStats());
+	}
+
+	/**
+	 * Retrieves a page of users ordered by ID.
+	 *
+	 * @param cursor the cursor of the page to fetch, or null for the first page
+	 * @param limit  the page size, at most {@value UserService#MAX_PAGE_SIZE}
+	 * @return ResponseEntity containing a page of Users
 	 */
 	@GetMapping
-	@ApiOperation(value = "Get all users", response = List.class)
-	public ResponseEntity<List<User>> getAllUsers() {
-		logger.info("Retrieving all users");
-		List<User> users = userService.getAllUsers();
-		return ResponseEntity.ok(users);
+	@ApiOperation(value = "Get users page by page", response = CursorPage.class)
+	public ResponseEntity<CursorPage<User>> getAllUsers(@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int limit) {
+		logger.info("Retrieving users after cursor: {}", cursor);
+		try {
+			CursorPage<User> users = userService.getUsers(cursor, limit);
+			return ResponseEntity.ok(users);
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid cursor: {}", cursor);
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * Streams all users as newline-delimited JSON.
+	 *
+	 * @return ResponseEntity whose body is written incrementally
+	 */
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@ApiOperation(value = "Stream all users as NDJSON")
+	public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+		logger.info("Streaming all users");
+		StreamingResponseBody body = NdjsonWriter.<User>stream(objectMapper, userService::streamAllUsers);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
 	}
 
 	/**
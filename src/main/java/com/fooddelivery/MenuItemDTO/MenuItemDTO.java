@@ -1,8 +1,9 @@
 package com.fooddelivery.MenuItemDTO;
 
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.PositiveMoney;
 import com.fooddelivery.model.Restaurant;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
 /**
@@ -19,8 +20,8 @@ public class MenuItemDTO {
 	private String description;
 
 	@NotNull(message = "Price cannot be null")
-	@Positive(message = "Price must be greater than zero")
-	private double price;
+	@PositiveMoney(message = "Price must be greater than zero")
+	private Money price;
 
 	private Restaurant restaurant;
 
@@ -29,7 +30,7 @@ public class MenuItemDTO {
 	}
 
 	// Parameterized constructor
-	public MenuItemDTO(String name, String description, double price, Restaurant restaurant) {
+	public MenuItemDTO(String name, String description, Money price, Restaurant restaurant) {
 		this.name = name;
 		this.description = description;
 		this.price = price;
@@ -45,7 +46,7 @@ public class MenuItemDTO {
 		return description;
 	}
 
-	public double getPrice() {
+	public Money getPrice() {
 		return price;
 	}
 
@@ -62,7 +63,7 @@ public class MenuItemDTO {
 		this.description = description;
 	}
 
-	public void setPrice(double price) {
+	public void setPrice(Money price) {
 		this.price = price;
 	}
 
@@ -74,7 +75,7 @@ public class MenuItemDTO {
 	public static class Builder {
 		private String name;
 		private String description;
-		private double price;
+		private Money price;
 		private Restaurant restaurant;
 
 		public Builder() {
@@ -90,7 +91,7 @@ public class MenuItemDTO {
 			return this;
 		}
 
-		public Builder price(double price) {
+		public Builder price(Money price) {
 			this.price = price;
 			return this;
 		}
@@ -0,0 +1,113 @@
+package com.fooddelivery.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that admits at most a fixed number of concurrently open
+ * connections, queueing further callers on a fair semaphore. With virtual
+ * threads there is no thread pool limiting how many requests reach the
+ * connection pool at once; the semaphore keeps thousands of waiting requests
+ * off the pool's internal hand-off queue and fails them with a transient
+ * exception once the acquire timeout elapses.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+	private final long acquireTimeoutNanos;
+
+	public BoundedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+		super(target);
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("Max concurrency must be at least 1");
+		}
+		this.permits = new Semaphore(maxConcurrency, true);
+		this.acquireTimeoutNanos = acquireTimeout.toNanos();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(super.getConnection());
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(super.getConnection(username, password));
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the number of connections that can currently be opened without
+	 * waiting.
+	 */
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+				throw new SQLTransientConnectionException("Timed out waiting for a database connection after "
+						+ TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + "ms");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+		}
+	}
+
+	private Connection releasingOnClose(Connection connection) {
+		AtomicBoolean closed = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					// Identity of the proxy itself, so pools can keep it in sets
+					if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+						return proxy == args[0];
+					}
+					if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+						return System.identityHashCode(proxy);
+					}
+					if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+						return "Bounded connection wrapping " + connection;
+					}
+					if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+						try {
+							connection.close();
+						} finally {
+							// Release once, even if close is called repeatedly
+							if (closed.compareAndSet(false, true)) {
+								permits.release();
+							}
+						}
+						return null;
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+}
@@ -0,0 +1,29 @@
+package com.fooddelivery.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+
+/**
+ * Jackson configuration for serializing JPA entities.
+ */
+@Configuration
+public class JacksonConfig {
+
+	/**
+	 * Serializes Hibernate proxies and collections without initializing them.
+	 * With open-session-in-view disabled a lazy association that was not
+	 * fetched by the service is written as its identifier (to-one) or null
+	 * (collections) instead of failing or issuing a query.
+	 *
+	 * @return the module, registered with the application ObjectMapper by
+	 *         Spring Boot
+	 */
+	@Bean
+	public Hibernate6Module hibernate6Module() {
+		Hibernate6Module module = new Hibernate6Module();
+		module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+		return module;
+	}
+}
@@ -0,0 +1,33 @@
+package com.fooddelivery.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fooddelivery.service.AdmissionControl;
+
+/**
+ * Puts the per-user and per-address rate limits in front of the order and
+ * user endpoints, or the ones listed in {@code fooddelivery.rate-limit.paths}.
+ * Disabled with {@code fooddelivery.rate-limit.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fooddelivery.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+	private final AdmissionControl admissionControl;
+	private final String[] paths;
+
+	public RateLimitConfig(AdmissionControl admissionControl,
+			@Value("${fooddelivery.rate-limit.paths:/api/orders/**,/api/users/**}") String[] paths) {
+		this.admissionControl = admissionControl;
+		this.paths = paths;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new RateLimitInterceptor(admissionControl)).addPathPatterns(paths);
+	}
+}
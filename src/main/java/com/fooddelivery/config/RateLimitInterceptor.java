@@ -0,0 +1,67 @@
+package com.fooddelivery.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fooddelivery.service.AdmissionControl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Refuses write requests over the rate limits of their user or client address
+ * with 429 and a Retry-After header, before the controller runs.
+ *
+ * The user is taken from the {@code userId} request parameter when there is
+ * one; the client address is the remote address of the request, which is the
+ * client's own only when Spring Boot is told about trusted proxies
+ * ({@code server.forward-headers-strategy}). Reads are never limited. Order
+ * batches are further charged per order by the controller, which sees the
+ * batch size, with {@link AdmissionControl#admitBatch}.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	private final AdmissionControl admissionControl;
+
+	public RateLimitInterceptor(AdmissionControl admissionControl) {
+		this.admissionControl = admissionControl;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws IOException {
+		String method = request.getMethod();
+		if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+			return true;
+		}
+		long wait = admissionControl.admit(userId(request), request.getRemoteAddr());
+		if (wait == 0) {
+			return true;
+		}
+		long seconds = AdmissionControl.retryAfterSeconds(wait);
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.getWriter().write("Too many requests, retry after " + seconds + " seconds");
+		return false;
+	}
+
+	private static Long userId(HttpServletRequest request) {
+		String userId = request.getParameter("userId");
+		if (userId == null) {
+			return null;
+		}
+		try {
+			return Long.valueOf(userId.trim());
+		} catch (NumberFormatException e) {
+			// Left for the controller to reject
+			return null;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.fooddelivery.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background refreshes.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
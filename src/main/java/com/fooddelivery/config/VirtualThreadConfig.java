@@ -0,0 +1,44 @@
+package com.fooddelivery.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the opt-in virtual-thread mode, enabled with
+ * {@code spring.threads.virtual.enabled=true}. Spring Boot then runs Tomcat
+ * request handling and task executors on virtual threads; this configuration
+ * bounds how many of them may hold a database connection at once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+	/**
+	 * Wraps the application DataSource in a {@link BoundedDataSource}.
+	 *
+	 * @param maxConcurrency the number of connections that may be open at once
+	 * @param acquireTimeout how long a caller waits for a connection
+	 * @return the post-processor
+	 */
+	@Bean
+	public static BeanPostProcessor boundedDataSourcePostProcessor(
+			@Value("${fooddelivery.datasource.max-concurrency:10}") int maxConcurrency,
+			@Value("${fooddelivery.datasource.acquire-timeout:PT30S}") Duration acquireTimeout) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+					return new BoundedDataSource(dataSource, maxConcurrency, acquireTimeout);
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,41 @@
+package com.fooddelivery.dto;
+
+import java.util.List;
+
+import com.fooddelivery.model.OrderItem;
+
+/**
+ * One order within a batch placement request.
+ */
+public class BatchOrderRequest {
+
+	private Long userId;
+
+	private List<OrderItem> items;
+
+	public BatchOrderRequest() {
+	}
+
+	public BatchOrderRequest(Long userId, List<OrderItem> items) {
+		this.userId = userId;
+		this.items = items;
+	}
+
+	// Getters
+	public Long getUserId() {
+		return userId;
+	}
+
+	public List<OrderItem> getItems() {
+		return items;
+	}
+
+	// Setters
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public void setItems(List<OrderItem> items) {
+		this.items = items;
+	}
+}
@@ -0,0 +1,45 @@
+package com.fooddelivery.dto;
+
+/**
+ * Outcome of one order within a batch placement request. {@code index} is the
+ * position of the order in the submitted batch.
+ */
+public class BatchOrderResult {
+
+	private final int index;
+	private final boolean success;
+	private final Long orderId;
+	private final String error;
+
+	private BatchOrderResult(int index, boolean success, Long orderId, String error) {
+		this.index = index;
+		this.success = success;
+		this.orderId = orderId;
+		this.error = error;
+	}
+
+	public static BatchOrderResult success(int index, Long orderId) {
+		return new BatchOrderResult(index, true, orderId, null);
+	}
+
+	public static BatchOrderResult failure(int index, String error) {
+		return new BatchOrderResult(index, false, null, error);
+	}
+
+	// Getters
+	public int getIndex() {
+		return index;
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public String getError() {
+		return error;
+	}
+}
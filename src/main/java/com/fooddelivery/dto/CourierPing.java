@@ -0,0 +1,62 @@
+package com.fooddelivery.dto;
+
+import java.time.Instant;
+
+/**
+ * One GPS fix reported by a courier's app.
+ */
+public class CourierPing {
+
+	private Long courierId;
+
+	private Double latitude;
+
+	private Double longitude;
+
+	// When the fix was taken on the device
+	private Instant recordedAt;
+
+	public CourierPing() {
+	}
+
+	public CourierPing(Long courierId, Double latitude, Double longitude, Instant recordedAt) {
+		this.courierId = courierId;
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.recordedAt = recordedAt;
+	}
+
+	// Getters
+	public Long getCourierId() {
+		return courierId;
+	}
+
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public Instant getRecordedAt() {
+		return recordedAt;
+	}
+
+	// Setters
+	public void setCourierId(Long courierId) {
+		this.courierId = courierId;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
+	public void setRecordedAt(Instant recordedAt) {
+		this.recordedAt = recordedAt;
+	}
+}
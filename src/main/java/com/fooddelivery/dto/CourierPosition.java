@@ -0,0 +1,41 @@
+package com.fooddelivery.dto;
+
+import java.time.Instant;
+
+/**
+ * The latest known position of a courier.
+ */
+public class CourierPosition {
+
+	private final Long courierId;
+	private final double latitude;
+	private final double longitude;
+	private final Instant recordedAt;
+
+	public CourierPosition(Long courierId, double latitude, double longitude, Instant recordedAt) {
+		this.courierId = courierId;
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.recordedAt = recordedAt;
+	}
+
+	// Getters
+	public Long getCourierId() {
+		return courierId;
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+
+	/**
+	 * Returns when the position was taken on the courier's device.
+	 */
+	public Instant getRecordedAt() {
+		return recordedAt;
+	}
+}
@@ -0,0 +1,47 @@
+package com.fooddelivery.dto;
+
+import java.util.List;
+
+/**
+ * Orders batched for one courier, with the order in which to visit their
+ * restaurants and customers.
+ */
+public class CourierRoute {
+
+	private final Long courierId;
+	private final List<Long> orderIds;
+	private final List<RouteStop> stops;
+	private final double distanceMeters;
+
+	public CourierRoute(Long courierId, List<Long> orderIds, List<RouteStop> stops, double distanceMeters) {
+		this.courierId = courierId;
+		this.orderIds = orderIds;
+		this.stops = stops;
+		this.distanceMeters = distanceMeters;
+	}
+
+	// Getters
+	public Long getCourierId() {
+		return courierId;
+	}
+
+	public List<Long> getOrderIds() {
+		return orderIds;
+	}
+
+	/**
+	 * Returns the stops in visiting order. Every order is picked up before it
+	 * is dropped off.
+	 */
+	public List<RouteStop> getStops() {
+		return stops;
+	}
+
+	/**
+	 * Returns the estimated travel distance from the courier's position over
+	 * all stops, in meters.
+	 */
+	public double getDistanceMeters() {
+		return distanceMeters;
+	}
+}
@@ -0,0 +1,36 @@
+package com.fooddelivery.dto;
+
+/**
+ * The number of restaurants serving one cuisine.
+ */
+public class CuisineFacet {
+
+	private final String key;
+	private final String cuisine;
+	private final long count;
+
+	public CuisineFacet(String key, String cuisine, long count) {
+		this.key = key;
+		this.cuisine = cuisine;
+		this.count = count;
+	}
+
+	// Getters
+	/**
+	 * Returns the normalized cuisine to filter by.
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the cuisine as entered on one of its restaurants, for display.
+	 */
+	public String getCuisine() {
+		return cuisine;
+	}
+
+	public long getCount() {
+		return count;
+	}
+}
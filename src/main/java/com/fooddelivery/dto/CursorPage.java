@@ -0,0 +1,34 @@
+package com.fooddelivery.dto;
+
+import java.util.List;
+
+/**
+ * A page of results from a keyset (cursor) paginated query. Pass
+ * {@code nextCursor} back to fetch the following page; it is {@code null} on
+ * the last page.
+ *
+ * @param <T> the element type
+ */
+public class CursorPage<T> {
+
+	private final List<T> items;
+	private final String nextCursor;
+
+	public CursorPage(List<T> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	// Getters
+	public List<T> getItems() {
+		return items;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public boolean isHasMore() {
+		return nextCursor != null;
+	}
+}
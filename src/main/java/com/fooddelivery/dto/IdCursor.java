@@ -0,0 +1,42 @@
+package com.fooddelivery.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the id ordering of users or restaurants, encoded as an opaque
+ * URL-safe token like {@link OrderCursor}.
+ */
+public class IdCursor {
+
+	private final Long id;
+
+	public IdCursor(Long id) {
+		this.id = id;
+	}
+
+	/**
+	 * Decodes a cursor token.
+	 *
+	 * @param token the token returned as {@code nextCursor}
+	 * @return the decoded cursor
+	 * @throws IllegalArgumentException if the token is malformed
+	 */
+	public static IdCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			return new IdCursor(Long.valueOf(raw));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Getters
+	public Long getId() {
+		return id;
+	}
+}
@@ -0,0 +1,36 @@
+package com.fooddelivery.dto;
+
+/**
+ * A menu item matching a search, with its relevance score.
+ */
+public class MenuSearchHit {
+
+	private final Long menuItemId;
+	private final Long restaurantId;
+	private final String name;
+	private final double score;
+
+	public MenuSearchHit(Long menuItemId, Long restaurantId, String name, double score) {
+		this.menuItemId = menuItemId;
+		this.restaurantId = restaurantId;
+		this.name = name;
+		this.score = score;
+	}
+
+	// Getters
+	public Long getMenuItemId() {
+		return menuItemId;
+	}
+
+	public Long getRestaurantId() {
+		return restaurantId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public double getScore() {
+		return score;
+	}
+}
@@ -0,0 +1,53 @@
+package com.fooddelivery.dto;
+
+/**
+ * A restaurant found by a location search, with its distance from the
+ * searched position.
+ */
+public class NearbyRestaurant {
+
+	private final Long restaurantId;
+	private final String name;
+	private final String cuisine;
+	private final double latitude;
+	private final double longitude;
+	private final double distanceMeters;
+
+	public NearbyRestaurant(Long restaurantId, String name, String cuisine, double latitude, double longitude,
+			double distanceMeters) {
+		this.restaurantId = restaurantId;
+		this.name = name;
+		this.cuisine = cuisine;
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.distanceMeters = distanceMeters;
+	}
+
+	// Getters
+	public Long getRestaurantId() {
+		return restaurantId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getCuisine() {
+		return cuisine;
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+
+	/**
+	 * Returns the great-circle distance from the searched position in meters.
+	 */
+	public double getDistanceMeters() {
+		return distanceMeters;
+	}
+}
@@ -0,0 +1,65 @@
+package com.fooddelivery.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.fooddelivery.model.Order;
+
+/**
+ * Position in the (orderTime, id) ordering of orders, encoded as an opaque
+ * URL-safe token.
+ */
+public class OrderCursor {
+
+	private final LocalDateTime orderTime;
+	private final Long id;
+
+	public OrderCursor(LocalDateTime orderTime, Long id) {
+		this.orderTime = orderTime;
+		this.id = id;
+	}
+
+	/**
+	 * Creates the cursor pointing just after the given order.
+	 */
+	public static OrderCursor after(Order order) {
+		return new OrderCursor(order.getOrderTime(), order.getId());
+	}
+
+	/**
+	 * Decodes a cursor token.
+	 *
+	 * @param token the token returned as {@code nextCursor}
+	 * @return the decoded cursor
+	 * @throws IllegalArgumentException if the token is malformed
+	 */
+	public static OrderCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf('|');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+					Long.valueOf(raw.substring(separator + 1)));
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	public String encode() {
+		String raw = orderTime + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Getters
+	public LocalDateTime getOrderTime() {
+		return orderTime;
+	}
+
+	public Long getId() {
+		return id;
+	}
+}
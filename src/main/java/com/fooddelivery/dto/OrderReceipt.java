@@ -0,0 +1,42 @@
+package com.fooddelivery.dto;
+
+import java.time.LocalDateTime;
+
+import com.fooddelivery.model.Money;
+
+/**
+ * Acknowledgement of an order that is durable in the order journal but not
+ * yet stored as an order. The order is looked up by its journal sequence
+ * until it has been persisted.
+ */
+public class OrderReceipt {
+
+	private final long journalSequence;
+	private final Long userId;
+	private final Money totalPrice;
+	private final LocalDateTime orderTime;
+
+	public OrderReceipt(long journalSequence, Long userId, Money totalPrice, LocalDateTime orderTime) {
+		this.journalSequence = journalSequence;
+		this.userId = userId;
+		this.totalPrice = totalPrice;
+		this.orderTime = orderTime;
+	}
+
+	// Getters
+	public long getJournalSequence() {
+		return journalSequence;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public Money getTotalPrice() {
+		return totalPrice;
+	}
+
+	public LocalDateTime getOrderTime() {
+		return orderTime;
+	}
+}
@@ -0,0 +1,68 @@
+package com.fooddelivery.dto;
+
+import com.fooddelivery.model.Order.OrderStatus;
+
+/**
+ * An order creation or status change as pushed to restaurant subscribers.
+ * The event ID is assigned when the event is published and increases
+ * monotonically, so clients can resume after the last event they received.
+ */
+public class OrderStatusEvent {
+
+	public static final String CREATED = "order-created";
+	public static final String STATUS_CHANGED = "order-status-changed";
+
+	private final long eventId;
+	private final Long orderId;
+	private final Long restaurantId;
+	private final OrderStatus status;
+	private final Long version;
+
+	public OrderStatusEvent(Long orderId, Long restaurantId, OrderStatus status, Long version) {
+		this(0, orderId, restaurantId, status, version);
+	}
+
+	public OrderStatusEvent(long eventId, Long orderId, Long restaurantId, OrderStatus status, Long version) {
+		this.eventId = eventId;
+		this.orderId = orderId;
+		this.restaurantId = restaurantId;
+		this.status = status;
+		this.version = version;
+	}
+
+	/**
+	 * Returns a copy of this event with the given event ID.
+	 */
+	public OrderStatusEvent withEventId(long eventId) {
+		return new OrderStatusEvent(eventId, orderId, restaurantId, status, version);
+	}
+
+	/**
+	 * Returns the event type: creation for a newly placed order, otherwise a
+	 * status change.
+	 */
+	public String getType() {
+		return status == OrderStatus.PLACED && version != null && version == 0 ? CREATED : STATUS_CHANGED;
+	}
+
+	// Getters
+	public long getEventId() {
+		return eventId;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public Long getRestaurantId() {
+		return restaurantId;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
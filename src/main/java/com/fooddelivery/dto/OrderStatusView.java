@@ -0,0 +1,32 @@
+package com.fooddelivery.dto;
+
+import com.fooddelivery.model.Order.OrderStatus;
+
+/**
+ * The status of an order together with the version it was read at.
+ */
+public class OrderStatusView {
+
+	private final Long orderId;
+	private final OrderStatus status;
+	private final Long version;
+
+	public OrderStatusView(Long orderId, OrderStatus status, Long version) {
+		this.orderId = orderId;
+		this.status = status;
+		this.version = version;
+	}
+
+	// Getters
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
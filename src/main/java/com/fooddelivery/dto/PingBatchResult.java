@@ -0,0 +1,41 @@
+package com.fooddelivery.dto;
+
+/**
+ * The outcome of ingesting a batch of courier pings.
+ */
+public class PingBatchResult {
+
+	private final int accepted;
+	private final int stale;
+	private final int rejected;
+
+	public PingBatchResult(int accepted, int stale, int rejected) {
+		this.accepted = accepted;
+		this.stale = stale;
+		this.rejected = rejected;
+	}
+
+	// Getters
+	/**
+	 * Returns the number of pings that updated a courier's position.
+	 */
+	public int getAccepted() {
+		return accepted;
+	}
+
+	/**
+	 * Returns the number of pings older than the position already known,
+	 * e.g. delivered out of order after a reconnect.
+	 */
+	public int getStale() {
+		return stale;
+	}
+
+	/**
+	 * Returns the number of invalid pings: no courier, no time, a time in the
+	 * future or coordinates out of range.
+	 */
+	public int getRejected() {
+		return rejected;
+	}
+}
@@ -0,0 +1,24 @@
+package com.fooddelivery.dto;
+
+/**
+ * How often an entity (a menu item or a restaurant) was ordered.
+ */
+public class PopularityCount {
+
+	private final Long id;
+	private final long count;
+
+	public PopularityCount(Long id, Long count) {
+		this.id = id;
+		this.count = count == null ? 0 : count;
+	}
+
+	// Getters
+	public Long getId() {
+		return id;
+	}
+
+	public long getCount() {
+		return count;
+	}
+}
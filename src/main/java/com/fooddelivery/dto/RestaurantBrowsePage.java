@@ -0,0 +1,31 @@
+package com.fooddelivery.dto;
+
+import java.util.List;
+
+import com.fooddelivery.model.Restaurant;
+
+/**
+ * A page of restaurants together with the number of restaurants per cuisine.
+ * The counts and {@code total} come from a periodically refreshed aggregate
+ * and may lag behind the page by up to one refresh interval.
+ */
+public class RestaurantBrowsePage extends CursorPage<Restaurant> {
+
+	private final long total;
+	private final List<CuisineFacet> facets;
+
+	public RestaurantBrowsePage(List<Restaurant> items, String nextCursor, long total, List<CuisineFacet> facets) {
+		super(items, nextCursor);
+		this.total = total;
+		this.facets = facets;
+	}
+
+	// Getters
+	public long getTotal() {
+		return total;
+	}
+
+	public List<CuisineFacet> getFacets() {
+		return facets;
+	}
+}
@@ -0,0 +1,44 @@
+package com.fooddelivery.dto;
+
+/**
+ * A stop on a courier's route: picking up an order at a restaurant or
+ * handing it over at the customer's address.
+ */
+public class RouteStop {
+
+	/**
+	 * What the courier does at a stop.
+	 */
+	public enum Type {
+		PICKUP, DROPOFF
+	}
+
+	private final Long orderId;
+	private final Type type;
+	private final double latitude;
+	private final double longitude;
+
+	public RouteStop(Long orderId, Type type, double latitude, double longitude) {
+		this.orderId = orderId;
+		this.type = type;
+		this.latitude = latitude;
+		this.longitude = longitude;
+	}
+
+	// Getters
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+}
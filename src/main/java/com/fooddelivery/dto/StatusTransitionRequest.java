@@ -0,0 +1,40 @@
+package com.fooddelivery.dto;
+
+import com.fooddelivery.model.Order.OrderStatus;
+
+/**
+ * Request to move an order to a new status. When {@code expectedVersion} is
+ * set the transition only applies if the order is still at that version.
+ */
+public class StatusTransitionRequest {
+
+	private OrderStatus status;
+
+	private Long expectedVersion;
+
+	public StatusTransitionRequest() {
+	}
+
+	public StatusTransitionRequest(OrderStatus status, Long expectedVersion) {
+		this.status = status;
+		this.expectedVersion = expectedVersion;
+	}
+
+	// Getters
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public Long getExpectedVersion() {
+		return expectedVersion;
+	}
+
+	// Setters
+	public void setStatus(OrderStatus status) {
+		this.status = status;
+	}
+
+	public void setExpectedVersion(Long expectedVersion) {
+		this.expectedVersion = expectedVersion;
+	}
+}
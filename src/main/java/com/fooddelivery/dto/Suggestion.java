@@ -0,0 +1,45 @@
+package com.fooddelivery.dto;
+
+/**
+ * An autocomplete suggestion: a restaurant or dish name. Dishes with the
+ * same name at several restaurants are suggested once, with their combined
+ * popularity and the ID of the most popular one.
+ */
+public class Suggestion {
+
+	/**
+	 * What a suggestion names.
+	 */
+	public enum Type {
+		RESTAURANT, DISH
+	}
+
+	private final String text;
+	private final Type type;
+	private final Long id;
+	private final long popularity;
+
+	public Suggestion(String text, Type type, Long id, long popularity) {
+		this.text = text;
+		this.type = type;
+		this.id = id;
+		this.popularity = popularity;
+	}
+
+	// Getters
+	public String getText() {
+		return text;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public long getPopularity() {
+		return popularity;
+	}
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.exception;
+
+/**
+ * Exception thrown when a user cannot be created or updated because another
+ * user already has the email, ignoring case.
+ */
+public class DuplicateEmailException extends RuntimeException {
+
+	/**
+	 * Constructs a new DuplicateEmailException with the specified detail message.
+	 *
+	 * @param message the detail message
+	 */
+	public DuplicateEmailException(String message) {
+		super(message);
+	}
+}
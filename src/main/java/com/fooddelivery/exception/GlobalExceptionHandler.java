@@ -2,6 +2,7 @@ package com.fooddelivery.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -53,6 +54,56 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found: " + e.getMessage());
 	}
 
+	/**
+	 * Handles order conflict exceptions.
+	 *
+	 * @param e the exception that was thrown
+	 * @return ResponseEntity containing the error message and HTTP status
+	 */
+	@ExceptionHandler(OrderConflictException.class)
+	public ResponseEntity<String> handleOrderConflictException(OrderConflictException e) {
+		logger.warn("Order conflict: {}", e.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT).body("Order conflict: " + e.getMessage());
+	}
+
+	/**
+	 * Handles duplicate email exceptions.
+	 *
+	 * @param e the exception that was thrown
+	 * @return ResponseEntity containing the error message and HTTP status
+	 */
+	@ExceptionHandler(DuplicateEmailException.class)
+	public ResponseEntity<String> handleDuplicateEmailException(DuplicateEmailException e) {
+		logger.warn("Duplicate email: {}", e.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT).body("Duplicate email: " + e.getMessage());
+	}
+
+	/**
+	 * Handles idempotency keys reused for a different request.
+	 *
+	 * @param e the exception that was thrown
+	 * @return ResponseEntity containing the error message and HTTP status
+	 */
+	@ExceptionHandler(IdempotencyKeyReusedException.class)
+	public ResponseEntity<String> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+		logger.warn("Idempotency key reused: {}", e.getMessage());
+		return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Idempotency key reused: " + e.getMessage());
+	}
+
+	/**
+	 * Handles requests whose idempotency key is held by a request still in
+	 * progress.
+	 *
+	 * @param e the exception that was thrown
+	 * @return ResponseEntity containing the error message and HTTP status
+	 */
+	@ExceptionHandler(RequestInProgressException.class)
+	public ResponseEntity<String> handleRequestInProgressException(RequestInProgressException e) {
+		logger.info("Request in progress: {}", e.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1")
+				.body("Request in progress: " + e.getMessage());
+	}
+
 	/**
 	 * Handles validation exceptions.
 	 *
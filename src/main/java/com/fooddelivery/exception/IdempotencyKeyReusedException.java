@@ -0,0 +1,18 @@
+package com.fooddelivery.exception;
+
+/**
+ * Exception thrown when an idempotency key is sent again with a different
+ * request than the one it was first used for.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+	/**
+	 * Constructs a new IdempotencyKeyReusedException with the specified detail
+	 * message.
+	 *
+	 * @param message the detail message
+	 */
+	public IdempotencyKeyReusedException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.exception;
+
+/**
+ * Exception thrown when an order cannot be changed because of its current
+ * state, e.g. a disallowed status transition or a stale expected version.
+ */
+public class OrderConflictException extends RuntimeException {
+
+	/**
+	 * Constructs a new OrderConflictException with the specified detail message.
+	 *
+	 * @param message the detail message
+	 */
+	public OrderConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,19 @@
+package com.fooddelivery.exception;
+
+/**
+ * Exception thrown when a request with an idempotency key arrives while an
+ * earlier request with the same key is still running and does not finish in
+ * time to share its response.
+ */
+public class RequestInProgressException extends RuntimeException {
+
+	/**
+	 * Constructs a new RequestInProgressException with the specified detail
+	 * message.
+	 *
+	 * @param message the detail message
+	 */
+	public RequestInProgressException(String message) {
+		super(message);
+	}
+}
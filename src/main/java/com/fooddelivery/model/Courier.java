@@ -0,0 +1,55 @@
+package com.fooddelivery.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents a courier delivering orders.
+ */
+@Entity
+public class Courier {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courier_seq")
+	@SequenceGenerator(name = "courier_seq", sequenceName = "courier_seq", allocationSize = 50)
+	private Long id;
+
+	@NotBlank(message = "Name cannot be blank")
+	@Size(max = 100, message = "Name must be less than 100 characters")
+	private String name;
+
+	@NotBlank(message = "Phone number cannot be blank")
+	@Size(max = 15, message = "Phone number must be less than 15 characters")
+	private String phoneNumber;
+
+	// Getters
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getPhoneNumber() {
+		return phoneNumber;
+	}
+
+	// Setters
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public void setPhoneNumber(String phoneNumber) {
+		this.phoneNumber = phoneNumber;
+	}
+}
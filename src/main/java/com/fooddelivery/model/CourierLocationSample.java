@@ -0,0 +1,72 @@
+package com.fooddelivery.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * A downsampled point of a courier's location history.
+ *
+ * Samples are written in batches by the courier location store and never
+ * updated. The courier is referenced by ID only, so a batch can be inserted
+ * without loading couriers.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_courier_location_courier_time", columnList = "courier_id, recorded_at"))
+public class CourierLocationSample {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courier_location_seq")
+	@SequenceGenerator(name = "courier_location_seq", sequenceName = "courier_location_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "courier_id", nullable = false)
+	private Long courierId;
+
+	@Column(nullable = false)
+	private double latitude;
+
+	@Column(nullable = false)
+	private double longitude;
+
+	@Column(name = "recorded_at", nullable = false)
+	private Instant recordedAt;
+
+	public CourierLocationSample() {
+	}
+
+	public CourierLocationSample(Long courierId, double latitude, double longitude, Instant recordedAt) {
+		this.courierId = courierId;
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.recordedAt = recordedAt;
+	}
+
+	// Getters
+	public Long getId() {
+		return id;
+	}
+
+	public Long getCourierId() {
+		return courierId;
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+
+	public Instant getRecordedAt() {
+		return recordedAt;
+	}
+}
@@ -0,0 +1,225 @@
+package com.fooddelivery.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * The area a restaurant delivers to: a simple polygon of WGS84 vertices.
+ *
+ * Containment is tested on the flat latitude/longitude plane, which is exact
+ * enough for city-sized zones; zones may therefore not cross the antimeridian
+ * and may span at most {@value #MAX_SPAN_DEGREES} degrees. The bounding box is
+ * computed once so most points outside the zone are rejected with four
+ * comparisons. In JSON a zone is an array of {@code [latitude, longitude]}
+ * pairs, and in the database it is stored as text (see
+ * {@link DeliveryZoneConverter}).
+ */
+@JsonSerialize(using = DeliveryZone.Serializer.class)
+@JsonDeserialize(using = DeliveryZone.Deserializer.class)
+public final class DeliveryZone {
+
+	public static final int MAX_VERTICES = 1000;
+	public static final double MAX_SPAN_DEGREES = 2.0;
+
+	private final double[] latitudes;
+	private final double[] longitudes;
+	private final double minLatitude;
+	private final double maxLatitude;
+	private final double minLongitude;
+	private final double maxLongitude;
+
+	private DeliveryZone(double[] latitudes, double[] longitudes) {
+		this.latitudes = latitudes;
+		this.longitudes = longitudes;
+		this.minLatitude = Arrays.stream(latitudes).min().getAsDouble();
+		this.maxLatitude = Arrays.stream(latitudes).max().getAsDouble();
+		this.minLongitude = Arrays.stream(longitudes).min().getAsDouble();
+		this.maxLongitude = Arrays.stream(longitudes).max().getAsDouble();
+	}
+
+	/**
+	 * Creates a zone from its vertices, each a {@code [latitude, longitude]}
+	 * pair. The polygon is closed implicitly; a repeated first vertex at the
+	 * end is dropped.
+	 *
+	 * @throws IllegalArgumentException if there are fewer than three or more
+	 *                                  than {@value #MAX_VERTICES} vertices, a
+	 *                                  coordinate is invalid or the zone is too
+	 *                                  large
+	 */
+	public static DeliveryZone of(double[][] vertices) {
+		if (vertices == null || vertices.length < 3) {
+			throw new IllegalArgumentException("A delivery zone needs at least 3 vertices");
+		}
+		int count = vertices.length;
+		if (Arrays.equals(vertices[0], vertices[count - 1])) {
+			count--;
+		}
+		if (count < 3 || count > MAX_VERTICES) {
+			throw new IllegalArgumentException(
+					"A delivery zone needs between 3 and " + MAX_VERTICES + " vertices: " + count);
+		}
+		double[] latitudes = new double[count];
+		double[] longitudes = new double[count];
+		for (int i = 0; i < count; i++) {
+			if (vertices[i] == null || vertices[i].length != 2) {
+				throw new IllegalArgumentException("Vertex " + i + " must be a [latitude, longitude] pair");
+			}
+			GeoPoint vertex = GeoPoint.of(vertices[i][0], vertices[i][1]);
+			latitudes[i] = vertex.getLatitude();
+			longitudes[i] = vertex.getLongitude();
+		}
+		DeliveryZone zone = new DeliveryZone(latitudes, longitudes);
+		if (zone.maxLatitude - zone.minLatitude > MAX_SPAN_DEGREES
+				|| zone.maxLongitude - zone.minLongitude > MAX_SPAN_DEGREES) {
+			throw new IllegalArgumentException(
+					"A delivery zone may span at most " + MAX_SPAN_DEGREES + " degrees in each direction");
+		}
+		return zone;
+	}
+
+	/**
+	 * Parses the text form written by {@link #toText()}.
+	 *
+	 * @throws IllegalArgumentException if the text is not a valid zone
+	 */
+	public static DeliveryZone parse(String text) {
+		String[] pairs = text.trim().split(";");
+		double[][] vertices = new double[pairs.length][];
+		try {
+			for (int i = 0; i < pairs.length; i++) {
+				String[] pair = pairs[i].trim().split(" ");
+				vertices[i] = new double[] { Double.parseDouble(pair[0]), Double.parseDouble(pair[1]) };
+			}
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid delivery zone: " + text, e);
+		}
+		return of(vertices);
+	}
+
+	/**
+	 * Returns whether a position is inside the zone, by counting crossings of
+	 * a ray going east from the position.
+	 */
+	public boolean contains(double latitude, double longitude) {
+		if (latitude < minLatitude || latitude > maxLatitude || longitude < minLongitude
+				|| longitude > maxLongitude) {
+			return false;
+		}
+		boolean inside = false;
+		for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+			if ((latitudes[i] > latitude) != (latitudes[j] > latitude)) {
+				double crossing = longitudes[i] + (latitude - latitudes[i]) * (longitudes[j] - longitudes[i])
+						/ (latitudes[j] - latitudes[i]);
+				if (longitude < crossing) {
+					inside = !inside;
+				}
+			}
+		}
+		return inside;
+	}
+
+	public boolean contains(GeoPoint point) {
+		return contains(point.getLatitude(), point.getLongitude());
+	}
+
+	public int getVertexCount() {
+		return latitudes.length;
+	}
+
+	public double getMinLatitude() {
+		return minLatitude;
+	}
+
+	public double getMaxLatitude() {
+		return maxLatitude;
+	}
+
+	public double getMinLongitude() {
+		return minLongitude;
+	}
+
+	public double getMaxLongitude() {
+		return maxLongitude;
+	}
+
+	/**
+	 * Returns the vertices as {@code [latitude, longitude]} pairs.
+	 */
+	public double[][] toArray() {
+		double[][] vertices = new double[latitudes.length][];
+		for (int i = 0; i < latitudes.length; i++) {
+			vertices[i] = new double[] { latitudes[i], longitudes[i] };
+		}
+		return vertices;
+	}
+
+	/**
+	 * Returns the vertices as {@code "lat lon;lat lon;..."}.
+	 */
+	public String toText() {
+		StringBuilder text = new StringBuilder(latitudes.length * 24);
+		for (int i = 0; i < latitudes.length; i++) {
+			if (i > 0) {
+				text.append(';');
+			}
+			text.append(latitudes[i]).append(' ').append(longitudes[i]);
+		}
+		return text.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof DeliveryZone && Arrays.equals(((DeliveryZone) o).latitudes, latitudes)
+				&& Arrays.equals(((DeliveryZone) o).longitudes, longitudes);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(latitudes) + Arrays.hashCode(longitudes);
+	}
+
+	@Override
+	public String toString() {
+		return toText();
+	}
+
+	/**
+	 * Writes the zone as an array of {@code [latitude, longitude]} pairs.
+	 */
+	public static class Serializer extends JsonSerializer<DeliveryZone> {
+		@Override
+		public void serialize(DeliveryZone value, JsonGenerator gen, SerializerProvider serializers)
+				throws IOException {
+			gen.writeStartArray();
+			for (int i = 0; i < value.latitudes.length; i++) {
+				gen.writeArray(new double[] { value.latitudes[i], value.longitudes[i] }, 0, 2);
+			}
+			gen.writeEndArray();
+		}
+	}
+
+	/**
+	 * Reads a zone from an array of {@code [latitude, longitude]} pairs.
+	 */
+	public static class Deserializer extends JsonDeserializer<DeliveryZone> {
+		@Override
+		public DeliveryZone deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			double[][] vertices = ctxt.readValue(p, double[][].class);
+			try {
+				return DeliveryZone.of(vertices);
+			} catch (IllegalArgumentException e) {
+				return (DeliveryZone) ctxt.reportInputMismatch(DeliveryZone.class, e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.fooddelivery.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link DeliveryZone} as a text column of {@code "lat lon;..."}
+ * vertices.
+ */
+@Converter(autoApply = true)
+public class DeliveryZoneConverter implements AttributeConverter<DeliveryZone, String> {
+
+	@Override
+	public String convertToDatabaseColumn(DeliveryZone attribute) {
+		return attribute == null ? null : attribute.toText();
+	}
+
+	@Override
+	public DeliveryZone convertToEntityAttribute(String dbData) {
+		return dbData == null || dbData.isBlank() ? null : DeliveryZone.parse(dbData);
+	}
+}
@@ -0,0 +1,98 @@
+package com.fooddelivery.model;
+
+/**
+ * A position on the earth in WGS84 degrees.
+ *
+ * Distances are great-circle distances on a spherical earth, which is within
+ * half a percent of the ellipsoidal distance and plenty for delivery ranges.
+ */
+public final class GeoPoint {
+
+	public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+	/** Length of one degree of latitude (and of longitude at the equator). */
+	public static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+	private final double latitude;
+	private final double longitude;
+
+	private GeoPoint(double latitude, double longitude) {
+		this.latitude = latitude;
+		this.longitude = longitude;
+	}
+
+	/**
+	 * Creates a point.
+	 *
+	 * @throws IllegalArgumentException if the latitude is not within [-90, 90]
+	 *                                  or the longitude not within [-180, 180]
+	 */
+	public static GeoPoint of(double latitude, double longitude) {
+		if (!(latitude >= -90 && latitude <= 90)) {
+			throw new IllegalArgumentException("Latitude must be between -90 and 90: " + latitude);
+		}
+		if (!(longitude >= -180 && longitude <= 180)) {
+			throw new IllegalArgumentException("Longitude must be between -180 and 180: " + longitude);
+		}
+		return new GeoPoint(latitude, longitude);
+	}
+
+	/**
+	 * Creates a point from nullable coordinates, as stored on entities.
+	 *
+	 * @return the point, or null if either coordinate is missing
+	 * @throws IllegalArgumentException if a coordinate is out of range
+	 */
+	public static GeoPoint ofNullable(Double latitude, Double longitude) {
+		return latitude == null || longitude == null ? null : of(latitude, longitude);
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+
+	/**
+	 * Returns the great-circle distance to another point in meters.
+	 */
+	public double distanceTo(GeoPoint other) {
+		return distanceMeters(latitude, longitude, other.latitude, other.longitude);
+	}
+
+	/**
+	 * Returns the great-circle (haversine) distance between two positions in
+	 * meters.
+	 */
+	public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+		double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+		double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+		double a = sinLat * sinLat
+				+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+		return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof GeoPoint)) {
+			return false;
+		}
+		GeoPoint other = (GeoPoint) o;
+		return Double.compare(latitude, other.latitude) == 0 && Double.compare(longitude, other.longitude) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Double.hashCode(latitude) + Double.hashCode(longitude);
+	}
+
+	@Override
+	public String toString() {
+		return latitude + "," + longitude;
+	}
+}
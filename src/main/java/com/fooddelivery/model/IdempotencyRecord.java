@@ -0,0 +1,122 @@
+package com.fooddelivery.model;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * The stored response of a request made with an idempotency key.
+ *
+ * A record is inserted, with no response yet, by the request that claims its
+ * key, and completed with the response once that request finishes. The key is
+ * assigned rather than generated, so the record reports itself as new until
+ * persisted; saving a record whose key is taken then fails on the primary key
+ * instead of overwriting the other request's claim.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+public class IdempotencyRecord implements Persistable<String> {
+
+	@Id
+	@Column(name = "idempotency_key", length = 255)
+	private String key;
+
+	@Column(name = "request_hash", nullable = false, length = 64)
+	private String requestHash;
+
+	@Column(name = "status_code")
+	private Integer statusCode;
+
+	@Column(name = "content_type", length = 100)
+	private String contentType;
+
+	@Column(length = 1_000_000)
+	private String body;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Transient
+	private boolean isNew = true;
+
+	public IdempotencyRecord() {
+	}
+
+	public IdempotencyRecord(String key, String requestHash, Instant createdAt) {
+		this.key = key;
+		this.requestHash = requestHash;
+		this.createdAt = createdAt;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+
+	@Override
+	public String getId() {
+		return key;
+	}
+
+	@Override
+	public boolean isNew() {
+		return isNew;
+	}
+
+	/**
+	 * Whether the request that claimed the key has finished.
+	 *
+	 * @return true once the response is stored
+	 */
+	public boolean isCompleted() {
+		return statusCode != null;
+	}
+
+	// Getters
+	public String getKey() {
+		return key;
+	}
+
+	public String getRequestHash() {
+		return requestHash;
+	}
+
+	public Integer getStatusCode() {
+		return statusCode;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	// Setters
+	public void setStatusCode(Integer statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public void setBody(String body) {
+		this.body = body;
+	}
+}
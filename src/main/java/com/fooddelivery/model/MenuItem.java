@@ -1,8 +1,9 @@
 package com.fooddelivery.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
 /**
@@ -12,7 +13,8 @@ import jakarta.validation.constraints.Size;
 public class MenuItem {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_item_seq")
+	@SequenceGenerator(name = "menu_item_seq", sequenceName = "menu_item_seq", allocationSize = 50)
 	private Long id;
 
 	@NotNull(message = "Name cannot be null")
@@ -23,11 +25,13 @@ public class MenuItem {
 	private String description;
 
 	@NotNull(message = "Price cannot be null")
-	@Positive(message = "Price must be a positive value")
-	private double price;
+	@PositiveMoney(message = "Price must be a positive value")
+	@Column(name = "price_cents")
+	private Money price;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "restaurant_id")
+	@JsonIgnoreProperties("menuItems")
 	private Restaurant restaurant;
 
 	// No-args constructor
@@ -35,7 +39,7 @@ public class MenuItem {
 	}
 
 	// All-args constructor
-	public MenuItem(Long id, String name, String description, double price, Restaurant restaurant) {
+	public MenuItem(Long id, String name, String description, Money price, Restaurant restaurant) {
 		this.id = id;
 		this.name = name;
 		this.description = description;
@@ -56,7 +60,7 @@ public class MenuItem {
 		return description;
 	}
 
-	public double getPrice() {
+	public Money getPrice() {
 		return price;
 	}
 
@@ -77,7 +81,7 @@ public class MenuItem {
 		this.description = description;
 	}
 
-	public void setPrice(double price) {
+	public void setPrice(Money price) {
 		this.price = price;
 	}
 
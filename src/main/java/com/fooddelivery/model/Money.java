@@ -0,0 +1,140 @@
+package com.fooddelivery.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * An amount of money held as a whole number of minor units (cents).
+ *
+ * Arithmetic on the raw {@code long} value is exact and allocation-free, so
+ * order totals can be summed without creating intermediate objects. In JSON
+ * the amount is written as a decimal number with two fractional digits, and
+ * in the database it is stored as a {@code bigint} of minor units (see
+ * {@link MoneyConverter}).
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money> {
+
+	public static final int SCALE = 2;
+
+	public static final Money ZERO = new Money(0);
+
+	private final long minorUnits;
+
+	private Money(long minorUnits) {
+		this.minorUnits = minorUnits;
+	}
+
+	/**
+	 * Creates an amount from minor units, e.g. {@code ofMinor(999)} is 9.99.
+	 */
+	public static Money ofMinor(long minorUnits) {
+		return minorUnits == 0 ? ZERO : new Money(minorUnits);
+	}
+
+	/**
+	 * Creates an amount from a decimal value.
+	 *
+	 * @throws IllegalArgumentException if the value has more than two
+	 *                                  fractional digits or does not fit
+	 */
+	public static Money of(BigDecimal amount) {
+		try {
+			return ofMinor(amount.movePointRight(SCALE).longValueExact());
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Invalid money amount: " + amount, e);
+		}
+	}
+
+	/**
+	 * Creates an amount from its decimal representation, e.g. {@code "9.99"}.
+	 *
+	 * @throws IllegalArgumentException if the text is not a valid amount
+	 */
+	public static Money of(String amount) {
+		return of(new BigDecimal(amount));
+	}
+
+	public long getMinorUnits() {
+		return minorUnits;
+	}
+
+	public Money plus(Money other) {
+		return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+	}
+
+	public Money times(long factor) {
+		return ofMinor(Math.multiplyExact(minorUnits, factor));
+	}
+
+	public boolean isPositive() {
+		return minorUnits > 0;
+	}
+
+	public BigDecimal toBigDecimal() {
+		return BigDecimal.valueOf(minorUnits, SCALE);
+	}
+
+	@Override
+	public int compareTo(Money other) {
+		return Long.compare(minorUnits, other.minorUnits);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Money && ((Money) o).minorUnits == minorUnits;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(minorUnits);
+	}
+
+	/**
+	 * Returns the amount as a plain decimal string with two fractional digits.
+	 */
+	@Override
+	public String toString() {
+		long abs = Math.abs(minorUnits);
+		long fraction = abs % 100;
+		return (minorUnits < 0 ? "-" : "") + (abs / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+	}
+
+	/**
+	 * Writes the amount as a JSON number with two fractional digits.
+	 */
+	public static class Serializer extends JsonSerializer<Money> {
+		@Override
+		public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+			gen.writeNumber(value.toString());
+		}
+	}
+
+	/**
+	 * Reads an amount from a JSON number or numeric string.
+	 */
+	public static class Deserializer extends JsonDeserializer<Money> {
+		@Override
+		public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			try {
+				if (p.currentToken() == JsonToken.VALUE_STRING) {
+					return Money.of(p.getText().trim());
+				}
+				return Money.of(p.getDecimalValue());
+			} catch (IllegalArgumentException e) {
+				return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.fooddelivery.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Money} as a {@code bigint} column of minor units.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+	@Override
+	public Long convertToDatabaseColumn(Money attribute) {
+		return attribute == null ? null : attribute.getMinorUnits();
+	}
+
+	@Override
+	public Money convertToEntityAttribute(Long dbData) {
+		return dbData == null ? null : Money.ofMinor(dbData);
+	}
+}
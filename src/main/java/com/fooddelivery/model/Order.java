@@ -1,40 +1,73 @@
 package com.fooddelivery.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 
 /**
  * Represents an order placed by a user.
+ *
+ * All associations are lazy. Queries that return orders to clients load them
+ * through the {@value #DETAILS_GRAPH} entity graph, which fetches the
+ * customer, the items, their menu items and restaurants in one statement.
  */
 @Entity
+@NamedEntityGraph(name = Order.DETAILS_GRAPH,
+		attributeNodes = {
+				@NamedAttributeNode("customer"),
+				@NamedAttributeNode(value = "items", subgraph = "items") },
+		subgraphs = {
+				@NamedSubgraph(name = "items",
+						attributeNodes = @NamedAttributeNode(value = "menuItem", subgraph = "menuItem")),
+				@NamedSubgraph(name = "menuItem", attributeNodes = @NamedAttributeNode("restaurant")) })
+@Table(indexes = @Index(name = "idx_order_status_time_id", columnList = "status, order_time, id"),
+		uniqueConstraints = @UniqueConstraint(name = "uk_order_journal_entry",
+				columnNames = { "journal_instance", "journal_sequence" }))
 public class Order {
 
+	public static final String DETAILS_GRAPH = "Order.details";
+
+	// Pooled sequence instead of IDENTITY so Hibernate can batch inserts
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+	@SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
 	private Long id;
 
 	@NotNull(message = "Customer cannot be null")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private User customer;
 
 	@NotNull(message = "Order items cannot be null")
 	@OneToMany(cascade = CascadeType.ALL)
+	@JoinColumn(name = "order_id", nullable = false)
+	@BatchSize(size = 50)
 	private List<OrderItem> items;
 
 	@NotNull(message = "Total price cannot be null")
-	@Positive(message = "Total price must be a positive value")
-	private BigDecimal totalPrice;
+	@PositiveMoney(message = "Total price must be a positive value")
+	@Column(name = "total_price_cents")
+	private Money totalPrice;
 
 	@NotNull(message = "Order status cannot be null")
 	private OrderStatus status;
@@ -42,8 +75,52 @@ public class Order {
 	@NotNull(message = "Order time cannot be null")
 	private LocalDateTime orderTime;
 
+	// The courier delivering the order, referenced by ID so orders load without couriers
+	@Column(name = "courier_id")
+	private Long courierId;
+
+	// Incremented on every change; status transitions are conditional on it
+	@Version
+	private Long version;
+
+	// The order journal entry the order was accepted as, if it went through the journal
+	@Column(name = "journal_instance")
+	private Integer journalInstance;
+
+	@Column(name = "journal_sequence")
+	private Long journalSequence;
+
 	public enum OrderStatus {
-		PLACED, PREPARING, OUT_FOR_DELIVERY, DELIVERED, CANCELLED
+		PLACED, PREPARING, OUT_FOR_DELIVERY, DELIVERED, CANCELLED;
+
+		/**
+		 * Returns whether an order in this status is finished and can no
+		 * longer change.
+		 */
+		public boolean isTerminal() {
+			return this == DELIVERED || this == CANCELLED;
+		}
+
+		/**
+		 * Returns whether an order may move from this status to the target.
+		 * Orders advance PLACED, PREPARING, OUT_FOR_DELIVERY, DELIVERED and
+		 * can be cancelled until they leave the restaurant.
+		 *
+		 * @param target the requested status
+		 * @return true if the transition is allowed
+		 */
+		public boolean canTransitionTo(OrderStatus target) {
+			switch (this) {
+			case PLACED:
+				return target == PREPARING || target == CANCELLED;
+			case PREPARING:
+				return target == OUT_FOR_DELIVERY || target == CANCELLED;
+			case OUT_FOR_DELIVERY:
+				return target == DELIVERED;
+			default:
+				return false;
+			}
+		}
 	}
 
 	// Getters
@@ -59,7 +136,7 @@ public class Order {
 		return items;
 	}
 
-	public BigDecimal getTotalPrice() {
+	public Money getTotalPrice() {
 		return totalPrice;
 	}
 
@@ -71,6 +148,22 @@ public class Order {
 		return orderTime;
 	}
 
+	public Long getCourierId() {
+		return courierId;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public Integer getJournalInstance() {
+		return journalInstance;
+	}
+
+	public Long getJournalSequence() {
+		return journalSequence;
+	}
+
 	// Setters
 	public void setId(Long id) {
 		this.id = id;
@@ -84,7 +177,7 @@ public class Order {
 		this.items = items;
 	}
 
-	public void setTotalPrice(BigDecimal totalPrice) {
+	public void setTotalPrice(Money totalPrice) {
 		this.totalPrice = totalPrice;
 	}
 
@@ -95,4 +188,20 @@ public class Order {
 	public void setOrderTime(LocalDateTime orderTime) {
 		this.orderTime = orderTime;
 	}
+
+	public void setCourierId(Long courierId) {
+		this.courierId = courierId;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public void setJournalInstance(Integer journalInstance) {
+		this.journalInstance = journalInstance;
+	}
+
+	public void setJournalSequence(Long journalSequence) {
+		this.journalSequence = journalSequence;
+	}
 }
\ No newline at end of file
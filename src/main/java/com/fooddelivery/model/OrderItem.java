@@ -1,10 +1,13 @@
 package com.fooddelivery.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -15,17 +18,22 @@ import jakarta.validation.constraints.Positive;
 public class OrderItem {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+	@SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
 	private Long id;
 
 	@NotNull(message = "Menu item cannot be null")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private MenuItem menuItem;
 
 	@NotNull(message = "Quantity cannot be null")
 	@Positive(message = "Quantity must be a positive value")
 	private int quantity;
 
+	// Menu price at the time the order was placed
+	@Column(name = "unit_price_cents")
+	private Money unitPrice;
+
 	// Getters
 	public Long getId() {
 		return id;
@@ -39,6 +47,10 @@ public class OrderItem {
 		return quantity;
 	}
 
+	public Money getUnitPrice() {
+		return unitPrice;
+	}
+
 	// Setters
 	public void setId(Long id) {
 		this.id = id;
@@ -55,4 +67,8 @@ public class OrderItem {
 		this.quantity = quantity;
 	}
 
+	public void setUnitPrice(Money unitPrice) {
+		this.unitPrice = unitPrice;
+	}
+
 }
\ No newline at end of file
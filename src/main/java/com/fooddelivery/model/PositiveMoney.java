@@ -0,0 +1,36 @@
+package com.fooddelivery.model;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+/**
+ * The annotated {@link Money} amount must be strictly greater than zero. A null
+ * amount is considered valid; combine with {@code @NotNull} when required.
+ */
+@Documented
+@Constraint(validatedBy = PositiveMoney.Validator.class)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PositiveMoney {
+
+	String message() default "Amount must be a positive value";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+	class Validator implements ConstraintValidator<PositiveMoney, Money> {
+		@Override
+		public boolean isValid(Money value, ConstraintValidatorContext context) {
+			return value == null || value.isPositive();
+		}
+	}
+}
@@ -1,20 +1,32 @@
 package com.fooddelivery.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Represents a restaurant in the food delivery system.
  */
 @Entity
+@Table(indexes = @Index(name = "idx_restaurant_cuisine_key_id", columnList = "cuisine_key, id"))
 public class Restaurant {
 
 	@Id
@@ -33,7 +45,27 @@ public class Restaurant {
 	@Size(max = 50, message = "Cuisine must be less than 50 characters")
 	private String cuisine;
 
+	// Normalized cuisine, so case-insensitive lookups can use a plain index
+	@JsonIgnore
+	@Column(name = "cuisine_key", length = 50, nullable = false)
+	private String cuisineKey;
+
+	// WGS84 position; null until the address has been geocoded
+	@DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+	@DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+	private Double latitude;
+
+	@DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+	@DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+	private Double longitude;
+
+	// Area delivered to; null if the restaurant delivers anywhere
+	@JsonIgnore
+	@Column(name = "delivery_zone", columnDefinition = "text")
+	private DeliveryZone deliveryZone;
+
 	@OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL)
+	@JsonIgnoreProperties("restaurant")
 	private List<MenuItem> menuItems;
 
 	// Getters
@@ -53,6 +85,30 @@ public class Restaurant {
 		return cuisine;
 	}
 
+	public String getCuisineKey() {
+		return cuisineKey;
+	}
+
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	/**
+	 * Returns the position of the restaurant, or null if it has none.
+	 */
+	@JsonIgnore
+	public GeoPoint getLocation() {
+		return GeoPoint.ofNullable(latitude, longitude);
+	}
+
+	public DeliveryZone getDeliveryZone() {
+		return deliveryZone;
+	}
+
 	public List<MenuItem> getMenuItems() {
 		return menuItems;
 	}
@@ -72,9 +128,38 @@ public class Restaurant {
 
 	public void setCuisine(String cuisine) {
 		this.cuisine = cuisine;
+		this.cuisineKey = normalizeCuisine(cuisine);
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
+	public void setDeliveryZone(DeliveryZone deliveryZone) {
+		this.deliveryZone = deliveryZone;
 	}
 
 	public void setMenuItems(List<MenuItem> menuItems) {
 		this.menuItems = menuItems;
 	}
-}
\ No newline at end of file
+
+	@PrePersist
+	@PreUpdate
+	void updateCuisineKey() {
+		this.cuisineKey = normalizeCuisine(cuisine);
+	}
+
+	/**
+	 * Returns the lookup key of a cuisine: trimmed and lower-cased.
+	 *
+	 * @param cuisine the cuisine as entered, may be null
+	 * @return the key, or null for a null cuisine
+	 */
+	public static String normalizeCuisine(String cuisine) {
+		return cuisine == null ? null : cuisine.trim().toLowerCase(Locale.ROOT);
+	}
+}
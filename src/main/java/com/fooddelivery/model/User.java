@@ -1,9 +1,21 @@
 package com.fooddelivery.model;
 
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -12,10 +24,17 @@ import jakarta.validation.constraints.Size;
  * Represents a user in the food delivery system.
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = User.EMAIL_KEY_CONSTRAINT, columnNames = "email_key"))
 public class User {
 
+	/**
+	 * Name of the unique constraint on the normalized email.
+	 */
+	public static final String EMAIL_KEY_CONSTRAINT = "uk_user_email_key";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+	@SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
 	private Long id;
 
 	@NotBlank(message = "Name cannot be blank")
@@ -26,6 +45,11 @@ public class User {
 	@Email(message = "Email should be valid")
 	private String email;
 
+	// Normalized email (trimmed, lower-cased); unique, so two users cannot differ by case only
+	@JsonIgnore
+	@Column(name = "email_key", nullable = false)
+	private String emailKey;
+
 	@NotBlank(message = "Phone number cannot be blank")
 	@Size(max = 15, message = "Phone number must be less than 15 characters")
 	private String phoneNumber;
@@ -34,6 +58,15 @@ public class User {
 	@Size(max = 255, message = "Address must be less than 255 characters")
 	private String address;
 
+	// WGS84 position of the delivery address; null until it has been geocoded
+	@DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+	@DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+	private Double latitude;
+
+	@DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+	@DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+	private Double longitude;
+
 	// Getters
 	public Long getId() {
 		return id;
@@ -47,6 +80,10 @@ public class User {
 		return email;
 	}
 
+	public String getEmailKey() {
+		return emailKey;
+	}
+
 	public String getPhoneNumber() {
 		return phoneNumber;
 	}
@@ -55,6 +92,22 @@ public class User {
 		return address;
 	}
 
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	/**
+	 * Returns the position of the delivery address, or null if it has none.
+	 */
+	@JsonIgnore
+	public GeoPoint getLocation() {
+		return GeoPoint.ofNullable(latitude, longitude);
+	}
+
 	// Setters
 	public void setId(Long id) {
 		this.id = id;
@@ -66,6 +119,7 @@ public class User {
 
 	public void setEmail(String email) {
 		this.email = email;
+		this.emailKey = normalizeEmail(email);
 	}
 
 	public void setPhoneNumber(String phoneNumber) {
@@ -75,4 +129,28 @@ public class User {
 	public void setAddress(String address) {
 		this.address = address;
 	}
-}
\ No newline at end of file
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void updateEmailKey() {
+		this.emailKey = normalizeEmail(email);
+	}
+
+	/**
+	 * Returns the lookup key of an email: trimmed and lower-cased.
+	 *
+	 * @param email the email as entered, may be null
+	 * @return the key, or null for a null email
+	 */
+	public static String normalizeEmail(String email) {
+		return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+	}
+}
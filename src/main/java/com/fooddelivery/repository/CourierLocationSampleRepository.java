@@ -0,0 +1,33 @@
+package com.fooddelivery.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fooddelivery.model.CourierLocationSample;
+
+/**
+ * Repository interface for the downsampled location history of couriers.
+ */
+@Repository
+public interface CourierLocationSampleRepository extends JpaRepository<CourierLocationSample, Long> {
+
+	/**
+	 * Retrieves the most recent samples of a courier recorded after the given
+	 * time, newest first.
+	 *
+	 * @param courierId the ID of the courier
+	 * @param since     the earliest recording time to include
+	 * @param pageable  the maximum number of samples (the page number is ignored)
+	 * @return the samples, newest first
+	 */
+	@Query("select s from CourierLocationSample s where s.courierId = :courierId and s.recordedAt >= :since"
+			+ " order by s.recordedAt desc")
+	List<CourierLocationSample> findRecent(@Param("courierId") Long courierId, @Param("since") Instant since,
+			Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.fooddelivery.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fooddelivery.model.Courier;
+
+/**
+ * Repository interface for managing Courier entities.
+ */
+@Repository
+public interface CourierRepository extends JpaRepository<Courier, Long> {
+}
@@ -0,0 +1,84 @@
+package com.fooddelivery.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fooddelivery.model.IdempotencyRecord;
+
+/**
+ * Repository interface for the stored responses of idempotent requests.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+	/**
+	 * Stores the response of the request that claimed a key.
+	 *
+	 * @param key         the idempotency key
+	 * @param statusCode  the HTTP status of the response
+	 * @param contentType the content type of the body
+	 * @param body        the body of the response
+	 * @return 1 if the claim was completed, 0 if it no longer exists
+	 */
+	@Modifying
+	@Transactional
+	@Query("update IdempotencyRecord r set r.statusCode = :statusCode, r.contentType = :contentType, r.body = :body"
+			+ " where r.key = :key and r.statusCode is null")
+	int complete(@Param("key") String key, @Param("statusCode") Integer statusCode,
+			@Param("contentType") String contentType, @Param("body") String body);
+
+	/**
+	 * Drops a claim whose request has not finished, so the key can be used
+	 * again.
+	 *
+	 * @param key the idempotency key
+	 * @return 1 if the claim was dropped, 0 if it was completed or is gone
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from IdempotencyRecord r where r.key = :key and r.statusCode is null")
+	int deleteClaim(@Param("key") String key);
+
+	/**
+	 * Drops a claim whose request has not finished if it was made before the
+	 * given time, so a key left behind by a crashed instance can be taken
+	 * over.
+	 *
+	 * @param key    the idempotency key
+	 * @param cutoff the claim time before which the claim is dropped
+	 * @return 1 if the claim was dropped, 0 otherwise
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from IdempotencyRecord r where r.key = :key and r.statusCode is null and r.createdAt < :cutoff")
+	int deleteAbandonedClaim(@Param("key") String key, @Param("cutoff") Instant cutoff);
+
+	/**
+	 * Drops a record if it was created before the given time.
+	 *
+	 * @param key    the idempotency key
+	 * @param cutoff the creation time before which the record is dropped
+	 * @return 1 if the record was dropped, 0 otherwise
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from IdempotencyRecord r where r.key = :key and r.createdAt < :cutoff")
+	int deleteIfCreatedBefore(@Param("key") String key, @Param("cutoff") Instant cutoff);
+
+	/**
+	 * Drops all records created before the given time.
+	 *
+	 * @param cutoff the creation time before which records are dropped
+	 * @return the number of records dropped
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+	int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,10 +1,16 @@
 package com.fooddelivery.repository;
 
 import com.fooddelivery.model.MenuItem;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing MenuItem entities.
@@ -19,5 +25,45 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * @param restaurantId the ID of the restaurant
      * @return a list of MenuItem objects associated with the given restaurant ID
      */
+    @EntityGraph(attributePaths = "restaurant")
     List<MenuItem> findByRestaurantId(Long restaurantId);
-}
\ No newline at end of file
+
+    /**
+     * Finds a menu item by ID together with its restaurant.
+     *
+     * @param id the ID of the menu item
+     * @return the menu item, if found
+     */
+    @Override
+    @EntityGraph(attributePaths = "restaurant")
+    Optional<MenuItem> findById(Long id);
+
+    /**
+     * Finds the menu items with the given IDs in a single query.
+     *
+     * @param ids the IDs of the menu items
+     * @return the menu items found, in no particular order
+     */
+    List<MenuItem> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Retrieves the first page of menu items ordered by ID, without their
+     * restaurants.
+     *
+     * @param pageable the page size (the page number is ignored)
+     * @return the menu items with the lowest IDs
+     */
+    @Query("select m from MenuItem m order by m.id asc")
+    List<MenuItem> findFirstPage(Pageable pageable);
+
+    /**
+     * Retrieves the page of menu items whose IDs follow the given one, without
+     * their restaurants.
+     *
+     * @param id       the ID of the last menu item on the previous page
+     * @param pageable the page size (the page number is ignored)
+     * @return the next menu items ordered by ID
+     */
+    @Query("select m from MenuItem m where m.id > :id order by m.id asc")
+    List<MenuItem> findPageAfter(@Param("id") Long id, Pageable pageable);
+}
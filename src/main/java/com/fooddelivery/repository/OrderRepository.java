@@ -1,11 +1,28 @@
 package com.fooddelivery.repository;
 
+import com.fooddelivery.dto.OrderStatusEvent;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.dto.PopularityCount;
 import com.fooddelivery.model.Order;
 import com.fooddelivery.model.Order.OrderStatus;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Order entities. Provides methods to
@@ -23,10 +40,146 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 	List<Order> findByCustomerId(Long customerId);
 
 	/**
-	 * Retrieves a list of orders based on their status.
+	 * Retrieves the IDs of the first page of orders with the given status,
+	 * ordered by (orderTime, id).
+	 *
+	 * @param status   the status of the orders
+	 * @param pageable the page size (the page number is ignored)
+	 * @return the IDs of the first orders with the given status
+	 */
+	@Query("select o.id from Order o where o.status = :status order by o.orderTime asc, o.id asc")
+	List<Long> findFirstPageIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+	/**
+	 * Retrieves the IDs of the page of orders with the given status that
+	 * follows the (orderTime, id) position of a cursor. Backed by the (status,
+	 * order_time, id) index, so the cost does not depend on how deep the page
+	 * is.
+	 *
+	 * @param status    the status of the orders
+	 * @param orderTime the order time of the last order on the previous page
+	 * @param id        the ID of the last order on the previous page
+	 * @param pageable  the page size (the page number is ignored)
+	 * @return the IDs of the next orders with the given status
+	 */
+	@Query("select o.id from Order o where o.status = :status"
+			+ " and (o.orderTime > :orderTime or (o.orderTime = :orderTime and o.id > :id))"
+			+ " order by o.orderTime asc, o.id asc")
+	List<Long> findPageIdsByStatusAfter(@Param("status") OrderStatus status,
+			@Param("orderTime") LocalDateTime orderTime, @Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Streams the IDs of all orders with the given status from a server-side
+	 * cursor. Must be consumed inside a transaction and closed afterwards.
+	 *
+	 * @param status the status of the orders
+	 * @return a stream of order IDs ordered by (orderTime, id)
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select o.id from Order o where o.status = :status order by o.orderTime asc, o.id asc")
+	Stream<Long> streamIdsByStatus(@Param("status") OrderStatus status);
+
+	/**
+	 * Loads the given orders together with their customer, items, menu items
+	 * and restaurants in a single query. The result is in no particular order.
+	 *
+	 * @param ids the IDs of the orders
+	 * @return the orders with all associations needed to serialize them
+	 */
+	@EntityGraph(Order.DETAILS_GRAPH)
+	@Query("select o from Order o where o.id in :ids")
+	List<Order> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Reads the status and version of an order without loading the entity.
+	 *
+	 * @param id the ID of the order
+	 * @return the status and version, if the order exists
+	 */
+	@Query("select new com.fooddelivery.dto.OrderStatusView(o.id, o.status, o.version) from Order o where o.id = :id")
+	Optional<OrderStatusView> findStatusById(@Param("id") Long id);
+
+	/**
+	 * Returns the highest order journal sequence persisted from a journal.
+	 *
+	 * @param instance the instance that wrote the journal
+	 * @return the sequence, or null if no order came from that journal
+	 */
+	@Query("select max(o.journalSequence) from Order o where o.journalInstance = :instance")
+	Long findMaxJournalSequence(@Param("instance") Integer instance);
+
+	/**
+	 * Finds the order persisted from an order journal entry.
+	 *
+	 * @param instance the instance that wrote the journal
+	 * @param sequence the sequence of the entry
+	 * @return the ID of the order, if it has been persisted
+	 */
+	@Query("select o.id from Order o where o.journalInstance = :instance and o.journalSequence = :sequence")
+	Optional<Long> findIdByJournalEntry(@Param("instance") Integer instance, @Param("sequence") Long sequence);
+
+	/**
+	 * Sets the status of an order if it is still at the given version, and
+	 * increments the version. A single conditional statement, so concurrent
+	 * transitions neither take row locks up front nor overwrite each other.
+	 *
+	 * @param id      the ID of the order
+	 * @param status  the new status
+	 * @param version the version the caller read
+	 * @return 1 if the order was updated, 0 if it changed in the meantime
+	 */
+	@Modifying
+	@Query("update Order o set o.status = :status, o.version = o.version + 1"
+			+ " where o.id = :id and o.version = :version")
+	int updateStatusIfVersion(@Param("id") Long id, @Param("status") OrderStatus status,
+			@Param("version") Long version);
+
+	/**
+	 * Sets the courier of an order if it is still at the given version, and
+	 * increments the version.
+	 *
+	 * @param id        the ID of the order
+	 * @param courierId the ID of the courier
+	 * @param version   the version the caller read
+	 * @return 1 if the order was updated, 0 if it changed in the meantime
+	 */
+	@Modifying
+	@Query("update Order o set o.courierId = :courierId, o.version = o.version + 1"
+			+ " where o.id = :id and o.version = :version")
+	int updateCourierIfVersion(@Param("id") Long id, @Param("courierId") Long courierId,
+			@Param("version") Long version);
+
+	/**
+	 * Reads status, version and restaurant of the given orders, one row per
+	 * order and restaurant it orders from.
+	 *
+	 * @param ids the IDs of the orders
+	 * @return the status of each order for each of its restaurants
+	 */
+	@Query("select distinct new com.fooddelivery.dto.OrderStatusEvent(o.id, m.restaurant.id, o.status, o.version)"
+			+ " from Order o join o.items i join i.menuItem m where o.id in :ids")
+	List<OrderStatusEvent> findStatusEventsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Sums the ordered quantity of each menu item over orders placed since
+	 * the given time.
+	 *
+	 * @param since the start of the window
+	 * @return the quantity per menu item ID, for items ordered at least once
+	 */
+	@Query("select new com.fooddelivery.dto.PopularityCount(i.menuItem.id, sum(i.quantity))"
+			+ " from Order o join o.items i where o.orderTime >= :since group by i.menuItem.id")
+	List<PopularityCount> sumQuantityByMenuItemSince(@Param("since") LocalDateTime since);
+
+	/**
+	 * Counts the orders placed with each restaurant since the given time.
 	 *
-	 * @param status the current status of the orders (e.g., PENDING, COMPLETED)
-	 * @return a list of orders matching the given status
+	 * @param since the start of the window
+	 * @return the number of orders per restaurant ID, for restaurants with at
+	 *         least one order
 	 */
-	List<Order> findByStatus(OrderStatus status);
+	@Query("select new com.fooddelivery.dto.PopularityCount(m.restaurant.id, count(distinct o.id))"
+			+ " from Order o join o.items i join i.menuItem m where o.orderTime >= :since group by m.restaurant.id")
+	List<PopularityCount> countOrdersByRestaurantSince(@Param("since") LocalDateTime since);
 }
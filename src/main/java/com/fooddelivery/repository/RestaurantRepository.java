@@ -1,7 +1,11 @@
 package com.fooddelivery.repository;
 
+import com.fooddelivery.dto.CuisineFacet;
 import com.fooddelivery.model.Restaurant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,10 +18,74 @@ import java.util.List;
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
 	/**
-	 * Retrieves a list of restaurants based on their cuisine type.
+	 * Retrieves a list of restaurants based on their cuisine type, ignoring
+	 * case and surrounding whitespace.
 	 *
 	 * @param cuisine the cuisine type (e.g., "Italian", "Chinese", etc.)
 	 * @return a list of restaurants serving the specified cuisine
 	 */
-	List<Restaurant> findByCuisine(String cuisine);
+	default List<Restaurant> findByCuisine(String cuisine) {
+		return findByCuisineKey(Restaurant.normalizeCuisine(cuisine));
+	}
+
+	/**
+	 * Retrieves the restaurants with the given normalized cuisine.
+	 *
+	 * @param cuisineKey the cuisine as returned by
+	 *                   {@link Restaurant#normalizeCuisine(String)}
+	 * @return a list of restaurants serving the cuisine
+	 */
+	List<Restaurant> findByCuisineKey(String cuisineKey);
+
+	/**
+	 * Retrieves the first page of restaurants ordered by ID.
+	 *
+	 * @param pageable the page size (the page number is ignored)
+	 * @return the restaurants with the lowest IDs
+	 */
+	@Query("select r from Restaurant r order by r.id asc")
+	List<Restaurant> findFirstPage(Pageable pageable);
+
+	/**
+	 * Retrieves the page of restaurants whose IDs follow the given one.
+	 *
+	 * @param id       the ID of the last restaurant on the previous page
+	 * @param pageable the page size (the page number is ignored)
+	 * @return the next restaurants ordered by ID
+	 */
+	@Query("select r from Restaurant r where r.id > :id order by r.id asc")
+	List<Restaurant> findPageAfter(@Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Retrieves the first page of restaurants of one cuisine ordered by ID,
+	 * using the (cuisine_key, id) index.
+	 *
+	 * @param cuisineKey the normalized cuisine
+	 * @param pageable   the page size (the page number is ignored)
+	 * @return the restaurants of the cuisine with the lowest IDs
+	 */
+	@Query("select r from Restaurant r where r.cuisineKey = :cuisineKey order by r.id asc")
+	List<Restaurant> findFirstPageByCuisineKey(@Param("cuisineKey") String cuisineKey, Pageable pageable);
+
+	/**
+	 * Retrieves the page of restaurants of one cuisine whose IDs follow the
+	 * given one, using the (cuisine_key, id) index.
+	 *
+	 * @param cuisineKey the normalized cuisine
+	 * @param id         the ID of the last restaurant on the previous page
+	 * @param pageable   the page size (the page number is ignored)
+	 * @return the next restaurants of the cuisine ordered by ID
+	 */
+	@Query("select r from Restaurant r where r.cuisineKey = :cuisineKey and r.id > :id order by r.id asc")
+	List<Restaurant> findPageByCuisineKeyAfter(@Param("cuisineKey") String cuisineKey, @Param("id") Long id,
+			Pageable pageable);
+
+	/**
+	 * Counts the restaurants of each cuisine.
+	 *
+	 * @return one facet per normalized cuisine
+	 */
+	@Query("select new com.fooddelivery.dto.CuisineFacet(r.cuisineKey, min(r.cuisine), count(r)) "
+			+ "from Restaurant r group by r.cuisineKey order by r.cuisineKey")
+	List<CuisineFacet> countByCuisine();
 }
@@ -1,10 +1,20 @@
 package com.fooddelivery.repository;
 
 import com.fooddelivery.model.User;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing User entities. Provides methods to retrieve
@@ -20,4 +30,60 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	 * @return an Optional containing the user if found, otherwise empty
 	 */
 	Optional<User> findByEmail(String email);
+
+	/**
+	 * Retrieves a user by their normalized email.
+	 *
+	 * @param emailKey the email, trimmed and lower-cased
+	 * @return an Optional containing the user if found, otherwise empty
+	 * @see User#normalizeEmail(String)
+	 */
+	Optional<User> findByEmailKey(String emailKey);
+
+	/**
+	 * Tells whether a user has a normalized email.
+	 *
+	 * @param emailKey the email, trimmed and lower-cased
+	 * @return true if a user has the email
+	 */
+	boolean existsByEmailKey(String emailKey);
+
+	/**
+	 * Tells whether a user other than the given one has a normalized email.
+	 *
+	 * @param emailKey the email, trimmed and lower-cased
+	 * @param id       the ID of the user to ignore
+	 * @return true if another user has the email
+	 */
+	boolean existsByEmailKeyAndIdNot(String emailKey, Long id);
+
+	/**
+	 * Retrieves the first page of users ordered by ID.
+	 *
+	 * @param pageable the page size (the page number is ignored)
+	 * @return the users with the lowest IDs
+	 */
+	@Query("select u from User u order by u.id asc")
+	List<User> findFirstPage(Pageable pageable);
+
+	/**
+	 * Retrieves the page of users whose IDs follow the given one.
+	 *
+	 * @param id       the ID of the last user on the previous page
+	 * @param pageable the page size (the page number is ignored)
+	 * @return the next users ordered by ID
+	 */
+	@Query("select u from User u where u.id > :id order by u.id asc")
+	List<User> findPageAfter(@Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Streams all users from a server-side cursor. Must be consumed inside a
+	 * transaction and closed afterwards.
+	 *
+	 * @return a stream of users ordered by ID
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select u from User u order by u.id asc")
+	Stream<User> streamAll();
 }
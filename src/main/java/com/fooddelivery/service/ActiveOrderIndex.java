@@ -0,0 +1,227 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.OrderCursor;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.Order.OrderStatus;
+import com.fooddelivery.repository.OrderRepository;
+
+/**
+ * In-memory index of active (non-terminal) orders by status, used to answer
+ * order board polls without querying the database.
+ *
+ * Each status maps to a {@link ConcurrentSkipListMap} ordered by (orderTime,
+ * id), so pages are served with the same keyset cursors as the database path
+ * and readers never block writers. The index is rebuilt from the database
+ * before the application starts serving requests and is then updated from
+ * {@link OrderChangedEvent}s once the publishing transaction has committed.
+ * Orders reaching DELIVERED or CANCELLED are dropped.
+ */
+@Component
+public class ActiveOrderIndex implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(ActiveOrderIndex.class);
+
+	private static final int REBUILD_CHUNK_SIZE = 500;
+
+	private static final Comparator<OrderCursor> POSITION = Comparator.comparing(OrderCursor::getOrderTime)
+			.thenComparing(OrderCursor::getId);
+
+	private final OrderRepository orderRepository;
+
+	private final Map<OrderStatus, NavigableMap<OrderCursor, Order>> byStatus = new EnumMap<>(OrderStatus.class);
+
+	// Indexed order by ID; also serializes concurrent updates of the same order
+	private final ConcurrentHashMap<Long, Order> byId = new ConcurrentHashMap<>();
+
+	private volatile boolean ready;
+
+	public ActiveOrderIndex(OrderRepository orderRepository) {
+		this.orderRepository = orderRepository;
+		for (OrderStatus status : OrderStatus.values()) {
+			if (!status.isTerminal()) {
+				byStatus.put(status, new ConcurrentSkipListMap<>(POSITION));
+			}
+		}
+	}
+
+	/**
+	 * Loads all active orders. Runs after all singletons are created and
+	 * before the web server starts, so no order can change concurrently.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		rebuild();
+	}
+
+	/**
+	 * Replaces the contents of the index with the active orders in the
+	 * database.
+	 */
+	public void rebuild() {
+		ready = false;
+		byId.clear();
+		byStatus.values().forEach(Map::clear);
+
+		for (OrderStatus status : byStatus.keySet()) {
+			PageRequest page = PageRequest.of(0, REBUILD_CHUNK_SIZE);
+			List<Long> ids = orderRepository.findFirstPageIdsByStatus(status, page);
+			while (!ids.isEmpty()) {
+				OrderCursor last = null;
+				for (Order order : orderRepository.findWithDetailsByIdIn(ids)) {
+					put(order);
+					OrderCursor position = OrderCursor.after(order);
+					if (last == null || POSITION.compare(position, last) > 0) {
+						last = position;
+					}
+				}
+				if (ids.size() < REBUILD_CHUNK_SIZE || last == null) {
+					break;
+				}
+				ids = orderRepository.findPageIdsByStatusAfter(status, last.getOrderTime(), last.getId(), page);
+			}
+		}
+
+		ready = true;
+		logger.info("Active order index rebuilt with {} orders", byId.size());
+	}
+
+	/**
+	 * Reloads the changed orders once their transaction has committed and
+	 * moves them to the list of their current status.
+	 *
+	 * @param event the changed orders
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onOrderChanged(OrderChangedEvent event) {
+		Set<Long> missing = new HashSet<>(event.getOrderIds());
+		for (Order order : orderRepository.findWithDetailsByIdIn(event.getOrderIds())) {
+			apply(order);
+			missing.remove(order.getId());
+		}
+		missing.forEach(this::remove);
+	}
+
+	/**
+	 * Records the current state of an order, moving it between statuses or
+	 * dropping it once it is terminal. Reloads of one order may arrive out of
+	 * order, so a snapshot no newer than the indexed one is ignored.
+	 *
+	 * @param order a fully loaded order
+	 */
+	public void apply(Order order) {
+		if (order.getStatus().isTerminal()) {
+			remove(order.getId());
+		} else {
+			put(order);
+		}
+	}
+
+	/**
+	 * Removes an order from the index.
+	 *
+	 * @param orderId the ID of the order
+	 */
+	public void remove(Long orderId) {
+		byId.computeIfPresent(orderId, (id, indexed) -> {
+			byStatus.get(indexed.getStatus()).remove(OrderCursor.after(indexed));
+			return null;
+		});
+	}
+
+	private void put(Order order) {
+		byId.compute(order.getId(), (id, indexed) -> {
+			if (indexed != null) {
+				if (indexed.getVersion() != null && order.getVersion() != null
+						&& indexed.getVersion() >= order.getVersion()) {
+					return indexed;
+				}
+				byStatus.get(indexed.getStatus()).remove(OrderCursor.after(indexed));
+			}
+			byStatus.get(order.getStatus()).put(OrderCursor.after(order), order);
+			return order;
+		});
+	}
+
+	/**
+	 * Returns an active order.
+	 *
+	 * @param orderId the ID of the order
+	 * @return the fully loaded order, or null if it is not active or the index
+	 *         is not built yet
+	 */
+	public Order get(Long orderId) {
+		return byId.get(orderId);
+	}
+
+	/**
+	 * Returns whether queries for the given status can be answered from the
+	 * index.
+	 *
+	 * @param status the order status
+	 * @return true once the index is built, for non-terminal statuses
+	 */
+	public boolean isServing(OrderStatus status) {
+		return ready && !status.isTerminal();
+	}
+
+	/**
+	 * Returns a page of active orders with the given status, ordered by
+	 * (orderTime, id).
+	 *
+	 * @param status   a non-terminal status
+	 * @param after    the position to resume after, or null for the first page
+	 * @param pageSize the maximum number of orders to return
+	 * @return the page of orders
+	 */
+	public CursorPage<Order> getPage(OrderStatus status, OrderCursor after, int pageSize) {
+		NavigableMap<OrderCursor, Order> orders = byStatus.get(status);
+		if (orders == null) {
+			throw new IllegalArgumentException("Orders with status " + status + " are not indexed");
+		}
+		if (after != null) {
+			orders = orders.tailMap(after, false);
+		}
+
+		List<Order> page = new ArrayList<>(Math.min(pageSize, 64));
+		for (Order order : orders.values()) {
+			if (page.size() == pageSize) {
+				return new CursorPage<>(page, OrderCursor.after(page.get(pageSize - 1)).encode());
+			}
+			page.add(order);
+		}
+		return new CursorPage<>(page, null);
+	}
+
+	/**
+	 * Returns the number of indexed orders with the given status.
+	 *
+	 * @param status the order status
+	 * @return the number of orders, 0 for terminal statuses
+	 */
+	public int size(OrderStatus status) {
+		NavigableMap<OrderCursor, Order> orders = byStatus.get(status);
+		return orders == null ? 0 : orders.size();
+	}
+}
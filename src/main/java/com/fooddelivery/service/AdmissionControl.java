@@ -0,0 +1,173 @@
+package com.fooddelivery.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-user and per-client-address rate limits on write requests, so a single
+ * client cannot take all database connections.
+ *
+ * Each user and each client address has a token bucket; a request is admitted
+ * if both its buckets have a permit. The user's bucket is checked first, so a
+ * request refused for its user does not count against its address.
+ *
+ * A batch of orders names its users in the body, so it is admitted like any
+ * request by address and then charged per order against a separate order
+ * bucket of the address ({@code fooddelivery.rate-limit.batch.*}), which
+ * keeps batches from writing more orders than single requests could. Buckets
+ * that have refilled are dropped every
+ * {@code fooddelivery.rate-limit.idle-sweep-interval}.
+ */
+@Component
+public class AdmissionControl {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdmissionControl.class);
+
+	private final TokenBucketLimiter<Long> userLimiter;
+	private final TokenBucketLimiter<String> addressLimiter;
+	private final TokenBucketLimiter<String> batchOrderLimiter;
+	private final LongSupplier nanoTime;
+	private final boolean enabled;
+	private final LongAdder userRejections = new LongAdder();
+	private final LongAdder addressRejections = new LongAdder();
+	private final LongAdder batchRejections = new LongAdder();
+
+	public AdmissionControl(TokenBucketLimiter<Long> userLimiter, TokenBucketLimiter<String> addressLimiter,
+			TokenBucketLimiter<String> batchOrderLimiter, LongSupplier nanoTime) {
+		this(userLimiter, addressLimiter, batchOrderLimiter, nanoTime, true);
+	}
+
+	private AdmissionControl(TokenBucketLimiter<Long> userLimiter, TokenBucketLimiter<String> addressLimiter,
+			TokenBucketLimiter<String> batchOrderLimiter, LongSupplier nanoTime, boolean enabled) {
+		this.userLimiter = userLimiter;
+		this.addressLimiter = addressLimiter;
+		this.batchOrderLimiter = batchOrderLimiter;
+		this.nanoTime = nanoTime;
+		this.enabled = enabled;
+	}
+
+	@Autowired
+	public AdmissionControl(
+			@Value("${fooddelivery.rate-limit.user.permits-per-second:5}") double userPermitsPerSecond,
+			@Value("${fooddelivery.rate-limit.user.burst:20}") int userBurst,
+			@Value("${fooddelivery.rate-limit.address.permits-per-second:20}") double addressPermitsPerSecond,
+			@Value("${fooddelivery.rate-limit.address.burst:100}") int addressBurst,
+			@Value("${fooddelivery.rate-limit.batch.orders-per-second:20}") double batchOrdersPerSecond,
+			@Value("${fooddelivery.rate-limit.batch.burst:500}") int batchBurst,
+			@Value("${fooddelivery.rate-limit.stripes:64}") int stripes,
+			@Value("${fooddelivery.rate-limit.enabled:true}") boolean enabled,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this(new TokenBucketLimiter<>(userPermitsPerSecond, userBurst, stripes),
+				new TokenBucketLimiter<>(addressPermitsPerSecond, addressBurst, stripes),
+				new TokenBucketLimiter<>(batchOrdersPerSecond, batchBurst, stripes), System::nanoTime, enabled);
+		meterRegistry.ifAvailable(this::registerMetrics);
+	}
+
+	/**
+	 * Takes a permit for a request from its user's and its address's buckets.
+	 *
+	 * @param userId        the user the request is made for, or null if it
+	 *                      names none
+	 * @param clientAddress the address the request came from, or null if
+	 *                      unknown
+	 * @return 0 if the request is admitted, otherwise the nanoseconds until
+	 *         it would be
+	 */
+	public long admit(Long userId, String clientAddress) {
+		long now = nanoTime.getAsLong();
+		if (userId != null) {
+			long wait = userLimiter.tryAcquire(userId, now);
+			if (wait > 0) {
+				userRejections.increment();
+				return wait;
+			}
+		}
+		if (clientAddress != null) {
+			long wait = addressLimiter.tryAcquire(clientAddress, now);
+			if (wait > 0) {
+				addressRejections.increment();
+				return wait;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Charges a batch of orders against the order bucket of its address. A
+	 * batch larger than the burst takes the whole burst, so it is admitted
+	 * once the bucket is full.
+	 *
+	 * @param clientAddress the address the batch came from, or null if
+	 *                      unknown
+	 * @param orders        the number of orders in the batch
+	 * @return 0 if the batch is admitted, otherwise the nanoseconds until it
+	 *         would be
+	 */
+	public long admitBatch(String clientAddress, int orders) {
+		if (!enabled || clientAddress == null || orders < 1) {
+			return 0;
+		}
+		long wait = batchOrderLimiter.tryAcquire(clientAddress, Math.min(orders, batchOrderLimiter.burst()),
+				nanoTime.getAsLong());
+		if (wait > 0) {
+			batchRejections.increment();
+		}
+		return wait;
+	}
+
+	/**
+	 * Converts a wait returned by {@link #admit} or {@link #admitBatch} to
+	 * whole seconds for a Retry-After header, rounding up.
+	 *
+	 * @param waitNanos the wait in nanoseconds
+	 * @return the seconds to wait, at least 1
+	 */
+	public static long retryAfterSeconds(long waitNanos) {
+		return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+	}
+
+	/**
+	 * Drops the buckets of users and addresses that have not made requests
+	 * long enough for their buckets to refill.
+	 *
+	 * @return the number of buckets dropped
+	 */
+	@Scheduled(fixedDelayString = "${fooddelivery.rate-limit.idle-sweep-interval:PT1M}",
+			initialDelayString = "${fooddelivery.rate-limit.idle-sweep-interval:PT1M}")
+	public int evictIdle() {
+		long now = nanoTime.getAsLong();
+		int evicted = userLimiter.evictIdle(now) + addressLimiter.evictIdle(now) + batchOrderLimiter.evictIdle(now);
+		if (evicted > 0) {
+			logger.debug("Dropped {} idle rate limit buckets", evicted);
+		}
+		return evicted;
+	}
+
+	private void registerMetrics(MeterRegistry registry) {
+		Gauge.builder("rate.limit.buckets", userLimiter, TokenBucketLimiter::size).tag("scope", "user")
+				.register(registry);
+		Gauge.builder("rate.limit.buckets", addressLimiter, TokenBucketLimiter::size).tag("scope", "address")
+				.register(registry);
+		FunctionCounter.builder("rate.limit.rejected", userRejections, LongAdder::sum).tag("scope", "user")
+				.register(registry);
+		FunctionCounter.builder("rate.limit.rejected", addressRejections, LongAdder::sum).tag("scope", "address")
+				.register(registry);
+		Gauge.builder("rate.limit.buckets", batchOrderLimiter, TokenBucketLimiter::size).tag("scope", "batch")
+				.register(registry);
+		FunctionCounter.builder("rate.limit.rejected", batchRejections, LongAdder::sum).tag("scope", "batch")
+				.register(registry);
+	}
+}
@@ -0,0 +1,46 @@
+package com.fooddelivery.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers changes to in-memory indexes and caches until the transaction that
+ * caused them commits, so a rolled-back write never shows up in memory.
+ */
+final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	/**
+	 * Runs a change once the current transaction commits, or right away when
+	 * there is none. The change is dropped if the transaction rolls back.
+	 *
+	 * @param change the change to run
+	 */
+	static void run(Runnable change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					change.run();
+				}
+			});
+		} else {
+			change.run();
+		}
+	}
+
+	/**
+	 * Runs a change right away and, inside a transaction, again once it
+	 * commits, so that a load racing with the transaction cannot undo it.
+	 *
+	 * @param change the change to run, which must be safe to repeat
+	 */
+	static void runNowAndAgain(Runnable change) {
+		change.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			run(change);
+		}
+	}
+}
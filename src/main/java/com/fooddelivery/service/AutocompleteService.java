@@ -0,0 +1,134 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fooddelivery.dto.PopularityCount;
+import com.fooddelivery.dto.Suggestion;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.repository.MenuItemRepository;
+import com.fooddelivery.repository.OrderRepository;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * Search-box suggestions over restaurant and dish names, ranked by how often
+ * they were ordered within {@code fooddelivery.autocomplete.popularity-window}.
+ *
+ * Suggestions are served from an immutable {@link SuggestionTrie}. A new trie
+ * is built in the background every
+ * {@code fooddelivery.autocomplete.rebuild-interval} and published with a
+ * single volatile write, so readers never block or see a half-built trie. A
+ * failed rebuild keeps the previous trie.
+ */
+@Service
+public class AutocompleteService implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+	public static final int DEFAULT_LIMIT = 8;
+
+	private static final int REBUILD_CHUNK_SIZE = 1000;
+
+	private final RestaurantRepository restaurantRepository;
+	private final MenuItemRepository menuItemRepository;
+	private final OrderRepository orderRepository;
+	private final Duration popularityWindow;
+
+	private volatile SuggestionTrie trie = SuggestionTrie.builder().build();
+
+	@Autowired
+	public AutocompleteService(RestaurantRepository restaurantRepository, MenuItemRepository menuItemRepository,
+			OrderRepository orderRepository,
+			@Value("${fooddelivery.autocomplete.popularity-window:P30D}") Duration popularityWindow) {
+		this.restaurantRepository = restaurantRepository;
+		this.menuItemRepository = menuItemRepository;
+		this.orderRepository = orderRepository;
+		this.popularityWindow = popularityWindow;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		rebuild();
+	}
+
+	/**
+	 * Builds a new trie from the current names and order counts and swaps it
+	 * in.
+	 */
+	@Scheduled(fixedDelayString = "${fooddelivery.autocomplete.rebuild-interval:PT10M}",
+			initialDelayString = "${fooddelivery.autocomplete.rebuild-interval:PT10M}")
+	public void rebuild() {
+		try {
+			long started = System.nanoTime();
+			LocalDateTime since = LocalDateTime.now().minus(popularityWindow);
+			Map<Long, Long> restaurantOrders = toMap(orderRepository.countOrdersByRestaurantSince(since));
+			Map<Long, Long> dishQuantities = toMap(orderRepository.sumQuantityByMenuItemSince(since));
+
+			SuggestionTrie.Builder builder = SuggestionTrie.builder();
+			PageRequest chunk = PageRequest.of(0, REBUILD_CHUNK_SIZE);
+			List<Restaurant> restaurants = restaurantRepository.findFirstPage(chunk);
+			while (!restaurants.isEmpty()) {
+				for (Restaurant restaurant : restaurants) {
+					builder.add(Suggestion.Type.RESTAURANT, restaurant.getId(), restaurant.getName(),
+							restaurantOrders.getOrDefault(restaurant.getId(), 0L));
+				}
+				if (restaurants.size() < REBUILD_CHUNK_SIZE) {
+					break;
+				}
+				restaurants = restaurantRepository.findPageAfter(restaurants.get(restaurants.size() - 1).getId(), chunk);
+			}
+			List<MenuItem> menuItems = menuItemRepository.findFirstPage(chunk);
+			while (!menuItems.isEmpty()) {
+				for (MenuItem menuItem : menuItems) {
+					builder.add(Suggestion.Type.DISH, menuItem.getId(), menuItem.getName(),
+							dishQuantities.getOrDefault(menuItem.getId(), 0L));
+				}
+				if (menuItems.size() < REBUILD_CHUNK_SIZE) {
+					break;
+				}
+				menuItems = menuItemRepository.findPageAfter(menuItems.get(menuItems.size() - 1).getId(), chunk);
+			}
+
+			SuggestionTrie built = builder.build();
+			trie = built;
+			logger.info("Rebuilt autocomplete trie: {} entries, {} nodes, ~{} KiB in {} ms", built.size(),
+					built.nodeCount(), built.estimatedBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+		} catch (RuntimeException e) {
+			logger.warn("Could not rebuild autocomplete suggestions, keeping the previous ones: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Suggests restaurant and dish names with a word starting with the
+	 * prefix.
+	 *
+	 * @param prefix what the user typed so far
+	 * @param limit  the maximum number of suggestions, capped at
+	 *               {@value SuggestionTrie#MAX_SUGGESTIONS}
+	 * @return the suggestions, most popular first; empty for a blank prefix
+	 */
+	public List<Suggestion> suggest(String prefix, int limit) {
+		return trie.suggest(prefix, limit);
+	}
+
+	private static Map<Long, Long> toMap(List<PopularityCount> counts) {
+		Map<Long, Long> map = new HashMap<>(counts.size() * 2);
+		for (PopularityCount count : counts) {
+			map.put(count.getId(), count.getCount());
+		}
+		return map;
+	}
+}
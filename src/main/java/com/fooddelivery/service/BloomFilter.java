@@ -0,0 +1,160 @@
+package com.fooddelivery.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter of strings. {@link #mightContain} never returns
+ * false for a string that was {@link #put}; it returns true for a string that
+ * was not with roughly the false positive probability the filter was sized
+ * for, as long as no more strings than expected were put.
+ *
+ * The bits live in an {@link AtomicLongArray} and are set by compare-and-set,
+ * so puts and lookups from any number of threads never block each other.
+ * Strings cannot be removed; the owner rebuilds the filter instead.
+ */
+public final class BloomFilter {
+
+	private static final int MAX_HASHES = 16;
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+	private final long expectedEntries;
+	private final LongAdder entries = new LongAdder();
+
+	private BloomFilter(long bitCount, int hashCount, long expectedEntries) {
+		this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+		this.bitCount = bitCount;
+		this.hashCount = hashCount;
+		this.expectedEntries = expectedEntries;
+	}
+
+	/**
+	 * Creates a filter sized for a number of strings and false positive
+	 * probability.
+	 *
+	 * @param expectedEntries the number of strings expected to be put
+	 * @param falsePositiveProbability the probability that a string never put
+	 *                                 is reported as possibly contained, e.g.
+	 *                                 0.01
+	 * @return an empty filter
+	 * @throws IllegalArgumentException if the probability is not between 0 and
+	 *                                  1 or the filter would be too large
+	 */
+	public static BloomFilter create(long expectedEntries, double falsePositiveProbability) {
+		if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+			throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+		}
+		long entries = Math.max(expectedEntries, 1);
+		long bits = Math.max(64, (long) Math.ceil(-entries * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))));
+		if (bits > (long) Integer.MAX_VALUE * 64) {
+			throw new IllegalArgumentException("Bloom filter for " + expectedEntries + " entries is too large");
+		}
+		int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bits / entries * Math.log(2))));
+		return new BloomFilter(bits, hashes, entries);
+	}
+
+	/**
+	 * Adds a string to the filter.
+	 *
+	 * @param value the string, not null
+	 */
+	public void put(String value) {
+		long hash = hash(value);
+		long h1 = hash;
+		long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			int index = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long word = words.get(index);
+			while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+				word = words.get(index);
+			}
+		}
+		entries.increment();
+	}
+
+	/**
+	 * Tells whether a string may have been added.
+	 *
+	 * @param value the string, not null
+	 * @return false if the string was definitely never added
+	 */
+	public boolean mightContain(String value) {
+		long hash = hash(value);
+		long h1 = hash;
+		long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns how many strings were put, counting repeated ones each time.
+	 */
+	public long entries() {
+		return entries.sum();
+	}
+
+	/**
+	 * Returns how many strings the filter was sized for.
+	 */
+	public long expectedEntries() {
+		return expectedEntries;
+	}
+
+	/**
+	 * Returns the size of the filter in bits.
+	 */
+	public long bitCount() {
+		return bitCount;
+	}
+
+	/**
+	 * Returns the number of bit positions each string sets.
+	 */
+	public int hashCount() {
+		return hashCount;
+	}
+
+	/**
+	 * Estimates the current false positive probability from the fraction of
+	 * bits set.
+	 */
+	public double estimatedFalsePositiveProbability() {
+		long set = 0;
+		for (int i = 0; i < words.length(); i++) {
+			set += Long.bitCount(words.get(i));
+		}
+		return Math.pow((double) set / bitCount, hashCount);
+	}
+
+	/**
+	 * 64-bit FNV-1a over the UTF-16 code units, finished with a
+	 * MurmurHash3-style mix so that similar strings spread over the whole
+	 * range.
+	 */
+	private static long hash(String value) {
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001B3L;
+		}
+		return mix(hash);
+	}
+
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,281 @@
+package com.fooddelivery.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.dto.CourierPing;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.PingBatchResult;
+import com.fooddelivery.model.CourierLocationSample;
+import com.fooddelivery.repository.CourierLocationSampleRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Latest known position of every courier, fed by the GPS pings of their apps,
+ * plus a downsampled location history written to the database in batches.
+ *
+ * Pings never touch the database on the request path. Each courier's latest
+ * position is an {@link AtomicReference} replaced by compare-and-set, so
+ * concurrent pings of different couriers never contend and out-of-order pings
+ * of the same courier can never overwrite a newer position. At most one ping
+ * per courier every {@code fooddelivery.courier-location.sample-interval} is
+ * queued for the history; the queue is bounded, lock-free, and drained every
+ * {@code fooddelivery.courier-location.flush-interval} into batched inserts.
+ * If the database is slow or down, history samples are dropped (and counted)
+ * rather than slowing ingestion down. Couriers not heard from for
+ * {@code fooddelivery.courier-location.expire-after} are forgotten.
+ */
+@Component
+public class CourierLocationStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(CourierLocationStore.class);
+
+	// Samples are inserted in transactions of this many rows (and JDBC batches of hibernate.jdbc.batch_size)
+	private static final int FLUSH_CHUNK_SIZE = 1000;
+
+	// Pings stamped further ahead of the server clock are rejected as device clock errors
+	private static final long MAX_CLOCK_SKEW_MILLIS = Duration.ofMinutes(1).toMillis();
+
+	private static final long NEVER = Long.MIN_VALUE;
+
+	private final CourierLocationSampleRepository sampleRepository;
+	private final long sampleIntervalMillis;
+	private final int bufferSize;
+	private final long expireAfterMillis;
+	private final Clock clock;
+
+	private final ConcurrentHashMap<Long, Track> tracks = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<CourierLocationSample> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private final LongAdder writtenSamples = new LongAdder();
+	private final LongAdder droppedSamples = new LongAdder();
+
+	public CourierLocationStore(CourierLocationSampleRepository sampleRepository, Duration sampleInterval,
+			int bufferSize, Duration expireAfter, Clock clock) {
+		this.sampleRepository = sampleRepository;
+		this.sampleIntervalMillis = sampleInterval.toMillis();
+		this.bufferSize = bufferSize;
+		this.expireAfterMillis = expireAfter.toMillis();
+		this.clock = clock;
+	}
+
+	@Autowired
+	public CourierLocationStore(CourierLocationSampleRepository sampleRepository,
+			@Value("${fooddelivery.courier-location.sample-interval:PT30S}") Duration sampleInterval,
+			@Value("${fooddelivery.courier-location.buffer-size:200000}") int bufferSize,
+			@Value("${fooddelivery.courier-location.expire-after:PT1H}") Duration expireAfter,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this(sampleRepository, sampleInterval, bufferSize, expireAfter, Clock.systemUTC());
+		meterRegistry.ifAvailable(this::registerMetrics);
+	}
+
+	/**
+	 * Records a batch of pings. Invalid pings are skipped and counted, so one
+	 * bad fix does not cost a courier the rest of the batch.
+	 *
+	 * @param pings the pings, in any order
+	 * @return how many pings were accepted, stale or rejected
+	 */
+	public PingBatchResult ingest(List<CourierPing> pings) {
+		long now = clock.millis();
+		int accepted = 0;
+		int stale = 0;
+		int rejected = 0;
+		for (CourierPing ping : pings) {
+			if (!isValid(ping, now)) {
+				rejected++;
+			} else if (record(ping.getCourierId(), ping.getLatitude(), ping.getLongitude(), ping.getRecordedAt())) {
+				accepted++;
+			} else {
+				stale++;
+			}
+		}
+		return new PingBatchResult(accepted, stale, rejected);
+	}
+
+	/**
+	 * Records one position of a courier unless a newer one is already known.
+	 *
+	 * @return true if the position became the courier's latest
+	 */
+	public boolean record(Long courierId, double latitude, double longitude, Instant recordedAt) {
+		Track track = tracks.get(courierId);
+		if (track == null) {
+			track = tracks.computeIfAbsent(courierId, id -> new Track());
+		}
+		CourierPosition next = new CourierPosition(courierId, latitude, longitude, recordedAt);
+		CourierPosition current;
+		do {
+			current = track.latest.get();
+			if (current != null && !recordedAt.isAfter(current.getRecordedAt())) {
+				return false;
+			}
+		} while (!track.latest.compareAndSet(current, next));
+
+		long recordedMillis = recordedAt.toEpochMilli();
+		long sampledMillis = track.lastSampledMillis.get();
+		if ((sampledMillis == NEVER || recordedMillis - sampledMillis >= sampleIntervalMillis)
+				&& track.lastSampledMillis.compareAndSet(sampledMillis, recordedMillis)) {
+			enqueue(new CourierLocationSample(courierId, latitude, longitude, recordedAt));
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the latest known position of a courier.
+	 *
+	 * @param courierId the ID of the courier
+	 * @return the position, or null if the courier has not been heard from
+	 *         recently
+	 */
+	public CourierPosition latest(Long courierId) {
+		Track track = tracks.get(courierId);
+		return track == null ? null : track.latest.get();
+	}
+
+	/**
+	 * Returns the latest position of every courier heard from recently.
+	 *
+	 * @return a snapshot of the positions, in no particular order
+	 */
+	public List<CourierPosition> positions() {
+		List<CourierPosition> result = new ArrayList<>(tracks.size());
+		for (Track track : tracks.values()) {
+			CourierPosition position = track.latest.get();
+			if (position != null) {
+				result.add(position);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the queued history samples in batches and forgets couriers that
+	 * went quiet. Samples queued while the flush runs wait for the next one.
+	 *
+	 * @return the number of samples written
+	 */
+	@Scheduled(fixedDelayString = "${fooddelivery.courier-location.flush-interval:PT5S}",
+			initialDelayString = "${fooddelivery.courier-location.flush-interval:PT5S}")
+	public int flush() {
+		int written = 0;
+		int remaining = pendingCount.get();
+		List<CourierLocationSample> chunk = new ArrayList<>(Math.min(remaining, FLUSH_CHUNK_SIZE));
+		CourierLocationSample sample;
+		while (remaining-- > 0 && (sample = pending.poll()) != null) {
+			pendingCount.decrementAndGet();
+			chunk.add(sample);
+			if (chunk.size() == FLUSH_CHUNK_SIZE) {
+				written += write(chunk);
+				chunk = new ArrayList<>(FLUSH_CHUNK_SIZE);
+			}
+		}
+		if (!chunk.isEmpty()) {
+			written += write(chunk);
+		}
+		evictIdle();
+		if (written > 0) {
+			logger.debug("Wrote {} courier location samples", written);
+		}
+		return written;
+	}
+
+	@PreDestroy
+	public void close() {
+		flush();
+	}
+
+	/**
+	 * Returns the number of tracked couriers and history samples queued,
+	 * written and dropped.
+	 *
+	 * @return the statistics by name
+	 */
+	public Map<String, Object> stats() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("trackedCouriers", tracks.size());
+		result.put("pendingSamples", pendingCount.get());
+		result.put("writtenSamples", writtenSamples.sum());
+		result.put("droppedSamples", droppedSamples.sum());
+		return result;
+	}
+
+	private boolean isValid(CourierPing ping, long now) {
+		if (ping == null || ping.getCourierId() == null || ping.getRecordedAt() == null
+				|| ping.getLatitude() == null || ping.getLongitude() == null) {
+			return false;
+		}
+		double latitude = ping.getLatitude();
+		double longitude = ping.getLongitude();
+		return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180
+				&& ping.getRecordedAt().toEpochMilli() <= now + MAX_CLOCK_SKEW_MILLIS;
+	}
+
+	private void enqueue(CourierLocationSample sample) {
+		if (pendingCount.incrementAndGet() > bufferSize) {
+			pendingCount.decrementAndGet();
+			droppedSamples.increment();
+			return;
+		}
+		pending.add(sample);
+	}
+
+	private int write(List<CourierLocationSample> chunk) {
+		try {
+			sampleRepository.saveAll(chunk);
+			writtenSamples.add(chunk.size());
+			return chunk.size();
+		} catch (RuntimeException e) {
+			droppedSamples.add(chunk.size());
+			logger.warn("Dropped {} courier location samples: {}", chunk.size(), e.getMessage());
+			return 0;
+		}
+	}
+
+	private void evictIdle() {
+		long cutoff = clock.millis() - expireAfterMillis;
+		tracks.entrySet().removeIf(entry -> {
+			CourierPosition latest = entry.getValue().latest.get();
+			return latest == null || latest.getRecordedAt().toEpochMilli() < cutoff;
+		});
+	}
+
+	private void registerMetrics(MeterRegistry registry) {
+		Gauge.builder("courier.locations.tracked", tracks, Map::size).register(registry);
+		Gauge.builder("courier.locations.pending", pendingCount, AtomicInteger::get).register(registry);
+		FunctionCounter.builder("courier.locations.written", writtenSamples, LongAdder::sum).register(registry);
+		FunctionCounter.builder("courier.locations.dropped", droppedSamples, LongAdder::sum).register(registry);
+	}
+
+	/**
+	 * The latest position of one courier and when its history was last
+	 * sampled.
+	 */
+	private static final class Track {
+		final AtomicReference<CourierPosition> latest = new AtomicReference<>();
+		final AtomicLong lastSampledMillis = new AtomicLong(NEVER);
+	}
+}
@@ -0,0 +1,139 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.fooddelivery.dto.CourierPing;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CourierRoute;
+import com.fooddelivery.dto.PingBatchResult;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.Courier;
+import com.fooddelivery.model.CourierLocationSample;
+import com.fooddelivery.repository.CourierLocationSampleRepository;
+import com.fooddelivery.repository.CourierRepository;
+
+/**
+ * Service layer for managing couriers and tracking their positions.
+ */
+@Service
+public class CourierService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CourierService.class);
+
+	public static final int MAX_PINGS_PER_BATCH = 1000;
+	public static final int DEFAULT_HISTORY_SIZE = 100;
+	public static final int MAX_HISTORY_SIZE = 1000;
+
+	@Autowired
+	private CourierRepository courierRepository;
+
+	@Autowired
+	private CourierLocationSampleRepository courierLocationSampleRepository;
+
+	@Autowired
+	private CourierLocationStore courierLocationStore;
+
+	@Autowired
+	private DispatchScheduler dispatchScheduler;
+
+	/**
+	 * Creates a new courier.
+	 *
+	 * @param courier the courier to be created
+	 * @return the created Courier object
+	 */
+	public Courier createCourier(Courier courier) {
+		logger.info("Creating courier: {}", courier.getName());
+		return courierRepository.save(courier);
+	}
+
+	/**
+	 * Retrieves a courier by its ID.
+	 *
+	 * @param id the ID of the courier
+	 * @return the Courier if found
+	 * @throws ResourceNotFoundException if the courier is not found
+	 */
+	public Courier getCourierById(Long id) {
+		return courierRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Courier not found with ID: " + id));
+	}
+
+	/**
+	 * Records a batch of pings, possibly of several couriers. Pings are not
+	 * checked against the courier table: a ping of an unknown courier only
+	 * occupies memory until it expires.
+	 *
+	 * @param pings the pings, at most {@value #MAX_PINGS_PER_BATCH}
+	 * @return how many pings were accepted, stale or rejected
+	 * @throws IllegalArgumentException if there are no pings or too many
+	 */
+	public PingBatchResult ingestPings(List<CourierPing> pings) {
+		if (pings == null || pings.isEmpty() || pings.size() > MAX_PINGS_PER_BATCH) {
+			throw new IllegalArgumentException("A batch must contain between 1 and " + MAX_PINGS_PER_BATCH + " pings");
+		}
+		return courierLocationStore.ingest(pings);
+	}
+
+	/**
+	 * Retrieves the latest known position of a courier, without querying the
+	 * database.
+	 *
+	 * @param courierId the ID of the courier
+	 * @return the position
+	 * @throws ResourceNotFoundException if the courier has not reported a
+	 *                                   position recently
+	 */
+	public CourierPosition getLatestPosition(Long courierId) {
+		CourierPosition position = courierLocationStore.latest(courierId);
+		if (position == null) {
+			throw new ResourceNotFoundException("No recent position of courier " + courierId);
+		}
+		return position;
+	}
+
+	/**
+	 * Retrieves the route the dispatcher last gave a courier.
+	 *
+	 * @param courierId the ID of the courier
+	 * @return the route, with its stops in visiting order
+	 * @throws ResourceNotFoundException if the courier has no dispatched
+	 *                                   orders
+	 */
+	public CourierRoute getRoute(Long courierId) {
+		CourierRoute route = dispatchScheduler.routeOf(courierId);
+		if (route == null) {
+			throw new ResourceNotFoundException("No route for courier " + courierId);
+		}
+		return route;
+	}
+
+	/**
+	 * Retrieves the downsampled location history of a courier, newest first.
+	 *
+	 * @param courierId the ID of the courier
+	 * @param window    how far back to look
+	 * @param limit     the maximum number of samples, at most
+	 *                  {@value #MAX_HISTORY_SIZE}
+	 * @return the samples, newest first
+	 * @throws IllegalArgumentException if the window or limit is invalid
+	 */
+	public List<CourierLocationSample> getHistory(Long courierId, Duration window, int limit) {
+		if (window.isNegative() || window.isZero()) {
+			throw new IllegalArgumentException("The window must be positive");
+		}
+		if (limit < 1 || limit > MAX_HISTORY_SIZE) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_SIZE);
+		}
+		return courierLocationSampleRepository.findRecent(courierId, Instant.now().minus(window),
+				PageRequest.of(0, limit));
+	}
+}
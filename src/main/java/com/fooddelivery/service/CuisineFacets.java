@@ -0,0 +1,106 @@
+package com.fooddelivery.service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.dto.CuisineFacet;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * In-memory restaurant counts per cuisine for the browse facets.
+ *
+ * The counts are computed with one GROUP BY when the application starts and
+ * then every {@code fooddelivery.cuisine-facets.refresh-interval}, and are
+ * published as an immutable snapshot, so readers never query the database or
+ * take a lock. If a refresh fails the previous snapshot keeps being served.
+ */
+@Component
+public class CuisineFacets implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(CuisineFacets.class);
+
+	private final RestaurantRepository restaurantRepository;
+
+	private volatile Snapshot snapshot = new Snapshot(List.of(), null);
+
+	public CuisineFacets(RestaurantRepository restaurantRepository) {
+		this.restaurantRepository = restaurantRepository;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		refresh();
+	}
+
+	/**
+	 * Recomputes the counts from the database.
+	 */
+	@Scheduled(fixedDelayString = "${fooddelivery.cuisine-facets.refresh-interval:PT1M}",
+			initialDelayString = "${fooddelivery.cuisine-facets.refresh-interval:PT1M}")
+	public void refresh() {
+		try {
+			List<CuisineFacet> facets = restaurantRepository.countByCuisine();
+			snapshot = new Snapshot(facets, Instant.now());
+			logger.debug("Refreshed restaurant counts of {} cuisines", facets.size());
+		} catch (RuntimeException e) {
+			logger.warn("Could not refresh cuisine facets, keeping counts from {}: {}", snapshot.refreshedAt,
+					e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the number of restaurants per cuisine, ordered by cuisine key.
+	 */
+	public List<CuisineFacet> getFacets() {
+		return snapshot.facets;
+	}
+
+	/**
+	 * Returns the number of restaurants of a cuisine, or of all restaurants.
+	 *
+	 * @param cuisineKey the normalized cuisine, or null for all
+	 * @return the count as of the last refresh
+	 */
+	public long count(String cuisineKey) {
+		Snapshot current = snapshot;
+		return cuisineKey == null ? current.total : current.counts.getOrDefault(cuisineKey, 0L);
+	}
+
+	/**
+	 * Returns when the counts were last refreshed, or null if never.
+	 */
+	public Instant getRefreshedAt() {
+		return snapshot.refreshedAt;
+	}
+
+	/**
+	 * One immutable set of counts.
+	 */
+	private static final class Snapshot {
+		final List<CuisineFacet> facets;
+		final Map<String, Long> counts;
+		final long total;
+		final Instant refreshedAt;
+
+		Snapshot(List<CuisineFacet> facets, Instant refreshedAt) {
+			this.facets = List.copyOf(facets);
+			Map<String, Long> byKey = new HashMap<>();
+			long sum = 0;
+			for (CuisineFacet facet : facets) {
+				byKey.put(facet.getKey(), facet.getCount());
+				sum += facet.getCount();
+			}
+			this.counts = Map.copyOf(byKey);
+			this.total = sum;
+			this.refreshedAt = refreshedAt;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.model.DeliveryZone;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * In-memory index of restaurant delivery zones, answering "does this
+ * restaurant deliver here" and "which restaurants deliver here" without
+ * touching the database.
+ *
+ * Every zone is registered in the {@value #CELL_DEGREES} degree grid cells
+ * its bounding box overlaps, so a point is only tested against the polygons
+ * of the zones overlapping its cell: one hash lookup and a short candidate
+ * list however many restaurants there are. Cells are immutable arrays that
+ * are replaced when a zone changes, so lookups take no lock. The index is
+ * built from the database before the application serves requests and is then
+ * updated by {@link RestaurantService} after each change commits.
+ */
+@Component
+public class DeliveryZoneIndex implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(DeliveryZoneIndex.class);
+
+	static final double CELL_DEGREES = 0.05;
+
+	private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+	private static final int REBUILD_CHUNK_SIZE = 1000;
+
+	private final RestaurantRepository restaurantRepository;
+
+	private final Object writeLock = new Object();
+	private volatile Grid grid = new Grid();
+
+	public DeliveryZoneIndex(RestaurantRepository restaurantRepository) {
+		this.restaurantRepository = restaurantRepository;
+	}
+
+	/**
+	 * Loads all zones. Runs after all singletons are created and before the
+	 * web server starts, so no zone can change concurrently.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		rebuild();
+	}
+
+	/**
+	 * Replaces the contents of the index with the zones in the database.
+	 */
+	public void rebuild() {
+		Grid rebuilt = new Grid();
+		PageRequest chunk = PageRequest.of(0, REBUILD_CHUNK_SIZE);
+		List<Restaurant> page = restaurantRepository.findFirstPage(chunk);
+		while (!page.isEmpty()) {
+			for (Restaurant restaurant : page) {
+				if (restaurant.getDeliveryZone() != null) {
+					rebuilt.put(restaurant.getId(), restaurant.getDeliveryZone());
+				}
+			}
+			if (page.size() < REBUILD_CHUNK_SIZE) {
+				break;
+			}
+			page = restaurantRepository.findPageAfter(page.get(page.size() - 1).getId(), chunk);
+		}
+		synchronized (writeLock) {
+			grid = rebuilt;
+		}
+		logger.info("Indexed {} delivery zones in {} cells", rebuilt.zones.size(), rebuilt.cells.size());
+	}
+
+	/**
+	 * Sets or, if it has none, removes the zone of a restaurant. Inside a
+	 * transaction the change is applied after commit.
+	 *
+	 * @param restaurant the saved restaurant; ignored if it has no ID
+	 */
+	public void index(Restaurant restaurant) {
+		if (restaurant.getId() == null) {
+			return;
+		}
+		Long restaurantId = restaurant.getId();
+		DeliveryZone zone = restaurant.getDeliveryZone();
+		AfterCommit.run(() -> {
+			synchronized (writeLock) {
+				grid.remove(restaurantId);
+				if (zone != null) {
+					grid.put(restaurantId, zone);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns the zone of a restaurant.
+	 *
+	 * @param restaurantId the ID of the restaurant
+	 * @return the zone, or null if the restaurant delivers anywhere
+	 */
+	public DeliveryZone zoneOf(Long restaurantId) {
+		return grid.zones.get(restaurantId);
+	}
+
+	/**
+	 * Returns whether a restaurant delivers to a position. A restaurant
+	 * without a zone delivers anywhere.
+	 */
+	public boolean delivers(Long restaurantId, GeoPoint to) {
+		DeliveryZone zone = zoneOf(restaurantId);
+		return zone == null || zone.contains(to);
+	}
+
+	/**
+	 * Finds the restaurants whose zone contains a position. Restaurants
+	 * without a zone are not included.
+	 *
+	 * @param to the position to deliver to
+	 * @return the IDs of the restaurants, in ascending order
+	 */
+	public List<Long> restaurantsDeliveringTo(GeoPoint to) {
+		Entry[] cell = grid.cells.get(cellKey(row(to.getLatitude()), column(to.getLongitude())));
+		if (cell == null) {
+			return List.of();
+		}
+		List<Long> restaurantIds = new ArrayList<>();
+		for (Entry entry : cell) {
+			if (entry.zone.contains(to)) {
+				restaurantIds.add(entry.restaurantId);
+			}
+		}
+		restaurantIds.sort(null);
+		return restaurantIds;
+	}
+
+	/**
+	 * Returns the number of indexed zones.
+	 */
+	public int size() {
+		return grid.zones.size();
+	}
+
+	static int row(double latitude) {
+		return (int) Math.floor(latitude / CELL_DEGREES);
+	}
+
+	static int column(double longitude) {
+		return (int) Math.floor(longitude / CELL_DEGREES);
+	}
+
+	static long cellKey(int row, int column) {
+		return (long) row * COLUMNS + Math.floorMod(column, COLUMNS);
+	}
+
+	/**
+	 * The zones and the cells they overlap. Writers hold the write lock; cell
+	 * arrays are never modified once published.
+	 */
+	private static final class Grid {
+		final Map<Long, Entry[]> cells = new ConcurrentHashMap<>();
+		final Map<Long, DeliveryZone> zones = new ConcurrentHashMap<>();
+
+		void put(Long restaurantId, DeliveryZone zone) {
+			Entry entry = new Entry(restaurantId, zone);
+			forEachCell(zone, key -> {
+				Entry[] cell = cells.get(key);
+				Entry[] grown = cell == null ? new Entry[1] : Arrays.copyOf(cell, cell.length + 1);
+				grown[grown.length - 1] = entry;
+				cells.put(key, grown);
+			});
+			zones.put(restaurantId, zone);
+		}
+
+		void remove(Long restaurantId) {
+			DeliveryZone zone = zones.remove(restaurantId);
+			if (zone == null) {
+				return;
+			}
+			forEachCell(zone, key -> {
+				Entry[] cell = cells.get(key);
+				if (cell == null) {
+					return;
+				}
+				Entry[] shrunk = Arrays.stream(cell).filter(e -> !e.restaurantId.equals(restaurantId))
+						.toArray(Entry[]::new);
+				if (shrunk.length == 0) {
+					cells.remove(key);
+				} else {
+					cells.put(key, shrunk);
+				}
+			});
+		}
+
+		private static void forEachCell(DeliveryZone zone, LongConsumer action) {
+			int columnMin = column(zone.getMinLongitude());
+			int columnMax = column(zone.getMaxLongitude());
+			for (int row = row(zone.getMinLatitude()); row <= row(zone.getMaxLatitude()); row++) {
+				for (int column = columnMin; column <= columnMax; column++) {
+					action.accept(cellKey(row, column));
+				}
+			}
+		}
+	}
+
+	private static final class Entry {
+		final Long restaurantId;
+		final DeliveryZone zone;
+
+		Entry(Long restaurantId, DeliveryZone zone) {
+			this.restaurantId = restaurantId;
+			this.zone = zone;
+		}
+	}
+}
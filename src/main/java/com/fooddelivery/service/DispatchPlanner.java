@@ -0,0 +1,426 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CourierRoute;
+import com.fooddelivery.dto.RouteStop;
+import com.fooddelivery.model.GeoPoint;
+
+/**
+ * Plans one round of courier dispatch: batches the waiting orders into
+ * multi-stop routes and matches the routes with idle couriers.
+ *
+ * Orders and couriers are split into square regions of
+ * {@code regionDegrees} by the position of the first restaurant and of the
+ * courier, and the regions are planned in parallel. Within a region:
+ * <ol>
+ * <li>Orders, taken in the order given, are added to the route where the
+ * cheapest insertion of their pickups and drop-off lengthens the route the
+ * least, if that is at most {@code maxDetourMeters} and the route has room;
+ * otherwise they start a new route. Insertion never moves a drop-off before
+ * its pickup.</li>
+ * <li>Routes and couriers are matched by the Hungarian method, minimizing the
+ * total distance from the couriers to their first stop. With more routes than
+ * couriers only the oldest routes take part, so no order waits forever behind
+ * newer ones that happen to be closer to a courier. Pairs further apart than
+ * {@code maxPickupMeters} are never matched.</li>
+ * </ol>
+ * Routes and couriers left unmatched are then paired with the nearest
+ * counterpart in the same or a neighbouring region, so regions with a backlog
+ * borrow couriers idling across their border. Routes still unmatched are not
+ * returned and their orders wait for the next round.
+ *
+ * Inside a region distances are measured on a flat projection around its
+ * center, which is exact to well under a percent at city scale; between
+ * regions they are great-circle distances. Instances are immutable and
+ * thread-safe.
+ */
+public final class DispatchPlanner {
+
+	// Cost of a pair that may not be matched; larger than any sum of real distances
+	private static final double FORBIDDEN = 1e12;
+
+	private final double regionDegrees;
+	private final int maxOrdersPerRoute;
+	private final double maxDetourMeters;
+	private final double maxPickupMeters;
+
+	public DispatchPlanner(double regionDegrees, int maxOrdersPerRoute, double maxDetourMeters,
+			double maxPickupMeters) {
+		if (regionDegrees <= 0 || maxOrdersPerRoute < 1 || maxDetourMeters < 0 || maxPickupMeters <= 0) {
+			throw new IllegalArgumentException("Invalid dispatch settings");
+		}
+		this.regionDegrees = regionDegrees;
+		this.maxOrdersPerRoute = maxOrdersPerRoute;
+		this.maxDetourMeters = maxDetourMeters;
+		this.maxPickupMeters = maxPickupMeters;
+	}
+
+	/**
+	 * An order waiting for a courier.
+	 */
+	public static final class Job {
+		final Long orderId;
+		final List<GeoPoint> pickups;
+		final GeoPoint dropoff;
+
+		/**
+		 * @param orderId the ID of the order
+		 * @param pickups the restaurants to collect the order from, in the
+		 *                order to visit them
+		 * @param dropoff the customer's address
+		 */
+		public Job(Long orderId, List<GeoPoint> pickups, GeoPoint dropoff) {
+			if (pickups.isEmpty()) {
+				throw new IllegalArgumentException("Order " + orderId + " has no pickup");
+			}
+			this.orderId = orderId;
+			this.pickups = List.copyOf(pickups);
+			this.dropoff = dropoff;
+		}
+
+		public Long getOrderId() {
+			return orderId;
+		}
+	}
+
+	/**
+	 * Plans routes for the given orders and couriers.
+	 *
+	 * @param jobs     the orders waiting for a courier, most urgent first
+	 * @param couriers the positions of the idle couriers
+	 * @return the routes assigned to couriers, at most one per courier
+	 */
+	public List<CourierRoute> plan(List<Job> jobs, List<CourierPosition> couriers) {
+		Map<Long, Region> regions = new HashMap<>();
+		for (Job job : jobs) {
+			GeoPoint first = job.pickups.get(0);
+			region(regions, first.getLatitude(), first.getLongitude()).jobs.add(job);
+		}
+		for (CourierPosition courier : couriers) {
+			region(regions, courier.getLatitude(), courier.getLongitude()).couriers.add(courier);
+		}
+
+		regions.values().parallelStream().forEach(this::planRegion);
+
+		List<CourierRoute> routes = new ArrayList<>();
+		for (Region region : regions.values()) {
+			routes.addAll(region.routes);
+		}
+		stitch(regions, routes);
+		return routes;
+	}
+
+	private Region region(Map<Long, Region> regions, double latitude, double longitude) {
+		long row = (long) Math.floor(latitude / regionDegrees);
+		long column = (long) Math.floor(longitude / regionDegrees);
+		return regions.computeIfAbsent(regionKey(row, column),
+				key -> new Region(key, (row + 0.5) * regionDegrees));
+	}
+
+	private static long regionKey(long row, long column) {
+		return row << 32 | (column & 0xFFFFFFFFL);
+	}
+
+	private void planRegion(Region region) {
+		List<Draft> drafts = new ArrayList<>();
+		for (Job job : region.jobs) {
+			insert(region, drafts, job);
+		}
+		if (drafts.isEmpty() || region.couriers.isEmpty()) {
+			region.leftoverDrafts.addAll(drafts);
+			region.leftoverCouriers.addAll(region.couriers);
+			return;
+		}
+
+		// The oldest routes are matched first; the others wait, or go to couriers left idle when stitching
+		List<CourierPosition> couriers = region.couriers;
+		List<Draft> candidates = drafts.subList(0, Math.min(drafts.size(), couriers.size()));
+		region.leftoverDrafts.addAll(drafts.subList(candidates.size(), drafts.size()));
+
+		double[][] cost = new double[candidates.size()][couriers.size()];
+		for (int c = 0; c < couriers.size(); c++) {
+			double x = region.x(couriers.get(c).getLongitude());
+			double y = region.y(couriers.get(c).getLatitude());
+			for (int d = 0; d < candidates.size(); d++) {
+				Stop first = candidates.get(d).stops.get(0);
+				double meters = Math.hypot(first.x - x, first.y - y);
+				cost[d][c] = meters <= maxPickupMeters ? meters : FORBIDDEN;
+			}
+		}
+
+		int[] courierOfDraft = assign(cost);
+		boolean[] busy = new boolean[couriers.size()];
+		for (int d = 0; d < candidates.size(); d++) {
+			int c = courierOfDraft[d];
+			Draft draft = candidates.get(d);
+			if (cost[d][c] < FORBIDDEN) {
+				busy[c] = true;
+				region.routes.add(draft.toRoute(couriers.get(c).getCourierId(), cost[d][c] + draft.length));
+			} else {
+				region.leftoverDrafts.add(draft);
+			}
+		}
+		for (int c = 0; c < couriers.size(); c++) {
+			if (!busy[c]) {
+				region.leftoverCouriers.add(couriers.get(c));
+			}
+		}
+	}
+
+	/**
+	 * Adds a job to the route it lengthens the least, or to a new route.
+	 */
+	private void insert(Region region, List<Draft> drafts, Job job) {
+		Stop[] block = new Stop[job.pickups.size()];
+		double blockLength = 0;
+		for (int k = 0; k < block.length; k++) {
+			block[k] = region.stop(job.orderId, RouteStop.Type.PICKUP, job.pickups.get(k));
+			if (k > 0) {
+				blockLength += distance(block[k - 1], block[k]);
+			}
+		}
+		Stop dropoff = region.stop(job.orderId, RouteStop.Type.DROPOFF, job.dropoff);
+		Stop firstPickup = block[0];
+		Stop lastPickup = block[block.length - 1];
+
+		Draft best = null;
+		double bestDelta = maxDetourMeters;
+		int bestBlockAt = -1;
+		int bestDropoffAt = -1;
+		for (Draft draft : drafts) {
+			if (draft.orderIds.size() >= maxOrdersPerRoute) {
+				continue;
+			}
+			List<Stop> stops = draft.stops;
+			int n = stops.size();
+			for (int i = 0; i <= n; i++) {
+				Stop before = i > 0 ? stops.get(i - 1) : null;
+				Stop after = i < n ? stops.get(i) : null;
+				double opened = edge(before, firstPickup) + blockLength - edge(before, after);
+
+				// Drop-off right after the pickups
+				double delta = opened + distance(lastPickup, dropoff) + edge(dropoff, after);
+				if (delta <= bestDelta) {
+					best = draft;
+					bestDelta = delta;
+					bestBlockAt = i;
+					bestDropoffAt = i;
+				}
+				// Drop-off after some of the existing stops
+				double withBlock = opened + edge(lastPickup, after);
+				if (withBlock > bestDelta) {
+					continue;
+				}
+				for (int j = i + 1; j <= n; j++) {
+					Stop previous = stops.get(j - 1);
+					Stop next = j < n ? stops.get(j) : null;
+					delta = withBlock + distance(previous, dropoff) + edge(dropoff, next) - edge(previous, next);
+					if (delta <= bestDelta) {
+						best = draft;
+						bestDelta = delta;
+						bestBlockAt = i;
+						bestDropoffAt = j;
+					}
+				}
+			}
+		}
+
+		if (best == null) {
+			best = new Draft();
+			best.length = blockLength + distance(lastPickup, dropoff);
+			best.stops.addAll(Arrays.asList(block));
+			best.stops.add(dropoff);
+			drafts.add(best);
+		} else {
+			best.stops.add(bestDropoffAt, dropoff);
+			best.stops.addAll(bestBlockAt, Arrays.asList(block));
+			best.length += bestDelta;
+		}
+		best.orderIds.add(job.orderId);
+	}
+
+	/**
+	 * Pairs each route left over by its region with the nearest idle courier
+	 * of the same or a neighbouring region, oldest routes of a region first.
+	 */
+	private void stitch(Map<Long, Region> regions, List<CourierRoute> routes) {
+		for (Region region : regions.values()) {
+			for (Draft draft : region.leftoverDrafts) {
+				Stop first = draft.stops.get(0);
+				Region nearestRegion = null;
+				int nearestIndex = -1;
+				double nearest = maxPickupMeters;
+				long row = region.key >> 32;
+				long column = (int) region.key;
+				for (long r = row - 1; r <= row + 1; r++) {
+					for (long c = column - 1; c <= column + 1; c++) {
+						Region neighbour = regions.get(regionKey(r, c));
+						if (neighbour == null) {
+							continue;
+						}
+						List<CourierPosition> idle = neighbour.leftoverCouriers;
+						for (int i = 0; i < idle.size(); i++) {
+							CourierPosition courier = idle.get(i);
+							double meters = GeoPoint.distanceMeters(courier.getLatitude(), courier.getLongitude(),
+									first.point.getLatitude(), first.point.getLongitude());
+							if (meters <= nearest) {
+								nearest = meters;
+								nearestRegion = neighbour;
+								nearestIndex = i;
+							}
+						}
+					}
+				}
+				if (nearestRegion != null) {
+					CourierPosition courier = nearestRegion.leftoverCouriers.remove(nearestIndex);
+					routes.add(draft.toRoute(courier.getCourierId(), nearest + draft.length));
+				}
+			}
+		}
+	}
+
+	private static double distance(Stop a, Stop b) {
+		return Math.hypot(a.x - b.x, a.y - b.y);
+	}
+
+	private static double edge(Stop a, Stop b) {
+		return a == null || b == null ? 0 : distance(a, b);
+	}
+
+	/**
+	 * Solves the assignment problem for a cost matrix with no more rows than
+	 * columns by the Hungarian method, in O(rows^2 * columns).
+	 *
+	 * @param cost the cost of assigning each row to each column
+	 * @return the column assigned to each row, minimizing the total cost
+	 */
+	static int[] assign(double[][] cost) {
+		int n = cost.length;
+		int m = cost[0].length;
+		if (n > m) {
+			throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+		}
+		// 1-based potentials and matching; column 0 is a sentinel
+		double[] u = new double[n + 1];
+		double[] v = new double[m + 1];
+		int[] rowOfColumn = new int[m + 1];
+		int[] way = new int[m + 1];
+		double[] minSlack = new double[m + 1];
+		boolean[] used = new boolean[m + 1];
+		for (int i = 1; i <= n; i++) {
+			rowOfColumn[0] = i;
+			int column = 0;
+			Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+			Arrays.fill(used, false);
+			do {
+				used[column] = true;
+				int row = rowOfColumn[column];
+				double delta = Double.POSITIVE_INFINITY;
+				int nextColumn = 0;
+				for (int j = 1; j <= m; j++) {
+					if (!used[j]) {
+						double slack = cost[row - 1][j - 1] - u[row] - v[j];
+						if (slack < minSlack[j]) {
+							minSlack[j] = slack;
+							way[j] = column;
+						}
+						if (minSlack[j] < delta) {
+							delta = minSlack[j];
+							nextColumn = j;
+						}
+					}
+				}
+				for (int j = 0; j <= m; j++) {
+					if (used[j]) {
+						u[rowOfColumn[j]] += delta;
+						v[j] -= delta;
+					} else {
+						minSlack[j] -= delta;
+					}
+				}
+				column = nextColumn;
+			} while (rowOfColumn[column] != 0);
+			do {
+				int previous = way[column];
+				rowOfColumn[column] = rowOfColumn[previous];
+				column = previous;
+			} while (column != 0);
+		}
+		int[] columnOfRow = new int[n];
+		for (int j = 1; j <= m; j++) {
+			if (rowOfColumn[j] != 0) {
+				columnOfRow[rowOfColumn[j] - 1] = j - 1;
+			}
+		}
+		return columnOfRow;
+	}
+
+	/**
+	 * The orders and couriers of one region and, once planned, its routes.
+	 * Positions are projected to meters east and north of the prime meridian
+	 * and equator, with the east-west scale of the region's center latitude.
+	 */
+	private static final class Region {
+		final long key;
+		final double metersPerDegreeLongitude;
+		final List<Job> jobs = new ArrayList<>();
+		final List<CourierPosition> couriers = new ArrayList<>();
+		final List<CourierRoute> routes = new ArrayList<>();
+		final List<Draft> leftoverDrafts = new ArrayList<>();
+		final List<CourierPosition> leftoverCouriers = new ArrayList<>();
+
+		Region(long key, double centerLatitude) {
+			this.key = key;
+			this.metersPerDegreeLongitude = GeoPoint.METERS_PER_DEGREE * Math.cos(Math.toRadians(centerLatitude));
+		}
+
+		double x(double longitude) {
+			return longitude * metersPerDegreeLongitude;
+		}
+
+		double y(double latitude) {
+			return latitude * GeoPoint.METERS_PER_DEGREE;
+		}
+
+		Stop stop(Long orderId, RouteStop.Type type, GeoPoint point) {
+			return new Stop(orderId, type, point, x(point.getLongitude()), y(point.getLatitude()));
+		}
+	}
+
+	private static final class Draft {
+		final List<Stop> stops = new ArrayList<>();
+		final List<Long> orderIds = new ArrayList<>();
+		double length;
+
+		CourierRoute toRoute(Long courierId, double distanceMeters) {
+			List<RouteStop> routeStops = new ArrayList<>(stops.size());
+			for (Stop stop : stops) {
+				routeStops.add(new RouteStop(stop.orderId, stop.type, stop.point.getLatitude(),
+						stop.point.getLongitude()));
+			}
+			return new CourierRoute(courierId, List.copyOf(orderIds), routeStops, distanceMeters);
+		}
+	}
+
+	private static final class Stop {
+		final Long orderId;
+		final RouteStop.Type type;
+		final GeoPoint point;
+		final double x;
+		final double y;
+
+		Stop(Long orderId, RouteStop.Type type, GeoPoint point, double x, double y) {
+			this.orderId = orderId;
+			this.type = type;
+			this.point = point;
+			this.x = x;
+			this.y = y;
+		}
+	}
+}
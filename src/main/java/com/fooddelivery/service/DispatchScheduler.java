@@ -0,0 +1,187 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CourierRoute;
+import com.fooddelivery.exception.OrderConflictException;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.OrderItem;
+
+/**
+ * Assigns couriers to orders in rounds, every
+ * {@code fooddelivery.dispatch.window}, instead of one order at a time as
+ * they come in: collecting the orders of a window lets nearby orders share a
+ * courier and lets the planner match all couriers and routes of a region at
+ * once (see {@link DispatchPlanner}).
+ *
+ * Each round dispatches the orders that are being prepared and have no
+ * courier, so couriers travel to the restaurant while the food is cooked.
+ * Orders come from the {@link ActiveOrderIndex} and courier positions from
+ * the {@link CourierLocationStore}; only assigning the chosen couriers goes to
+ * the database, conditional on each order still being at the version it was
+ * planned on, so an order assigned or changed in the meantime is skipped. A
+ * courier is idle when none of its orders is active and its position is at
+ * most {@code fooddelivery.dispatch.max-position-age} old.
+ * Orders whose restaurant or customer has no location are left for manual
+ * assignment.
+ */
+@Component
+public class DispatchScheduler {
+
+	private static final Logger logger = LoggerFactory.getLogger(DispatchScheduler.class);
+
+	private final ActiveOrderIndex activeOrderIndex;
+	private final CourierLocationStore courierLocationStore;
+	private final OrderService orderService;
+	private final DispatchPlanner planner;
+	private final boolean enabled;
+	private final Duration maxPositionAge;
+
+	// The route most recently given to each courier that still has active orders
+	private final Map<Long, CourierRoute> routes = new ConcurrentHashMap<>();
+
+	public DispatchScheduler(ActiveOrderIndex activeOrderIndex, CourierLocationStore courierLocationStore,
+			OrderService orderService, @Value("${fooddelivery.dispatch.enabled:true}") boolean enabled,
+			@Value("${fooddelivery.dispatch.region-degrees:0.1}") double regionDegrees,
+			@Value("${fooddelivery.dispatch.max-orders-per-route:3}") int maxOrdersPerRoute,
+			@Value("${fooddelivery.dispatch.max-detour-meters:2000}") double maxDetourMeters,
+			@Value("${fooddelivery.dispatch.max-pickup-meters:5000}") double maxPickupMeters,
+			@Value("${fooddelivery.dispatch.max-position-age:PT2M}") Duration maxPositionAge) {
+		this.activeOrderIndex = activeOrderIndex;
+		this.courierLocationStore = courierLocationStore;
+		this.orderService = orderService;
+		this.planner = new DispatchPlanner(regionDegrees, maxOrdersPerRoute, maxDetourMeters, maxPickupMeters);
+		this.enabled = enabled;
+		this.maxPositionAge = maxPositionAge;
+	}
+
+	@Scheduled(fixedDelayString = "${fooddelivery.dispatch.window:PT15S}",
+			initialDelayString = "${fooddelivery.dispatch.window:PT15S}")
+	public void scheduledDispatch() {
+		if (enabled) {
+			dispatch();
+		}
+	}
+
+	/**
+	 * Runs one dispatch round.
+	 *
+	 * @return the routes assigned, without the orders that changed in the
+	 *         meantime and could not be assigned
+	 */
+	public List<CourierRoute> dispatch() {
+		Set<Long> busy = new HashSet<>();
+		List<DispatchPlanner.Job> jobs = new ArrayList<>();
+		Map<Long, Order> plannedOrders = new HashMap<>();
+		for (Order.OrderStatus status : Order.OrderStatus.values()) {
+			if (status.isTerminal()) {
+				continue;
+			}
+			for (Order order : activeOrderIndex.getPage(status, null, Integer.MAX_VALUE).getItems()) {
+				if (order.getCourierId() != null) {
+					busy.add(order.getCourierId());
+				} else if (status == Order.OrderStatus.PREPARING) {
+					DispatchPlanner.Job job = toJob(order);
+					if (job != null) {
+						jobs.add(job);
+						plannedOrders.put(order.getId(), order);
+					}
+				}
+			}
+		}
+		routes.keySet().retainAll(busy);
+
+		Instant freshAfter = Instant.now().minus(maxPositionAge);
+		List<CourierPosition> idle = new ArrayList<>();
+		for (CourierPosition position : courierLocationStore.positions()) {
+			if (!busy.contains(position.getCourierId()) && position.getRecordedAt().isAfter(freshAfter)) {
+				idle.add(position);
+			}
+		}
+		if (jobs.isEmpty() || idle.isEmpty()) {
+			return List.of();
+		}
+
+		long started = System.nanoTime();
+		List<CourierRoute> planned = planner.plan(jobs, idle);
+		long planMillis = (System.nanoTime() - started) / 1_000_000;
+
+		List<CourierRoute> assigned = new ArrayList<>(planned.size());
+		int orderCount = 0;
+		for (CourierRoute route : planned) {
+			Set<Long> orderIds = new LinkedHashSet<>();
+			for (Long orderId : route.getOrderIds()) {
+				try {
+					orderService.dispatchCourier(plannedOrders.get(orderId), route.getCourierId());
+					orderIds.add(orderId);
+				} catch (ResourceNotFoundException | OrderConflictException e) {
+					logger.debug("Order {} not dispatched: {}", orderId, e.getMessage());
+				}
+			}
+			if (orderIds.isEmpty()) {
+				continue;
+			}
+			CourierRoute kept = orderIds.size() == route.getOrderIds().size() ? route
+					: new CourierRoute(route.getCourierId(), List.copyOf(orderIds),
+							route.getStops().stream().filter(stop -> orderIds.contains(stop.getOrderId())).toList(),
+							route.getDistanceMeters());
+			routes.put(kept.getCourierId(), kept);
+			assigned.add(kept);
+			orderCount += orderIds.size();
+		}
+		logger.info("Dispatched {} of {} orders on {} routes to {} idle couriers (planned in {} ms)", orderCount,
+				jobs.size(), assigned.size(), idle.size(), planMillis);
+		return assigned;
+	}
+
+	/**
+	 * Returns the route most recently assigned to a courier.
+	 *
+	 * @param courierId the ID of the courier
+	 * @return the route, or null if the courier has no active dispatched
+	 *         orders
+	 */
+	public CourierRoute routeOf(Long courierId) {
+		return routes.get(courierId);
+	}
+
+	/**
+	 * Describes an order for the planner: its restaurants in the order they
+	 * first appear among the items, and the customer's address.
+	 *
+	 * @return the job, or null if a position is missing
+	 */
+	private static DispatchPlanner.Job toJob(Order order) {
+		GeoPoint dropoff = order.getCustomer().getLocation();
+		if (dropoff == null) {
+			return null;
+		}
+		Set<GeoPoint> pickups = new LinkedHashSet<>();
+		for (OrderItem item : order.getItems()) {
+			GeoPoint pickup = item.getMenuItem().getRestaurant().getLocation();
+			if (pickup == null) {
+				return null;
+			}
+			pickups.add(pickup);
+		}
+		return pickups.isEmpty() ? null : new DispatchPlanner.Job(order.getId(), List.copyOf(pickups), dropoff);
+	}
+}
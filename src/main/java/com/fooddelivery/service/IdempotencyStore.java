@@ -0,0 +1,433 @@
+package com.fooddelivery.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.exception.IdempotencyKeyReusedException;
+import com.fooddelivery.exception.RequestInProgressException;
+import com.fooddelivery.model.IdempotencyRecord;
+import com.fooddelivery.repository.IdempotencyRecordRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs requests that carry an idempotency key at most once, and answers
+ * retries with the response of the first request.
+ *
+ * Keys are kept in memory in power-of-two shards, each a small map in
+ * insertion order guarded by its own lock, so expired entries and entries over
+ * {@code fooddelivery.idempotency.max-entries} are evicted from the head. The
+ * first request with a key claims it by inserting a row into the
+ * {@code idempotency_record} table, so a key is claimed once across instances
+ * and survives restarts and eviction from memory; the row is completed with
+ * the response once the request finishes. Duplicates arriving on the same
+ * instance while the first request runs wait for its response, up to
+ * {@code fooddelivery.idempotency.in-flight-timeout}, instead of running in
+ * parallel; duplicates on other instances are refused as in progress.
+ *
+ * Responses with a 5xx status are not stored: the claim is dropped so a retry
+ * runs the request again. A claim not completed within the in-flight timeout
+ * is taken to belong to a crashed instance and may be taken over. Keys expire
+ * {@code fooddelivery.idempotency.ttl} after they were first used.
+ */
+@Component
+public class IdempotencyStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+	/** The longest idempotency key accepted from clients. */
+	public static final int MAX_KEY_LENGTH = 200;
+
+	/** Header set on responses replayed from an earlier request. */
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+	private final IdempotencyRecordRepository repository;
+	private final ObjectMapper objectMapper;
+	private final long ttlMillis;
+	private final long inFlightTimeoutMillis;
+	private final int maxEntriesPerShard;
+	private final Clock clock;
+	private final Shard[] shards;
+	private final int shardShift;
+
+	private final LongAdder executedRequests = new LongAdder();
+	private final LongAdder replayedRequests = new LongAdder();
+	private final LongAdder refusedRequests = new LongAdder();
+
+	public IdempotencyStore(IdempotencyRecordRepository repository, ObjectMapper objectMapper, Duration ttl,
+			Duration inFlightTimeout, int maxEntries, int shardCount, Clock clock) {
+		this.repository = repository;
+		this.objectMapper = objectMapper;
+		this.ttlMillis = ttl.toMillis();
+		this.inFlightTimeoutMillis = inFlightTimeout.toMillis();
+		this.clock = clock;
+		int count = 1;
+		while (count < shardCount) {
+			count <<= 1;
+		}
+		this.shards = new Shard[count];
+		this.shardShift = 32 - Integer.numberOfTrailingZeros(count);
+		for (int i = 0; i < count; i++) {
+			shards[i] = new Shard();
+		}
+		this.maxEntriesPerShard = Math.max(1, (maxEntries + count - 1) / count);
+	}
+
+	@Autowired
+	public IdempotencyStore(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+			@Value("${fooddelivery.idempotency.ttl:PT24H}") Duration ttl,
+			@Value("${fooddelivery.idempotency.in-flight-timeout:PT30S}") Duration inFlightTimeout,
+			@Value("${fooddelivery.idempotency.max-entries:100000}") int maxEntries,
+			@Value("${fooddelivery.idempotency.shards:64}") int shardCount,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this(repository, objectMapper, ttl, inFlightTimeout, maxEntries, shardCount, Clock.systemUTC());
+		meterRegistry.ifAvailable(this::registerMetrics);
+	}
+
+	/**
+	 * Hashes the parts of a request that must match for a retry, so that a key
+	 * reused for a different request can be told apart.
+	 *
+	 * @param request a canonical rendering of the request
+	 * @return the SHA-256 of the request, in hex
+	 */
+	public static String hash(String request) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	/**
+	 * Runs a request unless a request with the same key already ran, in which
+	 * case its stored response is returned with the {@value #REPLAYED_HEADER}
+	 * header. While a request with the key runs on this instance, the call
+	 * waits for its response.
+	 *
+	 * @param key         the idempotency key, scoped by the caller to the
+	 *                    endpoint and user
+	 * @param requestHash the {@link #hash} of the request
+	 * @param action      runs the request
+	 * @return the response of the request, or the stored response of the
+	 *         first request with the key
+	 * @throws IdempotencyKeyReusedException if the key was used for a
+	 *                                       different request
+	 * @throws RequestInProgressException    if the first request with the key
+	 *                                       is still running
+	 */
+	public ResponseEntity<?> execute(String key, String requestHash, Supplier<ResponseEntity<?>> action) {
+		Shard shard = shard(key);
+		while (true) {
+			long now = clock.millis();
+			Entry entry;
+			boolean leader = false;
+			synchronized (shard) {
+				shard.evict(now - ttlMillis, Integer.MAX_VALUE);
+				entry = shard.entries.get(key);
+				if (entry == null) {
+					shard.evict(now - ttlMillis, maxEntriesPerShard);
+					entry = new Entry(requestHash, now);
+					shard.entries.put(key, entry);
+					leader = true;
+				}
+			}
+			if (!entry.requestHash.equals(requestHash)) {
+				refusedRequests.increment();
+				throw new IdempotencyKeyReusedException("Idempotency key was already used for a different request");
+			}
+			if (leader) {
+				return lead(shard, key, entry, action);
+			}
+			StoredResponse stored = await(entry);
+			if (stored != null) {
+				replayedRequests.increment();
+				return stored.toResponse();
+			}
+			// The first request failed without a response to share; try again
+		}
+	}
+
+	/**
+	 * Drops expired keys from memory and from the table.
+	 *
+	 * @return the number of rows deleted from the table
+	 */
+	@Scheduled(fixedDelayString = "${fooddelivery.idempotency.sweep-interval:PT10M}",
+			initialDelayString = "${fooddelivery.idempotency.sweep-interval:PT10M}")
+	public int sweep() {
+		long cutoff = clock.millis() - ttlMillis;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				shard.evict(cutoff, maxEntriesPerShard);
+			}
+		}
+		int deleted = repository.deleteCreatedBefore(Instant.ofEpochMilli(cutoff));
+		if (deleted > 0) {
+			logger.debug("Deleted {} expired idempotency keys", deleted);
+		}
+		return deleted;
+	}
+
+	/**
+	 * Returns how many keys are held in memory and how many requests were
+	 * run, replayed and refused.
+	 *
+	 * @return the statistics by name
+	 */
+	public Map<String, Object> stats() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("entries", size());
+		result.put("executedRequests", executedRequests.sum());
+		result.put("replayedRequests", replayedRequests.sum());
+		result.put("refusedRequests", refusedRequests.sum());
+		return result;
+	}
+
+	private ResponseEntity<?> lead(Shard shard, String key, Entry entry, Supplier<ResponseEntity<?>> action) {
+		boolean claimed = false;
+		try {
+			Optional<StoredResponse> earlier = claim(key, entry);
+			if (earlier.isPresent()) {
+				entry.response.complete(earlier.get());
+				replayedRequests.increment();
+				return earlier.get().toResponse();
+			}
+			claimed = true;
+			ResponseEntity<?> response = action.get();
+			executedRequests.increment();
+			if (response.getStatusCode().is5xxServerError()) {
+				abandon(shard, key, entry, true, null);
+				return response;
+			}
+			StoredResponse stored = toStored(response);
+			entry.response.complete(stored);
+			try {
+				repository.complete(key, stored.status, stored.contentType, stored.body);
+			} catch (DataAccessException e) {
+				// Retries on this instance are still answered from memory
+				logger.warn("Could not store response for idempotency key {}: {}", key, e.getMessage());
+			}
+			return response;
+		} catch (RuntimeException e) {
+			if (!entry.response.isDone()) {
+				abandon(shard, key, entry, claimed, e);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Claims a key in the table.
+	 *
+	 * @return the stored response if a request with the key already finished,
+	 *         or empty if the key is now claimed by this request
+	 */
+	private Optional<StoredResponse> claim(String key, Entry entry) {
+		Instant now = Instant.ofEpochMilli(entry.createdMillis);
+		for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+			try {
+				repository.saveAndFlush(new IdempotencyRecord(key, entry.requestHash, now));
+				return Optional.empty();
+			} catch (DataIntegrityViolationException e) {
+				Optional<IdempotencyRecord> existing = repository.findById(key);
+				if (existing.isEmpty()) {
+					continue;
+				}
+				IdempotencyRecord record = existing.get();
+				if (record.getCreatedAt().toEpochMilli() < entry.createdMillis - ttlMillis) {
+					repository.deleteIfCreatedBefore(key, now.minusMillis(ttlMillis));
+					continue;
+				}
+				if (!record.getRequestHash().equals(entry.requestHash)) {
+					refusedRequests.increment();
+					throw new IdempotencyKeyReusedException("Idempotency key was already used for a different request");
+				}
+				if (record.isCompleted()) {
+					return Optional.of(new StoredResponse(record.getStatusCode(), record.getContentType(),
+							record.getBody()));
+				}
+				if (record.getCreatedAt().toEpochMilli() < entry.createdMillis - inFlightTimeoutMillis) {
+					logger.warn("Taking over idempotency key {} abandoned since {}", key, record.getCreatedAt());
+					repository.deleteAbandonedClaim(key, now.minusMillis(inFlightTimeoutMillis));
+					continue;
+				}
+				break;
+			}
+		}
+		refusedRequests.increment();
+		throw new RequestInProgressException("A request with this idempotency key is still in progress");
+	}
+
+	/**
+	 * Gives up a key whose request did not produce a response worth keeping,
+	 * and wakes the requests waiting for it so one of them can run instead.
+	 */
+	private void abandon(Shard shard, String key, Entry entry, boolean claimed, RuntimeException cause) {
+		synchronized (shard) {
+			shard.entries.remove(key, entry);
+		}
+		if (claimed) {
+			try {
+				repository.deleteClaim(key);
+			} catch (DataAccessException e) {
+				logger.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+			}
+		}
+		entry.response.completeExceptionally(
+				cause != null ? cause : new IllegalStateException("Request failed with a server error"));
+	}
+
+	private StoredResponse await(Entry entry) {
+		long remaining = entry.createdMillis + inFlightTimeoutMillis - clock.millis();
+		try {
+			return entry.response.get(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			return null;
+		} catch (TimeoutException e) {
+			refusedRequests.increment();
+			throw new RequestInProgressException("A request with this idempotency key is still in progress");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RequestInProgressException("Interrupted while waiting for the request with this idempotency key");
+		}
+	}
+
+	private StoredResponse toStored(ResponseEntity<?> response) {
+		int status = response.getStatusCode().value();
+		Object body = response.getBody();
+		if (body == null) {
+			return new StoredResponse(status, null, null);
+		}
+		if (body instanceof String text) {
+			return new StoredResponse(status, MediaType.TEXT_PLAIN_VALUE, text);
+		}
+		try {
+			return new StoredResponse(status, MediaType.APPLICATION_JSON_VALUE, objectMapper.writeValueAsString(body));
+		} catch (JsonProcessingException e) {
+			logger.warn("Could not serialize response for replay, storing status only: {}", e.getMessage());
+			return new StoredResponse(status, null, null);
+		}
+	}
+
+	private int size() {
+		int size = 0;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				size += shard.entries.size();
+			}
+		}
+		return size;
+	}
+
+	private Shard shard(String key) {
+		// The high bits of a mixed hash, as each shard's map indexes by the low bits
+		long hash = (key.hashCode() * 0x9E3779B9) & 0xFFFFFFFFL;
+		return shards[(int) (hash >>> shardShift)];
+	}
+
+	private void registerMetrics(MeterRegistry registry) {
+		Gauge.builder("idempotency.entries", this, IdempotencyStore::size).register(registry);
+		FunctionCounter.builder("idempotency.executed", executedRequests, LongAdder::sum).register(registry);
+		FunctionCounter.builder("idempotency.replayed", replayedRequests, LongAdder::sum).register(registry);
+		FunctionCounter.builder("idempotency.refused", refusedRequests, LongAdder::sum).register(registry);
+	}
+
+	/**
+	 * Keys of one shard in the order they were first used, which is also the
+	 * order in which they expire.
+	 */
+	private static final class Shard {
+
+		final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+		void evict(long expiredBefore, int maxEntries) {
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+				Entry head = iterator.next();
+				if (head.createdMillis >= expiredBefore && entries.size() < maxEntries) {
+					break;
+				}
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * A key in memory: the request that first used it and, once it finished,
+	 * its response.
+	 */
+	private static final class Entry {
+
+		final String requestHash;
+		final long createdMillis;
+		final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+		Entry(String requestHash, long createdMillis) {
+			this.requestHash = requestHash;
+			this.createdMillis = createdMillis;
+		}
+	}
+
+	/**
+	 * A response as replayed to retries: status, content type and body as
+	 * sent.
+	 */
+	private static final class StoredResponse {
+
+		final int status;
+		final String contentType;
+		final String body;
+
+		StoredResponse(int status, String contentType, String body) {
+			this.status = status;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+		ResponseEntity<?> toResponse() {
+			ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).header(REPLAYED_HEADER, "true");
+			if (contentType != null) {
+				builder.contentType(MediaType.parseMediaType(contentType));
+			}
+			if (body == null) {
+				return builder.build();
+			}
+			return builder.body(body);
+		}
+	}
+}
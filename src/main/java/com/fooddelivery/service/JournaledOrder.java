@@ -0,0 +1,164 @@
+package com.fooddelivery.service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.User;
+
+/**
+ * An accepted order as written to the {@link OrderJournal}: the customer, the
+ * order time, the total and, per item, the menu item, quantity and unit price,
+ * all by ID and in minor units.
+ *
+ * The binary form is a version byte followed by fixed-width fields, so an
+ * order with a few items takes well under a hundred bytes and encodes without
+ * reflection.
+ */
+public final class JournaledOrder {
+
+	private static final byte VERSION = 1;
+
+	private static final int HEADER_BYTES = 1 + Long.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+	private static final int ITEM_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+	private final long userId;
+	private final LocalDateTime orderTime;
+	private final long totalMinor;
+	private final long[] menuItemIds;
+	private final int[] quantities;
+	private final long[] unitPricesMinor;
+
+	private JournaledOrder(long userId, LocalDateTime orderTime, long totalMinor, long[] menuItemIds,
+			int[] quantities, long[] unitPricesMinor) {
+		this.userId = userId;
+		this.orderTime = orderTime;
+		this.totalMinor = totalMinor;
+		this.menuItemIds = menuItemIds;
+		this.quantities = quantities;
+		this.unitPricesMinor = unitPricesMinor;
+	}
+
+	/**
+	 * Captures a validated, unsaved order.
+	 *
+	 * @param order an order with customer, items, unit prices, total and time
+	 * @return the order in journal form
+	 */
+	public static JournaledOrder of(Order order) {
+		List<OrderItem> items = order.getItems();
+		long[] menuItemIds = new long[items.size()];
+		int[] quantities = new int[items.size()];
+		long[] unitPricesMinor = new long[items.size()];
+		for (int i = 0; i < items.size(); i++) {
+			OrderItem item = items.get(i);
+			menuItemIds[i] = item.getMenuItem().getId();
+			quantities[i] = item.getQuantity();
+			unitPricesMinor[i] = item.getUnitPrice().getMinorUnits();
+		}
+		return new JournaledOrder(order.getCustomer().getId(), order.getOrderTime(),
+				order.getTotalPrice().getMinorUnits(), menuItemIds, quantities, unitPricesMinor);
+	}
+
+	/**
+	 * Reads an order written by {@link #encode}.
+	 *
+	 * @param payload the journal record
+	 * @return the order
+	 * @throws IllegalArgumentException if the record is not a journaled order
+	 */
+	public static JournaledOrder decode(byte[] payload) {
+		ByteBuffer buffer = ByteBuffer.wrap(payload);
+		if (payload.length < HEADER_BYTES || buffer.get() != VERSION) {
+			throw new IllegalArgumentException("Not a journaled order");
+		}
+		long userId = buffer.getLong();
+		LocalDateTime orderTime = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+		long totalMinor = buffer.getLong();
+		int count = buffer.getInt();
+		if (count < 0 || payload.length != HEADER_BYTES + count * ITEM_BYTES) {
+			throw new IllegalArgumentException("Journaled order has a wrong length for " + count + " items");
+		}
+		long[] menuItemIds = new long[count];
+		int[] quantities = new int[count];
+		long[] unitPricesMinor = new long[count];
+		for (int i = 0; i < count; i++) {
+			menuItemIds[i] = buffer.getLong();
+			quantities[i] = buffer.getInt();
+			unitPricesMinor[i] = buffer.getLong();
+		}
+		return new JournaledOrder(userId, orderTime, totalMinor, menuItemIds, quantities, unitPricesMinor);
+	}
+
+	/**
+	 * Writes the order as a journal record.
+	 *
+	 * @return the binary form
+	 */
+	public byte[] encode() {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + menuItemIds.length * ITEM_BYTES);
+		buffer.put(VERSION);
+		buffer.putLong(userId);
+		buffer.putLong(orderTime.toEpochSecond(ZoneOffset.UTC));
+		buffer.putInt(orderTime.getNano());
+		buffer.putLong(totalMinor);
+		buffer.putInt(menuItemIds.length);
+		for (int i = 0; i < menuItemIds.length; i++) {
+			buffer.putLong(menuItemIds[i]);
+			buffer.putInt(quantities[i]);
+			buffer.putLong(unitPricesMinor[i]);
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Builds the order entity to persist. The customer and menu items are
+	 * resolved by the given functions, typically to lazy references, so no
+	 * query is needed to insert the order.
+	 *
+	 * @param users     resolves a user ID
+	 * @param menuItems resolves a menu item ID
+	 * @return a new, unsaved order in status PLACED
+	 */
+	public Order toOrder(LongFunction<User> users, LongFunction<MenuItem> menuItems) {
+		List<OrderItem> items = new ArrayList<>(menuItemIds.length);
+		for (int i = 0; i < menuItemIds.length; i++) {
+			OrderItem item = new OrderItem();
+			item.setMenuItem(menuItems.apply(menuItemIds[i]));
+			item.setQuantity(quantities[i]);
+			item.setUnitPrice(Money.ofMinor(unitPricesMinor[i]));
+			items.add(item);
+		}
+		Order order = new Order();
+		order.setCustomer(users.apply(userId));
+		order.setItems(items);
+		order.setStatus(Order.OrderStatus.PLACED);
+		order.setOrderTime(orderTime);
+		order.setTotalPrice(getTotalPrice());
+		return order;
+	}
+
+	// Getters
+	public long getUserId() {
+		return userId;
+	}
+
+	public LocalDateTime getOrderTime() {
+		return orderTime;
+	}
+
+	public Money getTotalPrice() {
+		return Money.ofMinor(totalMinor);
+	}
+
+	public int getItemCount() {
+		return menuItemIds.length;
+	}
+}
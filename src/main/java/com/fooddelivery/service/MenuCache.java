@@ -0,0 +1,100 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.repository.MenuItemRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process cache of restaurant menus, keyed by restaurant ID.
+ *
+ * The cache is bounded by the total number of menu items it holds. Admission
+ * and eviction are frequency based (Caffeine's W-TinyLFU), so a one-off scan
+ * over every restaurant cannot push out the popular ones. Concurrent misses on
+ * the same restaurant share a single database load.
+ */
+@Component
+public class MenuCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(MenuCache.class);
+
+	private final LoadingCache<Long, List<MenuItem>> menus;
+
+	public MenuCache(MenuItemRepository menuItemRepository, long maxItems, Duration expireAfterWrite) {
+		this.menus = Caffeine.newBuilder()
+				.maximumWeight(maxItems)
+				.weigher((Long restaurantId, List<MenuItem> menu) -> menu.size() + 1)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build(restaurantId -> List.copyOf(menuItemRepository.findByRestaurantId(restaurantId)));
+	}
+
+	@Autowired
+	public MenuCache(MenuItemRepository menuItemRepository,
+			@Value("${fooddelivery.menu-cache.max-items:200000}") long maxItems,
+			@Value("${fooddelivery.menu-cache.expire-after-write:PT6H}") Duration expireAfterWrite,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this(menuItemRepository, maxItems, expireAfterWrite);
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, menus, "menus"));
+	}
+
+	/**
+	 * Returns the menu of a restaurant, loading it on a miss.
+	 *
+	 * @param restaurantId the ID of the restaurant
+	 * @return an unmodifiable list of the restaurant's menu items
+	 */
+	public List<MenuItem> get(Long restaurantId) {
+		return menus.get(restaurantId);
+	}
+
+	/**
+	 * Drops the cached menu of a restaurant. When called inside a transaction the
+	 * entry is dropped again after commit, so a load racing with the
+	 * transaction cannot leave the pre-commit menu in the cache.
+	 *
+	 * @param restaurantId the ID of the restaurant, ignored when null
+	 */
+	public void evict(Long restaurantId) {
+		if (restaurantId == null) {
+			return;
+		}
+		AfterCommit.runNowAndAgain(() -> menus.invalidate(restaurantId));
+		logger.debug("Evicted cached menu for restaurant ID: {}", restaurantId);
+	}
+
+	/**
+	 * Returns hit, miss and load statistics of the cache.
+	 *
+	 * @return the statistics by name
+	 */
+	public Map<String, Object> stats() {
+		CacheStats stats = menus.stats();
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("size", menus.estimatedSize());
+		result.put("hitCount", stats.hitCount());
+		result.put("missCount", stats.missCount());
+		result.put("hitRate", stats.hitRate());
+		result.put("loadCount", stats.loadCount());
+		result.put("loadFailureCount", stats.loadFailureCount());
+		result.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1_000_000.0);
+		result.put("evictionCount", stats.evictionCount());
+		return result;
+	}
+}
@@ -1,6 +1,7 @@
 package com.fooddelivery.service;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.validation.Valid;
 
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.fooddelivery.dto.MenuSearchHit;
 import com.fooddelivery.exception.ResourceNotFoundException;
 import com.fooddelivery.model.MenuItem;
 import com.fooddelivery.repository.MenuItemRepository;
@@ -22,10 +24,18 @@ import com.fooddelivery.repository.MenuItemRepository;
 public class MenuItemService {
 
 	private final MenuItemRepository menuItemRepository;
+	private final MenuCache menuCache;
+	private final MenuSearchIndex menuSearchIndex;
 	private static final Logger log = LoggerFactory.getLogger(MenuItemService.class);
 
-	public MenuItemService(MenuItemRepository menuItemRepository) {
+	public static final int DEFAULT_SEARCH_LIMIT = 20;
+	public static final int MAX_SEARCH_LIMIT = 100;
+
+	public MenuItemService(MenuItemRepository menuItemRepository, MenuCache menuCache,
+			MenuSearchIndex menuSearchIndex) {
 		this.menuItemRepository = menuItemRepository;
+		this.menuCache = menuCache;
+		this.menuSearchIndex = menuSearchIndex;
 	}
 
 	/**
@@ -37,7 +47,10 @@ public class MenuItemService {
 	@Transactional
 	public MenuItem addMenuItem(@Valid MenuItem menuItem) {
 		log.info("Adding a new menu item: {}", menuItem.getName());
-		return menuItemRepository.save(menuItem);
+		MenuItem saved = menuItemRepository.save(menuItem);
+		menuCache.evict(restaurantId(saved));
+		menuSearchIndex.index(saved);
+		return saved;
 	}
 
 	/**
@@ -54,14 +67,42 @@ public class MenuItemService {
 	}
 
 	/**
-	 * Retrieves all menu items for a specific restaurant.
+	 * Retrieves all menu items for a specific restaurant, served from the menu
+	 * cache.
 	 *
 	 * @param restaurantId the ID of the restaurant
-	 * @return a list of MenuItems
+	 * @return an unmodifiable list of MenuItems
 	 */
 	public List<MenuItem> getMenuItemsByRestaurantId(Long restaurantId) {
-		log.info("Fetching menu items for restaurant ID: {}", restaurantId);
-		return menuItemRepository.findByRestaurantId(restaurantId);
+		log.debug("Fetching menu items for restaurant ID: {}", restaurantId);
+		return menuCache.get(restaurantId);
+	}
+
+	/**
+	 * Returns hit, miss and load statistics of the menu cache.
+	 *
+	 * @return the statistics by name
+	 */
+	public Map<String, Object> getMenuCacheStats() {
+		return menuCache.stats();
+	}
+
+	/**
+	 * Searches dish names and descriptions across all restaurants. Every word
+	 * of the query must match, allowing for small typos.
+	 *
+	 * @param query the words to search for
+	 * @param limit the maximum number of results, capped at
+	 *              {@value #MAX_SEARCH_LIMIT}
+	 * @return the matching menu items, best match first
+	 * @throws IllegalArgumentException if the query is blank
+	 */
+	public List<MenuSearchHit> searchMenuItems(String query, int limit) {
+		if (query == null || query.isBlank()) {
+			throw new IllegalArgumentException("Search query cannot be empty");
+		}
+		log.debug("Searching menu items for: {}", query);
+		return menuSearchIndex.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT));
 	}
 
 	/**
@@ -78,7 +119,10 @@ public class MenuItemService {
 			menuItem.setName(updatedMenuItem.getName());
 			menuItem.setDescription(updatedMenuItem.getDescription());
 			menuItem.setPrice(updatedMenuItem.getPrice());
-			return menuItemRepository.save(menuItem);
+			MenuItem saved = menuItemRepository.save(menuItem);
+			menuCache.evict(restaurantId(saved));
+			menuSearchIndex.index(saved);
+			return saved;
 		}).orElseThrow(() -> new ResourceNotFoundException("Menu item not found with ID: " + id));
 	}
 
@@ -93,8 +137,14 @@ public class MenuItemService {
 		log.info("Deleting menu item with ID: {}", id);
 		return menuItemRepository.findById(id).map(menuItem -> {
 			menuItemRepository.delete(menuItem);
+			menuCache.evict(restaurantId(menuItem));
+			menuSearchIndex.remove(menuItem.getId());
 			return true;
 		}).orElse(false);
 	}
 
+	private static Long restaurantId(MenuItem menuItem) {
+		return menuItem.getRestaurant() == null ? null : menuItem.getRestaurant().getId();
+	}
+
 }
\ No newline at end of file
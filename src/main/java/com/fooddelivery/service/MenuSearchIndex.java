@@ -0,0 +1,530 @@
+package com.fooddelivery.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.dto.MenuSearchHit;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.repository.MenuItemRepository;
+
+/**
+ * In-memory inverted index over menu item names and descriptions, used to
+ * search dishes across all restaurants without scanning the menu item table.
+ *
+ * Text is folded to lower-case ASCII-ish tokens (accents stripped, split on
+ * anything that is not a letter or digit). Every token maps to a posting list
+ * of document numbers in ascending order, stored in primitive arrays, with a
+ * flag telling whether the token occurs in the name, the description or
+ * both. A query matches the items containing all of its tokens; a token that
+ * is not in the vocabulary is replaced by the closest vocabulary terms by
+ * trigram similarity, so "chiken" still finds "chicken". Matches are ranked
+ * by IDF, weighting name matches above description matches.
+ *
+ * The index is built from the database before the application starts serving
+ * requests and is then updated by {@link MenuItemService} after each change
+ * commits. Searches share a read lock; updates take the write lock briefly.
+ */
+@Component
+public class MenuSearchIndex implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(MenuSearchIndex.class);
+
+	private static final int REBUILD_CHUNK_SIZE = 1000;
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+	private final MenuItemRepository menuItemRepository;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private Index index = new Index();
+
+	public MenuSearchIndex(MenuItemRepository menuItemRepository) {
+		this.menuItemRepository = menuItemRepository;
+	}
+
+	/**
+	 * Loads all menu items. Runs after all singletons are created and before
+	 * the web server starts, so no menu item can change concurrently.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		rebuild();
+	}
+
+	/**
+	 * Replaces the contents of the index with the menu items in the database.
+	 */
+	public void rebuild() {
+		Index rebuilt = new Index();
+		PageRequest chunk = PageRequest.of(0, REBUILD_CHUNK_SIZE);
+		List<MenuItem> page = menuItemRepository.findFirstPage(chunk);
+		while (!page.isEmpty()) {
+			page.forEach(item -> rebuilt.add(Document.of(item)));
+			if (page.size() < REBUILD_CHUNK_SIZE) {
+				break;
+			}
+			page = menuItemRepository.findPageAfter(page.get(page.size() - 1).getId(), chunk);
+		}
+		lock.writeLock().lock();
+		try {
+			index = rebuilt;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Indexed {} menu items for search ({} terms)", rebuilt.liveCount, rebuilt.terms.size());
+	}
+
+	/**
+	 * Adds or replaces a menu item. Inside a transaction the change is applied
+	 * after commit, so a rolled back change never becomes searchable.
+	 *
+	 * @param menuItem the saved menu item; ignored if it has no ID
+	 */
+	public void index(MenuItem menuItem) {
+		if (menuItem.getId() == null) {
+			return;
+		}
+		Document document = Document.of(menuItem);
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				index.remove(document.itemId);
+				index.add(document);
+				compactIfSparse();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Removes a menu item, after commit when inside a transaction.
+	 *
+	 * @param menuItemId the ID of the deleted menu item
+	 */
+	public void remove(Long menuItemId) {
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				index.remove(menuItemId);
+				compactIfSparse();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Finds the menu items matching every word of the query, best first.
+	 *
+	 * @param query the words to search for
+	 * @param limit the maximum number of results
+	 * @return the matching items, highest score first
+	 */
+	public List<MenuSearchHit> search(String query, int limit) {
+		List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+		if (tokens.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			return index.search(tokens, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of indexed menu items.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return index.liveCount;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Re-numbers the documents once more than half of them are deleted, so
+	 * updates cannot grow the index without bound. Called with the write lock
+	 * held.
+	 */
+	private void compactIfSparse() {
+		if (index.docCount > 1024 && index.liveCount < index.docCount / 2) {
+			index = index.compact();
+		}
+	}
+
+	/**
+	 * Splits text into lower-case search tokens without accents. Single
+	 * characters are dropped.
+	 *
+	 * @param text the text, may be null
+	 * @return the tokens in text order, with duplicates
+	 */
+	static List<String> tokenize(String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		List<String> tokens = new ArrayList<>();
+		for (String token : SEPARATORS.split(folded)) {
+			if (token.length() > 1) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Returns the distinct trigrams of a term padded with {@code $} at both
+	 * ends, so short terms and word boundaries still produce trigrams.
+	 */
+	static Set<String> trigrams(String term) {
+		String padded = "$" + term + "$";
+		Set<String> trigrams = new LinkedHashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			trigrams.add(padded.substring(i, i + 3));
+		}
+		return trigrams;
+	}
+
+	/**
+	 * The searchable fields of a menu item, captured when it is indexed.
+	 */
+	private static final class Document {
+		final long itemId;
+		final Long restaurantId;
+		final String name;
+		final Map<String, Byte> terms;
+
+		Document(long itemId, Long restaurantId, String name, Map<String, Byte> terms) {
+			this.itemId = itemId;
+			this.restaurantId = restaurantId;
+			this.name = name;
+			this.terms = terms;
+		}
+
+		static Document of(MenuItem item) {
+			Map<String, Byte> terms = new LinkedHashMap<>();
+			for (String token : tokenize(item.getName())) {
+				terms.merge(token, Index.IN_NAME, (a, b) -> (byte) (a | b));
+			}
+			for (String token : tokenize(item.getDescription())) {
+				terms.merge(token, Index.IN_DESCRIPTION, (a, b) -> (byte) (a | b));
+			}
+			Long restaurantId = item.getRestaurant() == null ? null : item.getRestaurant().getId();
+			return new Document(item.getId(), restaurantId, item.getName(), terms);
+		}
+	}
+
+	/**
+	 * Document numbers of one term in ascending order, with field flags.
+	 */
+	private static final class Postings {
+		int[] docs = new int[4];
+		byte[] fields = new byte[4];
+		int size;
+
+		void add(int doc, byte field) {
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+				fields = Arrays.copyOf(fields, size * 2);
+			}
+			docs[size] = doc;
+			fields[size] = field;
+			size++;
+		}
+
+		void remove(int doc) {
+			int at = Arrays.binarySearch(docs, 0, size, doc);
+			if (at >= 0) {
+				System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+				System.arraycopy(fields, at + 1, fields, at, size - at - 1);
+				size--;
+			}
+		}
+	}
+
+	/**
+	 * Matching documents of one query token with their partial scores,
+	 * ordered by document number.
+	 */
+	private static final class Matches {
+		final int[] docs;
+		final float[] scores;
+		final int size;
+
+		Matches(int[] docs, float[] scores, int size) {
+			this.docs = docs;
+			this.scores = scores;
+			this.size = size;
+		}
+	}
+
+	/**
+	 * The index proper. Not thread-safe; guarded by the enclosing lock.
+	 */
+	private static final class Index {
+
+		static final byte IN_NAME = 1;
+		static final byte IN_DESCRIPTION = 2;
+
+		private static final float NAME_WEIGHT = 2.0f;
+		private static final float DESCRIPTION_WEIGHT = 1.0f;
+		// Minimum trigram (Jaccard) similarity for a vocabulary term to stand in for a misspelt token
+		private static final double MIN_SIMILARITY = 0.4;
+		private static final int MAX_EXPANSIONS = 3;
+
+		// Per document number; a null name marks a deleted document
+		long[] itemIds = new long[1024];
+		Long[] restaurantIds = new Long[1024];
+		String[] names = new String[1024];
+		int[][] docTerms = new int[1024][];
+		int docCount;
+		int liveCount;
+
+		final Map<Long, Integer> docByItemId = new HashMap<>();
+
+		final Map<String, Integer> termIds = new HashMap<>();
+		final List<String> terms = new ArrayList<>();
+		final List<Postings> postings = new ArrayList<>();
+		final Map<String, List<Integer>> termsByTrigram = new HashMap<>();
+
+		void add(Document document) {
+			if (docCount == itemIds.length) {
+				int capacity = docCount * 2;
+				itemIds = Arrays.copyOf(itemIds, capacity);
+				restaurantIds = Arrays.copyOf(restaurantIds, capacity);
+				names = Arrays.copyOf(names, capacity);
+				docTerms = Arrays.copyOf(docTerms, capacity);
+			}
+			int doc = docCount++;
+			itemIds[doc] = document.itemId;
+			restaurantIds[doc] = document.restaurantId;
+			names[doc] = document.name;
+			int[] ids = new int[document.terms.size()];
+			int i = 0;
+			for (Map.Entry<String, Byte> term : document.terms.entrySet()) {
+				int termId = termId(term.getKey());
+				postings.get(termId).add(doc, term.getValue());
+				ids[i++] = termId;
+			}
+			docTerms[doc] = ids;
+			docByItemId.put(document.itemId, doc);
+			liveCount++;
+		}
+
+		void remove(long itemId) {
+			Integer doc = docByItemId.remove(itemId);
+			if (doc == null) {
+				return;
+			}
+			for (int termId : docTerms[doc]) {
+				postings.get(termId).remove(doc);
+			}
+			names[doc] = null;
+			docTerms[doc] = null;
+			restaurantIds[doc] = null;
+			liveCount--;
+		}
+
+		Index compact() {
+			Index compacted = new Index();
+			for (int doc = 0; doc < docCount; doc++) {
+				if (names[doc] == null) {
+					continue;
+				}
+				Map<String, Byte> fields = new LinkedHashMap<>();
+				for (int termId : docTerms[doc]) {
+					Postings list = postings.get(termId);
+					fields.put(terms.get(termId), list.fields[Arrays.binarySearch(list.docs, 0, list.size, doc)]);
+				}
+				compacted.add(new Document(itemIds[doc], restaurantIds[doc], names[doc], fields));
+			}
+			return compacted;
+		}
+
+		private int termId(String term) {
+			Integer existing = termIds.get(term);
+			if (existing != null) {
+				return existing;
+			}
+			int id = terms.size();
+			terms.add(term);
+			postings.add(new Postings());
+			termIds.put(term, id);
+			for (String trigram : trigrams(term)) {
+				termsByTrigram.computeIfAbsent(trigram, t -> new ArrayList<>()).add(id);
+			}
+			return id;
+		}
+
+		List<MenuSearchHit> search(List<String> tokens, int limit) {
+			List<Matches> perToken = new ArrayList<>(tokens.size());
+			for (String token : tokens) {
+				Matches matches = matches(token);
+				if (matches.size == 0) {
+					return List.of();
+				}
+				perToken.add(matches);
+			}
+			perToken.sort(Comparator.comparingInt(m -> m.size));
+
+			// Intersect, starting from the rarest token
+			Matches rarest = perToken.get(0);
+			int[] docs = Arrays.copyOf(rarest.docs, rarest.size);
+			float[] scores = Arrays.copyOf(rarest.scores, rarest.size);
+			int size = rarest.size;
+			for (int t = 1; t < perToken.size() && size > 0; t++) {
+				Matches other = perToken.get(t);
+				int kept = 0;
+				int from = 0;
+				for (int i = 0; i < size; i++) {
+					int at = Arrays.binarySearch(other.docs, from, other.size, docs[i]);
+					if (at >= 0) {
+						docs[kept] = docs[i];
+						scores[kept] = scores[i] + other.scores[at];
+						kept++;
+						from = at + 1;
+					} else {
+						from = -at - 1;
+					}
+				}
+				size = kept;
+			}
+
+			// Keep the best results in a min-heap; ties go to the earlier document
+			PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, (a, b) -> scores[a] != scores[b]
+					? Float.compare(scores[a], scores[b]) : Integer.compare(docs[b], docs[a]));
+			for (int i = 0; i < size; i++) {
+				best.offer(i);
+				if (best.size() > limit) {
+					best.poll();
+				}
+			}
+			MenuSearchHit[] hits = new MenuSearchHit[best.size()];
+			for (int i = hits.length - 1; i >= 0; i--) {
+				int at = best.poll();
+				int doc = docs[at];
+				hits[i] = new MenuSearchHit(itemIds[doc], restaurantIds[doc], names[doc], scores[at]);
+			}
+			return List.of(hits);
+		}
+
+		/**
+		 * Returns the documents containing the token, or its closest
+		 * vocabulary terms if it has no postings of its own.
+		 */
+		private Matches matches(String token) {
+			Integer exact = termIds.get(token);
+			if (exact != null && postings.get(exact).size > 0) {
+				return score(exact, 1.0);
+			}
+			Matches merged = null;
+			for (Map.Entry<Integer, Double> similar : similarTerms(token).entrySet()) {
+				Matches matches = score(similar.getKey(), similar.getValue());
+				merged = merged == null ? matches : union(merged, matches);
+			}
+			return merged == null ? new Matches(new int[0], new float[0], 0) : merged;
+		}
+
+		private Matches score(int termId, double similarity) {
+			Postings list = postings.get(termId);
+			double idf = Math.log(1 + (liveCount - list.size + 0.5) / (list.size + 0.5));
+			float[] scores = new float[list.size];
+			for (int i = 0; i < list.size; i++) {
+				float weight = 0;
+				if ((list.fields[i] & IN_NAME) != 0) {
+					weight += NAME_WEIGHT;
+				}
+				if ((list.fields[i] & IN_DESCRIPTION) != 0) {
+					weight += DESCRIPTION_WEIGHT;
+				}
+				scores[i] = (float) (idf * similarity * weight);
+			}
+			return new Matches(list.docs, scores, list.size);
+		}
+
+		private static Matches union(Matches a, Matches b) {
+			int[] docs = new int[a.size + b.size];
+			float[] scores = new float[a.size + b.size];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < a.size || j < b.size) {
+				if (j == b.size || (i < a.size && a.docs[i] < b.docs[j])) {
+					docs[n] = a.docs[i];
+					scores[n++] = a.scores[i++];
+				} else if (i == a.size || b.docs[j] < a.docs[i]) {
+					docs[n] = b.docs[j];
+					scores[n++] = b.scores[j++];
+				} else {
+					docs[n] = a.docs[i];
+					scores[n++] = Math.max(a.scores[i++], b.scores[j++]);
+				}
+			}
+			return new Matches(docs, scores, n);
+		}
+
+		/**
+		 * Returns up to {@value #MAX_EXPANSIONS} vocabulary terms with
+		 * postings whose trigram similarity to the token is at least
+		 * {@value #MIN_SIMILARITY}, mapped to that similarity.
+		 */
+		private Map<Integer, Double> similarTerms(String token) {
+			Set<String> tokenTrigrams = trigrams(token);
+			Map<Integer, Integer> shared = new HashMap<>();
+			for (String trigram : tokenTrigrams) {
+				for (int termId : termsByTrigram.getOrDefault(trigram, List.of())) {
+					shared.merge(termId, 1, Integer::sum);
+				}
+			}
+			PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+			for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+				int termId = candidate.getKey();
+				if (postings.get(termId).size == 0) {
+					continue;
+				}
+				int common = candidate.getValue();
+				// The similarity cannot exceed common / |token trigrams|
+				if (common < MIN_SIMILARITY * tokenTrigrams.size()) {
+					continue;
+				}
+				double similarity = (double) common
+						/ (tokenTrigrams.size() + trigrams(terms.get(termId)).size() - common);
+				if (similarity >= MIN_SIMILARITY) {
+					best.offer(Map.entry(termId, similarity));
+					if (best.size() > MAX_EXPANSIONS) {
+						best.poll();
+					}
+				}
+			}
+			Map<Integer, Double> result = new HashMap<>();
+			best.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+			return result;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fooddelivery.dto.OrderStatusView;
+
+/**
+ * Published by {@link OrderService} when orders are created or change
+ * status, with the status and version each order was left at. Listeners
+ * that keep derived state should react after the publishing transaction
+ * commits and read anything else they need back by ID.
+ */
+public class OrderChangedEvent {
+
+	private final List<OrderStatusView> changes;
+
+	public OrderChangedEvent(List<OrderStatusView> changes) {
+		this.changes = List.copyOf(changes);
+	}
+
+	// Getters
+	public List<OrderStatusView> getChanges() {
+		return changes;
+	}
+
+	public List<Long> getOrderIds() {
+		List<Long> ids = new ArrayList<>(changes.size());
+		for (OrderStatusView change : changes) {
+			ids.add(change.getOrderId());
+		}
+		return ids;
+	}
+}
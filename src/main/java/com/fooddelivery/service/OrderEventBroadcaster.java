@@ -0,0 +1,280 @@
+package com.fooddelivery.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fooddelivery.dto.OrderStatusEvent;
+import com.fooddelivery.repository.OrderRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out of order creation and status-change events to
+ * Server-Sent Events subscribers, filtered by restaurant.
+ *
+ * Subscribers hold no servlet thread and no database connection: events are
+ * queued per subscriber in a bounded buffer and written by short-lived
+ * virtual threads. A subscriber whose buffer fills up is disconnected and
+ * resumes with its last event ID. The most recent events are kept in a ring
+ * buffer for that replay; a client that fell further behind, or reconnects
+ * after a restart, first receives a {@value #RESET_EVENT} event telling it to
+ * reload its state.
+ */
+@Component
+public class OrderEventBroadcaster {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderEventBroadcaster.class);
+
+	public static final String RESET_EVENT = "reset";
+
+	private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(20);
+
+	// Queued in place of an event to send a keep-alive comment
+	private static final OrderStatusEvent HEARTBEAT = new OrderStatusEvent(null, null, null, null);
+
+	private final OrderRepository orderRepository;
+	private final int bufferSize;
+	private final long emitterTimeoutMillis;
+	private final ExecutorService sender;
+	private final ScheduledExecutorService heartbeat;
+
+	private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+	// Guards event ID assignment, the ring and enqueueing, so replay and live
+	// events reach every subscriber complete and in order
+	private final ReentrantLock publishLock = new ReentrantLock();
+	private final OrderStatusEvent[] ring;
+	// Event IDs continue from the start time so IDs from before a restart are never reused
+	private long lastEventId = System.currentTimeMillis() * 1000;
+
+	@Autowired
+	public OrderEventBroadcaster(OrderRepository orderRepository,
+			@Value("${fooddelivery.order-events.buffer-size:256}") int bufferSize,
+			@Value("${fooddelivery.order-events.replay-size:10000}") int replaySize,
+			@Value("${fooddelivery.order-events.emitter-timeout:PT30M}") Duration emitterTimeout) {
+		this(orderRepository, bufferSize, replaySize, emitterTimeout, Executors.newVirtualThreadPerTaskExecutor());
+		heartbeat.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_INTERVAL.toMillis(),
+				HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	OrderEventBroadcaster(OrderRepository orderRepository, int bufferSize, int replaySize, Duration emitterTimeout,
+			ExecutorService sender) {
+		this.orderRepository = orderRepository;
+		this.bufferSize = bufferSize;
+		this.ring = new OrderStatusEvent[replaySize];
+		this.emitterTimeoutMillis = emitterTimeout.toMillis();
+		this.sender = sender;
+		this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "order-events-heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Opens an event stream for a restaurant.
+	 *
+	 * @param restaurantId the restaurant whose orders to follow
+	 * @param lastEventId  the ID of the last event the client received, or
+	 *                     null for a new subscription
+	 * @return the emitter to return from the controller
+	 */
+	public SseEmitter subscribe(Long restaurantId, Long lastEventId) {
+		SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+		Subscriber subscriber = new Subscriber(restaurantId, emitter, bufferSize);
+		emitter.onCompletion(() -> unsubscribe(subscriber));
+		emitter.onTimeout(() -> unsubscribe(subscriber));
+		emitter.onError(e -> unsubscribe(subscriber));
+
+		publishLock.lock();
+		try {
+			if (lastEventId != null) {
+				List<OrderStatusEvent> missed = replayAfter(lastEventId, restaurantId);
+				if (missed == null || missed.size() > bufferSize) {
+					subscriber.resetRequired = true;
+				} else {
+					missed.forEach(subscriber.queue::offer);
+				}
+			}
+			subscribers.computeIfAbsent(restaurantId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+		} finally {
+			publishLock.unlock();
+		}
+		scheduleDrain(subscriber);
+		return emitter;
+	}
+
+	/**
+	 * Loads the restaurant and status of the changed orders once their
+	 * transaction has committed and publishes them.
+	 *
+	 * @param event the changed orders
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onOrderChanged(OrderChangedEvent event) {
+		orderRepository.findStatusEventsByIdIn(event.getOrderIds()).forEach(this::publish);
+	}
+
+	/**
+	 * Assigns the next event ID and delivers the event to the subscribers of
+	 * its restaurant.
+	 *
+	 * @param event the event without an ID
+	 * @return the published event
+	 */
+	public OrderStatusEvent publish(OrderStatusEvent event) {
+		List<Subscriber> toDrain = new ArrayList<>();
+		OrderStatusEvent published;
+		publishLock.lock();
+		try {
+			published = event.withEventId(++lastEventId);
+			ring[(int) (published.getEventId() % ring.length)] = published;
+			for (Subscriber subscriber : subscribers.getOrDefault(event.getRestaurantId(), Set.of())) {
+				if (subscriber.queue.offer(published)) {
+					toDrain.add(subscriber);
+				} else {
+					logger.debug("Disconnecting slow order event subscriber of restaurant {}", event.getRestaurantId());
+					unsubscribe(subscriber);
+					subscriber.emitter.complete();
+				}
+			}
+		} finally {
+			publishLock.unlock();
+		}
+		toDrain.forEach(this::scheduleDrain);
+		return published;
+	}
+
+	/**
+	 * Returns the events for a restaurant published after the given event ID,
+	 * or null if some of them are no longer retained.
+	 */
+	List<OrderStatusEvent> replayAfter(long afterEventId, Long restaurantId) {
+		if (afterEventId > lastEventId || lastEventId - afterEventId > ring.length) {
+			return null;
+		}
+		List<OrderStatusEvent> missed = new ArrayList<>();
+		for (long id = afterEventId + 1; id <= lastEventId; id++) {
+			OrderStatusEvent event = ring[(int) (id % ring.length)];
+			if (event == null || event.getEventId() != id) {
+				return null;
+			}
+			if (event.getRestaurantId().equals(restaurantId)) {
+				missed.add(event);
+			}
+		}
+		return missed;
+	}
+
+	/**
+	 * Returns the number of open streams for a restaurant.
+	 */
+	public int subscriberCount(Long restaurantId) {
+		return subscribers.getOrDefault(restaurantId, Set.of()).size();
+	}
+
+	private void unsubscribe(Subscriber subscriber) {
+		subscribers.computeIfPresent(subscriber.restaurantId, (id, set) -> {
+			set.remove(subscriber);
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	private void sendHeartbeats() {
+		for (Set<Subscriber> set : subscribers.values()) {
+			for (Subscriber subscriber : set) {
+				if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+					scheduleDrain(subscriber);
+				}
+			}
+		}
+	}
+
+	private void scheduleDrain(Subscriber subscriber) {
+		if (subscriber.draining.compareAndSet(false, true)) {
+			sender.execute(() -> drain(subscriber));
+		}
+	}
+
+	/**
+	 * Writes queued events to the subscriber until its queue is empty. Only
+	 * one drain per subscriber runs at a time.
+	 */
+	private void drain(Subscriber subscriber) {
+		try {
+			do {
+				if (subscriber.resetRequired) {
+					subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+					subscriber.resetRequired = false;
+				}
+				OrderStatusEvent event;
+				while ((event = subscriber.queue.poll()) != null) {
+					if (event == HEARTBEAT) {
+						subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+					} else {
+						subscriber.emitter.send(SseEmitter.event()
+								.id(String.valueOf(event.getEventId()))
+								.name(event.getType())
+								.data(event, MediaType.APPLICATION_JSON));
+					}
+				}
+				subscriber.draining.set(false);
+			} while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+		} catch (IOException | IllegalStateException e) {
+			logger.debug("Order event subscriber of restaurant {} went away: {}", subscriber.restaurantId,
+					e.getMessage());
+			unsubscribe(subscriber);
+			subscriber.emitter.completeWithError(e);
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		heartbeat.shutdownNow();
+		subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+		subscribers.clear();
+		sender.shutdown();
+	}
+
+	/**
+	 * One open event stream.
+	 */
+	private static final class Subscriber {
+		final Long restaurantId;
+		final SseEmitter emitter;
+		final BlockingQueue<OrderStatusEvent> queue;
+		final AtomicBoolean draining = new AtomicBoolean();
+		volatile boolean resetRequired;
+
+		Subscriber(Long restaurantId, SseEmitter emitter, int bufferSize) {
+			this.restaurantId = restaurantId;
+			this.emitter = emitter;
+			this.queue = new ArrayBlockingQueue<>(bufferSize);
+		}
+	}
+}
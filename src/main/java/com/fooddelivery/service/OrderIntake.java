@@ -0,0 +1,358 @@
+package com.fooddelivery.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fooddelivery.dto.OrderReceipt;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.repository.MenuItemRepository;
+import com.fooddelivery.repository.OrderRepository;
+import com.fooddelivery.repository.UserRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional write-ahead stage for placing orders, enabled by
+ * {@code fooddelivery.order-journal.enabled}.
+ *
+ * An accepted order is appended to the {@link OrderJournal} and acknowledged
+ * once the journal's group commit has made it durable, which takes a few
+ * milliseconds instead of a database transaction. Every
+ * {@code fooddelivery.order-journal.persist-interval} the accepted orders are
+ * inserted in batches, in journal order, and journal segments whose orders
+ * are all stored are deleted. Each order row records the journal entry it
+ * came from, so on startup the entries after the highest stored one, or
+ * after the released segments if that is later, are replayed and nothing
+ * acknowledged is lost or stored twice.
+ *
+ * An entry the database refuses, e.g. because its user or a menu item has
+ * been deleted meanwhile, is dropped and counted as rejected; any other
+ * failure stops the batch and is retried on the next run. Every instance with
+ * the journal enabled needs its own {@code fooddelivery.order-journal.instance-id}
+ * and journal directory.
+ */
+@Component
+public class OrderIntake implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderIntake.class);
+
+	private final OrderRepository orderRepository;
+	private final UserRepository userRepository;
+	private final MenuItemRepository menuItemRepository;
+	private final TransactionOperations transactions;
+	private final ApplicationEventPublisher eventPublisher;
+	private final boolean enabled;
+	private final Path directory;
+	private final int segmentBytes;
+	private final Duration groupCommitInterval;
+	private final int instanceId;
+	private final int batchSize;
+
+	private volatile OrderJournal journal;
+	// Accepted orders not stored yet, by journal sequence
+	private final ConcurrentSkipListMap<Long, JournaledOrder> pending = new ConcurrentSkipListMap<>();
+	// Every entry up to this sequence is stored or rejected
+	private volatile long persistedSequence;
+	private final LongAdder acceptedOrders = new LongAdder();
+	private final LongAdder persistedOrders = new LongAdder();
+	private final LongAdder rejectedOrders = new LongAdder();
+
+	public OrderIntake(OrderRepository orderRepository, UserRepository userRepository,
+			MenuItemRepository menuItemRepository, TransactionOperations transactions,
+			ApplicationEventPublisher eventPublisher, boolean enabled, Path directory, int segmentBytes,
+			Duration groupCommitInterval, int instanceId, int batchSize) {
+		this.orderRepository = orderRepository;
+		this.userRepository = userRepository;
+		this.menuItemRepository = menuItemRepository;
+		this.transactions = transactions;
+		this.eventPublisher = eventPublisher;
+		this.enabled = enabled;
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+		this.groupCommitInterval = groupCommitInterval;
+		this.instanceId = instanceId;
+		this.batchSize = batchSize;
+	}
+
+	@Autowired
+	public OrderIntake(OrderRepository orderRepository, UserRepository userRepository,
+			MenuItemRepository menuItemRepository, PlatformTransactionManager transactionManager,
+			ApplicationEventPublisher eventPublisher,
+			@Value("${fooddelivery.order-journal.enabled:false}") boolean enabled,
+			@Value("${fooddelivery.order-journal.directory:order-journal}") Path directory,
+			@Value("${fooddelivery.order-journal.segment-size:67108864}") int segmentBytes,
+			@Value("${fooddelivery.order-journal.group-commit-interval:PT0.002S}") Duration groupCommitInterval,
+			@Value("${fooddelivery.order-journal.instance-id:0}") int instanceId,
+			@Value("${fooddelivery.order-journal.batch-size:500}") int batchSize,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this(orderRepository, userRepository, menuItemRepository, new TransactionTemplate(transactionManager),
+				eventPublisher, enabled, directory, segmentBytes, groupCommitInterval, instanceId, batchSize);
+		if (enabled) {
+			meterRegistry.ifAvailable(this::registerMetrics);
+		}
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (enabled) {
+			open();
+		}
+	}
+
+	/**
+	 * Opens the journal and queues the entries that were acknowledged but not
+	 * stored before the last shutdown or crash.
+	 *
+	 * @throws UncheckedIOException if the journal cannot be opened
+	 */
+	public synchronized void open() {
+		if (journal != null) {
+			return;
+		}
+		Long stored = orderRepository.findMaxJournalSequence(instanceId);
+		try {
+			OrderJournal opened = new OrderJournal(directory, segmentBytes, groupCommitInterval,
+					stored == null ? 1 : stored + 1);
+			// Rejected entries have no row, so when the last entries of a
+			// released segment were rejected the highest row is behind the journal
+			persistedSequence = Math.max(stored == null ? 0 : stored, opened.firstSequence() - 1);
+			opened.replay(persistedSequence, (sequence, payload) -> pending.put(sequence, JournaledOrder.decode(payload)));
+			journal = opened;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not open order journal in " + directory, e);
+		}
+		logger.info("Opened order journal in {}: {} orders to store after sequence {}", directory, pending.size(),
+				persistedSequence);
+	}
+
+	/**
+	 * Tells whether orders are placed through the journal.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Writes a validated order to the journal and waits until it is durable.
+	 *
+	 * @param order a validated, unsaved order
+	 * @return the receipt naming the journal entry of the order
+	 * @throws IllegalStateException if the journal is not open or cannot be
+	 *                               written
+	 */
+	public OrderReceipt accept(Order order) {
+		OrderJournal current = journal;
+		if (current == null) {
+			throw new IllegalStateException("Order journal is not enabled");
+		}
+		JournaledOrder entry = JournaledOrder.of(order);
+		long sequence;
+		try {
+			sequence = current.append(entry.encode()).join();
+		} catch (CompletionException e) {
+			throw new IllegalStateException("Could not write order to the journal", e.getCause());
+		}
+		pending.put(sequence, entry);
+		acceptedOrders.increment();
+		return new OrderReceipt(sequence, entry.getUserId(), entry.getTotalPrice(), entry.getOrderTime());
+	}
+
+	/**
+	 * Tells whether a journal entry is accepted but not stored yet.
+	 */
+	public boolean isPending(long sequence) {
+		return pending.containsKey(sequence);
+	}
+
+	/**
+	 * Finds the order stored for a journal entry.
+	 *
+	 * @param sequence the sequence of the entry
+	 * @return the ID of the order, or null if the entry is pending, rejected
+	 *         or unknown
+	 */
+	public Long findOrderId(long sequence) {
+		// A rejected entry has no row, which records the rejection durably
+		if (sequence > persistedSequence) {
+			return null;
+		}
+		return orderRepository.findIdByJournalEntry(instanceId, sequence).orElse(null);
+	}
+
+	/**
+	 * Stores the accepted orders in journal order, in batches of
+	 * {@code fooddelivery.order-journal.batch-size}, and deletes the journal
+	 * segments no longer needed. Orders accepted out of order by concurrent
+	 * callers wait until the gap before them is filled.
+	 *
+	 * @return the number of entries stored or rejected
+	 */
+	@Scheduled(fixedDelayString = "${fooddelivery.order-journal.persist-interval:PT0.05S}",
+			initialDelayString = "${fooddelivery.order-journal.persist-interval:PT0.05S}")
+	public synchronized int persist() {
+		OrderJournal current = journal;
+		if (current == null) {
+			return 0;
+		}
+		int stored = 0;
+		List<Map.Entry<Long, JournaledOrder>> batch;
+		while (!(batch = nextBatch()).isEmpty()) {
+			int before = batch.size();
+			int done = store(batch);
+			stored += done;
+			if (done < before) {
+				break;
+			}
+		}
+		if (current.release(persistedSequence) > 0) {
+			logger.debug("Released order journal segments up to sequence {}", persistedSequence);
+		}
+		return stored;
+	}
+
+	@PreDestroy
+	public synchronized void close() throws IOException {
+		OrderJournal current = journal;
+		if (current != null) {
+			persist();
+			current.close();
+			journal = null;
+		}
+	}
+
+	/**
+	 * Returns the journal position and how many orders were accepted, stored
+	 * and rejected.
+	 *
+	 * @return the statistics by name
+	 */
+	public Map<String, Object> stats() {
+		OrderJournal current = journal;
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("enabled", enabled);
+		result.put("appendedSequence", current == null ? 0L : current.appendedSequence());
+		result.put("durableSequence", current == null ? 0L : current.durableSequence());
+		result.put("persistedSequence", persistedSequence);
+		result.put("pendingOrders", pending.size());
+		result.put("segments", current == null ? 0 : current.segmentCount());
+		result.put("acceptedOrders", acceptedOrders.sum());
+		result.put("persistedOrders", persistedOrders.sum());
+		result.put("rejectedOrders", rejectedOrders.sum());
+		return result;
+	}
+
+	/**
+	 * Takes the pending entries that directly follow the persisted sequence,
+	 * up to the batch size.
+	 */
+	private List<Map.Entry<Long, JournaledOrder>> nextBatch() {
+		List<Map.Entry<Long, JournaledOrder>> batch = new ArrayList<>();
+		long expected = persistedSequence + 1;
+		for (Map.Entry<Long, JournaledOrder> entry : pending.tailMap(expected).entrySet()) {
+			if (entry.getKey() != expected || batch.size() == batchSize) {
+				break;
+			}
+			batch.add(entry);
+			expected++;
+		}
+		return batch;
+	}
+
+	/**
+	 * Inserts a batch in one transaction. If that fails the entries are
+	 * inserted one by one, so that a single refused order does not hold up
+	 * the others.
+	 *
+	 * @return the number of entries stored or rejected
+	 */
+	private int store(List<Map.Entry<Long, JournaledOrder>> batch) {
+		try {
+			List<Order> saved = transactions.execute(status -> orderRepository.saveAll(toOrders(batch)));
+			stored(batch, saved);
+			return batch.size();
+		} catch (RuntimeException e) {
+			logger.debug("Storing {} journaled orders failed, retrying one by one: {}", batch.size(), e.getMessage());
+		}
+		int done = 0;
+		for (Map.Entry<Long, JournaledOrder> entry : batch) {
+			List<Map.Entry<Long, JournaledOrder>> single = List.of(entry);
+			try {
+				List<Order> saved = transactions.execute(status -> orderRepository.saveAll(toOrders(single)));
+				stored(single, saved);
+			} catch (DataIntegrityViolationException e) {
+				logger.warn("Rejected journaled order {}: {}", entry.getKey(), e.getMostSpecificCause().getMessage());
+				rejectedOrders.increment();
+				pending.remove(entry.getKey());
+				persistedSequence = entry.getKey();
+			} catch (RuntimeException e) {
+				logger.warn("Could not store journaled order {}, will retry: {}", entry.getKey(), e.getMessage());
+				break;
+			}
+			done++;
+		}
+		return done;
+	}
+
+	private List<Order> toOrders(List<Map.Entry<Long, JournaledOrder>> batch) {
+		List<Order> orders = new ArrayList<>(batch.size());
+		for (Map.Entry<Long, JournaledOrder> entry : batch) {
+			Order order = entry.getValue().toOrder(userRepository::getReferenceById,
+					menuItemRepository::getReferenceById);
+			order.setJournalInstance(instanceId);
+			order.setJournalSequence(entry.getKey());
+			orders.add(order);
+		}
+		return orders;
+	}
+
+	private void stored(List<Map.Entry<Long, JournaledOrder>> batch, List<Order> saved) {
+		List<OrderStatusView> changes = new ArrayList<>(saved.size());
+		for (Order order : saved) {
+			changes.add(new OrderStatusView(order.getId(), order.getStatus(), order.getVersion()));
+		}
+		persistedSequence = batch.get(batch.size() - 1).getKey();
+		for (Map.Entry<Long, JournaledOrder> entry : batch) {
+			pending.remove(entry.getKey());
+		}
+		persistedOrders.add(saved.size());
+		eventPublisher.publishEvent(new OrderChangedEvent(changes));
+	}
+
+	private void registerMetrics(MeterRegistry registry) {
+		Gauge.builder("orders.journal.pending", pending, Map::size).register(registry);
+		Gauge.builder("orders.journal.lag", this, intake -> {
+			OrderJournal current = intake.journal;
+			return current == null ? 0 : current.appendedSequence() - intake.persistedSequence;
+		}).register(registry);
+		FunctionCounter.builder("orders.journal.accepted", acceptedOrders, LongAdder::sum).register(registry);
+		FunctionCounter.builder("orders.journal.persisted", persistedOrders, LongAdder::sum).register(registry);
+		FunctionCounter.builder("orders.journal.rejected", rejectedOrders, LongAdder::sum).register(registry);
+	}
+}
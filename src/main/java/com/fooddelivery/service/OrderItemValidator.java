@@ -0,0 +1,65 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.validator.HibernateValidator;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.model.OrderItem;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Single validation stage for order payloads.
+ *
+ * The validator factory is built once and kept for the lifetime of the
+ * application, so constraint metadata for {@link OrderItem} is resolved on the
+ * first call and reused afterwards. The validator runs in fail-fast mode: the
+ * first violation found aborts validation of the whole list.
+ */
+@Component
+public class OrderItemValidator {
+
+	private final ValidatorFactory validatorFactory;
+	private final Validator validator;
+
+	public OrderItemValidator() {
+		this.validatorFactory = Validation.byProvider(HibernateValidator.class)
+				.configure()
+				.failFast(true)
+				.buildValidatorFactory();
+		this.validator = validatorFactory.getValidator();
+	}
+
+	/**
+	 * Validates every item of an order in a single pass.
+	 *
+	 * @param items the order items to validate
+	 * @throws IllegalArgumentException on the first invalid item
+	 */
+	public void validate(List<OrderItem> items) {
+		if (items == null || items.isEmpty()) {
+			throw new IllegalArgumentException("Missing menu item");
+		}
+
+		for (OrderItem item : items) {
+			if (item == null) {
+				throw new IllegalArgumentException("Invalid OrderItem: Order item cannot be null");
+			}
+			Set<ConstraintViolation<OrderItem>> violations = validator.validate(item);
+			if (!violations.isEmpty()) {
+				throw new IllegalArgumentException("Invalid OrderItem: " + violations.iterator().next().getMessage());
+			}
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		validatorFactory.close();
+	}
+}
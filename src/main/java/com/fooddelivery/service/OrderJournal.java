@@ -0,0 +1,453 @@
+package com.fooddelivery.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of byte records in memory-mapped segment files, made
+ * durable by group commit.
+ *
+ * Each record gets the next sequence number and is copied into the current
+ * segment under a short lock; the caller gets a future that completes once the
+ * record is on disk. A single flusher thread forces the segment every
+ * group-commit interval while records are pending, so one fsync acknowledges
+ * every record appended since the previous one. A full segment is forced and
+ * closed before the next one is created, so only the last segment can ever
+ * hold records that were not acknowledged.
+ *
+ * A record is {@code [int length][int CRC32C of the payload][long
+ * sequence][payload]}. Segments are named after the sequence of their first
+ * record and end at the first zero length, or at an end marker written when
+ * the segment filled up. When the journal is opened, the records of all
+ * segments are checked: a damaged or partly written record at the end of the
+ * last segment is the torn tail of a crash and is cut off, since it was never
+ * acknowledged; damage anywhere else is reported as corruption.
+ */
+public final class OrderJournal implements Closeable {
+
+	static final int HEADER_BYTES = 16;
+
+	// Written after the last record of a full segment
+	private static final int END_MARKER = -1;
+
+	private static final String SUFFIX = ".journal";
+
+	private final Path directory;
+	private final int segmentBytes;
+	private final long groupCommitNanos;
+
+	private final Object appendLock = new Object();
+	// First sequence of each segment on disk, guarded by appendLock
+	private final TreeMap<Long, Path> segments = new TreeMap<>();
+	// Guarded by appendLock
+	private Segment current;
+	private long nextSequence;
+
+	private volatile long appendedSequence;
+	private volatile long durableSequence;
+	private volatile RuntimeException failure;
+	private volatile boolean closed;
+	private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+	private final Thread flusher;
+
+	/**
+	 * Opens the journal in a directory, creating it if needed, and recovers
+	 * the records written before the last shutdown or crash.
+	 *
+	 * @param directory           the directory of the segment files
+	 * @param segmentBytes        the size of new segment files
+	 * @param groupCommitInterval how long the flusher waits for more records
+	 *                            before forcing them to disk; zero forces as
+	 *                            soon as the previous force is done
+	 * @param firstSequence       the sequence of the first record if the
+	 *                            directory holds no segments yet
+	 * @throws IOException           if the segments cannot be read or created
+	 * @throws IllegalStateException if a segment other than the last is
+	 *                               damaged or a segment is missing
+	 */
+	public OrderJournal(Path directory, int segmentBytes, Duration groupCommitInterval, long firstSequence)
+			throws IOException {
+		if (segmentBytes < HEADER_BYTES * 2) {
+			throw new IllegalArgumentException("Journal segments must be at least " + HEADER_BYTES * 2 + " bytes");
+		}
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+		this.groupCommitNanos = groupCommitInterval.toNanos();
+		Files.createDirectories(directory);
+		recover(Math.max(firstSequence, 1));
+		this.flusher = new Thread(this::flushLoop, "order-journal-flusher");
+		this.flusher.setDaemon(true);
+		this.flusher.start();
+	}
+
+	/**
+	 * Appends a record.
+	 *
+	 * @param payload the record, at most a segment minus the record header
+	 * @return a future completed with the sequence of the record once it is
+	 *         on disk, or completed exceptionally if writing it failed
+	 * @throws IllegalStateException if the journal is closed or has failed
+	 */
+	public CompletableFuture<Long> append(byte[] payload) {
+		if (payload.length == 0 || payload.length > segmentBytes - HEADER_BYTES - Integer.BYTES) {
+			throw new IllegalArgumentException("Journal record of " + payload.length + " bytes does not fit a segment");
+		}
+		CRC32C crc = new CRC32C();
+		crc.update(payload);
+		int checksum = (int) crc.getValue();
+		CompletableFuture<Long> durable = new CompletableFuture<>();
+
+		synchronized (appendLock) {
+			if (closed) {
+				throw new IllegalStateException("Order journal is closed");
+			}
+			if (failure != null) {
+				throw new IllegalStateException("Order journal failed", failure);
+			}
+			if (current.buffer.limit() - current.position < HEADER_BYTES + payload.length) {
+				rotate();
+			}
+			long sequence = nextSequence++;
+			MappedByteBuffer buffer = current.buffer;
+			int position = current.position;
+			buffer.putInt(position + 4, checksum);
+			buffer.putLong(position + 8, sequence);
+			buffer.put(position + HEADER_BYTES, payload);
+			buffer.putInt(position, payload.length);
+			current.position = position + HEADER_BYTES + payload.length;
+			waiters.add(new Waiter(sequence, durable));
+			appendedSequence = sequence;
+		}
+		LockSupport.unpark(flusher);
+		return durable;
+	}
+
+	/**
+	 * Passes every record after a sequence to a consumer, in sequence order.
+	 * Meant for recovery, before new records are appended.
+	 *
+	 * @param afterSequence the last sequence the caller already has
+	 * @param consumer      receives the sequence and payload of each record
+	 * @throws IOException if a segment cannot be read
+	 */
+	public void replay(long afterSequence, BiConsumer<Long, byte[]> consumer) throws IOException {
+		Map<Long, Path> files;
+		synchronized (appendLock) {
+			files = new TreeMap<>(segments);
+		}
+		Long[] firsts = files.keySet().toArray(new Long[0]);
+		for (int i = 0; i < firsts.length; i++) {
+			if (i + 1 < firsts.length && firsts[i + 1] - 1 <= afterSequence) {
+				continue;
+			}
+			try (FileChannel channel = FileChannel.open(files.get(firsts[i]), StandardOpenOption.READ)) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				scan(buffer, firsts[i], (sequence, payload) -> {
+					if (sequence > afterSequence) {
+						consumer.accept(sequence, payload);
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Deletes the segments whose records have all been persisted elsewhere.
+	 * The current segment is always kept.
+	 *
+	 * @param persistedSequence every record up to this sequence is no longer
+	 *                          needed
+	 * @return the number of segments deleted
+	 */
+	public int release(long persistedSequence) {
+		int deleted = 0;
+		synchronized (appendLock) {
+			while (segments.size() > 1) {
+				Map.Entry<Long, Path> oldest = segments.firstEntry();
+				long next = segments.higherKey(oldest.getKey());
+				if (next - 1 > persistedSequence) {
+					break;
+				}
+				try {
+					Files.deleteIfExists(oldest.getValue());
+				} catch (IOException e) {
+					throw new UncheckedIOException("Could not delete journal segment " + oldest.getValue(), e);
+				}
+				segments.pollFirstEntry();
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+
+	/**
+	 * Returns the sequence of the last appended record, or the one before the
+	 * first sequence if there is none.
+	 */
+	public long appendedSequence() {
+		return appendedSequence;
+	}
+
+	/**
+	 * Returns the sequence up to which all records are on disk.
+	 */
+	public long durableSequence() {
+		return durableSequence;
+	}
+
+	/**
+	 * Returns the sequence of the first record of the oldest segment. Records
+	 * before it were released.
+	 */
+	public long firstSequence() {
+		synchronized (appendLock) {
+			return segments.firstKey();
+		}
+	}
+
+	/**
+	 * Returns the number of segment files.
+	 */
+	public int segmentCount() {
+		synchronized (appendLock) {
+			return segments.size();
+		}
+	}
+
+	/**
+	 * Forces the pending records to disk and closes the journal. Appends
+	 * after this fail.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (appendLock) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		LockSupport.unpark(flusher);
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (appendLock) {
+			current.channel.close();
+		}
+	}
+
+	private void flushLoop() {
+		while (true) {
+			if (appendedSequence == durableSequence || failure != null) {
+				if (closed) {
+					return;
+				}
+				LockSupport.park(this);
+				continue;
+			}
+			// Let more records join this fsync, unless shutting down
+			long deadline = System.nanoTime() + groupCommitNanos;
+			long remaining;
+			while (!closed && (remaining = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, remaining);
+			}
+			sync();
+		}
+	}
+
+	private void sync() {
+		long upTo;
+		MappedByteBuffer buffer;
+		synchronized (appendLock) {
+			upTo = appendedSequence;
+			buffer = current.buffer;
+		}
+		try {
+			// Earlier segments were forced when they were rotated out
+			buffer.force();
+		} catch (RuntimeException e) {
+			failure = e;
+			Waiter waiter;
+			while ((waiter = waiters.poll()) != null) {
+				waiter.durable.completeExceptionally(e);
+			}
+			return;
+		}
+		durableSequence = upTo;
+		Waiter waiter;
+		while ((waiter = waiters.peek()) != null && waiter.sequence <= upTo) {
+			waiters.poll();
+			waiter.durable.complete(waiter.sequence);
+		}
+	}
+
+	/**
+	 * Ends the current segment with the end marker, forces and closes it and
+	 * starts a new one. Called with appendLock held.
+	 */
+	private void rotate() {
+		try {
+			Segment full = current;
+			if (full.buffer.limit() - full.position >= Integer.BYTES) {
+				full.buffer.putInt(full.position, END_MARKER);
+			}
+			full.buffer.force();
+			full.channel.close();
+			current = createSegment(nextSequence);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not start a new journal segment", e);
+		}
+	}
+
+	private Segment createSegment(long firstSequence) throws IOException {
+		Path path = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+		syncDirectory();
+		segments.put(firstSequence, path);
+		return new Segment(channel, buffer, 0);
+	}
+
+	/**
+	 * Checks every segment, cuts off a torn tail of the last one and makes it
+	 * the current segment.
+	 */
+	private void recover(long firstSequence) throws IOException {
+		TreeMap<Long, Path> files = new TreeMap<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+			for (Path path : stream) {
+				String name = path.getFileName().toString();
+				try {
+					files.put(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), path);
+				} catch (NumberFormatException e) {
+					throw new IllegalStateException("Unexpected file in order journal: " + path);
+				}
+			}
+		}
+		if (files.isEmpty()) {
+			nextSequence = firstSequence;
+			appendedSequence = firstSequence - 1;
+			durableSequence = firstSequence - 1;
+			current = createSegment(firstSequence);
+			return;
+		}
+
+		long expected = files.firstKey();
+		for (Map.Entry<Long, Path> entry : files.entrySet()) {
+			Path path = entry.getValue();
+			if (entry.getKey() != expected) {
+				throw new IllegalStateException("Order journal segment " + path + " starts at sequence "
+						+ entry.getKey() + ", expected " + expected);
+			}
+			boolean last = entry.getKey().equals(files.lastKey());
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			// The last segment may have been created just before a crash, before it was extended
+			long size = last ? Math.max(channel.size(), segmentBytes) : channel.size();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			long[] next = { expected };
+			int end = scan(buffer, expected, (sequence, payload) -> next[0] = sequence + 1);
+			expected = next[0];
+			boolean clean = buffer.limit() - end < Integer.BYTES || buffer.getInt(end) == 0
+					|| buffer.getInt(end) == END_MARKER;
+			if (!last) {
+				channel.close();
+				if (!clean) {
+					throw new IllegalStateException("Order journal segment " + path + " is corrupt at byte " + end);
+				}
+				segments.put(entry.getKey(), path);
+				continue;
+			}
+			if (!clean || (buffer.limit() - end >= Integer.BYTES && buffer.getInt(end) == END_MARKER)) {
+				// Torn tail: the record was never acknowledged, so drop it
+				buffer.putInt(end, 0);
+				buffer.force();
+			}
+			segments.put(entry.getKey(), path);
+			current = new Segment(channel, buffer, end);
+		}
+		nextSequence = expected;
+		appendedSequence = expected - 1;
+		durableSequence = expected - 1;
+	}
+
+	/**
+	 * Reads the valid records of a segment from its start.
+	 *
+	 * @return the position after the last valid record
+	 */
+	private static int scan(ByteBuffer buffer, long firstSequence, BiConsumer<Long, byte[]> consumer) {
+		CRC32C crc = new CRC32C();
+		int position = 0;
+		long expected = firstSequence;
+		while (buffer.limit() - position >= HEADER_BYTES) {
+			int length = buffer.getInt(position);
+			if (length <= 0 || length > buffer.limit() - position - HEADER_BYTES
+					|| buffer.getLong(position + 8) != expected) {
+				break;
+			}
+			byte[] payload = new byte[length];
+			buffer.get(position + HEADER_BYTES, payload);
+			crc.reset();
+			crc.update(payload);
+			if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+				break;
+			}
+			consumer.accept(expected, payload);
+			position += HEADER_BYTES + length;
+			expected++;
+		}
+		return position;
+	}
+
+	/**
+	 * Makes a newly created segment file survive a crash. Not every platform
+	 * can open a directory; there the file system has to take care of it.
+	 */
+	private void syncDirectory() {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException | UnsupportedOperationException e) {
+			// Best effort
+		}
+	}
+
+	private static final class Segment {
+		final FileChannel channel;
+		final MappedByteBuffer buffer;
+		int position;
+
+		Segment(FileChannel channel, MappedByteBuffer buffer, int position) {
+			this.channel = channel;
+			this.buffer = buffer;
+			this.position = position;
+		}
+	}
+
+	private static final class Waiter {
+		final long sequence;
+		final CompletableFuture<Long> durable;
+
+		Waiter(long sequence, CompletableFuture<Long> durable) {
+			this.sequence = sequence;
+			this.durable = durable;
+		}
+	}
+}
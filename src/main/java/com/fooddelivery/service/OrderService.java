@@ -1,29 +1,47 @@
 package com.fooddelivery.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-
-import javax.validation.Valid;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fooddelivery.dto.BatchOrderRequest;
+import com.fooddelivery.dto.BatchOrderResult;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.OrderCursor;
+import com.fooddelivery.dto.OrderReceipt;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.exception.OrderConflictException;
 import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
 import com.fooddelivery.model.Order;
 import com.fooddelivery.model.OrderItem;
 import com.fooddelivery.model.User;
+import com.fooddelivery.repository.CourierRepository;
+import com.fooddelivery.repository.MenuItemRepository;
 import com.fooddelivery.repository.OrderRepository;
 import com.fooddelivery.repository.UserRepository;
 
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validation;
-import jakarta.validation.Validator;
-import jakarta.validation.ValidatorFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 /**
  * Service layer for managing orders.
@@ -33,12 +51,51 @@ public class OrderService {
 
 	private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 200;
+
+	// Attempts of a status transition that keeps losing to concurrent updates
+	static final int MAX_TRANSITION_ATTEMPTS = 5;
+
+	// Streamed orders are loaded, and evicted from the persistence context, in chunks of this size
+	private static final int STREAM_CHUNK_SIZE = 500;
+
 	@Autowired
 	private OrderRepository orderRepository;
 
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private UserCache userCache;
+
+	@Autowired
+	private OrderItemValidator orderItemValidator;
+
+	@Autowired
+	private ActiveOrderIndex activeOrderIndex;
+
+	@Autowired
+	private OrderIntake orderIntake;
+
+	@Autowired
+	private MenuItemRepository menuItemRepository;
+
+	@Autowired
+	private DeliveryZoneIndex deliveryZoneIndex;
+
+	@Autowired
+	private CourierRepository courierRepository;
+
+	@Autowired
+	private CourierLocationStore courierLocationStore;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	/**
 	 * Places a new order for the specified user.
 	 *
@@ -46,56 +103,520 @@ public class OrderService {
 	 * @param items  the list of order items
 	 * @return the created Order object
 	 * @throws ResourceNotFoundException if the user is not found
+	 * @throws IllegalArgumentException  if an item is invalid or a restaurant
+	 *                                   does not deliver to the user
 	 */
 	@Transactional
-	public Order placeOrder(Long userId, @Valid List<OrderItem> items) {
-		User customer = userRepository.findById(userId)
+	public Order placeOrder(Long userId, List<OrderItem> items) {
+		User customer = userCache.get(userId)
 				.orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-		if (items == null || items.isEmpty()) {
-			throw new IllegalArgumentException("Missing menu item");
+		Order order = buildOrder(customer, items, loadMenuItems(Collections.singletonList(items)));
+		logger.info("Order placed successfully for user ID: {} with total price: {}", userId, order.getTotalPrice());
+
+		Order saved = orderRepository.save(order);
+		eventPublisher.publishEvent(new OrderChangedEvent(List.of(statusOf(saved))));
+		return saved;
+	}
+
+	/**
+	 * Tells whether orders are placed through the order journal, with
+	 * {@link #acceptOrder}, instead of {@link #placeOrder}.
+	 */
+	public boolean isJournalEnabled() {
+		return orderIntake.isEnabled();
+	}
+
+	/**
+	 * Accepts a new order through the order journal. The order is validated
+	 * exactly as in {@link #placeOrder} but acknowledged once it is durable in
+	 * the journal; it is stored shortly after in the background, which makes
+	 * the latency independent of the database commit.
+	 *
+	 * @param userId the ID of the user placing the order
+	 * @param items  the list of order items
+	 * @return the receipt naming the journal entry of the order
+	 * @throws ResourceNotFoundException if the user is not found
+	 * @throws IllegalArgumentException  if an item is invalid or a restaurant
+	 *                                   does not deliver to the user
+	 * @throws IllegalStateException     if the journal is not enabled or
+	 *                                   cannot be written
+	 */
+	public OrderReceipt acceptOrder(Long userId, List<OrderItem> items) {
+		User customer = userCache.get(userId)
+				.orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+
+		Order order = buildOrder(customer, items, loadMenuItems(Collections.singletonList(items)));
+		OrderReceipt receipt = orderIntake.accept(order);
+		logger.info("Order accepted as journal entry {} for user ID: {} with total price: {}",
+				receipt.getJournalSequence(), userId, order.getTotalPrice());
+		return receipt;
+	}
+
+	/**
+	 * Retrieves the order accepted as an order journal entry.
+	 *
+	 * @param sequence the journal sequence from the receipt
+	 * @return the stored order, or empty while it waits to be stored
+	 * @throws ResourceNotFoundException if there is no such entry or the order
+	 *                                   was rejected when it was stored
+	 */
+	public Optional<Order> getJournaledOrder(long sequence) {
+		if (orderIntake.isPending(sequence)) {
+			return Optional.empty();
+		}
+		Long id = orderIntake.findOrderId(sequence);
+		if (id == null) {
+			throw new ResourceNotFoundException("No order for journal entry " + sequence);
+		}
+		List<Order> orders = loadDetails(List.of(id));
+		if (orders.isEmpty()) {
+			throw new ResourceNotFoundException("Order not found with ID: " + id);
+		}
+		return Optional.of(orders.get(0));
+	}
+
+	/**
+	 * Returns the position of the order journal and how many orders went
+	 * through it.
+	 *
+	 * @return the statistics by name
+	 */
+	public Map<String, Object> getJournalStats() {
+		return orderIntake.stats();
+	}
+
+	/**
+	 * Places several orders in one transaction. Customers are loaded with a
+	 * single query and all accepted orders are persisted together, so their
+	 * inserts go out as JDBC batches. Orders that fail validation are reported
+	 * individually and do not prevent the others from being placed.
+	 *
+	 * @param requests the orders to place
+	 * @return one result per request, in the same order
+	 */
+	@Transactional
+	public List<BatchOrderResult> placeOrders(List<BatchOrderRequest> requests) {
+		Set<Long> userIds = new HashSet<>();
+		for (BatchOrderRequest request : requests) {
+			if (request != null && request.getUserId() != null) {
+				userIds.add(request.getUserId());
+			}
+		}
+		Map<Long, User> customers = new HashMap<>();
+		for (User user : userRepository.findAllById(userIds)) {
+			customers.put(user.getId(), user);
+		}
+		List<List<OrderItem>> itemLists = new ArrayList<>(requests.size());
+		for (BatchOrderRequest request : requests) {
+			if (request != null) {
+				itemLists.add(request.getItems());
+			}
+		}
+		Map<Long, MenuItem> menuItems = loadMenuItems(itemLists);
+
+		BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+		List<Order> accepted = new ArrayList<>(requests.size());
+		List<Integer> acceptedIndexes = new ArrayList<>(requests.size());
+
+		for (int i = 0; i < requests.size(); i++) {
+			BatchOrderRequest request = requests.get(i);
+			if (request == null || request.getUserId() == null) {
+				results[i] = BatchOrderResult.failure(i, "User ID cannot be null");
+				continue;
+			}
+			User customer = customers.get(request.getUserId());
+			if (customer == null) {
+				results[i] = BatchOrderResult.failure(i, "User not found with ID: " + request.getUserId());
+				continue;
+			}
+			try {
+				accepted.add(buildOrder(customer, request.getItems(), menuItems));
+				acceptedIndexes.add(i);
+			} catch (IllegalArgumentException e) {
+				results[i] = BatchOrderResult.failure(i, e.getMessage());
+			}
 		}
 
-		// Manually validate each OrderItem
-		ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-		Validator validator = factory.getValidator();
+		List<Order> saved = orderRepository.saveAll(accepted);
+		List<OrderStatusView> changes = new ArrayList<>(saved.size());
+		for (int i = 0; i < saved.size(); i++) {
+			int index = acceptedIndexes.get(i);
+			results[index] = BatchOrderResult.success(index, saved.get(i).getId());
+			changes.add(statusOf(saved.get(i)));
+		}
+		if (!changes.isEmpty()) {
+			eventPublisher.publishEvent(new OrderChangedEvent(changes));
+		}
 
+		logger.info("Batch placed {} of {} orders", saved.size(), requests.size());
+		return List.of(results);
+	}
+
+	private static OrderStatusView statusOf(Order order) {
+		return new OrderStatusView(order.getId(), order.getStatus(), order.getVersion());
+	}
+
+	/**
+	 * Loads the menu items the given orders refer to with a single query.
+	 * Items without a menu item ID are left for validation to reject.
+	 */
+	private Map<Long, MenuItem> loadMenuItems(List<List<OrderItem>> itemLists) {
+		Set<Long> ids = new HashSet<>();
+		for (List<OrderItem> items : itemLists) {
+			if (items == null) {
+				continue;
+			}
+			for (OrderItem item : items) {
+				if (item != null && item.getMenuItem() != null && item.getMenuItem().getId() != null) {
+					ids.add(item.getMenuItem().getId());
+				}
+			}
+		}
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		Map<Long, MenuItem> menuItems = new HashMap<>();
+		for (MenuItem menuItem : menuItemRepository.findByIdIn(ids)) {
+			menuItems.put(menuItem.getId(), menuItem);
+		}
+		return menuItems;
+	}
+
+	/**
+	 * Validates the items and builds a new, unsaved order for the customer.
+	 * Each item is bound to the stored menu item, and both the unit prices and
+	 * the total are taken from the catalogue; whatever the request said about
+	 * a menu item besides its ID is ignored.
+	 *
+	 * @throws IllegalArgumentException if an item is invalid or names a menu
+	 *                                  item that does not exist
+	 */
+	private Order buildOrder(User customer, List<OrderItem> items, Map<Long, MenuItem> menuItems) {
+		// Single fail-fast pass over all items with the shared validator
+		orderItemValidator.validate(items);
 		for (OrderItem item : items) {
-			Set<ConstraintViolation<OrderItem>> violations = validator.validate(item);
-			if (!violations.isEmpty()) {
-				throw new IllegalArgumentException("Invalid OrderItem: " + violations.iterator().next().getMessage());
+			Long menuItemId = item.getMenuItem().getId();
+			MenuItem menuItem = menuItemId == null ? null : menuItems.get(menuItemId);
+			if (menuItem == null) {
+				throw new IllegalArgumentException("Invalid OrderItem: Menu item not found with ID: " + menuItemId);
 			}
+			item.setMenuItem(menuItem);
+			item.setUnitPrice(menuItem.getPrice());
 		}
+		checkDeliveryZones(customer, items);
 
 		Order order = new Order();
 		order.setCustomer(customer);
 		order.setItems(items);
 		order.setStatus(Order.OrderStatus.PLACED);
 		order.setOrderTime(LocalDateTime.now());
+		order.setTotalPrice(calculateTotal(items));
+		return order;
+	}
 
-		// Calculate total price
-		BigDecimal total = items.stream().map(item -> {
-			if (item.getMenuItem() == null) {
-				throw new IllegalArgumentException("Invalid OrderItem: Missing menu item");
+	/**
+	 * Checks that every restaurant the items are from delivers to the
+	 * customer. The restaurants are those of the stored menu items and their
+	 * zones are looked up in memory, so the check costs no query; restaurants
+	 * without a zone deliver anywhere.
+	 *
+	 * @throws IllegalArgumentException if a menu item has no restaurant, a
+	 *                                  restaurant with a zone does not deliver
+	 *                                  to the customer's position, or the
+	 *                                  customer has no position
+	 */
+	private void checkDeliveryZones(User customer, List<OrderItem> items) {
+		GeoPoint to = null;
+		for (OrderItem item : items) {
+			MenuItem menuItem = item.getMenuItem();
+			if (menuItem.getRestaurant() == null || menuItem.getRestaurant().getId() == null) {
+				throw new IllegalArgumentException("Menu item " + menuItem.getId() + " has no restaurant");
 			}
-			double price = item.getMenuItem().getPrice();
-			return BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(item.getQuantity()));
-		}).reduce(BigDecimal.ZERO, BigDecimal::add);
+			Long restaurantId = menuItem.getRestaurant().getId();
+			if (deliveryZoneIndex.zoneOf(restaurantId) == null) {
+				continue;
+			}
+			if (to == null) {
+				to = customer.getLocation();
+				if (to == null) {
+					throw new IllegalArgumentException("User " + customer.getId()
+							+ " has no location, which restaurant " + restaurantId + " needs to deliver");
+				}
+			}
+			if (!deliveryZoneIndex.delivers(restaurantId, to)) {
+				throw new IllegalArgumentException(
+						"Restaurant " + restaurantId + " does not deliver to the address of user " + customer.getId());
+			}
+		}
+	}
 
-		order.setTotalPrice(total);
-		logger.info("Order placed successfully for user ID: {} with total price: {}", userId, total);
+	/**
+	 * Moves an order to a new status. The transition is validated against the
+	 * current status and applied with a conditional update on the order
+	 * version, so concurrent callers never block on row locks and never
+	 * overwrite each other: a caller that loses the race re-reads the order
+	 * and re-validates its transition from the new status.
+	 *
+	 * @param orderId         the ID of the order
+	 * @param target          the requested status
+	 * @param expectedVersion if not null, the version the caller last saw; the
+	 *                        transition is rejected if the order has changed
+	 *                        since
+	 * @return the new status and version of the order
+	 * @throws ResourceNotFoundException if the order is not found
+	 * @throws OrderConflictException    if the transition is not allowed from
+	 *                                   the current status, the order is not at
+	 *                                   the expected version, or it keeps
+	 *                                   changing concurrently
+	 */
+	@Transactional
+	public OrderStatusView transitionStatus(Long orderId, Order.OrderStatus target, Long expectedVersion) {
+		if (target == null) {
+			throw new IllegalArgumentException("Status cannot be null");
+		}
+		for (int attempt = 0; attempt < MAX_TRANSITION_ATTEMPTS; attempt++) {
+			OrderStatusView current = orderRepository.findStatusById(orderId)
+					.orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
 
-		return orderRepository.save(order);
+			if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+				throw new OrderConflictException("Order " + orderId + " is at version " + current.getVersion()
+						+ ", expected " + expectedVersion);
+			}
+			if (!current.getStatus().canTransitionTo(target)) {
+				throw new OrderConflictException(
+						"Order " + orderId + " cannot move from " + current.getStatus() + " to " + target);
+			}
+
+			if (orderRepository.updateStatusIfVersion(orderId, target, current.getVersion()) == 1) {
+				logger.info("Order {} moved from {} to {}", orderId, current.getStatus(), target);
+				OrderStatusView updated = new OrderStatusView(orderId, target, current.getVersion() + 1);
+				eventPublisher.publishEvent(new OrderChangedEvent(List.of(updated)));
+				return updated;
+			}
+			// Lost the race to another transition; re-read and re-validate
+		}
+		throw new OrderConflictException("Order " + orderId + " is being changed concurrently, try again");
 	}
 
 	/**
-	 * Retrieves orders by their status.
+	 * Assigns the courier the dispatcher chose to an order, if the order is
+	 * still as the dispatcher saw it. The update is conditional on the version
+	 * of that snapshot and is tried once: an order that was assigned a courier,
+	 * moved on or otherwise changed since is left alone rather than
+	 * re-validated, so dispatch never overrides a newer decision.
+	 *
+	 * @param planned   the order as the dispatch was planned on, unassigned
+	 * @param courierId the ID of the courier
+	 * @return the status and new version of the order
+	 * @throws ResourceNotFoundException if the courier is not found
+	 * @throws OrderConflictException    if the order changed since the
+	 *                                   snapshot
+	 */
+	@Transactional
+	public OrderStatusView dispatchCourier(Order planned, Long courierId) {
+		if (!courierRepository.existsById(courierId)) {
+			throw new ResourceNotFoundException("Courier not found with ID: " + courierId);
+		}
+		if (planned.getVersion() == null || planned.getCourierId() != null
+				|| orderRepository.updateCourierIfVersion(planned.getId(), courierId, planned.getVersion()) != 1) {
+			throw new OrderConflictException("Order " + planned.getId() + " changed since it was planned");
+		}
+		logger.info("Courier {} dispatched to order {}", courierId, planned.getId());
+		OrderStatusView updated = new OrderStatusView(planned.getId(), planned.getStatus(), planned.getVersion() + 1);
+		eventPublisher.publishEvent(new OrderChangedEvent(List.of(updated)));
+		return updated;
+	}
+
+	/**
+	 * Assigns a courier to an order that is not finished yet, replacing any
+	 * courier assigned before. Like status transitions, the change is a
+	 * conditional update on the order version.
+	 *
+	 * @param orderId   the ID of the order
+	 * @param courierId the ID of the courier
+	 * @return the status and new version of the order
+	 * @throws ResourceNotFoundException if the order or courier is not found
+	 * @throws OrderConflictException    if the order is delivered or cancelled,
+	 *                                   or keeps changing concurrently
+	 */
+	@Transactional
+	public OrderStatusView assignCourier(Long orderId, Long courierId) {
+		if (courierId == null) {
+			throw new IllegalArgumentException("Courier ID cannot be null");
+		}
+		if (!courierRepository.existsById(courierId)) {
+			throw new ResourceNotFoundException("Courier not found with ID: " + courierId);
+		}
+		for (int attempt = 0; attempt < MAX_TRANSITION_ATTEMPTS; attempt++) {
+			OrderStatusView current = orderRepository.findStatusById(orderId)
+					.orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+			if (current.getStatus().isTerminal()) {
+				throw new OrderConflictException("Order " + orderId + " is " + current.getStatus()
+						+ " and can no longer be assigned a courier");
+			}
+
+			if (orderRepository.updateCourierIfVersion(orderId, courierId, current.getVersion()) == 1) {
+				logger.info("Courier {} assigned to order {}", courierId, orderId);
+				OrderStatusView updated = new OrderStatusView(orderId, current.getStatus(), current.getVersion() + 1);
+				eventPublisher.publishEvent(new OrderChangedEvent(List.of(updated)));
+				return updated;
+			}
+		}
+		throw new OrderConflictException("Order " + orderId + " is being changed concurrently, try again");
+	}
+
+	/**
+	 * Returns the latest position of the courier delivering an order. Both the
+	 * order and the position are read from memory, so customers polling the
+	 * map of their order do not query the database.
+	 *
+	 * @param orderId the ID of the order
+	 * @return the position of its courier
+	 * @throws ResourceNotFoundException if the order is not out for delivery,
+	 *                                   has no courier or the courier has not
+	 *                                   reported a position recently
+	 */
+	public CourierPosition getCourierPosition(Long orderId) {
+		Order order = activeOrderIndex.get(orderId);
+		if (order == null || order.getStatus() != Order.OrderStatus.OUT_FOR_DELIVERY) {
+			throw new ResourceNotFoundException("Order " + orderId + " is not out for delivery");
+		}
+		if (order.getCourierId() == null) {
+			throw new ResourceNotFoundException("Order " + orderId + " has no courier");
+		}
+		CourierPosition position = courierLocationStore.latest(order.getCourierId());
+		if (position == null) {
+			throw new ResourceNotFoundException("No recent position of the courier of order " + orderId);
+		}
+		return position;
+	}
+
+	/**
+	 * Calculates the total price of the given order items. The sum is kept in
+	 * a primitive of minor units, so no objects are created per line.
+	 *
+	 * @param items the order items
+	 * @return the sum of price times quantity over all items
+	 * @throws IllegalArgumentException if an item has no menu item or price, or
+	 *                                  the total does not fit
+	 */
+	public static Money calculateTotal(List<OrderItem> items) {
+		long totalMinor = 0;
+		for (OrderItem item : items) {
+			MenuItem menuItem = item.getMenuItem();
+			if (menuItem == null) {
+				throw new IllegalArgumentException("Invalid OrderItem: Missing menu item");
+			}
+			if (menuItem.getPrice() == null) {
+				throw new IllegalArgumentException("Invalid OrderItem: Missing price");
+			}
+			try {
+				totalMinor = Math.addExact(totalMinor,
+						Math.multiplyExact(menuItem.getPrice().getMinorUnits(), item.getQuantity()));
+			} catch (ArithmeticException e) {
+				throw new IllegalArgumentException("Invalid order: total price is too large");
+			}
+		}
+		return Money.ofMinor(totalMinor);
+	}
+
+	/**
+	 * Retrieves a page of orders with the given status, ordered by (orderTime,
+	 * id). Active statuses are served from the {@link ActiveOrderIndex}
+	 * without touching the database. Otherwise the page is resolved to order
+	 * IDs first and then loaded with all its associations, so any page costs
+	 * exactly two queries; no surrounding transaction is needed for that.
 	 *
 	 * @param status the status of the orders to retrieve
-	 * @return a list of Order objects with the specified status
+	 * @param cursor the cursor returned with the previous page, or null for the
+	 *               first page
+	 * @param limit  the page size, capped at {@value #MAX_PAGE_SIZE}
+	 * @return a page of Order objects with the specified status
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	public CursorPage<Order> getOrdersByStatus(Order.OrderStatus status, String cursor, int limit) {
+		logger.debug("Fetching orders with status: {}", status);
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		OrderCursor position = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+		if (activeOrderIndex.isServing(status)) {
+			return activeOrderIndex.getPage(status, position, pageSize);
+		}
+
+		// Fetch one extra row to know whether another page exists
+		PageRequest page = PageRequest.of(0, pageSize + 1);
+		List<Long> ids;
+		if (position == null) {
+			ids = orderRepository.findFirstPageIdsByStatus(status, page);
+		} else {
+			ids = orderRepository.findPageIdsByStatusAfter(status, position.getOrderTime(), position.getId(), page);
+		}
+
+		if (ids.size() <= pageSize) {
+			return new CursorPage<>(loadDetails(ids), null);
+		}
+		List<Order> items = loadDetails(ids.subList(0, pageSize));
+		if (items.isEmpty()) {
+			return new CursorPage<>(items, null);
+		}
+		return new CursorPage<>(items, OrderCursor.after(items.get(items.size() - 1)).encode());
+	}
+
+	/**
+	 * Streams every order with the given status to the consumer. Order IDs are
+	 * read from a server-side cursor and loaded with their associations in
+	 * chunks, which are evicted from the persistence context once consumed, so
+	 * memory stays flat and the query count grows with the number of chunks
+	 * rather than the number of orders.
+	 *
+	 * @param status   the status of the orders to stream
+	 * @param consumer receives each order in (orderTime, id) order
 	 */
-	public List<Order> getOrdersByStatus(Order.OrderStatus status) {
-		logger.info("Fetching orders with status: {}", status);
-		return orderRepository.findByStatus(status);
+	@Transactional(readOnly = true)
+	public void streamOrdersByStatus(Order.OrderStatus status, Consumer<Order> consumer) {
+		logger.info("Streaming orders with status: {}", status);
+		try (Stream<Long> ids = orderRepository.streamIdsByStatus(status)) {
+			List<Long> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+			for (Long id : (Iterable<Long>) ids::iterator) {
+				chunk.add(id);
+				if (chunk.size() == STREAM_CHUNK_SIZE) {
+					streamChunk(chunk, consumer);
+				}
+			}
+			streamChunk(chunk, consumer);
+		}
+	}
+
+	private void streamChunk(List<Long> chunk, Consumer<Order> consumer) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		loadDetails(chunk).forEach(consumer);
+		chunk.clear();
+		entityManager.clear();
+	}
+
+	/**
+	 * Loads the orders with the given IDs through the details entity graph and
+	 * returns them in the order of the IDs.
+	 */
+	private List<Order> loadDetails(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, Order> byId = new HashMap<>();
+		for (Order order : orderRepository.findWithDetailsByIdIn(ids)) {
+			byId.put(order.getId(), order);
+		}
+		List<Order> orders = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			Order order = byId.get(id);
+			// Skip orders deleted between the two queries
+			if (order != null) {
+				orders.add(order);
+			}
+		}
+		return orders;
 	}
-}
\ No newline at end of file
+}
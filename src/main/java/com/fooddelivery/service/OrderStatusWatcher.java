@@ -0,0 +1,147 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.repository.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Long-poll support for the status of a single order.
+ *
+ * A client that already knows a version of the order waits, without holding
+ * a servlet thread or a database connection, until {@link OrderService}
+ * publishes a newer version or the poll times out. Changes are kept for one
+ * poll timeout so that a change committed between the client's status read
+ * and its registration as a waiter is not missed.
+ */
+@Component
+public class OrderStatusWatcher {
+
+	private static final long MAX_RECENT_CHANGES = 100_000;
+
+	private final OrderRepository orderRepository;
+	private final long timeoutMillis;
+
+	private final Map<Long, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+	private final Cache<Long, OrderStatusView> recentChanges;
+
+	@Autowired
+	public OrderStatusWatcher(OrderRepository orderRepository,
+			@Value("${fooddelivery.order-status.long-poll-timeout:PT30S}") Duration timeout) {
+		this.orderRepository = orderRepository;
+		this.timeoutMillis = timeout.toMillis();
+		this.recentChanges = Caffeine.newBuilder()
+				.maximumSize(MAX_RECENT_CHANGES)
+				.expireAfterWrite(timeout)
+				.build();
+	}
+
+	/**
+	 * Returns the status of an order once it is newer than the given version.
+	 * The result completes immediately if the order has already moved past
+	 * that version, has no version to compare with or can no longer change;
+	 * otherwise it completes on the next change or, at the timeout, with the
+	 * unchanged status.
+	 *
+	 * @param orderId      the ID of the order
+	 * @param sinceVersion the version the client already has, or null
+	 * @return the pending or completed status
+	 * @throws ResourceNotFoundException if the order does not exist
+	 */
+	public DeferredResult<OrderStatusView> watch(Long orderId, Long sinceVersion) {
+		OrderStatusView current = recentChanges.getIfPresent(orderId);
+		if (!isNewer(current, sinceVersion)) {
+			current = orderRepository.findStatusById(orderId)
+					.orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+		}
+		if (sinceVersion == null || isNewer(current, sinceVersion) || current.getStatus().isTerminal()) {
+			DeferredResult<OrderStatusView> result = new DeferredResult<>(timeoutMillis);
+			result.setResult(current);
+			return result;
+		}
+
+		OrderStatusView unchanged = current;
+		DeferredResult<OrderStatusView> result = new DeferredResult<>(timeoutMillis, () -> unchanged);
+		Waiter waiter = new Waiter(sinceVersion, result);
+		result.onCompletion(() -> removeWaiter(orderId, waiter));
+		waiters.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+
+		// A change published before the waiter was registered is only in the recent changes
+		OrderStatusView changed = recentChanges.getIfPresent(orderId);
+		if (isNewer(changed, sinceVersion)) {
+			complete(orderId, waiter, changed);
+		}
+		return result;
+	}
+
+	/**
+	 * Records the new status of the changed orders once their transaction has
+	 * committed and completes the polls waiting for them.
+	 *
+	 * @param event the changed orders
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onOrderChanged(OrderChangedEvent event) {
+		for (OrderStatusView change : event.getChanges()) {
+			if (change.getVersion() == null) {
+				continue;
+			}
+			recentChanges.asMap().merge(change.getOrderId(), change,
+					(previous, next) -> next.getVersion() > previous.getVersion() ? next : previous);
+			for (Waiter waiter : waiters.getOrDefault(change.getOrderId(), Set.of())) {
+				if (change.getVersion() > waiter.sinceVersion) {
+					complete(change.getOrderId(), waiter, change);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of polls waiting for an order.
+	 */
+	public int waiterCount(Long orderId) {
+		return waiters.getOrDefault(orderId, Set.of()).size();
+	}
+
+	private void complete(Long orderId, Waiter waiter, OrderStatusView status) {
+		waiter.result.setResult(status);
+		removeWaiter(orderId, waiter);
+	}
+
+	private void removeWaiter(Long orderId, Waiter waiter) {
+		waiters.computeIfPresent(orderId, (id, set) -> {
+			set.remove(waiter);
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	private static boolean isNewer(OrderStatusView status, Long sinceVersion) {
+		return status != null && status.getVersion() != null && sinceVersion != null
+				&& status.getVersion() > sinceVersion;
+	}
+
+	/**
+	 * One parked poll.
+	 */
+	private static final class Waiter {
+		final long sinceVersion;
+		final DeferredResult<OrderStatusView> result;
+
+		Waiter(long sinceVersion, DeferredResult<OrderStatusView> result) {
+			this.sinceVersion = sinceVersion;
+			this.result = result;
+		}
+	}
+}
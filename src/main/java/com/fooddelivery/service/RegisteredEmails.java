@@ -0,0 +1,201 @@
+package com.fooddelivery.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.model.User;
+import com.fooddelivery.repository.UserRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bloom filter of the normalized emails of all users, so that checking a new
+ * email, which almost always is not registered yet, needs no database lookup.
+ *
+ * The filter only answers "definitely not registered" or "maybe registered";
+ * a maybe is confirmed against the database. It is built from the user table
+ * at startup and every {@code fooddelivery.email-filter.rebuild-interval},
+ * sized for twice the users at that time. Emails of users created or updated
+ * on this instance are added right away; emails of deleted users, or replaced
+ * by an update, stay in the filter as false positives until the next rebuild.
+ * Users created on other instances are only known after the next rebuild, so
+ * the filter never decides on its own that an email is free to register: the
+ * unique index on the normalized email does.
+ *
+ * Until the first rebuild succeeds, every email is reported as maybe
+ * registered.
+ */
+@Component
+public class RegisteredEmails implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(RegisteredEmails.class);
+
+	private static final int REBUILD_CHUNK_SIZE = 1000;
+
+	// A new filter has room for this many users at least, however few there are
+	private static final long MIN_CAPACITY = 10_000;
+
+	private final UserRepository userRepository;
+	private final double falsePositiveProbability;
+
+	private volatile BloomFilter filter;
+	// The filter being rebuilt, which also receives the emails added meanwhile
+	private volatile BloomFilter building;
+	private final LongAdder staleEntries = new LongAdder();
+	private final LongAdder definiteMisses = new LongAdder();
+	private final LongAdder possibleHits = new LongAdder();
+
+	public RegisteredEmails(UserRepository userRepository, double falsePositiveProbability) {
+		this.userRepository = userRepository;
+		this.falsePositiveProbability = falsePositiveProbability;
+	}
+
+	@Autowired
+	public RegisteredEmails(UserRepository userRepository,
+			@Value("${fooddelivery.email-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this(userRepository, falsePositiveProbability);
+		meterRegistry.ifAvailable(this::registerMetrics);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		rebuild();
+	}
+
+	/**
+	 * Builds a new filter from the emails in the database and swaps it in. A
+	 * failed rebuild keeps the previous filter.
+	 */
+	@Scheduled(fixedDelayString = "${fooddelivery.email-filter.rebuild-interval:PT1H}",
+			initialDelayString = "${fooddelivery.email-filter.rebuild-interval:PT1H}")
+	public synchronized void rebuild() {
+		try {
+			long started = System.nanoTime();
+			BloomFilter next = BloomFilter.create(Math.max(MIN_CAPACITY, userRepository.count() * 2),
+					falsePositiveProbability);
+			building = next;
+			long stale = staleEntries.sum();
+
+			PageRequest chunk = PageRequest.of(0, REBUILD_CHUNK_SIZE);
+			List<User> users = userRepository.findFirstPage(chunk);
+			while (!users.isEmpty()) {
+				for (User user : users) {
+					if (user.getEmailKey() != null) {
+						next.put(user.getEmailKey());
+					}
+				}
+				if (users.size() < REBUILD_CHUNK_SIZE) {
+					break;
+				}
+				users = userRepository.findPageAfter(users.get(users.size() - 1).getId(), chunk);
+			}
+
+			filter = next;
+			staleEntries.add(-stale);
+			logger.info("Rebuilt registered email filter: {} emails, {} KiB in {} ms", next.entries(),
+					next.bitCount() / 8 / 1024, (System.nanoTime() - started) / 1_000_000);
+		} catch (RuntimeException e) {
+			logger.warn("Could not rebuild registered email filter, keeping the previous one: {}", e.getMessage());
+		} finally {
+			building = null;
+		}
+	}
+
+	/**
+	 * Tells whether an email may belong to a user.
+	 *
+	 * @param email the email as entered
+	 * @return false if no user has the email, ignoring case and surrounding
+	 *         blanks; true if one may have
+	 */
+	public boolean mightBeRegistered(String email) {
+		BloomFilter current = filter;
+		boolean maybe = current == null || email == null || current.mightContain(User.normalizeEmail(email));
+		(maybe ? possibleHits : definiteMisses).increment();
+		return maybe;
+	}
+
+	/**
+	 * Adds the email of a user that was created or changed. When called inside
+	 * a transaction the email is added again after commit, so a rebuild that
+	 * read the table before the commit cannot lose it.
+	 *
+	 * @param email the email as entered, ignored when null
+	 */
+	public void add(String email) {
+		if (email == null) {
+			return;
+		}
+		String key = User.normalizeEmail(email);
+		AfterCommit.runNowAndAgain(() -> put(key));
+	}
+
+	/**
+	 * Counts one more email in the filter that no longer belongs to a user.
+	 * A Bloom filter cannot forget an entry, so nothing is removed: the email
+	 * stays a false positive until the next rebuild, and the count only shows
+	 * how stale the filter has become. Call it after deleting a user or
+	 * replacing a user's email.
+	 */
+	public void markStale() {
+		staleEntries.increment();
+	}
+
+	/**
+	 * Returns the size and fill of the filter and how often it answered.
+	 *
+	 * @return the statistics by name
+	 */
+	public Map<String, Object> stats() {
+		BloomFilter current = filter;
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("ready", current != null);
+		result.put("entries", current == null ? 0L : current.entries());
+		result.put("capacity", current == null ? 0L : current.expectedEntries());
+		result.put("staleEntries", staleEntries.sum());
+		result.put("sizeBytes", current == null ? 0L : current.bitCount() / 8);
+		result.put("estimatedFalsePositiveProbability",
+				current == null ? 1.0 : current.estimatedFalsePositiveProbability());
+		result.put("definiteMisses", definiteMisses.sum());
+		result.put("possibleHits", possibleHits.sum());
+		return result;
+	}
+
+	private void put(String key) {
+		BloomFilter current = filter;
+		if (current != null) {
+			current.put(key);
+		}
+		BloomFilter next = building;
+		if (next != null) {
+			next.put(key);
+		}
+	}
+
+	private void registerMetrics(MeterRegistry registry) {
+		Gauge.builder("users.email.filter.entries", this, emails -> {
+			BloomFilter current = emails.filter;
+			return current == null ? 0 : current.entries();
+		}).register(registry);
+		Gauge.builder("users.email.filter.stale", staleEntries, LongAdder::sum).register(registry);
+		FunctionCounter.builder("users.email.filter.lookups", definiteMisses, LongAdder::sum)
+				.tag("result", "miss").register(registry);
+		FunctionCounter.builder("users.email.filter.lookups", possibleHits, LongAdder::sum)
+				.tag("result", "maybe").register(registry);
+	}
+}
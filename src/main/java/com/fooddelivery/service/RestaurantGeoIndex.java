@@ -0,0 +1,384 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.dto.NearbyRestaurant;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * In-memory spatial index of the restaurants that have a position, answering
+ * nearest-restaurant and within-radius queries without touching the database.
+ *
+ * Restaurants are bucketed into a grid of {@value #CELL_DEGREES} degree cells
+ * (about 1.1 km north-south). A search scans the cells covering a circle
+ * around the position, growing the circle one cell at a time until the k
+ * nearest matches are known to be inside it or the maximum distance is
+ * reached, so a query in a dense city touches a handful of cells.
+ *
+ * Each cell is an immutable array that is replaced when a restaurant in it
+ * moves, so searches take no lock. The index is built from the database
+ * before the application serves requests and is then updated by
+ * {@link RestaurantService} after each change commits.
+ */
+@Component
+public class RestaurantGeoIndex implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(RestaurantGeoIndex.class);
+
+	/** The largest distance a nearest-restaurant search looks. */
+	public static final double MAX_SEARCH_RADIUS_METERS = 50_000;
+
+	static final double CELL_DEGREES = 0.01;
+
+	private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+	private static final double CELL_METERS = CELL_DEGREES * GeoPoint.METERS_PER_DEGREE;
+	private static final int REBUILD_CHUNK_SIZE = 1000;
+
+	private final RestaurantRepository restaurantRepository;
+
+	private final Object writeLock = new Object();
+	private volatile Grid grid = new Grid();
+
+	public RestaurantGeoIndex(RestaurantRepository restaurantRepository) {
+		this.restaurantRepository = restaurantRepository;
+	}
+
+	/**
+	 * Loads all restaurants. Runs after all singletons are created and before
+	 * the web server starts, so no restaurant can change concurrently.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		rebuild();
+	}
+
+	/**
+	 * Replaces the contents of the index with the restaurants in the database.
+	 */
+	public void rebuild() {
+		Grid rebuilt = new Grid();
+		PageRequest chunk = PageRequest.of(0, REBUILD_CHUNK_SIZE);
+		List<Restaurant> page = restaurantRepository.findFirstPage(chunk);
+		while (!page.isEmpty()) {
+			for (Restaurant restaurant : page) {
+				Entry entry = Entry.of(restaurant);
+				if (entry != null) {
+					rebuilt.put(entry);
+				}
+			}
+			if (page.size() < REBUILD_CHUNK_SIZE) {
+				break;
+			}
+			page = restaurantRepository.findPageAfter(page.get(page.size() - 1).getId(), chunk);
+		}
+		synchronized (writeLock) {
+			grid = rebuilt;
+		}
+		logger.info("Indexed {} restaurant locations in {} cells", rebuilt.byId.size(), rebuilt.cells.size());
+	}
+
+	/**
+	 * Adds, moves or, if it no longer has a position, removes a restaurant.
+	 * Inside a transaction the change is applied after commit.
+	 *
+	 * @param restaurant the saved restaurant; ignored if it has no ID
+	 */
+	public void index(Restaurant restaurant) {
+		if (restaurant.getId() == null) {
+			return;
+		}
+		Long restaurantId = restaurant.getId();
+		Entry entry = Entry.of(restaurant);
+		AfterCommit.run(() -> {
+			synchronized (writeLock) {
+				if (entry == null) {
+					grid.remove(restaurantId);
+				} else {
+					grid.put(entry);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Removes a restaurant, after commit when inside a transaction.
+	 *
+	 * @param restaurantId the ID of the deleted restaurant
+	 */
+	public void remove(Long restaurantId) {
+		AfterCommit.run(() -> {
+			synchronized (writeLock) {
+				grid.remove(restaurantId);
+			}
+		});
+	}
+
+	/**
+	 * Finds the restaurants nearest to a position, up to
+	 * {@value #MAX_SEARCH_RADIUS_METERS} meters away.
+	 *
+	 * @param from       the position to search around
+	 * @param k          the maximum number of restaurants
+	 * @param cuisineKey the normalized cuisine to filter by, or null for all
+	 * @return the restaurants, nearest first
+	 */
+	public List<NearbyRestaurant> nearest(GeoPoint from, int k, String cuisineKey) {
+		return search(from, MAX_SEARCH_RADIUS_METERS, cuisineKey, k);
+	}
+
+	/**
+	 * Finds the restaurants within a distance of a position.
+	 *
+	 * @param from         the position to search around
+	 * @param radiusMeters the maximum distance
+	 * @param cuisineKey   the normalized cuisine to filter by, or null for all
+	 * @param limit        the maximum number of restaurants
+	 * @return the nearest restaurants within the radius, nearest first
+	 */
+	public List<NearbyRestaurant> withinRadius(GeoPoint from, double radiusMeters, String cuisineKey, int limit) {
+		return search(from, radiusMeters, cuisineKey, limit);
+	}
+
+	/**
+	 * Returns the number of indexed restaurants.
+	 */
+	public int size() {
+		return grid.byId.size();
+	}
+
+	private List<NearbyRestaurant> search(GeoPoint from, double maxDistanceMeters, String cuisineKey, int limit) {
+		if (limit <= 0 || !(maxDistanceMeters >= 0)) {
+			return List.of();
+		}
+		double lat = from.getLatitude();
+		double lon = from.getLongitude();
+		Map<Long, Entry[]> cells = grid.cells;
+		// Max-heap of the best matches so far, so the farthest is replaced first
+		PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, Candidate.NEAREST_FIRST.reversed());
+
+		Box scanned = null;
+		for (double radius = CELL_METERS;; radius += CELL_METERS) {
+			double reach = Math.min(radius, maxDistanceMeters);
+			Box box = Box.around(lat, lon, reach);
+			for (int row = box.rowMin; row <= box.rowMax; row++) {
+				for (int column = box.columnMin; column <= box.columnMax; column++) {
+					if (scanned != null && scanned.contains(row, column)) {
+						continue;
+					}
+					Entry[] cell = cells.get(cellKey(row, column));
+					if (cell == null) {
+						continue;
+					}
+					for (Entry entry : cell) {
+						if (cuisineKey != null && !cuisineKey.equals(entry.cuisineKey)) {
+							continue;
+						}
+						double distance = GeoPoint.distanceMeters(lat, lon, entry.latitude, entry.longitude);
+						if (distance > maxDistanceMeters) {
+							continue;
+						}
+						if (best.size() < limit) {
+							best.add(new Candidate(entry, distance));
+						} else if (distance < best.peek().distance) {
+							best.poll();
+							best.add(new Candidate(entry, distance));
+						}
+					}
+				}
+			}
+			scanned = box;
+			// Everything not scanned yet is farther away than the circle just covered
+			if (reach >= maxDistanceMeters || (best.size() == limit && best.peek().distance <= reach)) {
+				break;
+			}
+		}
+
+		List<Candidate> sorted = new ArrayList<>(best);
+		sorted.sort(Candidate.NEAREST_FIRST);
+		List<NearbyRestaurant> result = new ArrayList<>(sorted.size());
+		for (Candidate candidate : sorted) {
+			Entry entry = candidate.entry;
+			result.add(new NearbyRestaurant(entry.restaurantId, entry.name, entry.cuisine, entry.latitude,
+					entry.longitude, candidate.distance));
+		}
+		return result;
+	}
+
+	static int row(double latitude) {
+		return (int) Math.floor(latitude / CELL_DEGREES);
+	}
+
+	static int column(double longitude) {
+		return (int) Math.floor(longitude / CELL_DEGREES);
+	}
+
+	/**
+	 * Returns the key of a cell. Columns wrap around at the antimeridian.
+	 */
+	static long cellKey(int row, int column) {
+		return (long) row * COLUMNS + Math.floorMod(column, COLUMNS);
+	}
+
+	/**
+	 * The cells and the entry of every restaurant. Writers hold the write lock;
+	 * cell arrays are never modified once published.
+	 */
+	private static final class Grid {
+		final Map<Long, Entry[]> cells = new ConcurrentHashMap<>();
+		final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+
+		void put(Entry entry) {
+			Entry previous = byId.put(entry.restaurantId, entry);
+			if (previous != null && previous.cellKey == entry.cellKey) {
+				Entry[] cell = cells.get(entry.cellKey).clone();
+				for (int i = 0; i < cell.length; i++) {
+					if (cell[i] == previous) {
+						cell[i] = entry;
+					}
+				}
+				cells.put(entry.cellKey, cell);
+				return;
+			}
+			// Add before removing, so a moving restaurant never disappears from searches
+			Entry[] cell = cells.get(entry.cellKey);
+			Entry[] grown = cell == null ? new Entry[1] : Arrays.copyOf(cell, cell.length + 1);
+			grown[grown.length - 1] = entry;
+			cells.put(entry.cellKey, grown);
+			if (previous != null) {
+				removeFromCell(previous);
+			}
+		}
+
+		void remove(Long restaurantId) {
+			Entry previous = byId.remove(restaurantId);
+			if (previous != null) {
+				removeFromCell(previous);
+			}
+		}
+
+		private void removeFromCell(Entry entry) {
+			Entry[] cell = cells.get(entry.cellKey);
+			if (cell == null) {
+				return;
+			}
+			Entry[] shrunk = Arrays.stream(cell).filter(e -> e != entry).toArray(Entry[]::new);
+			if (shrunk.length == 0) {
+				cells.remove(entry.cellKey);
+			} else {
+				cells.put(entry.cellKey, shrunk);
+			}
+		}
+	}
+
+	/**
+	 * The indexed fields of one restaurant.
+	 */
+	private static final class Entry {
+		final long restaurantId;
+		final String name;
+		final String cuisine;
+		final String cuisineKey;
+		final double latitude;
+		final double longitude;
+		final long cellKey;
+
+		private Entry(Restaurant restaurant, GeoPoint location) {
+			this.restaurantId = restaurant.getId();
+			this.name = restaurant.getName();
+			this.cuisine = restaurant.getCuisine();
+			this.cuisineKey = Restaurant.normalizeCuisine(restaurant.getCuisine());
+			this.latitude = location.getLatitude();
+			this.longitude = location.getLongitude();
+			this.cellKey = cellKey(row(latitude), column(longitude));
+		}
+
+		/**
+		 * Returns the entry of a restaurant, or null if it has no valid position.
+		 */
+		static Entry of(Restaurant restaurant) {
+			try {
+				GeoPoint location = restaurant.getLocation();
+				return location == null ? null : new Entry(restaurant, location);
+			} catch (IllegalArgumentException e) {
+				logger.warn("Not indexing restaurant {} with invalid position: {}", restaurant.getId(),
+						e.getMessage());
+				return null;
+			}
+		}
+	}
+
+	private static final class Candidate {
+		static final Comparator<Candidate> NEAREST_FIRST = Comparator.<Candidate>comparingDouble(c -> c.distance)
+				.thenComparingLong(c -> c.entry.restaurantId);
+
+		final Entry entry;
+		final double distance;
+
+		Candidate(Entry entry, double distance) {
+			this.entry = entry;
+			this.distance = distance;
+		}
+	}
+
+	/**
+	 * The rows and columns of the cells covering a circle. Columns are not
+	 * wrapped, so a box crossing the antimeridian has columns beyond +-180
+	 * degrees; a box around a pole covers every column.
+	 */
+	private static final class Box {
+		final int rowMin;
+		final int rowMax;
+		final int columnMin;
+		final int columnMax;
+		final boolean allColumns;
+
+		private Box(int rowMin, int rowMax, int columnMin, int columnMax, boolean allColumns) {
+			this.rowMin = rowMin;
+			this.rowMax = rowMax;
+			this.columnMin = columnMin;
+			this.columnMax = columnMax;
+			this.allColumns = allColumns;
+		}
+
+		static Box around(double latitude, double longitude, double radiusMeters) {
+			double latitudeDelta = radiusMeters / GeoPoint.METERS_PER_DEGREE;
+			double south = latitude - latitudeDelta;
+			double north = latitude + latitudeDelta;
+			int rowMin = row(Math.max(-90, south));
+			int rowMax = row(Math.min(90, north));
+			if (south > -90 && north < 90) {
+				// The circle is widest, in degrees of longitude, at its edge nearest the pole
+				double cos = Math.cos(Math.toRadians(Math.max(Math.abs(south), Math.abs(north))));
+				double longitudeDelta = latitudeDelta / cos;
+				if (longitudeDelta < 180) {
+					int columnMin = column(longitude - longitudeDelta);
+					int columnMax = column(longitude + longitudeDelta);
+					if (columnMax - columnMin + 1 < COLUMNS) {
+						return new Box(rowMin, rowMax, columnMin, columnMax, false);
+					}
+				}
+			}
+			int columnMin = column(longitude) - COLUMNS / 2;
+			return new Box(rowMin, rowMax, columnMin, columnMin + COLUMNS - 1, true);
+		}
+
+		boolean contains(int row, int column) {
+			return row >= rowMin && row <= rowMax
+					&& (allColumns || Math.floorMod(column - columnMin, COLUMNS) <= columnMax - columnMin);
+		}
+	}
+}
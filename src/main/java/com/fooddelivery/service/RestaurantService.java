@@ -0,0 +1,230 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fooddelivery.dto.CuisineFacet;
+import com.fooddelivery.dto.IdCursor;
+import com.fooddelivery.dto.NearbyRestaurant;
+import com.fooddelivery.dto.RestaurantBrowsePage;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.exception.UserNotFoundException;
+import com.fooddelivery.model.DeliveryZone;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.model.User;
+import com.fooddelivery.repository.RestaurantRepository;
+import com.fooddelivery.repository.UserRepository;
+
+/**
+ * Service layer for browsing and locating restaurants.
+ */
+@Service
+public class RestaurantService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RestaurantService.class);
+
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int MAX_PAGE_SIZE = 100;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private CuisineFacets cuisineFacets;
+
+	@Autowired
+	private RestaurantGeoIndex restaurantGeoIndex;
+
+	@Autowired
+	private DeliveryZoneIndex deliveryZoneIndex;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	/**
+	 * Retrieves a restaurant by its ID.
+	 *
+	 * @param id the ID of the restaurant
+	 * @return the Restaurant if found
+	 * @throws ResourceNotFoundException if the restaurant is not found
+	 */
+	public Restaurant getRestaurantById(Long id) {
+		logger.debug("Fetching restaurant with ID: {}", id);
+		return restaurantRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with ID: " + id));
+	}
+
+	/**
+	 * Retrieves a page of restaurants ordered by ID, optionally of one cuisine,
+	 * together with the number of restaurants per cuisine. The page costs one
+	 * indexed query; the counts are served from memory.
+	 *
+	 * @param cuisine the cuisine to filter by, in any case, or null for all
+	 * @param cursor  the cursor returned with the previous page, or null for
+	 *                the first page
+	 * @param limit   the page size, capped at {@value #MAX_PAGE_SIZE}
+	 * @return a page of Restaurants with the cuisine facets
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	public RestaurantBrowsePage browse(String cuisine, String cursor, int limit) {
+		String cuisineKey = cuisine == null || cuisine.isBlank() ? null : Restaurant.normalizeCuisine(cuisine);
+		logger.debug("Browsing restaurants of cuisine {} after cursor: {}", cuisineKey, cursor);
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		Long after = cursor == null || cursor.isBlank() ? null : IdCursor.decode(cursor).getId();
+		// Fetch one extra row to know whether another page exists
+		PageRequest page = PageRequest.of(0, pageSize + 1);
+
+		List<Restaurant> restaurants;
+		if (cuisineKey == null) {
+			restaurants = after == null ? restaurantRepository.findFirstPage(page)
+					: restaurantRepository.findPageAfter(after, page);
+		} else {
+			restaurants = after == null ? restaurantRepository.findFirstPageByCuisineKey(cuisineKey, page)
+					: restaurantRepository.findPageByCuisineKeyAfter(cuisineKey, after, page);
+		}
+
+		long total = cuisineFacets.count(cuisineKey);
+		List<CuisineFacet> facets = cuisineFacets.getFacets();
+		if (restaurants.size() <= pageSize) {
+			return new RestaurantBrowsePage(restaurants, null, total, facets);
+		}
+		List<Restaurant> items = restaurants.subList(0, pageSize);
+		return new RestaurantBrowsePage(items, new IdCursor(items.get(pageSize - 1).getId()).encode(), total,
+				facets);
+	}
+
+	/**
+	 * Returns the number of restaurants per cuisine as of the last refresh.
+	 *
+	 * @return the cuisine facets ordered by cuisine key
+	 */
+	public List<CuisineFacet> getCuisineFacets() {
+		return cuisineFacets.getFacets();
+	}
+
+	/**
+	 * Finds the restaurants nearest to a position, or to a user's delivery
+	 * address. Served from memory by {@link RestaurantGeoIndex}.
+	 *
+	 * @param latitude     the latitude to search around, with longitude
+	 * @param longitude    the longitude to search around, with latitude
+	 * @param userId       the user whose position to search around when no
+	 *                     coordinates are given
+	 * @param radiusMeters the maximum distance, at most
+	 *                     {@value RestaurantGeoIndex#MAX_SEARCH_RADIUS_METERS};
+	 *                     null for the nearest restaurants at any distance up
+	 *                     to that maximum
+	 * @param cuisine      the cuisine to filter by, in any case, or null for all
+	 * @param limit        the maximum number of restaurants, capped at
+	 *                     {@value #MAX_PAGE_SIZE}
+	 * @return the restaurants, nearest first
+	 * @throws IllegalArgumentException if no valid position is given, the user
+	 *                                  has no position or the radius is out of
+	 *                                  range
+	 * @throws UserNotFoundException    if the user does not exist
+	 */
+	public List<NearbyRestaurant> findNearby(Double latitude, Double longitude, Long userId, Double radiusMeters,
+			String cuisine, int limit) {
+		GeoPoint from = resolvePosition(latitude, longitude, userId);
+		String cuisineKey = cuisine == null || cuisine.isBlank() ? null : Restaurant.normalizeCuisine(cuisine);
+		int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		logger.debug("Finding {} restaurants of cuisine {} near {} within {} m", size, cuisineKey, from,
+				radiusMeters);
+		if (radiusMeters == null) {
+			return restaurantGeoIndex.nearest(from, size, cuisineKey);
+		}
+		if (!(radiusMeters > 0 && radiusMeters <= RestaurantGeoIndex.MAX_SEARCH_RADIUS_METERS)) {
+			throw new IllegalArgumentException("Radius must be positive and at most "
+					+ (long) RestaurantGeoIndex.MAX_SEARCH_RADIUS_METERS + " meters: " + radiusMeters);
+		}
+		return restaurantGeoIndex.withinRadius(from, radiusMeters, cuisineKey, size);
+	}
+
+	/**
+	 * Sets the position of a restaurant. The location index picks the change
+	 * up once the transaction commits.
+	 *
+	 * @param id        the ID of the restaurant
+	 * @param latitude  the new latitude
+	 * @param longitude the new longitude
+	 * @return the updated Restaurant
+	 * @throws IllegalArgumentException  if a coordinate is out of range
+	 * @throws ResourceNotFoundException if the restaurant is not found
+	 */
+	@Transactional
+	public Restaurant updateLocation(Long id, double latitude, double longitude) {
+		GeoPoint location = GeoPoint.of(latitude, longitude);
+		Restaurant restaurant = getRestaurantById(id);
+		restaurant.setLatitude(location.getLatitude());
+		restaurant.setLongitude(location.getLongitude());
+		Restaurant saved = restaurantRepository.save(restaurant);
+		restaurantGeoIndex.index(saved);
+		logger.info("Moved restaurant {} to {}", id, location);
+		return saved;
+	}
+
+	/**
+	 * Finds the restaurants whose delivery zone contains a position, or a
+	 * user's delivery address. Served from memory by {@link DeliveryZoneIndex};
+	 * restaurants without a zone, which deliver anywhere, are not listed.
+	 *
+	 * @param latitude  the latitude to deliver to, with longitude
+	 * @param longitude the longitude to deliver to, with latitude
+	 * @param userId    the user to deliver to when no coordinates are given
+	 * @return the IDs of the restaurants, in ascending order
+	 * @throws IllegalArgumentException if no valid position is given or the
+	 *                                  user has no position
+	 * @throws UserNotFoundException    if the user does not exist
+	 */
+	public List<Long> findDeliveringTo(Double latitude, Double longitude, Long userId) {
+		GeoPoint to = resolvePosition(latitude, longitude, userId);
+		logger.debug("Finding restaurants delivering to {}", to);
+		return deliveryZoneIndex.restaurantsDeliveringTo(to);
+	}
+
+	/**
+	 * Sets or clears the delivery zone of a restaurant. The zone index picks
+	 * the change up once the transaction commits.
+	 *
+	 * @param id   the ID of the restaurant
+	 * @param zone the new zone, or null to deliver anywhere
+	 * @return the updated Restaurant
+	 * @throws ResourceNotFoundException if the restaurant is not found
+	 */
+	@Transactional
+	public Restaurant updateDeliveryZone(Long id, DeliveryZone zone) {
+		Restaurant restaurant = getRestaurantById(id);
+		restaurant.setDeliveryZone(zone);
+		Restaurant saved = restaurantRepository.save(restaurant);
+		deliveryZoneIndex.index(saved);
+		logger.info("Set delivery zone of restaurant {} to {} vertices", id,
+				zone == null ? 0 : zone.getVertexCount());
+		return saved;
+	}
+
+	private GeoPoint resolvePosition(Double latitude, Double longitude, Long userId) {
+		if (latitude != null || longitude != null) {
+			if (latitude == null || longitude == null) {
+				throw new IllegalArgumentException("Both latitude and longitude are required");
+			}
+			return GeoPoint.of(latitude, longitude);
+		}
+		if (userId == null) {
+			throw new IllegalArgumentException("Either a latitude and longitude or a user ID is required");
+		}
+		User user = userRepository.findById(userId)
+				.orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+		GeoPoint location = user.getLocation();
+		if (location == null) {
+			throw new IllegalArgumentException("User " + userId + " has no location");
+		}
+		return location;
+	}
+}
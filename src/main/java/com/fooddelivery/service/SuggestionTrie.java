@@ -0,0 +1,435 @@
+package com.fooddelivery.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fooddelivery.dto.Suggestion;
+
+/**
+ * Immutable radix trie answering "most popular names starting with this
+ * prefix", built once and then shared by any number of readers.
+ *
+ * Every name is indexed from the start of each of its words, so "thai"
+ * suggests "Pad Thai". The keys are sorted, which makes the keys below any
+ * trie node a contiguous range; a node therefore only stores its edge label
+ * (as an offset into one shared char array), its children and that range.
+ * Nodes covering more than {@value #SCAN_LIMIT} keys also store their top
+ * {@value #MAX_SUGGESTIONS} entries, so short, popular prefixes cost a walk
+ * down the trie and a copy; smaller ranges are scanned. All node data lives
+ * in primitive arrays, indexed by node number.
+ */
+public final class SuggestionTrie {
+
+	public static final int MAX_SUGGESTIONS = 10;
+
+	// Ranges up to this many keys are scanned rather than given a precomputed top list
+	private static final int SCAN_LIMIT = 64;
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+	private static final Suggestion.Type[] TYPES = Suggestion.Type.values();
+
+	// Entries: one per distinct (type, normalized name)
+	private final String[] texts;
+	private final byte[] types;
+	private final long[] ids;
+	private final long[] popularity;
+
+	// Entry of each key, in key order
+	private final int[] keyEntries;
+
+	// Nodes; node 0 is the root
+	private final char[] labels;
+	private final int[] labelStart;
+	private final short[] labelLength;
+	private final int[] firstChild;
+	private final short[] childCount;
+	private final int[] rangeStart;
+	private final int[] rangeEnd;
+	private final int[] topStart;
+	private final int[] tops;
+
+	private SuggestionTrie(Builder builder, BuildState state) {
+		int entries = builder.texts.size();
+		this.texts = builder.texts.toArray(new String[0]);
+		this.types = new byte[entries];
+		this.ids = new long[entries];
+		this.popularity = new long[entries];
+		for (int i = 0; i < entries; i++) {
+			types[i] = builder.types.get(i);
+			ids[i] = builder.ids.get(i);
+			popularity[i] = builder.popularity.get(i);
+		}
+		this.keyEntries = state.keyEntries;
+		this.labels = Arrays.copyOf(state.labels, state.labelCount);
+		int nodes = state.nodeCount;
+		this.labelStart = Arrays.copyOf(state.labelStart, nodes);
+		this.labelLength = Arrays.copyOf(state.labelLength, nodes);
+		this.firstChild = Arrays.copyOf(state.firstChild, nodes);
+		this.childCount = Arrays.copyOf(state.childCount, nodes);
+		this.rangeStart = Arrays.copyOf(state.rangeStart, nodes);
+		this.rangeEnd = Arrays.copyOf(state.rangeEnd, nodes);
+		this.topStart = Arrays.copyOf(state.topStart, nodes);
+		this.tops = Arrays.copyOf(state.tops, state.topCount);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the most popular entries with a word starting with the prefix.
+	 *
+	 * @param prefix what the user typed so far
+	 * @param limit  the maximum number of suggestions, capped at
+	 *               {@value #MAX_SUGGESTIONS}
+	 * @return the suggestions, most popular first
+	 */
+	public List<Suggestion> suggest(String prefix, int limit) {
+		String key = normalize(prefix);
+		int max = Math.min(limit, MAX_SUGGESTIONS);
+		if (key.isEmpty() || max <= 0 || keyEntries.length == 0) {
+			return List.of();
+		}
+		int node = 0;
+		int pos = 0;
+		while (pos < key.length()) {
+			node = child(node, key.charAt(pos));
+			if (node < 0) {
+				return List.of();
+			}
+			int start = labelStart[node];
+			int end = start + labelLength[node];
+			for (int i = start; i < end && pos < key.length(); i++, pos++) {
+				if (labels[i] != key.charAt(pos)) {
+					return List.of();
+				}
+			}
+		}
+
+		List<Suggestion> result = new ArrayList<>(max);
+		if (topStart[node] >= 0) {
+			for (int i = topStart[node]; i < topStart[node] + max && tops[i] >= 0; i++) {
+				result.add(entry(tops[i]));
+			}
+			return result;
+		}
+		int[] best = new int[max];
+		int count = top(keyEntries, popularity, rangeStart[node], rangeEnd[node], best);
+		for (int i = 0; i < count; i++) {
+			result.add(entry(best[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of distinct entries.
+	 */
+	public int size() {
+		return texts.length;
+	}
+
+	/**
+	 * Returns the number of trie nodes.
+	 */
+	public int nodeCount() {
+		return labelStart.length;
+	}
+
+	/**
+	 * Estimates the heap used by this trie in bytes, assuming compressed
+	 * object pointers and compact (Latin-1) strings.
+	 */
+	public long estimatedBytes() {
+		long bytes = 0;
+		for (String text : texts) {
+			bytes += 24 + 16 + text.length();
+		}
+		bytes += 16 + 4L * texts.length;
+		bytes += 16 + types.length + 16 + 8L * ids.length + 16 + 8L * popularity.length;
+		bytes += 16 + 4L * keyEntries.length + 16 + 2L * labels.length;
+		bytes += (long) labelStart.length * (4 + 2 + 4 + 2 + 4 + 4 + 4) + 7 * 16;
+		bytes += 16 + 4L * tops.length;
+		return bytes;
+	}
+
+	private Suggestion entry(int entry) {
+		return new Suggestion(texts[entry], TYPES[types[entry]], ids[entry], popularity[entry]);
+	}
+
+	/**
+	 * Returns the child of a node whose label starts with the character, or
+	 * -1. Children are ordered by their first character.
+	 */
+	private int child(int node, char c) {
+		int lo = firstChild[node];
+		int hi = lo + childCount[node] - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			char first = labels[labelStart[mid]];
+			if (first < c) {
+				lo = mid + 1;
+			} else if (first > c) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Collects the most popular distinct entries of a key range into
+	 * {@code best}, most popular first.
+	 *
+	 * @return the number of entries collected
+	 */
+	private static int top(int[] keyEntries, long[] popularity, int from, int to, int[] best) {
+		int count = 0;
+		for (int k = from; k < to; k++) {
+			int entry = keyEntries[k];
+			boolean seen = false;
+			for (int i = 0; i < count; i++) {
+				if (best[i] == entry) {
+					seen = true;
+					break;
+				}
+			}
+			if (seen || (count == best.length && popularity[best[count - 1]] >= popularity[entry])) {
+				continue;
+			}
+			int at = count == best.length ? count - 1 : count++;
+			while (at > 0 && popularity[best[at - 1]] < popularity[entry]) {
+				best[at] = best[at - 1];
+				at--;
+			}
+			best[at] = entry;
+		}
+		return count;
+	}
+
+	/**
+	 * Folds a name or prefix for matching: accents stripped, lower-cased, and
+	 * runs of anything but letters and digits replaced by one space.
+	 */
+	static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+	}
+
+	/**
+	 * Collects names with their popularity. Not thread-safe.
+	 */
+	public static final class Builder {
+
+		private final Map<String, Integer> entryByKey = new HashMap<>();
+		private final List<String> keys = new ArrayList<>();
+		private final List<String> texts = new ArrayList<>();
+		private final List<Byte> types = new ArrayList<>();
+		private final List<Long> ids = new ArrayList<>();
+		private final List<Long> popularity = new ArrayList<>();
+		// Popularity of the entity whose text and ID an entry shows
+		private final List<Long> shownPopularity = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Adds a name. Names of the same type that normalize to the same key
+		 * are merged: their popularity is summed and the most popular one is
+		 * shown.
+		 *
+		 * @param type       what the name belongs to
+		 * @param id         the ID of the restaurant or menu item; the name is
+		 *                   ignored if null
+		 * @param name       the name, ignored if blank
+		 * @param popularity how often it was ordered
+		 * @return this builder
+		 */
+		public Builder add(Suggestion.Type type, Long id, String name, long popularity) {
+			String key = normalize(name);
+			if (id == null || key.isEmpty() || key.length() > Short.MAX_VALUE) {
+				return this;
+			}
+			Integer existing = entryByKey.putIfAbsent(type.ordinal() + ":" + key, texts.size());
+			if (existing == null) {
+				keys.add(key);
+				texts.add(name.trim());
+				types.add((byte) type.ordinal());
+				ids.add(id);
+				this.popularity.add(popularity);
+				shownPopularity.add(popularity);
+				return this;
+			}
+			this.popularity.set(existing, this.popularity.get(existing) + popularity);
+			if (popularity > shownPopularity.get(existing)) {
+				texts.set(existing, name.trim());
+				ids.set(existing, id);
+				shownPopularity.set(existing, popularity);
+			}
+			return this;
+		}
+
+		/**
+		 * Builds the trie. The builder should not be used afterwards.
+		 */
+		public SuggestionTrie build() {
+			// One key per word start of every entry
+			List<String> wordKeys = new ArrayList<>();
+			List<Integer> wordEntries = new ArrayList<>();
+			for (int entry = 0; entry < keys.size(); entry++) {
+				String key = keys.get(entry);
+				for (int pos = 0; pos < key.length(); pos++) {
+					if (pos == 0 || key.charAt(pos - 1) == ' ') {
+						wordKeys.add(key.substring(pos));
+						wordEntries.add(entry);
+					}
+				}
+			}
+			Integer[] order = new Integer[wordKeys.size()];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, Comparator.<Integer, String>comparing(wordKeys::get)
+					.thenComparing(i -> -popularity.get(wordEntries.get(i))));
+
+			String[] sortedKeys = new String[order.length];
+			BuildState state = new BuildState(order.length);
+			for (int i = 0; i < order.length; i++) {
+				sortedKeys[i] = wordKeys.get(order[i]);
+				state.keyEntries[i] = wordEntries.get(order[i]);
+			}
+			long[] entryPopularity = new long[popularity.size()];
+			for (int i = 0; i < entryPopularity.length; i++) {
+				entryPopularity[i] = popularity.get(i);
+			}
+
+			int root = state.addNode(0, 0, 0, sortedKeys.length);
+			state.buildChildren(root, sortedKeys, 0, entryPopularity);
+			return new SuggestionTrie(this, state);
+		}
+	}
+
+	/**
+	 * Growable arrays filled while building.
+	 */
+	private static final class BuildState {
+		final int[] keyEntries;
+		char[] labels = new char[1024];
+		int labelCount;
+		int[] labelStart = new int[1024];
+		short[] labelLength = new short[1024];
+		int[] firstChild = new int[1024];
+		short[] childCount = new short[1024];
+		int[] rangeStart = new int[1024];
+		int[] rangeEnd = new int[1024];
+		int[] topStart = new int[1024];
+		int nodeCount;
+		int[] tops = new int[1024];
+		int topCount;
+
+		BuildState(int keyCount) {
+			this.keyEntries = new int[keyCount];
+		}
+
+		int addNode(int start, int length, int from, int to) {
+			if (nodeCount == labelStart.length) {
+				int capacity = nodeCount * 2;
+				labelStart = Arrays.copyOf(labelStart, capacity);
+				labelLength = Arrays.copyOf(labelLength, capacity);
+				firstChild = Arrays.copyOf(firstChild, capacity);
+				childCount = Arrays.copyOf(childCount, capacity);
+				rangeStart = Arrays.copyOf(rangeStart, capacity);
+				rangeEnd = Arrays.copyOf(rangeEnd, capacity);
+				topStart = Arrays.copyOf(topStart, capacity);
+			}
+			int node = nodeCount++;
+			labelStart[node] = start;
+			labelLength[node] = (short) length;
+			rangeStart[node] = from;
+			rangeEnd[node] = to;
+			topStart[node] = -1;
+			return node;
+		}
+
+		int addLabel(String key, int from, int to) {
+			int start = labelCount;
+			if (labelCount + (to - from) > labels.length) {
+				labels = Arrays.copyOf(labels, Math.max(labels.length * 2, labelCount + (to - from)));
+			}
+			key.getChars(from, to, labels, labelCount);
+			labelCount += to - from;
+			return start;
+		}
+
+		/**
+		 * Creates the children of a node whose keys, {@code [from, to)} of
+		 * the sorted keys, share their first {@code depth} characters, then
+		 * recurses into them. Siblings get consecutive node numbers.
+		 */
+		void buildChildren(int node, String[] keys, int depth, long[] popularity) {
+			int from = rangeStart[node];
+			int to = rangeEnd[node];
+			if (to - from > SCAN_LIMIT) {
+				int[] best = new int[MAX_SUGGESTIONS];
+				int count = top(keyEntries, popularity, from, to, best);
+				if (topCount + MAX_SUGGESTIONS > tops.length) {
+					tops = Arrays.copyOf(tops, tops.length * 2);
+				}
+				topStart[node] = topCount;
+				for (int i = 0; i < MAX_SUGGESTIONS; i++) {
+					tops[topCount++] = i < count ? best[i] : -1;
+				}
+			}
+
+			// Keys ending here sort first and have no child
+			int k = from;
+			while (k < to && keys[k].length() == depth) {
+				k++;
+			}
+			List<int[]> groups = new ArrayList<>();
+			while (k < to) {
+				char c = keys[k].charAt(depth);
+				int end = k + 1;
+				while (end < to && keys[end].charAt(depth) == c) {
+					end++;
+				}
+				groups.add(new int[] { k, end });
+				k = end;
+			}
+
+			firstChild[node] = nodeCount;
+			childCount[node] = (short) groups.size();
+			int[] children = new int[groups.size()];
+			int[] childDepth = new int[groups.size()];
+			for (int g = 0; g < groups.size(); g++) {
+				int[] group = groups.get(g);
+				String first = keys[group[0]];
+				String last = keys[group[1] - 1];
+				int common = depth + 1;
+				int limit = Math.min(first.length(), last.length());
+				while (common < limit && first.charAt(common) == last.charAt(common)) {
+					common++;
+				}
+				int start = addLabel(first, depth, common);
+				children[g] = addNode(start, common - depth, group[0], group[1]);
+				childDepth[g] = common;
+			}
+			for (int g = 0; g < children.length; g++) {
+				buildChildren(children[g], keys, childDepth[g], popularity);
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.fooddelivery.service;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets by key: each key may take {@code burst} permits at once and
+ * is refilled at {@code permitsPerSecond}.
+ *
+ * A bucket is a single {@link AtomicLong} holding the time at which it will
+ * be full again (the "theoretical arrival time" of the generic cell rate
+ * algorithm), so taking a permit is one read and one compare-and-set and
+ * threads never block each other. Buckets are spread over power-of-two
+ * stripes, each its own map, so that growing and sweeping millions of keys
+ * touches one stripe at a time. Buckets that have refilled hold no state worth
+ * keeping and are dropped by {@link #evictIdle}; a permit taken from a bucket
+ * while it is dropped is forgotten, which can admit at most one request more
+ * than the burst.
+ *
+ * Times are {@link System#nanoTime} readings passed in by the caller, so one
+ * reading can serve several limiters.
+ *
+ * @param <K> the type of the key, e.g. a user ID or client address
+ */
+public final class TokenBucketLimiter<K> {
+
+	// Full bucket that has never been used, whatever the time
+	private static final long FULL = Long.MIN_VALUE;
+
+	private final long nanosPerPermit;
+	private final int burst;
+	private final long burstNanos;
+	private final ConcurrentHashMap<K, AtomicLong>[] stripes;
+	private final int stripeShift;
+
+	/**
+	 * Creates a limiter with no buckets.
+	 *
+	 * @param permitsPerSecond the sustained rate allowed per key
+	 * @param burst            the number of permits a key may take at once
+	 * @param stripeCount      the number of maps buckets are spread over,
+	 *                         rounded up to a power of two
+	 * @throws IllegalArgumentException if the rate or burst is not positive
+	 */
+	@SuppressWarnings("unchecked")
+	public TokenBucketLimiter(double permitsPerSecond, int burst, int stripeCount) {
+		if (!(permitsPerSecond > 0) || burst < 1) {
+			throw new IllegalArgumentException("Rate and burst must be positive");
+		}
+		this.nanosPerPermit = Math.max(1, Math.round(1_000_000_000d / permitsPerSecond));
+		this.burst = burst;
+		this.burstNanos = Math.multiplyExact(nanosPerPermit, (long) burst);
+		int count = 1;
+		while (count < stripeCount) {
+			count <<= 1;
+		}
+		this.stripes = new ConcurrentHashMap[count];
+		this.stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new ConcurrentHashMap<>();
+		}
+	}
+
+	/**
+	 * Takes a permit from the bucket of a key if one is available.
+	 *
+	 * @param key the key, not null
+	 * @param now the current {@link System#nanoTime}
+	 * @return 0 if the permit was taken, otherwise the nanoseconds until one
+	 *         is available
+	 */
+	public long tryAcquire(K key, long now) {
+		return tryAcquire(key, 1, now);
+	}
+
+	/**
+	 * Takes several permits at once from the bucket of a key if they are all
+	 * available.
+	 *
+	 * @param key     the key, not null
+	 * @param permits the number of permits, at most the burst
+	 * @param now     the current {@link System#nanoTime}
+	 * @return 0 if the permits were taken, otherwise the nanoseconds until
+	 *         they are available
+	 * @throws IllegalArgumentException if permits is not between 1 and the
+	 *                                  burst, as they could never be taken
+	 */
+	public long tryAcquire(K key, int permits, long now) {
+		if (permits < 1 || permits > burst) {
+			throw new IllegalArgumentException("Permits must be between 1 and " + burst + ": " + permits);
+		}
+		long cost = nanosPerPermit * permits;
+		ConcurrentHashMap<K, AtomicLong> stripe = stripe(key);
+		AtomicLong bucket = stripe.get(key);
+		if (bucket == null) {
+			bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(FULL));
+		}
+		while (true) {
+			long fullAt = bucket.get();
+			long start = fullAt == FULL || fullAt - now < 0 ? now : fullAt;
+			long next = start + cost;
+			long wait = next - now - burstNanos;
+			if (wait > 0) {
+				return wait;
+			}
+			if (bucket.compareAndSet(fullAt, next)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Drops the buckets that have refilled, as they would be recreated full.
+	 *
+	 * @param now the current {@link System#nanoTime}
+	 * @return the number of buckets dropped
+	 */
+	public int evictIdle(long now) {
+		int evicted = 0;
+		for (ConcurrentHashMap<K, AtomicLong> stripe : stripes) {
+			Iterator<AtomicLong> buckets = stripe.values().iterator();
+			while (buckets.hasNext()) {
+				long fullAt = buckets.next().get();
+				if (fullAt == FULL || fullAt - now <= 0) {
+					buckets.remove();
+					evicted++;
+				}
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * Returns the number of permits a key may take at once.
+	 *
+	 * @return the burst
+	 */
+	public int burst() {
+		return burst;
+	}
+
+	/**
+	 * Returns the number of keys with a bucket.
+	 *
+	 * @return the number of buckets
+	 */
+	public long size() {
+		long size = 0;
+		for (ConcurrentHashMap<K, AtomicLong> stripe : stripes) {
+			size += stripe.mappingCount();
+		}
+		return size;
+	}
+
+	private ConcurrentHashMap<K, AtomicLong> stripe(K key) {
+		// The high bits of a mixed hash, as each map indexes by the low bits
+		long hash = (key.hashCode() * 0x9E3779B9) & 0xFFFFFFFFL;
+		return stripes[(int) (hash >>> stripeShift)];
+	}
+}
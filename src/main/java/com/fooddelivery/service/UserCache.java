@@ -0,0 +1,182 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.model.User;
+import com.fooddelivery.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process cache of users, looked up by ID or by email.
+ *
+ * Users are cached by ID; emails are normalized (trimmed and lower-cased) and
+ * map to the ID of their user, so both lookups share one copy of each user.
+ * Lookups of users that do not exist are cached too, but only for
+ * {@code fooddelivery.user-cache.negative-expire-after-write}, so that a user
+ * created on another instance becomes visible soon. Both caches are bounded by
+ * {@code fooddelivery.user-cache.max-users} and evict by frequency, and
+ * concurrent misses on the same key share a single database load.
+ *
+ * Cached users are detached and shared between threads, so callers must treat
+ * them as read-only; changes go through the repository and {@link #evict}.
+ */
+@Component
+public class UserCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserCache.class);
+
+	private final LoadingCache<Long, Optional<User>> users;
+	private final LoadingCache<String, Optional<Long>> userIdsByEmail;
+
+	public UserCache(UserRepository userRepository, long maxUsers, Duration expireAfterWrite,
+			Duration negativeExpireAfterWrite, Ticker ticker) {
+		this.users = Caffeine.newBuilder()
+				.maximumSize(maxUsers)
+				.ticker(ticker)
+				.expireAfter(UserCache.<Long, User>expiry(expireAfterWrite, negativeExpireAfterWrite))
+				.recordStats()
+				.build(userRepository::findById);
+		this.userIdsByEmail = Caffeine.newBuilder()
+				.maximumSize(maxUsers)
+				.ticker(ticker)
+				.expireAfter(UserCache.<String, Long>expiry(expireAfterWrite, negativeExpireAfterWrite))
+				.recordStats()
+				.build(email -> userRepository.findByEmailKey(email).map(user -> {
+					users.put(user.getId(), Optional.of(user));
+					return user.getId();
+				}));
+	}
+
+	@Autowired
+	public UserCache(UserRepository userRepository,
+			@Value("${fooddelivery.user-cache.max-users:100000}") long maxUsers,
+			@Value("${fooddelivery.user-cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+			@Value("${fooddelivery.user-cache.negative-expire-after-write:PT30S}") Duration negativeExpireAfterWrite,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this(userRepository, maxUsers, expireAfterWrite, negativeExpireAfterWrite, Ticker.systemTicker());
+		meterRegistry.ifAvailable(registry -> {
+			CaffeineCacheMetrics.monitor(registry, users, "users");
+			CaffeineCacheMetrics.monitor(registry, userIdsByEmail, "userEmails");
+		});
+	}
+
+	/**
+	 * Returns a user, loading it on a miss.
+	 *
+	 * @param id the ID of the user
+	 * @return the user, or empty if there is no user with that ID
+	 */
+	public Optional<User> get(Long id) {
+		return users.get(id);
+	}
+
+	/**
+	 * Returns the user with an email, ignoring case and surrounding blanks.
+	 *
+	 * @param email the email of the user
+	 * @return the user, or empty if there is no user with that email
+	 */
+	public Optional<User> getByEmail(String email) {
+		String key = User.normalizeEmail(email);
+		Optional<User> user = userIdsByEmail.get(key).flatMap(users::get);
+		if (user.isPresent() && !key.equals(User.normalizeEmail(user.get().getEmail()))) {
+			// The user changed their email since the mapping was cached
+			userIdsByEmail.invalidate(key);
+			user = userIdsByEmail.get(key).flatMap(users::get);
+		}
+		return user;
+	}
+
+	/**
+	 * Drops a cached user and the cached lookups of its emails, including
+	 * cached misses. When called inside a transaction the entries are dropped
+	 * again after commit, so a load racing with the transaction cannot leave
+	 * the pre-commit user in the cache.
+	 *
+	 * @param id     the ID of the user, ignored when null
+	 * @param emails the old and new emails of the user; null ones are ignored
+	 */
+	public void evict(Long id, String... emails) {
+		AfterCommit.runNowAndAgain(() -> invalidate(id, emails));
+		logger.debug("Evicted cached user ID: {}", id);
+	}
+
+	/**
+	 * Returns hit, miss and load statistics of the lookups by ID and by email.
+	 *
+	 * @return the statistics by cache and name
+	 */
+	public Map<String, Object> stats() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("byId", stats(users));
+		result.put("byEmail", stats(userIdsByEmail));
+		return result;
+	}
+
+	private void invalidate(Long id, String... emails) {
+		if (id != null) {
+			users.invalidate(id);
+		}
+		for (String email : emails) {
+			if (email != null) {
+				userIdsByEmail.invalidate(User.normalizeEmail(email));
+			}
+		}
+	}
+
+	private static Map<String, Object> stats(LoadingCache<?, ?> cache) {
+		CacheStats stats = cache.stats();
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("size", cache.estimatedSize());
+		result.put("hitCount", stats.hitCount());
+		result.put("missCount", stats.missCount());
+		result.put("hitRate", stats.hitRate());
+		result.put("loadCount", stats.loadCount());
+		result.put("loadFailureCount", stats.loadFailureCount());
+		result.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1_000_000.0);
+		result.put("evictionCount", stats.evictionCount());
+		return result;
+	}
+
+	/**
+	 * Keeps found entries for the regular time and misses for the short one,
+	 * counted from when the entry was loaded.
+	 */
+	private static <K, V> Expiry<K, Optional<V>> expiry(Duration expireAfterWrite, Duration negativeExpireAfterWrite) {
+		long foundNanos = expireAfterWrite.toNanos();
+		long missingNanos = negativeExpireAfterWrite.toNanos();
+		return new Expiry<>() {
+			@Override
+			public long expireAfterCreate(K key, Optional<V> value, long currentTime) {
+				return value.isPresent() ? foundNanos : missingNanos;
+			}
+
+			@Override
+			public long expireAfterUpdate(K key, Optional<V> value, long currentTime, long currentDuration) {
+				return expireAfterCreate(key, value, currentTime);
+			}
+
+			@Override
+			public long expireAfterRead(K key, Optional<V> value, long currentTime, long currentDuration) {
+				return currentDuration;
+			}
+		};
+	}
+}
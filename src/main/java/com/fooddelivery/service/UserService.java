@@ -1,19 +1,32 @@
 package com.fooddelivery.service;
 
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.IdCursor;
+import com.fooddelivery.exception.DuplicateEmailException;
 import com.fooddelivery.exception.UserNotFoundException;
 import com.fooddelivery.model.User;
 import com.fooddelivery.repository.UserRepository;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.Valid;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing users.
@@ -23,50 +36,149 @@ public class UserService {
 
 	private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 200;
+
+	// Streamed users are evicted from the persistence context in chunks of this size
+	private static final int STREAM_CLEAR_INTERVAL = 500;
+
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private UserCache userCache;
+
+	@Autowired
+	private RegisteredEmails registeredEmails;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	/**
-	 * Creates a new user.
+	 * Creates a new user. The email is only looked up in the database when the
+	 * registered email filter cannot rule it out; concurrent signups with the
+	 * same email are caught by the unique index.
 	 *
 	 * @param user the user to be created
 	 * @return the created User object
+	 * @throws DuplicateEmailException if another user has the email, ignoring
+	 *                                 case
 	 */
 	public User createUser(@Valid User user) {
 		logger.info("Creating user: {}", user.getName());
-		return userRepository.save(user);
+		if (isEmailRegistered(user.getEmail())) {
+			throw new DuplicateEmailException("Email is already registered: " + user.getEmail());
+		}
+		User created;
+		try {
+			created = userRepository.saveAndFlush(user);
+		} catch (DataIntegrityViolationException e) {
+			throw duplicateEmailOrRethrow(e, user.getEmail());
+		}
+		registeredEmails.add(created.getEmail());
+		// Drop cached misses for the new user
+		userCache.evict(created.getId(), created.getEmail());
+		return created;
 	}
 
 	/**
-	 * Retrieves a user by their unique ID.
+	 * Tells whether a user has an email, ignoring case and surrounding blanks.
+	 * Emails the registered email filter rules out are answered without a
+	 * database lookup.
+	 *
+	 * @param email the email to check
+	 * @return true if a user has the email
+	 */
+	public boolean isEmailRegistered(String email) {
+		if (email == null || !registeredEmails.mightBeRegistered(email)) {
+			return false;
+		}
+		return userRepository.existsByEmailKey(User.normalizeEmail(email));
+	}
+
+	/**
+	 * Retrieves a user by their unique ID, from the user cache when possible.
 	 *
 	 * @param id the unique identifier of the user
 	 * @return the User if found
-	 * @throws UserNotFoundException if no user is found with the given ID
 	 */
 	public Optional<User> getUserById(Long id) {
-		return userRepository.findById(id);
+		return userCache.get(id);
 	}
 
 	/**
-	 * Retrieves a user by their email.
+	 * Retrieves a user by their email, ignoring case, from the user cache when
+	 * possible.
 	 *
 	 * @param email the email of the user
 	 * @return the User if found
 	 */
 	public Optional<User> getUserByEmail(String email) {
 		logger.info("Retrieving user with email: {}", email);
-		return userRepository.findByEmail(email);
+		return userCache.getByEmail(email);
 	}
 
 	/**
-	 * Retrieves all users.
+	 * Returns hit, miss and load statistics of the user cache, and the fill of
+	 * the registered email filter.
 	 *
-	 * @return a list of all Users
+	 * @return the statistics by cache and name
 	 */
-	public List<User> getAllUsers() {
-		logger.info("Retrieving all users");
-		return userRepository.findAll();
+	public Map<String, Object> getUserCacheStats() {
+		Map<String, Object> stats = new LinkedHashMap<>(userCache.stats());
+		stats.put("emailFilter", registeredEmails.stats());
+		return stats;
+	}
+
+	/**
+	 * Retrieves a page of users ordered by ID.
+	 *
+	 * @param cursor the cursor returned with the previous page, or null for the
+	 *               first page
+	 * @param limit  the page size, capped at {@value #MAX_PAGE_SIZE}
+	 * @return a page of Users
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	@Transactional(readOnly = true)
+	public CursorPage<User> getUsers(String cursor, int limit) {
+		logger.info("Retrieving users after cursor: {}", cursor);
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		// Fetch one extra row to know whether another page exists
+		PageRequest page = PageRequest.of(0, pageSize + 1);
+
+		List<User> users;
+		if (cursor == null || cursor.isBlank()) {
+			users = userRepository.findFirstPage(page);
+		} else {
+			users = userRepository.findPageAfter(IdCursor.decode(cursor).getId(), page);
+		}
+
+		if (users.size() <= pageSize) {
+			return new CursorPage<>(users, null);
+		}
+		List<User> items = users.subList(0, pageSize);
+		return new CursorPage<>(items, new IdCursor(items.get(pageSize - 1).getId()).encode());
+	}
+
+	/**
+	 * Streams every user to the consumer, reading from a server-side cursor.
+	 * Loaded users are periodically evicted from the persistence context so
+	 * memory stays flat regardless of the table size.
+	 *
+	 * @param consumer receives each user in ID order
+	 */
+	@Transactional(readOnly = true)
+	public void streamAllUsers(Consumer<User> consumer) {
+		logger.info("Streaming all users");
+		try (Stream<User> users = userRepository.streamAll()) {
+			int count = 0;
+			for (User user : (Iterable<User>) users::iterator) {
+				consumer.accept(user);
+				if (++count % STREAM_CLEAR_INTERVAL == 0) {
+					entityManager.clear();
+				}
+			}
+		}
 	}
 
 	/**
@@ -75,16 +187,37 @@ public class UserService {
 	 * @param id          the ID of the user to update
 	 * @param updatedUser the updated user details
 	 * @return the updated User object
-	 * @throws UserNotFoundException if no user is found with the given ID
+	 * @throws DuplicateEmailException if the email changes to one another user
+	 *                                 has
 	 */
 	@Transactional
 	public Optional<User> updateUser(Long id, User updatedUser) {
 		return userRepository.findById(id).map(existingUser -> {
+			String previousEmail = existingUser.getEmail();
+			String emailKey = User.normalizeEmail(updatedUser.getEmail());
+			boolean emailChanged = !Objects.equals(emailKey, existingUser.getEmailKey());
+			if (emailChanged && emailKey != null && registeredEmails.mightBeRegistered(emailKey)
+					&& userRepository.existsByEmailKeyAndIdNot(emailKey, id)) {
+				throw new DuplicateEmailException("Email is already registered: " + updatedUser.getEmail());
+			}
 			existingUser.setName(updatedUser.getName());
 			existingUser.setEmail(updatedUser.getEmail());
 			existingUser.setPhoneNumber(updatedUser.getPhoneNumber());
 			existingUser.setAddress(updatedUser.getAddress());
-			return userRepository.save(existingUser);
+			existingUser.setLatitude(updatedUser.getLatitude());
+			existingUser.setLongitude(updatedUser.getLongitude());
+			User saved;
+			try {
+				saved = userRepository.saveAndFlush(existingUser);
+			} catch (DataIntegrityViolationException e) {
+				throw duplicateEmailOrRethrow(e, updatedUser.getEmail());
+			}
+			if (emailChanged) {
+				registeredEmails.add(saved.getEmail());
+				registeredEmails.markStale();
+			}
+			userCache.evict(id, previousEmail, saved.getEmail());
+			return saved;
 		});
 	}
 
@@ -100,5 +233,22 @@ public class UserService {
 			throw new UserNotFoundException("User not found with ID: " + id);
 		}
 		userRepository.deleteById(id);
+		registeredEmails.markStale();
+		// A cached email lookup of the user now resolves to a missing ID
+		userCache.evict(id);
+	}
+
+	/**
+	 * Translates a violation of the unique email index into a
+	 * DuplicateEmailException and rethrows any other violation.
+	 */
+	private static RuntimeException duplicateEmailOrRethrow(DataIntegrityViolationException e, String email) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			String message = cause.getMessage();
+			if (message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_KEY_CONSTRAINT)) {
+				return new DuplicateEmailException("Email is already registered: " + email);
+			}
+		}
+		return e;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.fooddelivery.ControllerTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import com.fooddelivery.Controller.AutocompleteController;
+import com.fooddelivery.dto.Suggestion;
+import com.fooddelivery.service.AutocompleteService;
+
+/**
+ * Unit tests for {@link AutocompleteController}.
+ */
+class AutocompleteControllerTest {
+
+	@Mock
+	private AutocompleteService autocompleteService;
+
+	@InjectMocks
+	private AutocompleteController autocompleteController;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	/**
+	 * Test case for suggesting names for a prefix.
+	 */
+	@Test
+	void testSuggest() {
+		// Arrange
+		List<Suggestion> suggestions = List.of(new Suggestion("Pad Thai", Suggestion.Type.DISH, 1L, 40));
+		when(autocompleteService.suggest("pad", 8)).thenReturn(suggestions);
+
+		// Act
+		ResponseEntity<List<Suggestion>> response = autocompleteController.suggest("pad", 8);
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(suggestions, response.getBody());
+	}
+}
@@ -0,0 +1,102 @@
+package com.fooddelivery.ControllerTest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import com.fooddelivery.Controller.CourierController;
+import com.fooddelivery.dto.CourierPing;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.PingBatchResult;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.service.CourierService;
+
+/**
+ * Unit tests for {@link CourierController}.
+ */
+class CourierControllerTest {
+
+	@Mock
+	private CourierService courierService;
+
+	@InjectMocks
+	private CourierController courierController;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	/**
+	 * Test case for a batch of pings being accepted.
+	 */
+	@Test
+	void testIngestPings_Accepted() {
+		// Arrange
+		List<CourierPing> pings = List.of(new CourierPing(1L, 52.52, 13.40, Instant.now()));
+		PingBatchResult result = new PingBatchResult(1, 0, 0);
+		when(courierService.ingestPings(pings)).thenReturn(result);
+
+		// Act
+		ResponseEntity<?> response = courierController.ingestPings(pings);
+
+		// Assert
+		assertEquals(202, response.getStatusCodeValue());
+		assertEquals(result, response.getBody());
+	}
+
+	/**
+	 * Test case for an empty or oversized batch of pings.
+	 */
+	@Test
+	void testIngestPings_InvalidBatch() {
+		// Arrange
+		when(courierService.ingestPings(List.of())).thenThrow(new IllegalArgumentException("empty"));
+
+		// Act
+		ResponseEntity<?> response = courierController.ingestPings(List.of());
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+	}
+
+	/**
+	 * Test case for retrieving the latest position of a courier.
+	 */
+	@Test
+	void testGetLatestPosition_Successful() {
+		// Arrange
+		CourierPosition position = new CourierPosition(1L, 52.52, 13.40, Instant.now());
+		when(courierService.getLatestPosition(1L)).thenReturn(position);
+
+		// Act
+		ResponseEntity<?> response = courierController.getLatestPosition(1L);
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(position, response.getBody());
+	}
+
+	/**
+	 * Test case for a courier that has not reported a position recently.
+	 */
+	@Test
+	void testGetLatestPosition_NotFound() {
+		// Arrange
+		when(courierService.getLatestPosition(1L)).thenThrow(new ResourceNotFoundException("No recent position"));
+
+		// Act
+		ResponseEntity<?> response = courierController.getLatestPosition(1L);
+
+		// Assert
+		assertEquals(404, response.getStatusCodeValue());
+	}
+}
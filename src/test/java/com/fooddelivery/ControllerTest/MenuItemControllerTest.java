@@ -1,6 +1,7 @@
 package com.fooddelivery.ControllerTest;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -25,7 +26,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fooddelivery.Controller.MenuItemController;
+import com.fooddelivery.dto.MenuSearchHit;
 import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.service.AdmissionControl;
 import com.fooddelivery.service.MenuItemService;
 
 /**
@@ -49,6 +53,10 @@ public class MenuItemControllerTest {
 	@MockBean
 	private MenuItemService menuItemService;
 
+	// Required by the rate limit interceptor, which does not cover menu items
+	@MockBean
+	private AdmissionControl admissionControl;
+
 	/**
 	 * Sets up the test environment before each test.
 	 */
@@ -68,7 +76,7 @@ public class MenuItemControllerTest {
 		// Arrange: Create a valid MenuItem object
 		MenuItem menuItem = new MenuItem();
 		menuItem.setName("Pizza");
-		menuItem.setPrice(9.99);
+		menuItem.setPrice(Money.of("9.99"));
 
 		when(menuItemService.addMenuItem(any(MenuItem.class))).thenReturn(menuItem);
 
@@ -128,7 +136,7 @@ public class MenuItemControllerTest {
 		MenuItem menuItem = new MenuItem();
 		menuItem.setId(1L);
 		menuItem.setName("Pizza");
-		menuItem.setPrice(12.99);
+		menuItem.setPrice(Money.of("12.99"));
 		menuItem.setDescription("Delicious Cheese Pizza");
 
 		when(menuItemService.updateMenuItem(eq(1L), any(MenuItem.class))).thenReturn(menuItem);
@@ -163,4 +171,23 @@ public class MenuItemControllerTest {
 		assertEquals(204, response.getStatusCodeValue());
 		verify(menuItemService).deleteMenuItem(id);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests the searchMenuItems endpoint. Verifies that matches are returned in
+	 * ranked order.
+	 *
+	 * @throws Exception if the request fails
+	 */
+	@Test
+	void testSearchMenuItems() throws Exception {
+		// Arrange
+		when(menuItemService.searchMenuItems("pad thai", 20)).thenReturn(List.of(
+				new MenuSearchHit(3L, 1L, "Pad Thai", 4.2), new MenuSearchHit(8L, 2L, "Pad Thai with Tofu", 3.9)));
+
+		// Act & Assert
+		mockMvc.perform(get("/api/menu-items/search").param("q", "pad thai"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].menuItemId").value(3))
+				.andExpect(jsonPath("$[1].name").value("Pad Thai with Tofu"));
+	}
+}
@@ -1,26 +1,55 @@
 package com.fooddelivery.ControllerTest;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fooddelivery.Controller.OrderController;
+import com.fooddelivery.dto.BatchOrderRequest;
+import com.fooddelivery.dto.BatchOrderResult;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.OrderReceipt;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.dto.StatusTransitionRequest;
+import com.fooddelivery.exception.IdempotencyKeyReusedException;
+import com.fooddelivery.exception.OrderConflictException;
+import com.fooddelivery.exception.RequestInProgressException;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
 import com.fooddelivery.model.Order;
 import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.service.AdmissionControl;
+import com.fooddelivery.service.IdempotencyStore;
+import com.fooddelivery.service.OrderEventBroadcaster;
 import com.fooddelivery.service.OrderService;
+import com.fooddelivery.service.OrderStatusWatcher;
 
 /**
  * Unit tests for {@link OrderController}.
@@ -32,6 +61,18 @@ class OrderControllerTest {
 	@Mock
 	private OrderService orderService;
 
+	@Mock
+	private OrderEventBroadcaster orderEventBroadcaster;
+
+	@Mock
+	private OrderStatusWatcher orderStatusWatcher;
+
+	@Mock
+	private IdempotencyStore idempotencyStore;
+
+	@Mock
+	private AdmissionControl admissionControl;
+
 	@InjectMocks
 	private OrderController orderController;
 
@@ -56,7 +97,7 @@ class OrderControllerTest {
 		when(orderService.placeOrder(userId, items)).thenReturn(order);
 
 		// Act
-		ResponseEntity<?> response = orderController.placeOrder(userId, items);
+		ResponseEntity<?> response = orderController.placeOrder(userId, items, null);
 
 		// Assert
 		assertNotNull(response);
@@ -75,7 +116,7 @@ class OrderControllerTest {
 		List<OrderItem> emptyItems = new ArrayList<>();
 
 		// Act
-		ResponseEntity<?> response = orderController.placeOrder(userId, emptyItems);
+		ResponseEntity<?> response = orderController.placeOrder(userId, emptyItems, null);
 
 		// Assert
 		assertNotNull(response);
@@ -83,6 +124,231 @@ class OrderControllerTest {
 		assertEquals("Order items cannot be empty", response.getBody()); // ✅ Fix: Now matches controller output
 	}
 
+	/**
+	 * Test case for placing an order with an idempotency key, which runs
+	 * through the idempotency store under a key scoped to the user.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	void testPlaceOrder_WithIdempotencyKey() {
+		// Arrange
+		Long userId = 1L;
+		List<OrderItem> items = List.of(new OrderItem());
+		Order order = new Order();
+		order.setId(1L);
+
+		when(orderService.placeOrder(userId, items)).thenReturn(order);
+		when(idempotencyStore.execute(eq("orders/place:1:key-1"), anyString(), any()))
+				.thenAnswer(invocation -> ((Supplier<ResponseEntity<?>>) invocation.getArgument(2)).get());
+
+		// Act
+		ResponseEntity<?> response = orderController.placeOrder(userId, items, "key-1");
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(order, response.getBody());
+		verify(orderService).placeOrder(userId, items);
+	}
+
+	/**
+	 * Test case for retrying an order with a different client price, which is
+	 * the same request as far as the idempotency key is concerned.
+	 */
+	@Test
+	void testPlaceOrder_IdempotencyHashIgnoresPrice() {
+		// Arrange
+		ArgumentCaptor<String> hashes = ArgumentCaptor.forClass(String.class);
+		when(idempotencyStore.execute(any(), hashes.capture(), any()))
+				.thenAnswer(invocation -> ResponseEntity.ok().build());
+
+		// Act
+		orderController.placeOrder(1L, List.of(item(3L, 2, "9.99")), "key-1");
+		orderController.placeOrder(1L, List.of(item(3L, 2, "4.50")), "key-1");
+		orderController.placeOrder(1L, List.of(item(3L, 3, "9.99")), "key-1");
+
+		// Assert
+		assertEquals(hashes.getAllValues().get(0), hashes.getAllValues().get(1));
+		assertNotEquals(hashes.getAllValues().get(0), hashes.getAllValues().get(2));
+	}
+
+	private static OrderItem item(Long menuItemId, int quantity, String price) {
+		MenuItem menuItem = new MenuItem();
+		menuItem.setId(menuItemId);
+		menuItem.setPrice(Money.of(price));
+		OrderItem item = new OrderItem();
+		item.setMenuItem(menuItem);
+		item.setQuantity(quantity);
+		return item;
+	}
+
+	/**
+	 * Test case for placing an order with a blank idempotency key.
+	 */
+	@Test
+	void testPlaceOrder_BlankIdempotencyKey() {
+		// Act
+		ResponseEntity<?> response = orderController.placeOrder(1L, List.of(new OrderItem()), " ");
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+		verify(idempotencyStore, never()).execute(any(), any(), any());
+	}
+
+	/**
+	 * Test case for reusing an idempotency key for different items, and for
+	 * retrying while the first request is still running.
+	 */
+	@Test
+	void testPlaceOrder_IdempotencyKeyRefused() {
+		// Arrange
+		List<OrderItem> items = List.of(new OrderItem());
+		when(idempotencyStore.execute(any(), any(), any()))
+				.thenThrow(new IdempotencyKeyReusedException("Idempotency key was already used for a different request"))
+				.thenThrow(new RequestInProgressException("A request with this idempotency key is still in progress"));
+
+		// Act
+		ResponseEntity<?> reused = orderController.placeOrder(1L, items, "key-1");
+		ResponseEntity<?> inProgress = orderController.placeOrder(1L, items, "key-1");
+
+		// Assert
+		assertEquals(422, reused.getStatusCodeValue());
+		assertEquals(409, inProgress.getStatusCodeValue());
+		assertEquals("1", inProgress.getHeaders().getFirst("Retry-After"));
+		verify(orderService, never()).placeOrder(any(), any());
+	}
+
+	/**
+	 * Test case for placing an order with the order journal enabled.
+	 */
+	@Test
+	void testPlaceOrder_Journaled() {
+		// Arrange
+		Long userId = 1L;
+		List<OrderItem> items = List.of(new OrderItem());
+		OrderReceipt receipt = new OrderReceipt(5L, userId, Money.of("19.98"), null);
+
+		when(orderService.isJournalEnabled()).thenReturn(true);
+		when(orderService.acceptOrder(userId, items)).thenReturn(receipt);
+
+		// Act
+		ResponseEntity<?> response = orderController.placeOrder(userId, items, null);
+
+		// Assert
+		assertEquals(202, response.getStatusCodeValue());
+		assertEquals(receipt, response.getBody());
+		verify(orderService, never()).placeOrder(any(), any());
+	}
+
+	/**
+	 * Test case for retrieving a journaled order before and after it is stored.
+	 */
+	@Test
+	void testGetJournaledOrder() {
+		// Arrange
+		Order order = new Order();
+		order.setId(1L);
+		when(orderService.getJournaledOrder(5L)).thenReturn(Optional.empty(), Optional.of(order));
+
+		// Act
+		ResponseEntity<?> pending = orderController.getJournaledOrder(5L);
+		ResponseEntity<?> stored = orderController.getJournaledOrder(5L);
+
+		// Assert
+		assertEquals(202, pending.getStatusCodeValue());
+		assertEquals(200, stored.getStatusCodeValue());
+		assertEquals(order, stored.getBody());
+	}
+
+	/**
+	 * Test case for retrieving an unknown or rejected journaled order.
+	 */
+	@Test
+	void testGetJournaledOrder_NotFound() {
+		// Arrange
+		when(orderService.getJournaledOrder(6L)).thenThrow(new ResourceNotFoundException("No order for journal entry 6"));
+
+		// Act
+		ResponseEntity<?> response = orderController.getJournaledOrder(6L);
+
+		// Assert
+		assertEquals(404, response.getStatusCodeValue());
+	}
+
+	/**
+	 * Test case for placing a batch of orders.
+	 */
+	@Test
+	void testPlaceOrders_Successful() {
+		// Arrange
+		List<BatchOrderRequest> requests = List.of(new BatchOrderRequest(1L, List.of(new OrderItem())));
+		List<BatchOrderResult> results = List.of(BatchOrderResult.success(0, 10L));
+
+		when(orderService.placeOrders(requests)).thenReturn(results);
+
+		// Act
+		ResponseEntity<?> response = orderController.placeOrders(requests, new MockHttpServletRequest());
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(results, response.getBody());
+		verify(orderService).placeOrders(requests);
+	}
+
+	/**
+	 * Test case for rejecting an empty batch.
+	 */
+	@Test
+	void testPlaceOrders_EmptyBatch() {
+		// Act
+		ResponseEntity<?> response = orderController.placeOrders(new ArrayList<>(), new MockHttpServletRequest());
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+		assertEquals("Order batch cannot be empty", response.getBody());
+	}
+
+	/**
+	 * Test case for rejecting a batch above the size limit.
+	 */
+	@Test
+	void testPlaceOrders_BatchTooLarge() {
+		// Arrange
+		List<BatchOrderRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 501; i++) {
+			requests.add(new BatchOrderRequest(1L, List.of(new OrderItem())));
+		}
+
+		// Act
+		ResponseEntity<?> response = orderController.placeOrders(requests, new MockHttpServletRequest());
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+		assertEquals("Order batch cannot contain more than 500 orders", response.getBody());
+	}
+
+	/**
+	 * Test case for refusing a batch when its address has placed too many
+	 * orders.
+	 */
+	@Test
+	void testPlaceOrders_RateLimited() {
+		// Arrange
+		List<BatchOrderRequest> requests = List.of(new BatchOrderRequest(1L, List.of(new OrderItem())),
+				new BatchOrderRequest(2L, List.of(new OrderItem())));
+		MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+		httpRequest.setRemoteAddr("10.0.0.1");
+
+		when(admissionControl.admitBatch("10.0.0.1", 2)).thenReturn(1_500_000_000L);
+
+		// Act
+		ResponseEntity<?> response = orderController.placeOrders(requests, httpRequest);
+
+		// Assert
+		assertEquals(429, response.getStatusCodeValue());
+		assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+		verify(orderService, never()).placeOrders(any());
+	}
+
 	/**
 	 * Test case for successfully retrieving orders by status.
 	 */
@@ -90,21 +356,22 @@ class OrderControllerTest {
 	void testGetOrdersByStatus_Successful() {
 		// Arrange
 		Order.OrderStatus status = Order.OrderStatus.PLACED;
-		List<Order> expectedOrders = new ArrayList<>();
+		List<Order> orders = new ArrayList<>();
 		Order order = new Order();
 		order.setStatus(status);
-		expectedOrders.add(order);
+		orders.add(order);
+		CursorPage<Order> expectedPage = new CursorPage<>(orders, null);
 
-		when(orderService.getOrdersByStatus(status)).thenReturn(expectedOrders);
+		when(orderService.getOrdersByStatus(status, null, 50)).thenReturn(expectedPage);
 
 		// Act
-		ResponseEntity<?> response = orderController.getOrdersByStatus(status);
+		ResponseEntity<?> response = orderController.getOrdersByStatus(status, null, 50);
 
 		// Assert
 		assertNotNull(response);
 		assertEquals(200, response.getStatusCodeValue());
-		assertEquals(expectedOrders, response.getBody());
-		verify(orderService).getOrdersByStatus(status);
+		assertEquals(expectedPage, response.getBody());
+		verify(orderService).getOrdersByStatus(status, null, 50);
 	}
 
 	/**
@@ -113,7 +380,7 @@ class OrderControllerTest {
 	@Test
 	void testGetOrdersByStatus_NullStatus() {
 		// Act
-		ResponseEntity<?> response = orderController.getOrdersByStatus(null);
+		ResponseEntity<?> response = orderController.getOrdersByStatus(null, null, 50);
 
 		// Assert
 		assertNotNull(response);
@@ -134,7 +401,7 @@ class OrderControllerTest {
 		when(orderService.placeOrder(userId, items)).thenThrow(new RuntimeException("Service error"));
 
 		// Act
-		ResponseEntity<?> response = orderController.placeOrder(userId, items);
+		ResponseEntity<?> response = orderController.placeOrder(userId, items, null);
 
 		// Assert
 		assertNotNull(response);
@@ -150,14 +417,214 @@ class OrderControllerTest {
 		// Arrange
 		Order.OrderStatus status = Order.OrderStatus.PLACED;
 
-		when(orderService.getOrdersByStatus(status)).thenThrow(new RuntimeException("Service error"));
+		when(orderService.getOrdersByStatus(status, null, 50)).thenThrow(new RuntimeException("Service error"));
 
 		// Act
-		ResponseEntity<?> response = orderController.getOrdersByStatus(status);
+		ResponseEntity<?> response = orderController.getOrdersByStatus(status, null, 50);
 
 		// Assert
 		assertNotNull(response);
 		assertEquals(500, response.getStatusCodeValue());
 		assertTrue(response.getBody().toString().contains("Error retrieving orders: Service error"));
 	}
+
+	/**
+	 * Test case for a malformed pagination cursor.
+	 */
+	@Test
+	void testGetOrdersByStatus_InvalidCursor() {
+		// Arrange
+		Order.OrderStatus status = Order.OrderStatus.PLACED;
+
+		when(orderService.getOrdersByStatus(status, "bogus", 50))
+				.thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+		// Act
+		ResponseEntity<?> response = orderController.getOrdersByStatus(status, "bogus", 50);
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+		assertEquals("Invalid cursor", response.getBody());
+	}
+
+	/**
+	 * Test case for changing the status of an order successfully.
+	 */
+	@Test
+	void testTransitionStatus_Successful() {
+		// Arrange
+		OrderStatusView view = new OrderStatusView(1L, Order.OrderStatus.PREPARING, 2L);
+		when(orderService.transitionStatus(1L, Order.OrderStatus.PREPARING, 1L)).thenReturn(view);
+
+		// Act
+		ResponseEntity<?> response = orderController.transitionStatus(1L,
+				new StatusTransitionRequest(Order.OrderStatus.PREPARING, 1L));
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(view, response.getBody());
+	}
+
+	/**
+	 * Test case for a status change without a target status.
+	 */
+	@Test
+	void testTransitionStatus_NullStatus() {
+		// Act
+		ResponseEntity<?> response = orderController.transitionStatus(1L, new StatusTransitionRequest());
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+		assertEquals("Order status cannot be null", response.getBody());
+	}
+
+	/**
+	 * Test case for a status change that conflicts with the current state.
+	 */
+	@Test
+	void testTransitionStatus_Conflict() {
+		// Arrange
+		when(orderService.transitionStatus(1L, Order.OrderStatus.PREPARING, null))
+				.thenThrow(new OrderConflictException("Order 1 cannot move from DELIVERED to PREPARING"));
+
+		// Act
+		ResponseEntity<?> response = orderController.transitionStatus(1L,
+				new StatusTransitionRequest(Order.OrderStatus.PREPARING, null));
+
+		// Assert
+		assertEquals(409, response.getStatusCodeValue());
+		assertEquals("Order 1 cannot move from DELIVERED to PREPARING", response.getBody());
+	}
+
+	/**
+	 * Test case for a status change of an unknown order.
+	 */
+	@Test
+	void testTransitionStatus_NotFound() {
+		// Arrange
+		when(orderService.transitionStatus(9L, Order.OrderStatus.CANCELLED, null))
+				.thenThrow(new ResourceNotFoundException("Order not found with ID: 9"));
+
+		// Act
+		ResponseEntity<?> response = orderController.transitionStatus(9L,
+				new StatusTransitionRequest(Order.OrderStatus.CANCELLED, null));
+
+		// Assert
+		assertEquals(404, response.getStatusCodeValue());
+		assertEquals("Order not found with ID: 9", response.getBody());
+	}
+
+	/**
+	 * Test case for resuming an order event stream.
+	 */
+	@Test
+	void testStreamOrderEvents_Resume() {
+		// Arrange
+		SseEmitter emitter = new SseEmitter();
+		when(orderEventBroadcaster.subscribe(3L, 42L)).thenReturn(emitter);
+
+		// Act
+		ResponseEntity<SseEmitter> response = orderController.streamOrderEvents(3L, "42");
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(emitter, response.getBody());
+	}
+
+	/**
+	 * Test case for an order event stream with a malformed Last-Event-ID.
+	 */
+	@Test
+	void testStreamOrderEvents_InvalidLastEventId() {
+		// Act
+		ResponseEntity<SseEmitter> response = orderController.streamOrderEvents(3L, "abc");
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+		verify(orderEventBroadcaster, never()).subscribe(any(), any());
+	}
+
+	/**
+	 * Test case for long-polling the status of an order.
+	 */
+	@Test
+	void testGetOrderStatus() {
+		// Arrange
+		DeferredResult<OrderStatusView> pending = new DeferredResult<>();
+		when(orderStatusWatcher.watch(5L, 2L)).thenReturn(pending);
+
+		// Act
+		DeferredResult<OrderStatusView> result = orderController.getOrderStatus(5L, 2L);
+
+		// Assert
+		assertEquals(pending, result);
+		verify(orderStatusWatcher).watch(5L, 2L);
+	}
+
+	/**
+	 * Test case for assigning a courier to an order.
+	 */
+	@Test
+	void testAssignCourier_Successful() {
+		// Arrange
+		OrderStatusView status = new OrderStatusView(1L, Order.OrderStatus.PREPARING, 4L);
+		when(orderService.assignCourier(1L, 7L)).thenReturn(status);
+
+		// Act
+		ResponseEntity<?> response = orderController.assignCourier(1L, 7L);
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(status, response.getBody());
+	}
+
+	/**
+	 * Test case for assigning a courier to a delivered order.
+	 */
+	@Test
+	void testAssignCourier_Conflict() {
+		// Arrange
+		when(orderService.assignCourier(1L, 7L)).thenThrow(new OrderConflictException("Order 1 is DELIVERED"));
+
+		// Act
+		ResponseEntity<?> response = orderController.assignCourier(1L, 7L);
+
+		// Assert
+		assertEquals(409, response.getStatusCodeValue());
+	}
+
+	/**
+	 * Test case for retrieving the courier position of an order out for
+	 * delivery.
+	 */
+	@Test
+	void testGetCourierPosition_Successful() {
+		// Arrange
+		CourierPosition position = new CourierPosition(7L, 52.52, 13.40, Instant.now());
+		when(orderService.getCourierPosition(1L)).thenReturn(position);
+
+		// Act
+		ResponseEntity<?> response = orderController.getCourierPosition(1L);
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(position, response.getBody());
+	}
+
+	/**
+	 * Test case for retrieving the courier position of an order not out for
+	 * delivery.
+	 */
+	@Test
+	void testGetCourierPosition_NotFound() {
+		// Arrange
+		when(orderService.getCourierPosition(1L))
+				.thenThrow(new ResourceNotFoundException("Order 1 is not out for delivery"));
+
+		// Act
+		ResponseEntity<?> response = orderController.getCourierPosition(1L);
+
+		// Assert
+		assertEquals(404, response.getStatusCodeValue());
+	}
 }
@@ -0,0 +1,173 @@
+package com.fooddelivery.ControllerTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import com.fooddelivery.Controller.RestaurantController;
+import com.fooddelivery.dto.CuisineFacet;
+import com.fooddelivery.dto.NearbyRestaurant;
+import com.fooddelivery.dto.RestaurantBrowsePage;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.exception.UserNotFoundException;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.service.RestaurantService;
+
+/**
+ * Unit tests for {@link RestaurantController}.
+ */
+class RestaurantControllerTest {
+
+	@Mock
+	private RestaurantService restaurantService;
+
+	@InjectMocks
+	private RestaurantController restaurantController;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	/**
+	 * Test case for browsing restaurants of a cuisine.
+	 */
+	@Test
+	void testBrowseRestaurants_Successful() {
+		// Arrange
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(1L);
+		restaurant.setCuisine("Italian");
+		RestaurantBrowsePage page = new RestaurantBrowsePage(List.of(restaurant), null, 1,
+				List.of(new CuisineFacet("italian", "Italian", 1)));
+		when(restaurantService.browse("Italian", null, 20)).thenReturn(page);
+
+		// Act
+		ResponseEntity<?> response = restaurantController.browseRestaurants("Italian", null, 20);
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(page, response.getBody());
+	}
+
+	/**
+	 * Test case for browsing with a malformed cursor.
+	 */
+	@Test
+	void testBrowseRestaurants_InvalidCursor() {
+		// Arrange
+		when(restaurantService.browse(null, "abc", 20)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+		// Act
+		ResponseEntity<?> response = restaurantController.browseRestaurants(null, "abc", 20);
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
+		assertEquals("Invalid cursor", response.getBody());
+	}
+
+	/**
+	 * Test case for retrieving an unknown restaurant.
+	 */
+	@Test
+	void testGetRestaurantById_NotFound() {
+		// Arrange
+		when(restaurantService.getRestaurantById(9L))
+				.thenThrow(new ResourceNotFoundException("Restaurant not found with ID: 9"));
+
+		// Act
+		ResponseEntity<?> response = restaurantController.getRestaurantById(9L);
+
+		// Assert
+		assertEquals(404, response.getStatusCodeValue());
+	}
+
+	/**
+	 * Test case for finding the restaurants near a position.
+	 */
+	@Test
+	void testFindNearby_Successful() {
+		// Arrange
+		List<NearbyRestaurant> nearby = List.of(new NearbyRestaurant(1L, "Thai Palace", "Thai", 52.37, 4.89, 250));
+		when(restaurantService.findNearby(52.37, 4.89, null, 2000.0, "Thai", 20)).thenReturn(nearby);
+
+		// Act
+		ResponseEntity<?> response = restaurantController.findNearby(52.37, 4.89, null, 2000.0, "Thai", 20);
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(nearby, response.getBody());
+	}
+
+	/**
+	 * Test case for finding restaurants without a position.
+	 */
+	@Test
+	void testFindNearby_InvalidInput() {
+		// Arrange
+		when(restaurantService.findNearby(null, null, null, null, null, 20))
+				.thenThrow(new IllegalArgumentException("Either a latitude and longitude or a user ID is required"));
+		when(restaurantService.findNearby(null, null, 9L, null, null, 20))
+				.thenThrow(new UserNotFoundException("User not found with ID: 9"));
+
+		// Act & Assert
+		assertEquals(400, restaurantController.findNearby(null, null, null, null, null, 20).getStatusCodeValue());
+		assertEquals(404, restaurantController.findNearby(null, null, 9L, null, null, 20).getStatusCodeValue());
+	}
+
+	/**
+	 * Test case for setting the position of an unknown restaurant.
+	 */
+	@Test
+	void testUpdateLocation_NotFound() {
+		// Arrange
+		when(restaurantService.updateLocation(9L, 52.37, 4.89))
+				.thenThrow(new ResourceNotFoundException("Restaurant not found with ID: 9"));
+
+		// Act
+		ResponseEntity<?> response = restaurantController.updateLocation(9L, 52.37, 4.89);
+
+		// Assert
+		assertEquals(404, response.getStatusCodeValue());
+	}
+
+	/**
+	 * Test case for retrieving the zone of a restaurant that delivers anywhere.
+	 */
+	@Test
+	void testGetDeliveryZone_None() {
+		// Arrange
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(1L);
+		when(restaurantService.getRestaurantById(1L)).thenReturn(restaurant);
+
+		// Act
+		ResponseEntity<?> response = restaurantController.getDeliveryZone(1L);
+
+		// Assert
+		assertEquals(204, response.getStatusCodeValue());
+	}
+
+	/**
+	 * Test case for finding the restaurants delivering to a position.
+	 */
+	@Test
+	void testFindDeliveringTo_Successful() {
+		// Arrange
+		when(restaurantService.findDeliveringTo(52.37, 4.89, null)).thenReturn(List.of(1L, 3L));
+
+		// Act
+		ResponseEntity<?> response = restaurantController.findDeliveringTo(52.37, 4.89, null);
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(List.of(1L, 3L), response.getBody());
+	}
+}
@@ -2,6 +2,7 @@ package com.fooddelivery.ControllerTest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -20,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 
 import com.fooddelivery.Controller.UserController;
+import com.fooddelivery.dto.CursorPage;
 import com.fooddelivery.exception.UserNotFoundException;
 import com.fooddelivery.model.User;
 import com.fooddelivery.service.UserService;
@@ -64,6 +66,23 @@ class UserControllerTest {
 		verify(userService).createUser(user);
 	}
 
+	/**
+	 * Test case for checking whether an email is registered.
+	 */
+	@Test
+	void testIsEmailRegistered() {
+		// Arrange
+		when(userService.isEmailRegistered("john@example.com")).thenReturn(true);
+
+		// Act
+		ResponseEntity<Map<String, Object>> response = userController.isEmailRegistered("john@example.com");
+
+		// Assert
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals("john@example.com", response.getBody().get("email"));
+		assertEquals(true, response.getBody().get("registered"));
+	}
+
 	/**
 	 * Test case for successfully retrieving a user by ID.
 	 */
@@ -153,17 +172,33 @@ class UserControllerTest {
 		// Arrange
 		List<User> users = new ArrayList<>();
 		users.add(new User());
+		CursorPage<User> page = new CursorPage<>(users, "1");
 
-		when(userService.getAllUsers()).thenReturn(users);
+		when(userService.getUsers(null, 50)).thenReturn(page);
 
 		// Act
-		ResponseEntity<List<User>> response = userController.getAllUsers();
+		ResponseEntity<CursorPage<User>> response = userController.getAllUsers(null, 50);
 
 		// Assert
 		assertNotNull(response);
 		assertEquals(200, response.getStatusCodeValue());
-		assertEquals(users, response.getBody());
-		verify(userService).getAllUsers();
+		assertEquals(page, response.getBody());
+		verify(userService).getUsers(null, 50);
+	}
+
+	/**
+	 * Test case for a malformed pagination cursor.
+	 */
+	@Test
+	void testGetAllUsers_InvalidCursor() {
+		// Arrange
+		when(userService.getUsers("abc", 50)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+		// Act
+		ResponseEntity<CursorPage<User>> response = userController.getAllUsers("abc", 50);
+
+		// Assert
+		assertEquals(400, response.getStatusCodeValue());
 	}
 
 	/**
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.fooddelivery.model.Money;
 import com.fooddelivery.model.Restaurant;
 
 /**
@@ -21,7 +22,7 @@ class MenuItemDTOTest {
     @BeforeEach
     void setUp() {
         restaurant = new Restaurant();
-        menuItemDTO = new MenuItemDTO("Burger", "Delicious beef burger", 5.99, restaurant);
+        menuItemDTO = new MenuItemDTO("Burger", "Delicious beef burger", Money.of("5.99"), restaurant);
     }
 
     /**
@@ -40,7 +41,7 @@ class MenuItemDTOTest {
     void testParameterizedConstructor() {
         assertEquals("Burger", menuItemDTO.getName());
         assertEquals("Delicious beef burger", menuItemDTO.getDescription());
-        assertEquals(5.99, menuItemDTO.getPrice());
+        assertEquals(Money.of("5.99"), menuItemDTO.getPrice());
         assertEquals(restaurant, menuItemDTO.getRestaurant());
     }
 
@@ -67,8 +68,8 @@ class MenuItemDTOTest {
      */
     @Test
     void testSetPrice() {
-        menuItemDTO.setPrice(9.99);
-        assertEquals(9.99, menuItemDTO.getPrice());
+        menuItemDTO.setPrice(Money.of("9.99"));
+        assertEquals(Money.of("9.99"), menuItemDTO.getPrice());
     }
 
     /**
@@ -89,13 +90,13 @@ class MenuItemDTOTest {
         MenuItemDTO builtItem = new MenuItemDTO.Builder()
                 .name("Pasta")
                 .description("Creamy Alfredo Pasta")
-                .price(12.99)
+                .price(Money.of("12.99"))
                 .restaurant(restaurant)
                 .build();
 
         assertEquals("Pasta", builtItem.getName());
         assertEquals("Creamy Alfredo Pasta", builtItem.getDescription());
-        assertEquals(12.99, builtItem.getPrice());
+        assertEquals(Money.of("12.99"), builtItem.getPrice());
         assertEquals(restaurant, builtItem.getRestaurant());
     }
 }
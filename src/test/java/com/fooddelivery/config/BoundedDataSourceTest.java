@@ -0,0 +1,120 @@
+package com.fooddelivery.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link BoundedDataSource}.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoundedDataSourceTest {
+
+	@Mock
+	private DataSource target;
+
+	@Mock
+	private Connection connection;
+
+	private BoundedDataSource dataSource;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new BoundedDataSource(target, 1, Duration.ofMillis(20));
+	}
+
+	/**
+	 * Tests that callers beyond the limit time out instead of reaching the
+	 * pool.
+	 */
+	@Test
+	void testGetConnection_TimesOutWhenExhausted() throws SQLException {
+		when(target.getConnection()).thenReturn(connection);
+
+		Connection first = dataSource.getConnection();
+
+		assertEquals(0, dataSource.availablePermits());
+		assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+		verify(target, times(1)).getConnection();
+
+		first.close();
+		assertEquals(1, dataSource.availablePermits());
+	}
+
+	/**
+	 * Tests that closing a connection twice releases its permit once.
+	 */
+	@Test
+	void testClose_ReleasesPermitOnce() throws SQLException {
+		when(target.getConnection()).thenReturn(connection);
+
+		Connection first = dataSource.getConnection();
+		first.close();
+		first.close();
+
+		assertEquals(1, dataSource.availablePermits());
+		verify(connection, times(2)).close();
+	}
+
+	/**
+	 * Tests that a failure of the underlying pool releases the permit.
+	 */
+	@Test
+	void testGetConnection_ReleasesPermitOnFailure() throws SQLException {
+		when(target.getConnection()).thenThrow(new SQLException("Pool unavailable"));
+
+		assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+		assertEquals(1, dataSource.availablePermits());
+	}
+
+	/**
+	 * Tests that other calls go to the underlying connection.
+	 */
+	@Test
+	void testConnection_DelegatesCalls() throws SQLException {
+		when(target.getConnection()).thenReturn(connection);
+		when(connection.getAutoCommit()).thenReturn(true);
+
+		Connection wrapped = dataSource.getConnection();
+
+		assertEquals(true, wrapped.getAutoCommit());
+	}
+
+	/**
+	 * Tests that a wrapped connection equals itself only and has a stable
+	 * hash code, whatever the underlying connection does.
+	 */
+	@Test
+	void testConnection_IdentityOfProxy() throws SQLException {
+		dataSource = new BoundedDataSource(target, 2, Duration.ofMillis(20));
+		when(target.getConnection()).thenReturn(connection);
+
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+
+		assertTrue(first.equals(first));
+		assertFalse(first.equals(second));
+		assertFalse(first.equals(connection));
+		assertEquals(first.hashCode(), first.hashCode());
+		assertTrue(Set.of(first, second).contains(first));
+		assertTrue(first.toString().contains(connection.toString()));
+	}
+}
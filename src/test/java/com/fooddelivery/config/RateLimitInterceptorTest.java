@@ -0,0 +1,105 @@
+package com.fooddelivery.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fooddelivery.service.AdmissionControl;
+import com.fooddelivery.service.TokenBucketLimiter;
+
+/**
+ * Unit tests for {@link RateLimitInterceptor} and the limits of
+ * {@link AdmissionControl}.
+ */
+class RateLimitInterceptorTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private AdmissionControl admissionControl;
+	private RateLimitInterceptor interceptor;
+
+	@BeforeEach
+	void setUp() {
+		// Two requests per user at once, then one every 2 seconds; five per
+		// address; batches of up to ten orders per address, then one order a second
+		admissionControl = new AdmissionControl(new TokenBucketLimiter<>(0.5, 2, 4),
+				new TokenBucketLimiter<>(0.5, 5, 4), new TokenBucketLimiter<>(1, 10, 4), now::get);
+		interceptor = new RateLimitInterceptor(admissionControl);
+	}
+
+	private static MockHttpServletRequest placeOrder(String userId, String address) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders/place");
+		if (userId != null) {
+			request.setParameter("userId", userId);
+		}
+		request.setRemoteAddr(address);
+		return request;
+	}
+
+	private boolean admitted(MockHttpServletRequest request) throws Exception {
+		return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+	}
+
+	/**
+	 * Tests that a user over their limit gets 429 with Retry-After, while other
+	 * users from the same address are still admitted.
+	 */
+	@Test
+	void testUserLimit() throws Exception {
+		assertTrue(admitted(placeOrder("1", "10.0.0.1")));
+		assertTrue(admitted(placeOrder("1", "10.0.0.1")));
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertFalse(interceptor.preHandle(placeOrder("1", "10.0.0.1"), response, new Object()));
+
+		assertEquals(429, response.getStatus());
+		assertEquals("2", response.getHeader("Retry-After"));
+		assertTrue(admitted(placeOrder("2", "10.0.0.1")));
+		now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		assertTrue(admitted(placeOrder("1", "10.0.0.1")));
+	}
+
+	/**
+	 * Tests that requests without a user, like signups, are limited by
+	 * address, and that reads are not limited.
+	 */
+	@Test
+	void testAddressLimit() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			MockHttpServletRequest signup = new MockHttpServletRequest("POST", "/api/users");
+			signup.setRemoteAddr("10.0.0.2");
+			assertTrue(admitted(signup));
+		}
+		MockHttpServletRequest signup = new MockHttpServletRequest("POST", "/api/users");
+		signup.setRemoteAddr("10.0.0.2");
+
+		assertFalse(admitted(signup));
+		assertFalse(admitted(placeOrder("3", "10.0.0.2")));
+		assertTrue(admitted(placeOrder("3", "10.0.0.3")));
+		MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/users/1");
+		read.setRemoteAddr("10.0.0.2");
+		assertTrue(admitted(read));
+	}
+
+	/**
+	 * Tests that a batch is charged one permit per order, so a client cannot
+	 * place more orders by batching them, and that a batch above the burst
+	 * waits for a full bucket.
+	 */
+	@Test
+	void testBatchChargedPerOrder() {
+		assertEquals(0, admissionControl.admitBatch("10.0.0.4", 6));
+		assertEquals(TimeUnit.SECONDS.toNanos(2), admissionControl.admitBatch("10.0.0.4", 6));
+		assertEquals(0, admissionControl.admitBatch("10.0.0.4", 4));
+		assertEquals(0, admissionControl.admitBatch("10.0.0.5", 500));
+		assertEquals(TimeUnit.SECONDS.toNanos(1), admissionControl.admitBatch("10.0.0.5", 1));
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertEquals(0, admissionControl.admitBatch("10.0.0.5", 500));
+	}
+}
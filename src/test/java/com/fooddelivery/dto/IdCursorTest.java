@@ -0,0 +1,33 @@
+package com.fooddelivery.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link IdCursor}.
+ */
+class IdCursorTest {
+
+	/**
+	 * Tests that an encoded cursor decodes to the same ID and does not expose it.
+	 */
+	@Test
+	void testEncodeDecodeRoundTrip() {
+		String token = new IdCursor(42L).encode();
+
+		assertEquals(42L, IdCursor.decode(token).getId());
+		assertNotEquals("42", token);
+	}
+
+	/**
+	 * Tests that malformed tokens, including raw IDs, are rejected.
+	 */
+	@Test
+	void testDecodeInvalidToken() {
+		assertThrows(IllegalArgumentException.class, () -> IdCursor.decode("not a cursor!"));
+		assertThrows(IllegalArgumentException.class, () -> IdCursor.decode("bm90LWFuLWlk"));
+		assertThrows(IllegalArgumentException.class, () -> IdCursor.decode("4"));
+	}
+}
@@ -0,0 +1,39 @@
+package com.fooddelivery.dto;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.model.Order;
+
+/**
+ * Unit tests for {@link OrderCursor}.
+ */
+class OrderCursorTest {
+
+	/**
+	 * Tests that an encoded cursor decodes to the same position.
+	 */
+	@Test
+	void testEncodeDecodeRoundTrip() {
+		Order order = new Order();
+		order.setId(42L);
+		order.setOrderTime(LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_000_000));
+
+		OrderCursor decoded = OrderCursor.decode(OrderCursor.after(order).encode());
+
+		assertEquals(order.getOrderTime(), decoded.getOrderTime());
+		assertEquals(42L, decoded.getId());
+	}
+
+	/**
+	 * Tests that malformed tokens are rejected.
+	 */
+	@Test
+	void testDecodeInvalidToken() {
+		assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("not a cursor!"));
+		assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("bm8tc2VwYXJhdG9y"));
+	}
+}
@@ -52,6 +52,49 @@ class GlobalExceptionHandlerTest {
         assertEquals("Resource not found: Resource not found", response.getBody());
     }
 
+    /**
+     * Tests handling of order conflict exceptions.
+     */
+    @Test
+    void testHandleOrderConflictException() {
+        OrderConflictException exception = new OrderConflictException("Order is already DELIVERED");
+
+        ResponseEntity<String> response = globalExceptionHandler.handleOrderConflictException(exception);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Order conflict: Order is already DELIVERED", response.getBody());
+    }
+
+    /**
+     * Tests handling of idempotency keys reused for a different request.
+     */
+    @Test
+    void testHandleIdempotencyKeyReusedException() {
+        IdempotencyKeyReusedException exception = new IdempotencyKeyReusedException("Different request");
+
+        ResponseEntity<String> response = globalExceptionHandler.handleIdempotencyKeyReusedException(exception);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("Idempotency key reused: Different request", response.getBody());
+    }
+
+    /**
+     * Tests handling of requests whose idempotency key is still in progress.
+     */
+    @Test
+    void testHandleRequestInProgressException() {
+        RequestInProgressException exception = new RequestInProgressException("Still running");
+
+        ResponseEntity<String> response = globalExceptionHandler.handleRequestInProgressException(exception);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Request in progress: Still running", response.getBody());
+    }
+
     /**
      * Tests handling of user not found exceptions.
      */
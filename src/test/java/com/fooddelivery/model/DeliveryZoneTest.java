@@ -0,0 +1,77 @@
+package com.fooddelivery.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+/**
+ * Unit tests for {@link DeliveryZone}.
+ */
+class DeliveryZoneTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	// An L-shaped zone: the square 52.30-52.40 x 4.80-5.00 without its north-east quarter
+	private static final double[][] L_SHAPE = { { 52.30, 4.80 }, { 52.30, 5.00 }, { 52.35, 5.00 }, { 52.35, 4.90 },
+			{ 52.40, 4.90 }, { 52.40, 4.80 } };
+
+	/**
+	 * Tests containment in a concave zone.
+	 */
+	@Test
+	void testContains() {
+		DeliveryZone zone = DeliveryZone.of(L_SHAPE);
+
+		assertTrue(zone.contains(52.32, 4.95));
+		assertTrue(zone.contains(52.38, 4.85));
+		assertFalse(zone.contains(52.38, 4.95));
+		assertFalse(zone.contains(52.45, 4.85));
+		assertFalse(zone.contains(52.32, 5.05));
+	}
+
+	/**
+	 * Tests that a closing vertex is dropped and invalid zones are rejected.
+	 */
+	@Test
+	void testOf_Validation() {
+		assertEquals(3, DeliveryZone.of(new double[][] { { 1, 1 }, { 1, 2 }, { 2, 2 }, { 1, 1 } }).getVertexCount());
+		assertThrows(IllegalArgumentException.class, () -> DeliveryZone.of(new double[][] { { 1, 1 }, { 1, 2 } }));
+		assertThrows(IllegalArgumentException.class,
+				() -> DeliveryZone.of(new double[][] { { 1, 1 }, { 1, 2 }, { 95, 2 } }));
+		assertThrows(IllegalArgumentException.class,
+				() -> DeliveryZone.of(new double[][] { { 1, 1 }, { 1, 5 }, { 2, 2 } }));
+		assertThrows(IllegalArgumentException.class,
+				() -> DeliveryZone.of(new double[][] { { 1, 1 }, { 1, 2, 3 }, { 2, 2 } }));
+	}
+
+	/**
+	 * Tests the text form stored in the database.
+	 */
+	@Test
+	void testTextRoundTrip() {
+		DeliveryZone zone = DeliveryZone.of(L_SHAPE);
+
+		assertEquals("52.3 4.8;52.3 5.0;52.35 5.0;52.35 4.9;52.4 4.9;52.4 4.8", zone.toText());
+		assertEquals(zone, DeliveryZone.parse(zone.toText()));
+		assertThrows(IllegalArgumentException.class, () -> DeliveryZone.parse("52.3 4.8;nonsense"));
+	}
+
+	/**
+	 * Tests that a zone is written and read as an array of pairs.
+	 */
+	@Test
+	void testJson() throws Exception {
+		DeliveryZone zone = DeliveryZone.of(new double[][] { { 52.3, 4.8 }, { 52.3, 5.0 }, { 52.4, 4.9 } });
+
+		String json = objectMapper.writeValueAsString(zone);
+
+		assertEquals("[[52.3,4.8],[52.3,5.0],[52.4,4.9]]", json);
+		assertEquals(zone, objectMapper.readValue(json, DeliveryZone.class));
+		assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("[[1,1],[1,2]]", DeliveryZone.class));
+	}
+}
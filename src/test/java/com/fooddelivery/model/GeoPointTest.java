@@ -0,0 +1,36 @@
+package com.fooddelivery.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GeoPoint}.
+ */
+class GeoPointTest {
+
+	/**
+	 * Tests great-circle distances against known values.
+	 */
+	@Test
+	void testDistanceTo() {
+		GeoPoint amsterdam = GeoPoint.of(52.3676, 4.9041);
+		GeoPoint paris = GeoPoint.of(48.8566, 2.3522);
+
+		assertEquals(430_000, amsterdam.distanceTo(paris), 2_000);
+		assertEquals(0, amsterdam.distanceTo(amsterdam), 1e-6);
+		assertEquals(GeoPoint.METERS_PER_DEGREE, GeoPoint.of(0, 179.5).distanceTo(GeoPoint.of(0, -179.5)), 1e-6);
+	}
+
+	/**
+	 * Tests that out-of-range coordinates are rejected.
+	 */
+	@Test
+	void testOf_OutOfRange() {
+		assertThrows(IllegalArgumentException.class, () -> GeoPoint.of(90.5, 0));
+		assertThrows(IllegalArgumentException.class, () -> GeoPoint.of(0, -180.5));
+		assertThrows(IllegalArgumentException.class, () -> GeoPoint.of(Double.NaN, 0));
+		assertNull(GeoPoint.ofNullable(52.0, null));
+	}
+}
@@ -22,7 +22,7 @@ class MenuItemTest {
         restaurant.setId(1L);
         restaurant.setName("Test Restaurant");
 
-        menuItem = new MenuItem(1L, "Burger", "Delicious beef burger", 5.99, restaurant);
+        menuItem = new MenuItem(1L, "Burger", "Delicious beef burger", Money.of("5.99"), restaurant);
     }
 
     /**
@@ -33,7 +33,7 @@ class MenuItemTest {
         assertEquals(1L, menuItem.getId());
         assertEquals("Burger", menuItem.getName());
         assertEquals("Delicious beef burger", menuItem.getDescription());
-        assertEquals(5.99, menuItem.getPrice(), 0.001);
+        assertEquals(Money.ofMinor(599), menuItem.getPrice());
         assertEquals(restaurant, menuItem.getRestaurant());
     }
 
@@ -49,13 +49,13 @@ class MenuItemTest {
         menuItem.setId(2L);
         menuItem.setName("Pizza");
         menuItem.setDescription("Cheese pizza");
-        menuItem.setPrice(8.99);
+        menuItem.setPrice(Money.of("8.99"));
         menuItem.setRestaurant(newRestaurant);
 
         assertEquals(2L, menuItem.getId());
         assertEquals("Pizza", menuItem.getName());
         assertEquals("Cheese pizza", menuItem.getDescription());
-        assertEquals(8.99, menuItem.getPrice(), 0.001);
+        assertEquals(Money.ofMinor(899), menuItem.getPrice());
         assertEquals(newRestaurant, menuItem.getRestaurant());
     }
 
@@ -68,7 +68,7 @@ class MenuItemTest {
         assertNull(newItem.getId());
         assertNull(newItem.getName());
         assertNull(newItem.getDescription());
-        assertEquals(0.0, newItem.getPrice(), 0.001);
+        assertNull(newItem.getPrice());
         assertNull(newItem.getRestaurant());
     }
 
@@ -110,8 +110,8 @@ class MenuItemTest {
     @Test
     void testNegativePrice() {
         // This should be prevented by validation, but we can test the behavior
-        menuItem.setPrice(-5.99);
-        assertEquals(-5.99, menuItem.getPrice(), 0.001);
+        menuItem.setPrice(Money.of("-5.99"));
+        assertEquals(Money.ofMinor(-599), menuItem.getPrice());
     }
 
     /**
@@ -0,0 +1,73 @@
+package com.fooddelivery.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for {@link Money}.
+ */
+class MoneyTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	/**
+	 * Tests parsing decimal amounts into minor units.
+	 */
+	@Test
+	void testOf() {
+		assertEquals(999, Money.of("9.99").getMinorUnits());
+		assertEquals(500, Money.of("5").getMinorUnits());
+		assertEquals(-599, Money.of("-5.99").getMinorUnits());
+	}
+
+	/**
+	 * Tests that amounts with more than two fractional digits are rejected.
+	 */
+	@Test
+	void testOf_TooManyFractionDigits() {
+		assertThrows(IllegalArgumentException.class, () -> Money.of("9.999"));
+	}
+
+	/**
+	 * Tests the decimal string representation.
+	 */
+	@Test
+	void testToString() {
+		assertEquals("9.99", Money.ofMinor(999).toString());
+		assertEquals("0.05", Money.ofMinor(5).toString());
+		assertEquals("-5.99", Money.ofMinor(-599).toString());
+		assertEquals("0.00", Money.ZERO.toString());
+	}
+
+	/**
+	 * Tests addition and multiplication.
+	 */
+	@Test
+	void testArithmetic() {
+		assertEquals(Money.of("19.98"), Money.of("9.99").times(2));
+		assertEquals(Money.of("15.98"), Money.of("9.99").plus(Money.of("5.99")));
+	}
+
+	/**
+	 * Tests that overflow is reported instead of wrapping around.
+	 */
+	@Test
+	void testArithmetic_Overflow() {
+		assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).times(2));
+	}
+
+	/**
+	 * Tests that amounts serialize as JSON numbers and read back unchanged.
+	 */
+	@Test
+	void testJsonRoundTrip() throws Exception {
+		String json = objectMapper.writeValueAsString(Money.of("12.50"));
+
+		assertEquals("12.50", json);
+		assertEquals(Money.of("12.50"), objectMapper.readValue(json, Money.class));
+		assertEquals(Money.of("7.25"), objectMapper.readValue("\"7.25\"", Money.class));
+	}
+}
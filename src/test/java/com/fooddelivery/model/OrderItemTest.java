@@ -23,7 +23,7 @@ class OrderItemTest {
 		menuItem = new MenuItem();
 		menuItem.setId(1L);
 		menuItem.setName("Burger");
-		menuItem.setPrice(5.99);
+		menuItem.setPrice(Money.of("5.99"));
 
 		orderItem = new OrderItem();
 		orderItem.setId(1L);
@@ -49,7 +49,7 @@ class OrderItemTest {
 		MenuItem newMenuItem = new MenuItem();
 		newMenuItem.setId(2L);
 		newMenuItem.setName("Pizza");
-		newMenuItem.setPrice(8.99);
+		newMenuItem.setPrice(Money.of("8.99"));
 
 		orderItem.setId(2L);
 		orderItem.setMenuItem(newMenuItem);
@@ -1,12 +1,13 @@
 package com.fooddelivery.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -18,7 +19,7 @@ class OrderTest {
 	private Order order;
 	private User customer;
 	private List<OrderItem> orderItems;
-	private BigDecimal totalPrice;
+	private Money totalPrice;
 	private LocalDateTime orderTime;
 
 	/**
@@ -33,7 +34,7 @@ class OrderTest {
 		orderItems = new ArrayList<>();
 		orderItems.add(new OrderItem());
 
-		totalPrice = BigDecimal.valueOf(29.99);
+		totalPrice = Money.of("29.99");
 		orderTime = LocalDateTime.now();
 
 		order = new Order();
@@ -70,7 +71,7 @@ class OrderTest {
 		List<OrderItem> newOrderItems = new ArrayList<>();
 		newOrderItems.add(new OrderItem());
 
-		BigDecimal newTotalPrice = BigDecimal.valueOf(49.99);
+		Money newTotalPrice = Money.of("49.99");
 		LocalDateTime newOrderTime = LocalDateTime.now().plusHours(1);
 
 		order.setId(2L);
@@ -113,4 +114,34 @@ class OrderTest {
 		assertEquals(Order.OrderStatus.DELIVERED, Order.OrderStatus.valueOf("DELIVERED"));
 		assertEquals(Order.OrderStatus.CANCELLED, Order.OrderStatus.valueOf("CANCELLED"));
 	}
+
+	/**
+	 * Tests the allowed status transitions.
+	 */
+	@Test
+	void testOrderStatusTransitions() {
+		assertTrue(Order.OrderStatus.PLACED.canTransitionTo(Order.OrderStatus.PREPARING));
+		assertTrue(Order.OrderStatus.PLACED.canTransitionTo(Order.OrderStatus.CANCELLED));
+		assertTrue(Order.OrderStatus.PREPARING.canTransitionTo(Order.OrderStatus.OUT_FOR_DELIVERY));
+		assertTrue(Order.OrderStatus.PREPARING.canTransitionTo(Order.OrderStatus.CANCELLED));
+		assertTrue(Order.OrderStatus.OUT_FOR_DELIVERY.canTransitionTo(Order.OrderStatus.DELIVERED));
+
+		assertFalse(Order.OrderStatus.PLACED.canTransitionTo(Order.OrderStatus.DELIVERED));
+		assertFalse(Order.OrderStatus.PREPARING.canTransitionTo(Order.OrderStatus.PLACED));
+		assertFalse(Order.OrderStatus.OUT_FOR_DELIVERY.canTransitionTo(Order.OrderStatus.CANCELLED));
+		assertFalse(Order.OrderStatus.DELIVERED.canTransitionTo(Order.OrderStatus.CANCELLED));
+		assertFalse(Order.OrderStatus.CANCELLED.canTransitionTo(Order.OrderStatus.PLACED));
+		assertFalse(Order.OrderStatus.PLACED.canTransitionTo(Order.OrderStatus.PLACED));
+	}
+
+	/**
+	 * Tests which statuses are terminal.
+	 */
+	@Test
+	void testOrderStatusTerminal() {
+		assertFalse(Order.OrderStatus.PLACED.isTerminal());
+		assertFalse(Order.OrderStatus.OUT_FOR_DELIVERY.isTerminal());
+		assertTrue(Order.OrderStatus.DELIVERED.isTerminal());
+		assertTrue(Order.OrderStatus.CANCELLED.isTerminal());
+	}
 }
@@ -25,7 +25,7 @@ class RestaurantTest {
 		MenuItem menuItem = new MenuItem();
 		menuItem.setId(1L);
 		menuItem.setName("Burger");
-		menuItem.setPrice(5.99);
+		menuItem.setPrice(Money.of("5.99"));
 		menuItems.add(menuItem);
 
 		restaurant = new Restaurant();
@@ -57,7 +57,7 @@ class RestaurantTest {
 		MenuItem newMenuItem = new MenuItem();
 		newMenuItem.setId(2L);
 		newMenuItem.setName("Pizza");
-		newMenuItem.setPrice(8.99);
+		newMenuItem.setPrice(Money.of("8.99"));
 		newMenuItems.add(newMenuItem);
 
 		restaurant.setId(2L);
@@ -85,4 +85,16 @@ class RestaurantTest {
 		assertNull(newRestaurant.getCuisine());
 		assertNull(newRestaurant.getMenuItems());
 	}
+
+	/**
+	 * Tests that the cuisine key ignores case and surrounding whitespace.
+	 */
+	@Test
+	void testCuisineKey() {
+		restaurant.setCuisine("  Thai Fusion ");
+
+		assertEquals("thai fusion", restaurant.getCuisineKey());
+		assertEquals(Restaurant.normalizeCuisine("THAI FUSION"), restaurant.getCuisineKey());
+		assertNull(Restaurant.normalizeCuisine(null));
+	}
 }
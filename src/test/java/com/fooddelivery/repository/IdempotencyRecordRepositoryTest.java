@@ -0,0 +1,103 @@
+package com.fooddelivery.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.exception.IdempotencyKeyReusedException;
+import com.fooddelivery.model.IdempotencyRecord;
+import com.fooddelivery.service.IdempotencyStore;
+
+/**
+ * Asserts that an idempotency key is claimed once in the table, so that a
+ * request retried on another instance, or after a restart, is answered with
+ * the stored response instead of running again. Each store stands for one
+ * instance; tests run outside a transaction, like requests.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyRecordRepositoryTest {
+
+	@Autowired
+	private IdempotencyRecordRepository repository;
+
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		repository.deleteAll();
+	}
+
+	private IdempotencyStore instance() {
+		return new IdempotencyStore(repository, new ObjectMapper(), Duration.ofHours(24), Duration.ofSeconds(30),
+				1000, 4, Clock.systemUTC());
+	}
+
+	private ResponseEntity<?> placed() {
+		return ResponseEntity.ok(runs.incrementAndGet());
+	}
+
+	/**
+	 * Tests that claiming a key that is already claimed fails rather than
+	 * overwriting the claim.
+	 */
+	@Test
+	void testClaimIsInsertedOnce() {
+		repository.saveAndFlush(new IdempotencyRecord("key", "a", Instant.now()));
+
+		assertThrows(DataIntegrityViolationException.class,
+				() -> repository.saveAndFlush(new IdempotencyRecord("key", "b", Instant.now())));
+		assertEquals("a", repository.findById("key").orElseThrow().getRequestHash());
+	}
+
+	/**
+	 * Tests that a retry on another instance gets the stored response.
+	 */
+	@Test
+	void testRetryOnAnotherInstanceIsReplayed() {
+		String hash = IdempotencyStore.hash("1|3:2:999");
+
+		ResponseEntity<?> first = instance().execute("orders/place:1:key", hash, this::placed);
+		ResponseEntity<?> retry = instance().execute("orders/place:1:key", hash, this::placed);
+
+		assertEquals(1, runs.get());
+		assertEquals(1, first.getBody());
+		assertEquals("1", retry.getBody());
+		IdempotencyRecord record = repository.findById("orders/place:1:key").orElseThrow();
+		assertTrue(record.isCompleted());
+		assertEquals(200, record.getStatusCode());
+		assertThrows(IdempotencyKeyReusedException.class, () -> instance().execute("orders/place:1:key",
+				IdempotencyStore.hash("1|3:5:999"), this::placed));
+	}
+
+	/**
+	 * Tests that a request failing with a server error releases its key.
+	 */
+	@Test
+	void testServerErrorReleasesKey() {
+		String hash = IdempotencyStore.hash("1|3:2:999");
+
+		instance().execute("orders/place:1:key", hash, () -> ResponseEntity.status(500).body("Error"));
+
+		assertFalse(repository.existsById("orders/place:1:key"));
+		assertEquals(1, instance().execute("orders/place:1:key", hash, this::placed).getBody());
+	}
+}
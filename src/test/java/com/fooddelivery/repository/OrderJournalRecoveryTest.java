@@ -0,0 +1,192 @@
+package com.fooddelivery.repository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fooddelivery.dto.OrderReceipt;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.model.User;
+import com.fooddelivery.service.OrderIntake;
+import com.fooddelivery.service.OrderService;
+
+/**
+ * Asserts that every order acknowledged by the order journal ends up stored
+ * exactly once, even if the instance stops before storing it. A crash is
+ * simulated by abandoning an intake without closing it and opening a new one
+ * on the same journal directory.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderJournalRecoveryTest {
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MenuItemRepository menuItemRepository;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	Path directory;
+
+	private User customer;
+	private MenuItem menuItem;
+
+	@BeforeEach
+	void setUp() {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setName("Restaurant");
+		restaurant.setAddress("1 Main Street");
+		restaurant.setCuisine("Italian");
+		restaurantRepository.save(restaurant);
+		menuItem = menuItemRepository.save(new MenuItem(null, "Pizza", null, Money.ofMinor(999), restaurant));
+		customer = userRepository.save(user("john@example.com"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		orderRepository.deleteAll();
+		menuItemRepository.deleteAll();
+		restaurantRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	private static User user(String email) {
+		User user = new User();
+		user.setName("John");
+		user.setEmail(email);
+		user.setPhoneNumber("5550000");
+		user.setAddress("1 Side Street");
+		return user;
+	}
+
+	private OrderIntake openIntake() {
+		OrderIntake intake = new OrderIntake(orderRepository, userRepository, menuItemRepository,
+				new TransactionTemplate(transactionManager), event -> {
+				}, true, directory, 64 * 1024, Duration.ZERO, 0, 50);
+		intake.open();
+		return intake;
+	}
+
+	private Order order(User user, int quantity) {
+		OrderItem item = new OrderItem();
+		item.setMenuItem(menuItem);
+		item.setQuantity(quantity);
+		item.setUnitPrice(menuItem.getPrice());
+		Order order = new Order();
+		order.setCustomer(user);
+		order.setItems(List.of(item));
+		order.setStatus(Order.OrderStatus.PLACED);
+		order.setOrderTime(LocalDateTime.of(2025, 1, 1, 12, 0));
+		order.setTotalPrice(OrderService.calculateTotal(List.of(item)));
+		return order;
+	}
+
+	private Set<Long> storedSequences() {
+		Set<Long> sequences = new HashSet<>();
+		for (Order order : orderRepository.findAll()) {
+			sequences.add(order.getJournalSequence());
+		}
+		return sequences;
+	}
+
+	/**
+	 * Tests that orders acknowledged but never stored are stored after a
+	 * restart, and that the journal continues after them.
+	 */
+	@Test
+	void testUnstoredOrdersAreReplayedAfterCrash() {
+		OrderIntake crashed = openIntake();
+		List<Long> acknowledged = new ArrayList<>();
+		for (int i = 1; i <= 20; i++) {
+			acknowledged.add(crashed.accept(order(customer, i)).getJournalSequence());
+		}
+		assertEquals(0, orderRepository.count());
+
+		OrderIntake restarted = openIntake();
+		assertEquals(20, restarted.persist());
+
+		assertEquals(new HashSet<>(acknowledged), storedSequences());
+		assertEquals(20, orderRepository.count());
+		OrderReceipt next = restarted.accept(order(customer, 1));
+		assertEquals(21L, next.getJournalSequence());
+	}
+
+	/**
+	 * Tests that orders stored before the crash are not stored again.
+	 */
+	@Test
+	void testStoredOrdersAreNotReplayed() {
+		OrderIntake crashed = openIntake();
+		for (int i = 1; i <= 10; i++) {
+			crashed.accept(order(customer, i));
+		}
+		assertEquals(10, crashed.persist());
+		for (int i = 1; i <= 5; i++) {
+			crashed.accept(order(customer, i));
+		}
+
+		OrderIntake restarted = openIntake();
+		assertEquals(5, restarted.persist());
+
+		assertEquals(15, orderRepository.count());
+		assertEquals(15, storedSequences().size());
+		assertNotNull(restarted.findOrderId(15));
+	}
+
+	/**
+	 * Tests that an order the database refuses is rejected without holding up
+	 * the orders after it.
+	 */
+	@Test
+	void testRefusedOrderIsRejected() {
+		User leaving = userRepository.save(user("jane@example.com"));
+		OrderIntake intake = openIntake();
+		long first = intake.accept(order(customer, 1)).getJournalSequence();
+		long refused = intake.accept(order(leaving, 1)).getJournalSequence();
+		long last = intake.accept(order(customer, 2)).getJournalSequence();
+		userRepository.delete(leaving);
+
+		assertEquals(3, intake.persist());
+
+		assertEquals(2, orderRepository.count());
+		assertNotNull(intake.findOrderId(first));
+		assertNull(intake.findOrderId(refused));
+		assertNotNull(intake.findOrderId(last));
+		assertEquals(1L, intake.stats().get("rejectedOrders"));
+	}
+}
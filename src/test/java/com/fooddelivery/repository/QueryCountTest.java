@@ -0,0 +1,305 @@
+package com.fooddelivery.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.RestaurantBrowsePage;
+import com.fooddelivery.model.DeliveryZone;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.model.User;
+import com.fooddelivery.service.ActiveOrderIndex;
+import com.fooddelivery.service.CourierLocationStore;
+import com.fooddelivery.service.CuisineFacets;
+import com.fooddelivery.service.DeliveryZoneIndex;
+import com.fooddelivery.service.MenuSearchIndex;
+import com.fooddelivery.service.OrderIntake;
+import com.fooddelivery.service.OrderItemValidator;
+import com.fooddelivery.service.OrderService;
+import com.fooddelivery.service.RestaurantGeoIndex;
+import com.fooddelivery.service.RestaurantService;
+import com.fooddelivery.service.UserCache;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Asserts the number of SQL statements issued to serve each read endpoint.
+ * Tests run outside a transaction, like the endpoints with open-session-in-view
+ * disabled, so every association a response needs must already be loaded.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+@Import({ OrderService.class, OrderItemValidator.class, ActiveOrderIndex.class, RestaurantService.class,
+		CuisineFacets.class, RestaurantGeoIndex.class, MenuSearchIndex.class, DeliveryZoneIndex.class,
+		CourierLocationStore.class, UserCache.class, OrderIntake.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryCountTest {
+
+	private static final int ORDER_COUNT = 6;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ActiveOrderIndex activeOrderIndex;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	@Autowired
+	private CuisineFacets cuisineFacets;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private MenuItemRepository menuItemRepository;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+	private Statistics statistics;
+	private Long restaurantId;
+	private Long menuItemId;
+
+	/**
+	 * Creates orders from several customers over menu items of two
+	 * restaurants.
+	 */
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			List<MenuItem> menuItems = new ArrayList<>();
+			for (int r = 0; r < 2; r++) {
+				Restaurant restaurant = new Restaurant();
+				restaurant.setName("Restaurant " + r);
+				restaurant.setAddress(r + " Main Street");
+				restaurant.setCuisine(r == 0 ? "Italian" : " ITALIAN");
+				restaurantRepository.save(restaurant);
+				restaurantId = restaurant.getId();
+
+				for (int m = 0; m < 2; m++) {
+					MenuItem menuItem = new MenuItem(null, "Dish " + r + m, null, Money.ofMinor(500 + m * 100L),
+							restaurant);
+					menuItems.add(menuItemRepository.save(menuItem));
+				}
+			}
+			menuItemId = menuItems.get(0).getId();
+
+			LocalDateTime time = LocalDateTime.of(2025, 1, 1, 12, 0);
+			for (int i = 0; i < ORDER_COUNT; i++) {
+				User customer = new User();
+				customer.setName("Customer " + i);
+				customer.setEmail("customer" + i + "@example.com");
+				customer.setPhoneNumber("555000" + i);
+				customer.setAddress(i + " Side Street");
+				userRepository.save(customer);
+
+				List<OrderItem> items = new ArrayList<>();
+				for (int j = 0; j < 2; j++) {
+					OrderItem item = new OrderItem();
+					item.setMenuItem(menuItems.get((i + j) % menuItems.size()));
+					item.setQuantity(j + 1);
+					item.setUnitPrice(item.getMenuItem().getPrice());
+					items.add(item);
+				}
+
+				Order order = new Order();
+				order.setCustomer(customer);
+				order.setItems(items);
+				order.setTotalPrice(OrderService.calculateTotal(items));
+				// Terminal status, so reads go to the database rather than the active order index
+				order.setStatus(Order.OrderStatus.DELIVERED);
+				order.setOrderTime(time.plusMinutes(i));
+				orderRepository.save(order);
+			}
+		});
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			orderRepository.deleteAll();
+			menuItemRepository.deleteAll();
+			restaurantRepository.deleteAll();
+			userRepository.deleteAll();
+		});
+		activeOrderIndex.rebuild();
+	}
+
+	/**
+	 * Tests that a page of orders by status is loaded with two statements.
+	 */
+	@Test
+	void testGetOrdersByStatus_TwoQueriesPerPage() {
+		CursorPage<Order> first = orderService.getOrdersByStatus(Order.OrderStatus.DELIVERED, null, 4);
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(4, first.getItems().size());
+		assertNotNull(first.getNextCursor());
+		assertFullyLoaded(first.getItems());
+
+		statistics.clear();
+		CursorPage<Order> next = orderService.getOrdersByStatus(Order.OrderStatus.DELIVERED, first.getNextCursor(), 4);
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(ORDER_COUNT - 4, next.getItems().size());
+		assertNull(next.getNextCursor());
+		assertFullyLoaded(next.getItems());
+	}
+
+	/**
+	 * Tests that pages of active orders are served without any statement.
+	 */
+	@Test
+	void testGetActiveOrdersByStatus_NoQueries() {
+		transactionTemplate.executeWithoutResult(status -> orderRepository.findAll()
+				.forEach(order -> order.setStatus(Order.OrderStatus.PREPARING)));
+		activeOrderIndex.rebuild();
+		statistics.clear();
+
+		CursorPage<Order> page = orderService.getOrdersByStatus(Order.OrderStatus.PREPARING, null, 4);
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(4, page.getItems().size());
+		assertFullyLoaded(page.getItems());
+	}
+
+	/**
+	 * Tests that streaming orders costs one ID scan plus one statement per
+	 * chunk, independent of the number of orders and items.
+	 */
+	@Test
+	void testStreamOrdersByStatus_TwoQueriesPerChunk() {
+		List<Order> streamed = new ArrayList<>();
+		orderService.streamOrdersByStatus(Order.OrderStatus.DELIVERED, streamed::add);
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(ORDER_COUNT, streamed.size());
+		assertFullyLoaded(streamed);
+	}
+
+	/**
+	 * Tests that a restaurant menu is loaded with its restaurant in one
+	 * statement.
+	 */
+	@Test
+	void testFindMenuItemsByRestaurant_OneQuery() {
+		List<MenuItem> menu = menuItemRepository.findByRestaurantId(restaurantId);
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(2, menu.size());
+		menu.forEach(item -> assertTrue(Hibernate.isInitialized(item.getRestaurant())));
+	}
+
+	/**
+	 * Tests that a menu item is loaded with its restaurant in one statement.
+	 */
+	@Test
+	void testFindMenuItemById_OneQuery() {
+		MenuItem menuItem = menuItemRepository.findById(menuItemId).orElseThrow();
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertTrue(Hibernate.isInitialized(menuItem.getRestaurant()));
+	}
+
+	/**
+	 * Tests that a restaurant browse page costs one statement, matches the
+	 * cuisine regardless of case, and takes its counts from memory.
+	 */
+	@Test
+	void testBrowseRestaurants_OneQuery() {
+		cuisineFacets.refresh();
+		statistics.clear();
+
+		RestaurantBrowsePage page = restaurantService.browse("italian", null, 10);
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(2, page.getItems().size());
+		assertEquals(2L, page.getTotal());
+		assertEquals(1, page.getFacets().size());
+		assertEquals(2L, page.getFacets().get(0).getCount());
+	}
+
+	/**
+	 * Tests that an order to an address outside the restaurant's delivery
+	 * zone is rejected after loading only the customer and the menu items, and
+	 * that the next order of the customer only loads the menu items.
+	 */
+	@Test
+	void testPlaceOrder_OutsideDeliveryZone_OneQuery() {
+		restaurantService.updateDeliveryZone(restaurantId,
+				DeliveryZone.of(new double[][] { { 52.3, 4.8 }, { 52.3, 5.0 }, { 52.4, 5.0 }, { 52.4, 4.8 } }));
+		MenuItem menuItem = menuItemRepository.findByRestaurantId(restaurantId).get(0);
+		User customer = userRepository.findAll().get(0);
+		customer.setLatitude(51.92);
+		customer.setLongitude(4.48);
+		userRepository.save(customer);
+		OrderItem item = new OrderItem();
+		item.setMenuItem(new MenuItem(menuItem.getId(), null, null, menuItem.getPrice(), null));
+		item.setQuantity(1);
+		statistics.clear();
+
+		assertThrows(IllegalArgumentException.class,
+				() -> orderService.placeOrder(customer.getId(), new ArrayList<>(List.of(item))));
+		assertEquals(2, statistics.getPrepareStatementCount());
+
+		statistics.clear();
+		assertThrows(IllegalArgumentException.class,
+				() -> orderService.placeOrder(customer.getId(), new ArrayList<>(List.of(item))));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	private static void assertFullyLoaded(List<Order> orders) {
+		for (Order order : orders) {
+			assertTrue(Hibernate.isInitialized(order.getCustomer()));
+			assertTrue(Hibernate.isInitialized(order.getItems()));
+			assertEquals(2, order.getItems().size());
+			for (OrderItem item : order.getItems()) {
+				assertTrue(Hibernate.isInitialized(item.getMenuItem()));
+				assertTrue(Hibernate.isInitialized(item.getMenuItem().getRestaurant()));
+			}
+		}
+	}
+}
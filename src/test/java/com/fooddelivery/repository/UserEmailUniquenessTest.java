@@ -0,0 +1,105 @@
+package com.fooddelivery.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fooddelivery.exception.DuplicateEmailException;
+import com.fooddelivery.model.User;
+import com.fooddelivery.service.RegisteredEmails;
+import com.fooddelivery.service.UserCache;
+import com.fooddelivery.service.UserService;
+
+/**
+ * Asserts that no two users can have the same email, ignoring case, whether
+ * the registered email filter knows the email or not. Tests run outside a
+ * transaction, so every save is committed like a signup request.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@Import({ UserService.class, UserCache.class, RegisteredEmails.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserEmailUniquenessTest {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RegisteredEmails registeredEmails;
+
+	@AfterEach
+	void tearDown() {
+		userRepository.deleteAll();
+		registeredEmails.rebuild();
+	}
+
+	private static User user(String name, String email) {
+		User user = new User();
+		user.setName(name);
+		user.setEmail(email);
+		user.setPhoneNumber("5550000");
+		user.setAddress("1 Main Street");
+		return user;
+	}
+
+	/**
+	 * Tests that signing up with the email of an existing user in another case
+	 * is rejected, and that the email is reported as registered.
+	 */
+	@Test
+	void testCreateUser_DuplicateEmailIgnoringCase() {
+		userService.createUser(user("John", "john@example.com"));
+
+		assertThrows(DuplicateEmailException.class,
+				() -> userService.createUser(user("Johnny", " John@Example.COM")));
+
+		assertTrue(userService.isEmailRegistered("JOHN@example.com"));
+		assertFalse(userService.isEmailRegistered("jane@example.com"));
+		assertEquals(1, userRepository.count());
+	}
+
+	/**
+	 * Tests that a signup racing with one the filter does not know about yet,
+	 * e.g. committed by another instance, is rejected by the unique index.
+	 */
+	@Test
+	void testCreateUser_EmailUnknownToFilter() {
+		userRepository.saveAndFlush(user("John", "john@example.com"));
+		assertFalse(registeredEmails.mightBeRegistered("john@example.com"));
+
+		assertThrows(DuplicateEmailException.class,
+				() -> userService.createUser(user("Johnny", "JOHN@example.com")));
+
+		assertEquals(1, userRepository.count());
+	}
+
+	/**
+	 * Tests that a user cannot take the email of another user, but can change
+	 * the case of their own.
+	 */
+	@Test
+	void testUpdateUser_DuplicateEmail() {
+		userService.createUser(user("John", "john@example.com"));
+		User jane = userService.createUser(user("Jane", "jane@example.com"));
+
+		assertThrows(DuplicateEmailException.class,
+				() -> userService.updateUser(jane.getId(), user("Jane", "John@example.com")));
+		User renamed = userService.updateUser(jane.getId(), user("Jane", "Jane@Example.com")).orElseThrow();
+
+		assertEquals("Jane@Example.com", renamed.getEmail());
+		assertEquals("jane@example.com", userRepository.findById(jane.getId()).orElseThrow().getEmailKey());
+	}
+}
@@ -0,0 +1,178 @@
+package com.fooddelivery.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.OrderCursor;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.Order.OrderStatus;
+import com.fooddelivery.repository.OrderRepository;
+
+/**
+ * Unit tests for {@link ActiveOrderIndex}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ActiveOrderIndexTest {
+
+	private static final LocalDateTime TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	private ActiveOrderIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ActiveOrderIndex(orderRepository);
+	}
+
+	private static Order order(long id, OrderStatus status, int minute) {
+		Order order = new Order();
+		order.setId(id);
+		order.setStatus(status);
+		order.setOrderTime(TIME.plusMinutes(minute));
+		return order;
+	}
+
+	/**
+	 * Tests that the index only serves non-terminal statuses once built.
+	 */
+	@Test
+	void testIsServing() {
+		assertFalse(index.isServing(OrderStatus.PLACED));
+
+		index.rebuild();
+
+		assertTrue(index.isServing(OrderStatus.PLACED));
+		assertTrue(index.isServing(OrderStatus.OUT_FOR_DELIVERY));
+		assertFalse(index.isServing(OrderStatus.DELIVERED));
+		assertFalse(index.isServing(OrderStatus.CANCELLED));
+	}
+
+	/**
+	 * Tests that a rebuild loads active orders page by page.
+	 */
+	@Test
+	void testRebuild_LoadsActiveOrders() {
+		when(orderRepository.findFirstPageIdsByStatus(any(OrderStatus.class), eq(PageRequest.of(0, 500))))
+				.thenReturn(List.of());
+		when(orderRepository.findFirstPageIdsByStatus(OrderStatus.PLACED, PageRequest.of(0, 500)))
+				.thenReturn(List.of(1L, 2L));
+		when(orderRepository.findWithDetailsByIdIn(List.of(1L, 2L)))
+				.thenReturn(List.of(order(2L, OrderStatus.PLACED, 1), order(1L, OrderStatus.PLACED, 0)));
+
+		index.rebuild();
+
+		assertEquals(2, index.size(OrderStatus.PLACED));
+		assertEquals(0, index.size(OrderStatus.PREPARING));
+		CursorPage<Order> page = index.getPage(OrderStatus.PLACED, null, 10);
+		assertEquals(1L, page.getItems().get(0).getId());
+		assertEquals(2L, page.getItems().get(1).getId());
+	}
+
+	/**
+	 * Tests that a status change moves the order between statuses.
+	 */
+	@Test
+	void testApply_MovesOrderBetweenStatuses() {
+		index.apply(order(1L, OrderStatus.PLACED, 0));
+		index.apply(order(1L, OrderStatus.PREPARING, 0));
+
+		assertEquals(0, index.size(OrderStatus.PLACED));
+		assertEquals(1, index.size(OrderStatus.PREPARING));
+	}
+
+	/**
+	 * Tests that an older snapshot applied after a newer one does not bring
+	 * back the old status.
+	 */
+	@Test
+	void testApply_IgnoresOutOfOrderSnapshot() {
+		Order placed = order(1L, OrderStatus.PLACED, 0);
+		placed.setVersion(0L);
+		Order preparing = order(1L, OrderStatus.PREPARING, 0);
+		preparing.setVersion(1L);
+
+		index.apply(preparing);
+		index.apply(placed);
+
+		assertEquals(0, index.size(OrderStatus.PLACED));
+		assertEquals(1, index.size(OrderStatus.PREPARING));
+		assertEquals(OrderStatus.PREPARING, index.get(1L).getStatus());
+	}
+
+	/**
+	 * Tests that orders in a terminal status are dropped.
+	 */
+	@Test
+	void testApply_DropsTerminalOrders() {
+		index.apply(order(1L, OrderStatus.OUT_FOR_DELIVERY, 0));
+		index.apply(order(1L, OrderStatus.DELIVERED, 0));
+		index.apply(order(2L, OrderStatus.CANCELLED, 1));
+
+		assertEquals(0, index.size(OrderStatus.OUT_FOR_DELIVERY));
+		assertEquals(0, index.size(OrderStatus.DELIVERED));
+		assertEquals(0, index.size(OrderStatus.CANCELLED));
+	}
+
+	/**
+	 * Tests that changed orders are reloaded and deleted ones removed.
+	 */
+	@Test
+	void testOnOrderChanged() {
+		index.apply(order(1L, OrderStatus.PLACED, 0));
+		when(orderRepository.findWithDetailsByIdIn(List.of(1L, 2L)))
+				.thenReturn(List.of(order(2L, OrderStatus.PLACED, 1)));
+
+		index.onOrderChanged(new OrderChangedEvent(List.of(new OrderStatusView(1L, OrderStatus.PREPARING, 1L),
+				new OrderStatusView(2L, OrderStatus.PLACED, 0L))));
+
+		CursorPage<Order> page = index.getPage(OrderStatus.PLACED, null, 10);
+		assertEquals(1, page.getItems().size());
+		assertEquals(2L, page.getItems().get(0).getId());
+	}
+
+	/**
+	 * Tests keyset paging over the indexed orders.
+	 */
+	@Test
+	void testGetPage_ResumesAfterCursor() {
+		for (long id = 1; id <= 5; id++) {
+			index.apply(order(id, OrderStatus.PREPARING, (int) id));
+		}
+
+		CursorPage<Order> first = index.getPage(OrderStatus.PREPARING, null, 3);
+		CursorPage<Order> next = index.getPage(OrderStatus.PREPARING, OrderCursor.decode(first.getNextCursor()), 3);
+
+		assertEquals(3, first.getItems().size());
+		assertEquals(3L, first.getItems().get(2).getId());
+		assertEquals(2, next.getItems().size());
+		assertEquals(4L, next.getItems().get(0).getId());
+		assertNull(next.getNextCursor());
+	}
+
+	/**
+	 * Tests that terminal statuses cannot be paged from the index.
+	 */
+	@Test
+	void testGetPage_TerminalStatus() {
+		assertThrows(IllegalArgumentException.class, () -> index.getPage(OrderStatus.DELIVERED, null, 10));
+	}
+}
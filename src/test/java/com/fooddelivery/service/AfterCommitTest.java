@@ -0,0 +1,58 @@
+package com.fooddelivery.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link AfterCommit}.
+ */
+class AfterCommitTest {
+
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private static void commit() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+	}
+
+	/**
+	 * Tests that changes run right away outside a transaction.
+	 */
+	@Test
+	void testWithoutTransaction() {
+		AfterCommit.run(runs::incrementAndGet);
+		AfterCommit.runNowAndAgain(runs::incrementAndGet);
+
+		assertEquals(2, runs.get());
+	}
+
+	/**
+	 * Tests that inside a transaction a change waits for the commit, and a
+	 * repeated change runs both before and after it.
+	 */
+	@Test
+	void testInsideTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		AfterCommit.run(runs::incrementAndGet);
+		assertEquals(0, runs.get());
+		AfterCommit.runNowAndAgain(runs::incrementAndGet);
+		assertEquals(1, runs.get());
+
+		commit();
+		assertEquals(3, runs.get());
+	}
+}
@@ -0,0 +1,90 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.dto.PopularityCount;
+import com.fooddelivery.dto.Suggestion;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.repository.MenuItemRepository;
+import com.fooddelivery.repository.OrderRepository;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * Unit tests for {@link AutocompleteService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+
+	@Mock
+	private RestaurantRepository restaurantRepository;
+
+	@Mock
+	private MenuItemRepository menuItemRepository;
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	private AutocompleteService autocompleteService;
+
+	@BeforeEach
+	void setUp() {
+		autocompleteService = new AutocompleteService(restaurantRepository, menuItemRepository, orderRepository,
+				Duration.ofDays(30));
+	}
+
+	private void stubCatalog() {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(1L);
+		restaurant.setName("Pasta Place");
+		when(restaurantRepository.findFirstPage(any())).thenReturn(List.of(restaurant));
+		when(menuItemRepository.findFirstPage(any())).thenReturn(List.of(
+				new MenuItem(10L, "Pasta Carbonara", null, Money.of("11.00"), restaurant),
+				new MenuItem(11L, "Panna Cotta", null, Money.of("6.00"), restaurant)));
+	}
+
+	/**
+	 * Tests that a rebuild ranks names by their order counts.
+	 */
+	@Test
+	void testRebuild_RanksByOrders() {
+		stubCatalog();
+		when(orderRepository.countOrdersByRestaurantSince(any())).thenReturn(List.of(new PopularityCount(1L, 7L)));
+		when(orderRepository.sumQuantityByMenuItemSince(any()))
+				.thenReturn(List.of(new PopularityCount(10L, 3L), new PopularityCount(11L, 12L)));
+
+		autocompleteService.rebuild();
+		List<Suggestion> suggestions = autocompleteService.suggest("pa", 5);
+
+		assertEquals(List.of("Panna Cotta", "Pasta Place", "Pasta Carbonara"),
+				suggestions.stream().map(Suggestion::getText).toList());
+		assertEquals(Suggestion.Type.RESTAURANT, suggestions.get(1).getType());
+	}
+
+	/**
+	 * Tests that a failed rebuild keeps serving the previous suggestions.
+	 */
+	@Test
+	void testRebuild_FailureKeepsSuggestions() {
+		stubCatalog();
+		when(orderRepository.countOrdersByRestaurantSince(any())).thenReturn(List.of())
+				.thenThrow(new IllegalStateException("database unavailable"));
+		when(orderRepository.sumQuantityByMenuItemSince(any())).thenReturn(List.of());
+
+		autocompleteService.rebuild();
+		autocompleteService.rebuild();
+
+		assertEquals(3, autocompleteService.suggest("p", 5).size());
+	}
+}
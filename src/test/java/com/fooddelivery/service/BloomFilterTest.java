@@ -0,0 +1,110 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+	/**
+	 * Tests that every string put is reported as possibly contained.
+	 */
+	@Test
+	void testMightContain_NoFalseNegatives() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("user" + i + "@example.com"));
+		}
+		assertEquals(10_000, filter.entries());
+	}
+
+	/**
+	 * Tests that the false positive rate at capacity stays close to the one
+	 * the filter was sized for.
+	 */
+	@Test
+	void testMightContain_FalsePositiveRate() {
+		BloomFilter filter = BloomFilter.create(100_000, 0.01);
+		for (int i = 0; i < 100_000; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("other" + i + "@example.com")) {
+				falsePositives++;
+			}
+		}
+
+		assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+		assertTrue(filter.estimatedFalsePositiveProbability() < 0.015);
+	}
+
+	/**
+	 * Tests that an empty filter rules everything out.
+	 */
+	@Test
+	void testMightContain_Empty() {
+		BloomFilter filter = BloomFilter.create(0, 0.01);
+
+		assertFalse(filter.mightContain("john@example.com"));
+		assertEquals(0.0, filter.estimatedFalsePositiveProbability());
+	}
+
+	/**
+	 * Tests that concurrent puts sharing words of the bit array lose no bits.
+	 */
+	@Test
+	void testPut_Concurrent() throws Exception {
+		BloomFilter filter = BloomFilter.create(40_000, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						filter.put("user" + thread + "-" + i + "@example.com");
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		for (int t = 0; t < 4; t++) {
+			for (int i = 0; i < 10_000; i++) {
+				assertTrue(filter.mightContain("user" + t + "-" + i + "@example.com"));
+			}
+		}
+		assertEquals(40_000, filter.entries());
+	}
+
+	/**
+	 * Tests that an impossible false positive probability is rejected.
+	 */
+	@Test
+	void testCreate_InvalidProbability() {
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1_000, 0));
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1_000, 1));
+	}
+}
@@ -0,0 +1,233 @@
+package com.fooddelivery.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.dto.CourierPing;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.PingBatchResult;
+import com.fooddelivery.model.CourierLocationSample;
+import com.fooddelivery.repository.CourierLocationSampleRepository;
+
+/**
+ * Unit tests for {@link CourierLocationStore}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CourierLocationStoreTest {
+
+	private static final Instant START = Instant.parse("2025-03-01T12:00:00Z");
+
+	@Mock
+	private CourierLocationSampleRepository sampleRepository;
+
+	private MutableClock clock;
+	private CourierLocationStore store;
+
+	@BeforeEach
+	void setUp() {
+		clock = new MutableClock(START);
+		store = new CourierLocationStore(sampleRepository, Duration.ofSeconds(30), 100, Duration.ofHours(1), clock);
+	}
+
+	private static CourierPing ping(long courierId, double latitude, Instant recordedAt) {
+		return new CourierPing(courierId, latitude, 13.40, recordedAt);
+	}
+
+	/**
+	 * Tests that the newest ping wins and older ones are counted as stale,
+	 * whatever order they arrive in.
+	 */
+	@Test
+	void testIngest_KeepsNewestPosition() {
+		PingBatchResult result = store.ingest(List.of(ping(1L, 52.51, START.plusSeconds(10)),
+				ping(1L, 52.50, START), ping(1L, 52.52, START.plusSeconds(20)), ping(2L, 48.85, START)));
+
+		assertEquals(3, result.getAccepted());
+		assertEquals(1, result.getStale());
+		assertEquals(0, result.getRejected());
+		assertEquals(52.52, store.latest(1L).getLatitude());
+		assertEquals(START.plusSeconds(20), store.latest(1L).getRecordedAt());
+		assertEquals(48.85, store.latest(2L).getLatitude());
+		assertNull(store.latest(3L));
+	}
+
+	/**
+	 * Tests that invalid pings are rejected without affecting the rest of the
+	 * batch.
+	 */
+	@Test
+	void testIngest_RejectsInvalidPings() {
+		List<CourierPing> pings = new ArrayList<>();
+		pings.add(ping(1L, 52.52, START));
+		pings.add(new CourierPing(null, 52.52, 13.40, START));
+		pings.add(new CourierPing(1L, 52.52, 13.40, null));
+		pings.add(ping(1L, 91, START.plusSeconds(1)));
+		pings.add(new CourierPing(1L, 52.52, 181.0, START.plusSeconds(1)));
+		pings.add(ping(1L, 52.53, START.plus(Duration.ofMinutes(5))));
+		pings.add(null);
+
+		PingBatchResult result = store.ingest(pings);
+
+		assertEquals(1, result.getAccepted());
+		assertEquals(6, result.getRejected());
+		assertEquals(START, store.latest(1L).getRecordedAt());
+	}
+
+	/**
+	 * Tests that at most one position per courier and sample interval is
+	 * written, in one batch per flush.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	void testFlush_WritesDownsampledHistory() {
+		clock.set(START.plus(Duration.ofMinutes(2)));
+		for (int second = 0; second <= 120; second += 10) {
+			store.ingest(List.of(ping(1L, 52.50 + second / 1000.0, START.plusSeconds(second))));
+		}
+
+		assertEquals(5, store.flush());
+
+		ArgumentCaptor<List<CourierLocationSample>> batch = ArgumentCaptor.forClass(List.class);
+		verify(sampleRepository, times(1)).saveAll(batch.capture());
+		assertEquals(List.of(START, START.plusSeconds(30), START.plusSeconds(60), START.plusSeconds(90),
+				START.plusSeconds(120)), batch.getValue().stream().map(CourierLocationSample::getRecordedAt).toList());
+		assertEquals(0, store.flush());
+		verify(sampleRepository, times(1)).saveAll(anyIterable());
+	}
+
+	/**
+	 * Tests that samples beyond the buffer size are dropped instead of growing
+	 * the queue.
+	 */
+	@Test
+	void testIngest_DropsSamplesWhenBufferFull() {
+		store = new CourierLocationStore(sampleRepository, Duration.ofSeconds(30), 2, Duration.ofHours(1), clock);
+
+		store.ingest(List.of(ping(1L, 52.5, START), ping(2L, 52.5, START), ping(3L, 52.5, START)));
+
+		assertEquals(2, store.stats().get("pendingSamples"));
+		assertEquals(1L, store.stats().get("droppedSamples"));
+		assertNotNull(store.latest(3L));
+	}
+
+	/**
+	 * Tests that a failed write drops the batch and does not fail the flush.
+	 */
+	@Test
+	void testFlush_DatabaseFailure() {
+		when(sampleRepository.saveAll(anyIterable())).thenThrow(new IllegalStateException("connection refused"));
+		store.ingest(List.of(ping(1L, 52.5, START), ping(2L, 52.5, START)));
+
+		assertEquals(0, store.flush());
+		assertEquals(2L, store.stats().get("droppedSamples"));
+		assertEquals(0, store.stats().get("pendingSamples"));
+	}
+
+	/**
+	 * Tests that couriers not heard from for the expiry time are forgotten.
+	 */
+	@Test
+	void testFlush_EvictsIdleCouriers() {
+		store.ingest(List.of(ping(1L, 52.5, START)));
+		clock.set(START.plus(Duration.ofMinutes(30)));
+		store.ingest(List.of(ping(2L, 52.5, START.plus(Duration.ofMinutes(30)))));
+		clock.set(START.plus(Duration.ofMinutes(70)));
+
+		store.flush();
+
+		assertNull(store.latest(1L));
+		assertNotNull(store.latest(2L));
+		verify(sampleRepository, times(1)).saveAll(anyIterable());
+	}
+
+	/**
+	 * Tests that pings of one courier racing from several threads leave the
+	 * newest position in place.
+	 */
+	@Test
+	void testIngest_ConcurrentPingsKeepNewest() throws Exception {
+		clock.set(START.plus(Duration.ofHours(1)));
+		List<CourierPing> pings = new ArrayList<>();
+		for (int second = 0; second < 2000; second++) {
+			pings.add(ping(1L, 52.5, START.plusSeconds(second)));
+		}
+		Collections.shuffle(pings, new Random(7));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<PingBatchResult>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				List<CourierPing> slice = pings.subList(i * 500, (i + 1) * 500);
+				results.add(executor.submit(() -> store.ingest(slice)));
+			}
+			int accepted = 0;
+			int stale = 0;
+			for (Future<PingBatchResult> result : results) {
+				accepted += result.get().getAccepted();
+				stale += result.get().getStale();
+			}
+			assertEquals(2000, accepted + stale);
+		} finally {
+			executor.shutdown();
+		}
+
+		CourierPosition latest = store.latest(1L);
+		assertEquals(START.plusSeconds(1999), latest.getRecordedAt());
+		verify(sampleRepository, never()).saveAll(anyIterable());
+	}
+
+	/**
+	 * A clock the tests move by hand.
+	 */
+	private static final class MutableClock extends Clock {
+		private volatile Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void set(Instant now) {
+			this.now = now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
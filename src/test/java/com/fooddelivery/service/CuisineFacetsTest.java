@@ -0,0 +1,67 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.dto.CuisineFacet;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * Unit tests for {@link CuisineFacets}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CuisineFacetsTest {
+
+	@Mock
+	private RestaurantRepository restaurantRepository;
+
+	private CuisineFacets cuisineFacets;
+
+	@BeforeEach
+	void setUp() {
+		cuisineFacets = new CuisineFacets(restaurantRepository);
+	}
+
+	/**
+	 * Tests that counts are served from the last refresh without querying.
+	 */
+	@Test
+	void testRefresh_ServesSnapshot() {
+		when(restaurantRepository.countByCuisine()).thenReturn(
+				List.of(new CuisineFacet("indian", "Indian", 2), new CuisineFacet("italian", "Italian", 5)));
+
+		cuisineFacets.refresh();
+
+		assertEquals(5L, cuisineFacets.count("italian"));
+		assertEquals(0L, cuisineFacets.count("thai"));
+		assertEquals(7L, cuisineFacets.count(null));
+		assertEquals(2, cuisineFacets.getFacets().size());
+		verify(restaurantRepository, times(1)).countByCuisine();
+	}
+
+	/**
+	 * Tests that a failed refresh keeps the previous counts.
+	 */
+	@Test
+	void testRefresh_FailureKeepsCounts() {
+		when(restaurantRepository.countByCuisine())
+				.thenReturn(List.of(new CuisineFacet("thai", "Thai", 4)))
+				.thenThrow(new IllegalStateException("database unavailable"));
+
+		cuisineFacets.refresh();
+		cuisineFacets.refresh();
+
+		assertEquals(4L, cuisineFacets.count("thai"));
+		assertNotNull(cuisineFacets.getRefreshedAt());
+	}
+}
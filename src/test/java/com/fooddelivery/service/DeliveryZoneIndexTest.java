@@ -0,0 +1,110 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.model.DeliveryZone;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * Unit tests for {@link DeliveryZoneIndex}.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeliveryZoneIndexTest {
+
+	private static final GeoPoint CENTRE = GeoPoint.of(52.37, 4.89);
+	private static final GeoPoint EAST = GeoPoint.of(52.37, 5.05);
+
+	@Mock
+	private RestaurantRepository restaurantRepository;
+
+	private DeliveryZoneIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new DeliveryZoneIndex(restaurantRepository);
+	}
+
+	private static Restaurant restaurant(long id, DeliveryZone zone) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(id);
+		restaurant.setDeliveryZone(zone);
+		return restaurant;
+	}
+
+	private static DeliveryZone square(double south, double west, double size) {
+		return DeliveryZone.of(new double[][] { { south, west }, { south, west + size },
+				{ south + size, west + size }, { south + size, west } });
+	}
+
+	/**
+	 * Tests which restaurants deliver to a position.
+	 */
+	@Test
+	void testRestaurantsDeliveringTo() {
+		index.index(restaurant(3, square(52.30, 4.80, 0.15)));
+		index.index(restaurant(1, square(52.36, 4.88, 0.02)));
+		index.index(restaurant(2, square(52.30, 5.00, 0.10)));
+		index.index(restaurant(4, null));
+
+		assertEquals(List.of(1L, 3L), index.restaurantsDeliveringTo(CENTRE));
+		assertEquals(List.of(2L), index.restaurantsDeliveringTo(EAST));
+		assertTrue(index.restaurantsDeliveringTo(GeoPoint.of(48.86, 2.35)).isEmpty());
+		assertEquals(3, index.size());
+	}
+
+	/**
+	 * Tests that a restaurant without a zone delivers anywhere.
+	 */
+	@Test
+	void testDelivers() {
+		index.index(restaurant(1, square(52.36, 4.88, 0.02)));
+
+		assertTrue(index.delivers(1L, CENTRE));
+		assertFalse(index.delivers(1L, EAST));
+		assertTrue(index.delivers(2L, EAST));
+	}
+
+	/**
+	 * Tests that a changed zone replaces the old one in every cell.
+	 */
+	@Test
+	void testIndex_ReplaceAndRemove() {
+		index.index(restaurant(1, square(52.30, 4.80, 0.15)));
+		index.index(restaurant(1, square(52.30, 5.00, 0.10)));
+
+		assertTrue(index.restaurantsDeliveringTo(CENTRE).isEmpty());
+		assertEquals(List.of(1L), index.restaurantsDeliveringTo(EAST));
+
+		index.index(restaurant(1, null));
+		assertNull(index.zoneOf(1L));
+		assertTrue(index.restaurantsDeliveringTo(EAST).isEmpty());
+	}
+
+	/**
+	 * Tests that a rebuild loads the zones of all restaurants.
+	 */
+	@Test
+	void testRebuild() {
+		when(restaurantRepository.findFirstPage(any()))
+				.thenReturn(List.of(restaurant(1, square(52.36, 4.88, 0.02)), restaurant(2, null)));
+
+		index.rebuild();
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(1L), index.restaurantsDeliveringTo(CENTRE));
+	}
+}
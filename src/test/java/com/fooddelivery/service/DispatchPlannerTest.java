@@ -0,0 +1,221 @@
+package com.fooddelivery.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CourierRoute;
+import com.fooddelivery.dto.RouteStop;
+import com.fooddelivery.model.GeoPoint;
+
+/**
+ * Unit tests for {@link DispatchPlanner}.
+ */
+class DispatchPlannerTest {
+
+	private static final double BASE_LATITUDE = 52.35;
+	private static final double BASE_LONGITUDE = 4.85;
+
+	private final DispatchPlanner planner = new DispatchPlanner(0.1, 3, 2000, 5000);
+
+	/**
+	 * Returns the position the given number of meters east and north of the
+	 * base position.
+	 */
+	private static GeoPoint at(double eastMeters, double northMeters) {
+		double metersPerDegreeLongitude = GeoPoint.METERS_PER_DEGREE * Math.cos(Math.toRadians(BASE_LATITUDE));
+		return GeoPoint.of(BASE_LATITUDE + northMeters / GeoPoint.METERS_PER_DEGREE,
+				BASE_LONGITUDE + eastMeters / metersPerDegreeLongitude);
+	}
+
+	private static DispatchPlanner.Job job(long orderId, GeoPoint pickup, GeoPoint dropoff) {
+		return new DispatchPlanner.Job(orderId, List.of(pickup), dropoff);
+	}
+
+	private static CourierPosition courier(long courierId, GeoPoint position) {
+		return new CourierPosition(courierId, position.getLatitude(), position.getLongitude(), Instant.now());
+	}
+
+	private static Map<Long, Long> courierByOrder(List<CourierRoute> routes) {
+		return routes.stream().flatMap(route -> route.getOrderIds().stream().map(id -> Map.entry(id, route)))
+				.collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getCourierId()));
+	}
+
+	/**
+	 * Tests that the Hungarian method finds the cheapest assignment found by
+	 * trying every permutation.
+	 */
+	@Test
+	void testAssign_MatchesBruteForce() {
+		Random random = new Random(5);
+		for (int round = 0; round < 500; round++) {
+			int rows = 1 + random.nextInt(5);
+			double[][] cost = new double[rows][rows + random.nextInt(3)];
+			for (double[] row : cost) {
+				for (int j = 0; j < row.length; j++) {
+					row[j] = random.nextInt(20);
+				}
+			}
+
+			int[] assignment = DispatchPlanner.assign(cost);
+
+			double total = 0;
+			Set<Integer> columns = new HashSet<>();
+			for (int i = 0; i < rows; i++) {
+				total += cost[i][assignment[i]];
+				columns.add(assignment[i]);
+			}
+			assertEquals(rows, columns.size());
+			assertEquals(cheapest(cost, 0, new boolean[cost[0].length]), total, 1e-9);
+		}
+	}
+
+	private static double cheapest(double[][] cost, int row, boolean[] used) {
+		if (row == cost.length) {
+			return 0;
+		}
+		double best = Double.POSITIVE_INFINITY;
+		for (int j = 0; j < used.length; j++) {
+			if (!used[j]) {
+				used[j] = true;
+				best = Math.min(best, cost[row][j] + cheapest(cost, row + 1, used));
+				used[j] = false;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Tests that an order on the way of another route joins it, and one in the
+	 * opposite direction gets its own courier.
+	 */
+	@Test
+	void testPlan_BatchesOrdersAlongTheWay() {
+		GeoPoint restaurant = at(0, 0);
+		List<DispatchPlanner.Job> jobs = List.of(job(1L, restaurant, at(0, 1100)), job(2L, restaurant, at(0, 1600)),
+				job(3L, restaurant, at(0, -1700)));
+
+		List<CourierRoute> routes = planner.plan(jobs, List.of(courier(10L, at(100, 0)), courier(11L, at(-100, 0))));
+
+		Set<List<Long>> batches = routes.stream().map(CourierRoute::getOrderIds).collect(Collectors.toSet());
+		assertEquals(Set.of(List.of(1L, 2L), List.of(3L)), batches);
+		CourierRoute batched = routes.stream().filter(route -> route.getOrderIds().size() == 2).findFirst().get();
+		assertEquals(List.of(RouteStop.Type.PICKUP, RouteStop.Type.PICKUP, RouteStop.Type.DROPOFF,
+				RouteStop.Type.DROPOFF), batched.getStops().stream().map(RouteStop::getType).toList());
+		assertEquals(List.of(1L, 2L), List.of(batched.getStops().get(2).getOrderId(),
+				batched.getStops().get(3).getOrderId()));
+		assertEquals(100 + 1600, batched.getDistanceMeters(), 5);
+	}
+
+	/**
+	 * Tests that routes hold at most the configured number of orders and pick
+	 * every order up before dropping it off.
+	 */
+	@Test
+	void testPlan_RouteSizeAndStopOrder() {
+		List<DispatchPlanner.Job> jobs = new ArrayList<>();
+		for (long id = 1; id <= 7; id++) {
+			jobs.add(job(id, at(id * 50, 0), at(id * 50, 800)));
+		}
+
+		List<CourierRoute> routes = planner.plan(jobs,
+				List.of(courier(10L, at(0, 0)), courier(11L, at(0, 0)), courier(12L, at(0, 0))));
+
+		assertEquals(7, routes.stream().mapToInt(route -> route.getOrderIds().size()).sum());
+		for (CourierRoute route : routes) {
+			assertTrue(route.getOrderIds().size() <= 3);
+			Set<Long> pickedUp = new HashSet<>();
+			for (RouteStop stop : route.getStops()) {
+				if (stop.getType() == RouteStop.Type.PICKUP) {
+					pickedUp.add(stop.getOrderId());
+				} else {
+					assertTrue(pickedUp.contains(stop.getOrderId()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests that couriers are matched to minimize the total distance to the
+	 * first stops, where assigning the nearest courier order by order does not.
+	 */
+	@Test
+	void testPlan_MinimizesTotalPickupDistance() {
+		DispatchPlanner noBatching = new DispatchPlanner(0.1, 1, 0, 5000);
+		List<DispatchPlanner.Job> jobs = List.of(job(1L, at(0, 0), at(0, 1000)), job(2L, at(1000, 0), at(1000, -1000)));
+
+		// Courier 10 is nearest to order 1 but needed more by order 2
+		List<CourierRoute> routes = noBatching.plan(jobs, List.of(courier(10L, at(600, 0)), courier(11L, at(-700, 0))));
+
+		assertEquals(Map.of(1L, 11L, 2L, 10L), courierByOrder(routes));
+		assertEquals(700 + 1000 + 400 + 1000,
+				routes.stream().mapToDouble(CourierRoute::getDistanceMeters).sum(), 5);
+	}
+
+	/**
+	 * Tests that no courier is sent further than the maximum pickup distance.
+	 */
+	@Test
+	void testPlan_MaxPickupDistance() {
+		List<CourierRoute> routes = planner.plan(List.of(job(1L, at(0, 0), at(0, 500))),
+				List.of(courier(10L, at(6000, 0))));
+
+		assertTrue(routes.isEmpty());
+	}
+
+	/**
+	 * Tests that with fewer couriers than routes the oldest routes are served
+	 * first.
+	 */
+	@Test
+	void testPlan_OldestRoutesFirst() {
+		List<DispatchPlanner.Job> jobs = List.of(job(1L, at(-1500, 0), at(-1500, -2500)),
+				job(2L, at(1500, 0), at(1500, 2500)));
+
+		List<CourierRoute> routes = planner.plan(jobs, List.of(courier(10L, at(1400, 0))));
+
+		assertEquals(Map.of(1L, 10L), courierByOrder(routes));
+	}
+
+	/**
+	 * Tests that an order is given an idle courier across the border of its
+	 * region.
+	 */
+	@Test
+	void testPlan_BorrowsCourierFromNeighbouringRegion() {
+		GeoPoint restaurant = GeoPoint.of(52.399, 4.85);
+		GeoPoint acrossBorder = GeoPoint.of(52.401, 4.85);
+
+		List<CourierRoute> routes = planner.plan(List.of(job(1L, restaurant, GeoPoint.of(52.39, 4.85))),
+				List.of(courier(10L, acrossBorder)));
+
+		assertEquals(Map.of(1L, 10L), courierByOrder(routes));
+	}
+
+	/**
+	 * Tests that orders from several restaurants are picked up in the given
+	 * order before being dropped off.
+	 */
+	@Test
+	void testPlan_SeveralRestaurants() {
+		DispatchPlanner.Job job = new DispatchPlanner.Job(1L, List.of(at(0, 0), at(300, 0)), at(300, 600));
+
+		CourierRoute route = planner.plan(List.of(job), List.of(courier(10L, at(0, 0)))).get(0);
+
+		assertEquals(List.of(RouteStop.Type.PICKUP, RouteStop.Type.PICKUP, RouteStop.Type.DROPOFF),
+				route.getStops().stream().map(RouteStop::getType).toList());
+		assertEquals(900, route.getDistanceMeters(), 5);
+		assertThrows(IllegalArgumentException.class, () -> new DispatchPlanner.Job(2L, List.of(), at(0, 0)));
+	}
+}
@@ -0,0 +1,171 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CourierRoute;
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.RouteStop;
+import com.fooddelivery.exception.OrderConflictException;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.Order.OrderStatus;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.model.User;
+
+/**
+ * Unit tests for {@link DispatchScheduler}.
+ */
+@ExtendWith(MockitoExtension.class)
+class DispatchSchedulerTest {
+
+	@Mock
+	private ActiveOrderIndex activeOrderIndex;
+
+	@Mock
+	private CourierLocationStore courierLocationStore;
+
+	@Mock
+	private OrderService orderService;
+
+	private DispatchScheduler scheduler;
+	private final Map<OrderStatus, List<Order>> activeOrders = new EnumMap<>(OrderStatus.class);
+
+	@BeforeEach
+	void setUp() {
+		scheduler = new DispatchScheduler(activeOrderIndex, courierLocationStore, orderService, true, 0.1, 3, 2000,
+				5000, Duration.ofMinutes(2));
+		when(activeOrderIndex.getPage(any(), isNull(), anyInt()))
+				.thenAnswer(invocation -> new CursorPage<>(activeOrders.getOrDefault(invocation.getArgument(0),
+						List.of()), null));
+	}
+
+	private static Order order(long id, OrderStatus status, Long courierId, Double customerLatitude) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(100L);
+		restaurant.setLatitude(52.370);
+		restaurant.setLongitude(4.890);
+		MenuItem menuItem = new MenuItem();
+		menuItem.setRestaurant(restaurant);
+		OrderItem item = new OrderItem();
+		item.setMenuItem(menuItem);
+		User customer = new User();
+		customer.setLatitude(customerLatitude);
+		customer.setLongitude(customerLatitude == null ? null : 4.890);
+
+		Order order = new Order();
+		order.setId(id);
+		order.setStatus(status);
+		order.setCourierId(courierId);
+		order.setVersion(3L);
+		order.setCustomer(customer);
+		order.setItems(List.of(item));
+		return order;
+	}
+
+	private static CourierPosition position(long courierId, Instant recordedAt) {
+		return new CourierPosition(courierId, 52.371, 4.891, recordedAt);
+	}
+
+	/**
+	 * Tests that orders being prepared are batched and given to an idle
+	 * courier.
+	 */
+	@Test
+	void testDispatch_AssignsIdleCourier() {
+		Order first = order(1L, OrderStatus.PREPARING, null, 52.380);
+		Order second = order(2L, OrderStatus.PREPARING, null, 52.385);
+		activeOrders.put(OrderStatus.PREPARING, List.of(first, second));
+		when(courierLocationStore.positions()).thenReturn(List.of(position(10L, Instant.now())));
+
+		List<CourierRoute> routes = scheduler.dispatch();
+
+		assertEquals(1, routes.size());
+		assertEquals(List.of(1L, 2L), routes.get(0).getOrderIds());
+		verify(orderService).dispatchCourier(first, 10L);
+		verify(orderService).dispatchCourier(second, 10L);
+		assertEquals(routes.get(0), scheduler.routeOf(10L));
+	}
+
+	/**
+	 * Tests that couriers with active orders or without a recent position are
+	 * not dispatched.
+	 */
+	@Test
+	void testDispatch_SkipsBusyAndSilentCouriers() {
+		activeOrders.put(OrderStatus.PREPARING, List.of(order(1L, OrderStatus.PREPARING, null, 52.380)));
+		activeOrders.put(OrderStatus.OUT_FOR_DELIVERY, List.of(order(2L, OrderStatus.OUT_FOR_DELIVERY, 10L, 52.380)));
+		when(courierLocationStore.positions()).thenReturn(List.of(position(10L, Instant.now()),
+				position(11L, Instant.now().minus(Duration.ofMinutes(10)))));
+
+		assertTrue(scheduler.dispatch().isEmpty());
+		verify(orderService, never()).dispatchCourier(any(), any());
+	}
+
+	/**
+	 * Tests that orders without a delivery position are left for manual
+	 * assignment, and orders not yet accepted are not dispatched.
+	 */
+	@Test
+	void testDispatch_SkipsOrdersWithoutLocationOrNotPreparing() {
+		activeOrders.put(OrderStatus.PLACED, List.of(order(1L, OrderStatus.PLACED, null, 52.380)));
+		activeOrders.put(OrderStatus.PREPARING, List.of(order(2L, OrderStatus.PREPARING, null, null)));
+		when(courierLocationStore.positions()).thenReturn(List.of(position(10L, Instant.now())));
+
+		assertTrue(scheduler.dispatch().isEmpty());
+		verify(orderService, never()).dispatchCourier(any(), any());
+	}
+
+	/**
+	 * Tests that an order that changed since it was planned is dropped from
+	 * its route without affecting the other orders.
+	 */
+	@Test
+	void testDispatch_DropsOrdersChangedMeanwhile() {
+		Order first = order(1L, OrderStatus.PREPARING, null, 52.380);
+		activeOrders.put(OrderStatus.PREPARING, List.of(first, order(2L, OrderStatus.PREPARING, null, 52.385)));
+		when(courierLocationStore.positions()).thenReturn(List.of(position(10L, Instant.now())));
+		when(orderService.dispatchCourier(first, 10L))
+				.thenThrow(new OrderConflictException("Order 1 changed since it was planned"));
+
+		List<CourierRoute> routes = scheduler.dispatch();
+
+		assertEquals(List.of(2L), routes.get(0).getOrderIds());
+		assertEquals(List.of(2L, 2L), routes.get(0).getStops().stream().map(RouteStop::getOrderId).toList());
+	}
+
+	/**
+	 * Tests that routes are forgotten once their courier has no active order.
+	 */
+	@Test
+	void testDispatch_ForgetsFinishedRoutes() {
+		activeOrders.put(OrderStatus.PREPARING, List.of(order(1L, OrderStatus.PREPARING, null, 52.380)));
+		when(courierLocationStore.positions()).thenReturn(List.of(position(10L, Instant.now())));
+		scheduler.dispatch();
+
+		activeOrders.clear();
+		scheduler.dispatch();
+
+		assertNull(scheduler.routeOf(10L));
+	}
+}
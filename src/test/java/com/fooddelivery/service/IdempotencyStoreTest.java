@@ -0,0 +1,208 @@
+package com.fooddelivery.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.exception.IdempotencyKeyReusedException;
+import com.fooddelivery.exception.RequestInProgressException;
+import com.fooddelivery.model.IdempotencyRecord;
+import com.fooddelivery.repository.IdempotencyRecordRepository;
+
+/**
+ * Unit tests for {@link IdempotencyStore}.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+	private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+	@Mock
+	private IdempotencyRecordRepository repository;
+
+	private IdempotencyStore store;
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		store = new IdempotencyStore(repository, new ObjectMapper(), Duration.ofHours(24), Duration.ofSeconds(5), 100,
+				4, Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	private ResponseEntity<?> placed() {
+		return ResponseEntity.ok(List.of("order", runs.incrementAndGet()));
+	}
+
+	/**
+	 * Tests that a retry is answered with the stored response without running
+	 * the request again.
+	 */
+	@Test
+	void testExecute_RetryIsReplayed() {
+		String hash = IdempotencyStore.hash("1|3:2");
+
+		ResponseEntity<?> first = store.execute("key", hash, this::placed);
+		ResponseEntity<?> retry = store.execute("key", hash, this::placed);
+
+		assertEquals(1, runs.get());
+		assertEquals(List.of("order", 1), first.getBody());
+		assertEquals(200, retry.getStatusCode().value());
+		assertEquals("[\"order\",1]", retry.getBody());
+		assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		verify(repository).complete("key", 200, "application/json", "[\"order\",1]");
+		assertEquals(1L, store.stats().get("replayedRequests"));
+	}
+
+	/**
+	 * Tests that a key sent again with a different request is refused.
+	 */
+	@Test
+	void testExecute_KeyReusedForDifferentRequest() {
+		store.execute("key", IdempotencyStore.hash("1|3:2"), this::placed);
+
+		assertThrows(IdempotencyKeyReusedException.class,
+				() -> store.execute("key", IdempotencyStore.hash("1|3:5"), this::placed));
+		assertEquals(1, runs.get());
+	}
+
+	/**
+	 * Tests that duplicates arriving while the first request runs wait for it
+	 * and share its response instead of running in parallel.
+	 */
+	@Test
+	void testExecute_ConcurrentDuplicatesWait() throws Exception {
+		String hash = IdempotencyStore.hash("1|3:2");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			Future<ResponseEntity<?>> leader = executor.submit(() -> store.execute("key", hash, () -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return placed();
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			List<Future<ResponseEntity<?>>> duplicates = new ArrayList<>();
+			for (int i = 0; i < 7; i++) {
+				duplicates.add(executor.submit(() -> store.execute("key", hash, this::placed)));
+			}
+			release.countDown();
+
+			assertEquals(200, leader.get(5, TimeUnit.SECONDS).getStatusCode().value());
+			for (Future<ResponseEntity<?>> duplicate : duplicates) {
+				assertEquals("[\"order\",1]", duplicate.get(5, TimeUnit.SECONDS).getBody());
+			}
+			assertEquals(1, runs.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Tests that a server error is not stored, so a retry runs the request
+	 * again.
+	 */
+	@Test
+	void testExecute_ServerErrorIsNotStored() {
+		String hash = IdempotencyStore.hash("1|3:2");
+
+		ResponseEntity<?> failed = store.execute("key", hash, () -> ResponseEntity.status(500).body("Error"));
+		ResponseEntity<?> retry = store.execute("key", hash, this::placed);
+
+		assertEquals(500, failed.getStatusCode().value());
+		assertEquals(List.of("order", 1), retry.getBody());
+		verify(repository).deleteClaim("key");
+		verify(repository, never()).complete(eq("key"), eq(500), any(), any());
+	}
+
+	/**
+	 * Tests that a key completed on another instance, or before a restart, is
+	 * replayed from the table.
+	 */
+	@Test
+	void testExecute_ReplayedFromTable() {
+		String hash = IdempotencyStore.hash("1|3:2");
+		IdempotencyRecord record = new IdempotencyRecord("key", hash, NOW.minusSeconds(60));
+		record.setStatusCode(HttpStatus.BAD_REQUEST.value());
+		record.setContentType("text/plain");
+		record.setBody("Order items cannot be empty");
+		when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+		when(repository.findById("key")).thenReturn(Optional.of(record));
+
+		ResponseEntity<?> response = store.execute("key", hash, this::placed);
+
+		assertEquals(400, response.getStatusCode().value());
+		assertEquals("Order items cannot be empty", response.getBody());
+		assertEquals(0, runs.get());
+	}
+
+	/**
+	 * Tests that a key claimed on another instance by a request still running
+	 * is refused, and that a claim older than the in-flight timeout is taken
+	 * over.
+	 */
+	@Test
+	void testExecute_ClaimedInTable() {
+		String hash = IdempotencyStore.hash("1|3:2");
+		when(repository.saveAndFlush(any()))
+				.thenThrow(new DataIntegrityViolationException("duplicate key"))
+				.thenThrow(new DataIntegrityViolationException("duplicate key"))
+				.thenReturn(null);
+		when(repository.findById("key")).thenReturn(
+				Optional.of(new IdempotencyRecord("key", hash, NOW.minusSeconds(1))),
+				Optional.of(new IdempotencyRecord("key", hash, NOW.minusSeconds(60))));
+
+		assertThrows(RequestInProgressException.class, () -> store.execute("key", hash, this::placed));
+		ResponseEntity<?> takenOver = store.execute("key", hash, this::placed);
+
+		assertEquals(List.of("order", 1), takenOver.getBody());
+		verify(repository).deleteAbandonedClaim("key", NOW.minusSeconds(5));
+	}
+
+	/**
+	 * Tests that keys are dropped once expired, and the oldest keys once a
+	 * shard is full.
+	 */
+	@Test
+	void testSweepAndEviction() {
+		for (int i = 0; i < 200; i++) {
+			store.execute("key-" + i, IdempotencyStore.hash("request"), this::placed);
+		}
+		assertTrue((int) store.stats().get("entries") <= 100);
+
+		when(repository.deleteCreatedBefore(NOW.minus(Duration.ofHours(24)))).thenReturn(3);
+		assertEquals(3, store.sweep());
+	}
+}
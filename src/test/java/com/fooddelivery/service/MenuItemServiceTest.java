@@ -1,5 +1,6 @@
 package com.fooddelivery.service;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -13,7 +14,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -23,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fooddelivery.exception.ResourceNotFoundException;
 import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
 import com.fooddelivery.model.Restaurant;
 import com.fooddelivery.repository.MenuItemRepository;
 
@@ -35,8 +36,8 @@ class MenuItemServiceTest {
 	@Mock
 	private MenuItemRepository menuItemRepository;
 
-	@InjectMocks
 	private MenuItemService menuItemService;
+	private MenuSearchIndex menuSearchIndex;
 
 	private MenuItem menuItem;
 	private Restaurant restaurant;
@@ -46,6 +47,10 @@ class MenuItemServiceTest {
 	 */
 	@BeforeEach
 	void setUp() {
+		menuSearchIndex = new MenuSearchIndex(menuItemRepository);
+		menuItemService = new MenuItemService(menuItemRepository,
+				new MenuCache(menuItemRepository, 1_000, Duration.ofMinutes(5)), menuSearchIndex);
+
 		restaurant = new Restaurant();
 		restaurant.setId(1L);
 		restaurant.setName("Test Restaurant");
@@ -54,7 +59,7 @@ class MenuItemServiceTest {
 		menuItem.setId(1L);
 		menuItem.setName("Burger");
 		menuItem.setDescription("Delicious beef burger");
-		menuItem.setPrice(5.99);
+		menuItem.setPrice(Money.of("5.99"));
 		menuItem.setRestaurant(restaurant);
 	}
 
@@ -112,6 +117,81 @@ class MenuItemServiceTest {
 		verify(menuItemRepository, times(1)).findByRestaurantId(1L);
 	}
 
+	/**
+	 * Tests that repeated menu reads hit the database once.
+	 */
+	@Test
+	void testGetMenuItemsByRestaurantId_Cached() {
+		when(menuItemRepository.findByRestaurantId(1L)).thenReturn(Arrays.asList(menuItem));
+
+		menuItemService.getMenuItemsByRestaurantId(1L);
+		List<MenuItem> menuItems = menuItemService.getMenuItemsByRestaurantId(1L);
+
+		assertEquals(1, menuItems.size());
+		assertEquals(1L, menuItemService.getMenuCacheStats().get("hitCount"));
+		verify(menuItemRepository, times(1)).findByRestaurantId(1L);
+	}
+
+	/**
+	 * Tests that changing a menu item drops the cached menu of its restaurant.
+	 */
+	@Test
+	void testAddMenuItem_EvictsCachedMenu() {
+		when(menuItemRepository.findByRestaurantId(1L)).thenReturn(Arrays.asList(menuItem));
+		when(menuItemRepository.save(any(MenuItem.class))).thenReturn(menuItem);
+
+		menuItemService.getMenuItemsByRestaurantId(1L);
+		menuItemService.addMenuItem(menuItem);
+		menuItemService.getMenuItemsByRestaurantId(1L);
+
+		verify(menuItemRepository, times(2)).findByRestaurantId(1L);
+	}
+
+	/**
+	 * Tests that deleting a menu item drops the cached menu of its restaurant.
+	 */
+	@Test
+	void testDeleteMenuItem_EvictsCachedMenu() {
+		when(menuItemRepository.findByRestaurantId(1L)).thenReturn(Arrays.asList(menuItem));
+		when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
+
+		menuItemService.getMenuItemsByRestaurantId(1L);
+		menuItemService.deleteMenuItem(1L);
+		menuItemService.getMenuItemsByRestaurantId(1L);
+
+		verify(menuItemRepository, times(2)).findByRestaurantId(1L);
+	}
+
+	/**
+	 * Tests that the menu of a restaurant shows a new price right after the
+	 * item is updated.
+	 */
+	@Test
+	void testUpdateMenuItem_EvictsCachedMenu() {
+		MenuItem stored = new MenuItem();
+		stored.setId(1L);
+		stored.setName("Burger");
+		stored.setPrice(Money.of("5.99"));
+		stored.setRestaurant(restaurant);
+		MenuItem reloaded = new MenuItem();
+		reloaded.setId(1L);
+		reloaded.setName("Burger");
+		reloaded.setPrice(Money.of("6.99"));
+		reloaded.setRestaurant(restaurant);
+		when(menuItemRepository.findByRestaurantId(1L)).thenReturn(List.of(menuItem), List.of(reloaded));
+		when(menuItemRepository.findById(1L)).thenReturn(Optional.of(stored));
+		when(menuItemRepository.save(any(MenuItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		assertEquals(Money.of("5.99"), menuItemService.getMenuItemsByRestaurantId(1L).get(0).getPrice());
+		MenuItem updatedMenuItem = new MenuItem();
+		updatedMenuItem.setName("Burger");
+		updatedMenuItem.setPrice(Money.of("6.99"));
+		menuItemService.updateMenuItem(1L, updatedMenuItem);
+
+		assertEquals(Money.of("6.99"), menuItemService.getMenuItemsByRestaurantId(1L).get(0).getPrice());
+		verify(menuItemRepository, times(2)).findByRestaurantId(1L);
+	}
+
 	/**
 	 * Tests updating a menu item successfully.
 	 */
@@ -120,7 +200,7 @@ class MenuItemServiceTest {
 		MenuItem updatedMenuItem = new MenuItem();
 		updatedMenuItem.setName("Updated Burger");
 		updatedMenuItem.setDescription("Tasty updated burger");
-		updatedMenuItem.setPrice(6.99);
+		updatedMenuItem.setPrice(Money.of("6.99"));
 		updatedMenuItem.setRestaurant(restaurant);
 
 		when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
@@ -130,7 +210,7 @@ class MenuItemServiceTest {
 
 		assertNotNull(result);
 		assertEquals("Updated Burger", result.getName());
-		assertEquals(Double.valueOf(6.99), result.getPrice());
+		assertEquals(Money.of("6.99"), result.getPrice());
 		verify(menuItemRepository, times(1)).findById(1L);
 		verify(menuItemRepository, times(1)).save(menuItem);
 	}
@@ -178,4 +258,37 @@ class MenuItemServiceTest {
 		verify(menuItemRepository, times(1)).findById(1L);
 		verify(menuItemRepository, never()).delete(any(MenuItem.class));
 	}
+
+	/**
+	 * Tests that added, updated and deleted menu items are searchable
+	 * accordingly.
+	 */
+	@Test
+	void testSearchMenuItems_FollowsChanges() {
+		when(menuItemRepository.save(any(MenuItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
+
+		menuItemService.addMenuItem(menuItem);
+		assertEquals(1, menuItemService.searchMenuItems("beef", 10).size());
+
+		MenuItem updatedMenuItem = new MenuItem();
+		updatedMenuItem.setName("Veggie Burger");
+		updatedMenuItem.setDescription("Grilled halloumi");
+		updatedMenuItem.setPrice(Money.of("6.99"));
+		menuItemService.updateMenuItem(1L, updatedMenuItem);
+		assertTrue(menuItemService.searchMenuItems("beef", 10).isEmpty());
+		assertEquals(1, menuItemService.searchMenuItems("veggie burger", 10).size());
+
+		menuItemService.deleteMenuItem(1L);
+		assertTrue(menuItemService.searchMenuItems("burger", 10).isEmpty());
+		assertEquals(0, menuSearchIndex.size());
+	}
+
+	/**
+	 * Tests that a blank search query is rejected.
+	 */
+	@Test
+	void testSearchMenuItems_BlankQuery() {
+		assertThrows(IllegalArgumentException.class, () -> menuItemService.searchMenuItems("  ", 10));
+	}
 }
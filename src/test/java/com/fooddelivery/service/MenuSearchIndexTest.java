@@ -0,0 +1,133 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.dto.MenuSearchHit;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.repository.MenuItemRepository;
+
+/**
+ * Unit tests for {@link MenuSearchIndex}.
+ */
+@ExtendWith(MockitoExtension.class)
+class MenuSearchIndexTest {
+
+	@Mock
+	private MenuItemRepository menuItemRepository;
+
+	private MenuSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new MenuSearchIndex(menuItemRepository);
+	}
+
+	private static MenuItem item(long id, long restaurantId, String name, String description) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(restaurantId);
+		return new MenuItem(id, name, description, Money.of("9.99"), restaurant);
+	}
+
+	private static List<Long> ids(List<MenuSearchHit> hits) {
+		return hits.stream().map(MenuSearchHit::getMenuItemId).toList();
+	}
+
+	/**
+	 * Tests that text is lower-cased, stripped of accents and split on
+	 * punctuation.
+	 */
+	@Test
+	void testTokenize() {
+		assertEquals(List.of("creme", "brulee", "gluten", "free"),
+				MenuSearchIndex.tokenize("Crème Brûlée (gluten-free) &"));
+		assertTrue(MenuSearchIndex.tokenize(null).isEmpty());
+	}
+
+	/**
+	 * Tests that every query word must match and name matches rank first.
+	 */
+	@Test
+	void testSearch_AllWordsRankedByField() {
+		index.index(item(1, 1, "Pad Thai", "Rice noodles with peanuts"));
+		index.index(item(2, 1, "Green Curry", "Thai curry with coconut milk"));
+		index.index(item(3, 2, "Pad See Ew", "Wide noodles"));
+
+		assertEquals(List.of(1L), ids(index.search("pad thai", 10)));
+		assertEquals(List.of(1L, 2L), ids(index.search("THAI", 10)));
+		assertEquals(List.of(1L), ids(index.search("thai noodles", 10)));
+		assertTrue(index.search("pad curry", 10).isEmpty());
+	}
+
+	/**
+	 * Tests that a misspelt word is matched through trigram similarity.
+	 */
+	@Test
+	void testSearch_ToleratesTypos() {
+		index.index(item(1, 1, "Butter Chicken", "Creamy tomato sauce"));
+		index.index(item(2, 1, "Gluten Free Pasta", null));
+
+		assertEquals(List.of(1L), ids(index.search("buter chiken", 10)));
+		assertEquals(List.of(2L), ids(index.search("gluten fre", 10)));
+		assertTrue(index.search("sushi", 10).isEmpty());
+	}
+
+	/**
+	 * Tests that the limit keeps the best matches.
+	 */
+	@Test
+	void testSearch_Limit() {
+		index.index(item(1, 1, "Soup", "Tomato"));
+		index.index(item(2, 1, "Tomato Soup", null));
+		index.index(item(3, 1, "Salad", "Tomato"));
+
+		List<MenuSearchHit> hits = index.search("tomato", 1);
+
+		assertEquals(List.of(2L), ids(hits));
+		assertEquals(1L, hits.get(0).getRestaurantId());
+	}
+
+	/**
+	 * Tests that re-indexing replaces an item and removal drops it, also
+	 * after the index compacts.
+	 */
+	@Test
+	void testIndexAndRemove() {
+		for (long id = 1; id <= 2000; id++) {
+			index.index(item(id, 1, "Dish " + id, "plain"));
+		}
+		for (long id = 1; id <= 1500; id++) {
+			index.remove(id);
+		}
+		index.index(item(2000, 1, "Spicy Dish", "hot"));
+
+		assertEquals(500, index.size());
+		assertEquals(List.of(2000L), ids(index.search("spicy", 10)));
+		assertEquals(499, index.search("plain", 1000).size());
+		assertTrue(index.search("1000", 10).isEmpty());
+	}
+
+	/**
+	 * Tests that a rebuild loads all menu items page by page.
+	 */
+	@Test
+	void testRebuild() {
+		when(menuItemRepository.findFirstPage(any())).thenReturn(List.of(item(1, 1, "Margherita", "Pizza")));
+
+		index.rebuild();
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(1L), ids(index.search("pizza", 10)));
+	}
+}
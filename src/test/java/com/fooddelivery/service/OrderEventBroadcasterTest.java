@@ -0,0 +1,164 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.dto.OrderStatusEvent;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.model.Order.OrderStatus;
+import com.fooddelivery.repository.OrderRepository;
+
+/**
+ * Unit tests for {@link OrderEventBroadcaster}. Events are queued but never
+ * sent, so the buffers can be observed.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderEventBroadcasterTest {
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	private OrderEventBroadcaster broadcaster;
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new OrderEventBroadcaster(orderRepository, 2, 4, Duration.ofMinutes(1), new NeverRunning());
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.close();
+	}
+
+	private static OrderStatusEvent event(long orderId, long restaurantId, OrderStatus status, long version) {
+		return new OrderStatusEvent(orderId, restaurantId, status, version);
+	}
+
+	/**
+	 * Tests that event IDs increase and that the type follows the version.
+	 */
+	@Test
+	void testPublish_AssignsIncreasingIds() {
+		OrderStatusEvent first = broadcaster.publish(event(1L, 7L, OrderStatus.PLACED, 0));
+		OrderStatusEvent second = broadcaster.publish(event(1L, 7L, OrderStatus.PREPARING, 1));
+
+		assertEquals(first.getEventId() + 1, second.getEventId());
+		assertEquals(OrderStatusEvent.CREATED, first.getType());
+		assertEquals(OrderStatusEvent.STATUS_CHANGED, second.getType());
+	}
+
+	/**
+	 * Tests that resume replays only the restaurant's missed events.
+	 */
+	@Test
+	void testReplayAfter_FiltersByRestaurant() {
+		OrderStatusEvent seen = broadcaster.publish(event(1L, 7L, OrderStatus.PLACED, 0));
+		broadcaster.publish(event(2L, 8L, OrderStatus.PLACED, 0));
+		OrderStatusEvent missed = broadcaster.publish(event(1L, 7L, OrderStatus.PREPARING, 1));
+
+		List<OrderStatusEvent> replay = broadcaster.replayAfter(seen.getEventId(), 7L);
+
+		assertEquals(1, replay.size());
+		assertEquals(missed.getEventId(), replay.get(0).getEventId());
+	}
+
+	/**
+	 * Tests that resuming past the retained events, or from an unknown future
+	 * ID, requires a reset.
+	 */
+	@Test
+	void testReplayAfter_GapRequiresReset() {
+		OrderStatusEvent first = broadcaster.publish(event(1L, 7L, OrderStatus.PLACED, 0));
+		for (int i = 0; i < 5; i++) {
+			broadcaster.publish(event(2L + i, 7L, OrderStatus.PLACED, 0));
+		}
+
+		assertNull(broadcaster.replayAfter(first.getEventId(), 7L));
+		assertNull(broadcaster.replayAfter(Long.MAX_VALUE, 7L));
+	}
+
+	/**
+	 * Tests that a subscriber that does not keep up is disconnected rather
+	 * than buffering without bound.
+	 */
+	@Test
+	void testPublish_DisconnectsSlowSubscriber() {
+		broadcaster.subscribe(7L, null);
+		broadcaster.subscribe(8L, null);
+
+		broadcaster.publish(event(1L, 7L, OrderStatus.PLACED, 0));
+		broadcaster.publish(event(2L, 7L, OrderStatus.PLACED, 0));
+		assertEquals(1, broadcaster.subscriberCount(7L));
+
+		broadcaster.publish(event(3L, 7L, OrderStatus.PLACED, 0));
+
+		assertEquals(0, broadcaster.subscriberCount(7L));
+		assertEquals(1, broadcaster.subscriberCount(8L));
+	}
+
+	/**
+	 * Tests that committed order changes are published per restaurant.
+	 */
+	@Test
+	void testOnOrderChanged_PublishesLoadedEvents() {
+		OrderStatusEvent before = broadcaster.publish(event(5L, 5L, OrderStatus.PLACED, 0));
+		when(orderRepository.findStatusEventsByIdIn(List.of(1L)))
+				.thenReturn(List.of(event(1L, 7L, OrderStatus.PLACED, 0), event(1L, 9L, OrderStatus.PLACED, 0)));
+
+		broadcaster.onOrderChanged(new OrderChangedEvent(List.of(new OrderStatusView(1L, OrderStatus.PLACED, 0L))));
+
+		assertEquals(1, broadcaster.replayAfter(before.getEventId(), 7L).size());
+		assertEquals(1, broadcaster.replayAfter(before.getEventId(), 9L).size());
+		assertTrue(broadcaster.replayAfter(before.getEventId(), 5L).isEmpty());
+	}
+
+	/**
+	 * Executor that accepts drain tasks without running them.
+	 */
+	private static final class NeverRunning extends AbstractExecutorService {
+		private boolean shutdown;
+
+		@Override
+		public void execute(Runnable command) {
+		}
+
+		@Override
+		public void shutdown() {
+			shutdown = true;
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			shutdown = true;
+			return List.of();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return shutdown;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return shutdown;
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,252 @@
+package com.fooddelivery.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.fooddelivery.dto.OrderReceipt;
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.Order;
+import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.User;
+import com.fooddelivery.repository.MenuItemRepository;
+import com.fooddelivery.repository.OrderRepository;
+import com.fooddelivery.repository.UserRepository;
+
+/**
+ * Unit tests for {@link OrderIntake} and {@link JournaledOrder}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeTest {
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private MenuItemRepository menuItemRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@TempDir
+	Path directory;
+
+	private OrderIntake orderIntake;
+	private User user;
+	private MenuItem menuItem;
+
+	@BeforeEach
+	void setUp() {
+		orderIntake = new OrderIntake(orderRepository, userRepository, menuItemRepository,
+				TransactionOperations.withoutTransaction(), eventPublisher, true, directory, 64 * 1024,
+				Duration.ZERO, 0, 50);
+
+		user = new User();
+		user.setId(1L);
+		menuItem = new MenuItem();
+		menuItem.setId(3L);
+		menuItem.setPrice(Money.of("9.99"));
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		orderIntake.close();
+	}
+
+	private Order order(int quantity) {
+		OrderItem item = new OrderItem();
+		item.setMenuItem(menuItem);
+		item.setQuantity(quantity);
+		item.setUnitPrice(menuItem.getPrice());
+		Order order = new Order();
+		order.setCustomer(user);
+		order.setItems(List.of(item));
+		order.setStatus(Order.OrderStatus.PLACED);
+		order.setOrderTime(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_789));
+		order.setTotalPrice(OrderService.calculateTotal(List.of(item)));
+		return order;
+	}
+
+	/**
+	 * Tests that a journaled order reads back exactly as written.
+	 */
+	@Test
+	void testJournaledOrder_RoundTrip() {
+		Order original = order(2);
+
+		JournaledOrder decoded = JournaledOrder.decode(JournaledOrder.of(original).encode());
+		Order restored = decoded.toOrder(id -> user, id -> menuItem);
+
+		assertEquals(1L, decoded.getUserId());
+		assertEquals(original.getOrderTime(), restored.getOrderTime());
+		assertEquals(Money.of("19.98"), restored.getTotalPrice());
+		assertEquals(2, restored.getItems().get(0).getQuantity());
+		assertEquals(Money.of("9.99"), restored.getItems().get(0).getUnitPrice());
+		assertThrows(IllegalArgumentException.class, () -> JournaledOrder.decode(new byte[] { 9 }));
+	}
+
+	/**
+	 * Tests that accepted orders are stored in journal order with their
+	 * journal entry, and announced.
+	 */
+	@Test
+	void testAcceptAndPersist() {
+		when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+		when(menuItemRepository.getReferenceById(anyLong())).thenReturn(menuItem);
+		when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		orderIntake.open();
+
+		OrderReceipt first = orderIntake.accept(order(1));
+		OrderReceipt second = orderIntake.accept(order(2));
+
+		assertEquals(1L, first.getJournalSequence());
+		assertEquals(2L, second.getJournalSequence());
+		assertEquals(Money.of("19.98"), second.getTotalPrice());
+		assertTrue(orderIntake.isPending(2));
+		assertEquals(2, orderIntake.persist());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Order>> saved = ArgumentCaptor.forClass(List.class);
+		verify(orderRepository).saveAll(saved.capture());
+		List<Long> sequences = new ArrayList<>();
+		for (Order order : saved.getValue()) {
+			sequences.add(order.getJournalSequence());
+			assertEquals(0, order.getJournalInstance());
+		}
+		assertEquals(List.of(1L, 2L), sequences);
+		assertFalse(orderIntake.isPending(2));
+		verify(eventPublisher).publishEvent(any(OrderChangedEvent.class));
+	}
+
+	/**
+	 * Tests that orders the database could not take are kept and stored on a
+	 * later run.
+	 */
+	@Test
+	void testPersist_RetriesAfterFailure() {
+		when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+		when(menuItemRepository.getReferenceById(anyLong())).thenReturn(menuItem);
+		when(orderRepository.saveAll(anyList()))
+				.thenThrow(new QueryTimeoutException("timeout"))
+				.thenThrow(new QueryTimeoutException("timeout"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		orderIntake.open();
+		orderIntake.accept(order(1));
+
+		assertEquals(0, orderIntake.persist());
+		assertTrue(orderIntake.isPending(1));
+		assertEquals(1, orderIntake.persist());
+
+		verify(orderRepository, times(3)).saveAll(anyList());
+		assertEquals(1L, orderIntake.stats().get("persistedOrders"));
+	}
+
+	/**
+	 * Tests that an order the database refuses is dropped as rejected without
+	 * holding up the orders after it, and has no stored order.
+	 */
+	@Test
+	void testPersist_RejectsRefusedOrder() {
+		when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+		when(menuItemRepository.getReferenceById(anyLong())).thenReturn(menuItem);
+		when(orderRepository.saveAll(anyList()))
+				.thenThrow(new DataIntegrityViolationException("user deleted"))
+				.thenThrow(new DataIntegrityViolationException("user deleted"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		when(orderRepository.findIdByJournalEntry(0, 1L)).thenReturn(Optional.empty());
+		when(orderRepository.findIdByJournalEntry(0, 2L)).thenReturn(Optional.of(10L));
+		orderIntake.open();
+		orderIntake.accept(order(1));
+		orderIntake.accept(order(2));
+
+		assertEquals(2, orderIntake.persist());
+
+		assertFalse(orderIntake.isPending(1));
+		assertNull(orderIntake.findOrderId(1));
+		assertEquals(Long.valueOf(10), orderIntake.findOrderId(2));
+		assertEquals(1L, orderIntake.stats().get("rejectedOrders"));
+		assertEquals(1L, orderIntake.stats().get("persistedOrders"));
+	}
+
+	/**
+	 * Tests that after a restart, orders are still stored when the last
+	 * entries of a released segment were rejected and so have no row behind
+	 * the first entry left in the journal.
+	 */
+	@Test
+	void testOpen_AfterRejectedEntriesReleased() throws IOException {
+		// Three orders fit a segment of 256 bytes
+		orderIntake = new OrderIntake(orderRepository, userRepository, menuItemRepository,
+				TransactionOperations.withoutTransaction(), eventPublisher, true, directory, 256, Duration.ZERO, 0,
+				50);
+		when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+		when(menuItemRepository.getReferenceById(anyLong())).thenReturn(menuItem);
+		when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Order> orders = invocation.getArgument(0);
+			for (Order order : orders) {
+				if (order.getJournalSequence() <= 6) {
+					throw new DataIntegrityViolationException("user deleted");
+				}
+			}
+			return orders;
+		});
+		orderIntake.open();
+		for (int i = 0; i < 6; i++) {
+			orderIntake.accept(order(1));
+		}
+		assertEquals(6, orderIntake.persist());
+		assertEquals(1, orderIntake.stats().get("segments"));
+		orderIntake.close();
+
+		orderIntake = new OrderIntake(orderRepository, userRepository, menuItemRepository,
+				TransactionOperations.withoutTransaction(), eventPublisher, true, directory, 256, Duration.ZERO, 0,
+				50);
+		orderIntake.open();
+		assertEquals(7L, orderIntake.accept(order(1)).getJournalSequence());
+
+		assertEquals(4, orderIntake.persist());
+		assertEquals(7L, orderIntake.stats().get("persistedSequence"));
+		assertEquals(0, orderIntake.stats().get("pendingOrders"));
+		assertEquals(1L, orderIntake.stats().get("persistedOrders"));
+	}
+
+	/**
+	 * Tests that accepting fails while the journal is not open.
+	 */
+	@Test
+	void testAccept_NotOpen() {
+		assertThrows(IllegalStateException.class, () -> orderIntake.accept(order(1)));
+	}
+}
@@ -0,0 +1,95 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
+import com.fooddelivery.model.OrderItem;
+
+/**
+ * Unit tests for {@link OrderItemValidator}.
+ */
+class OrderItemValidatorTest {
+
+	private OrderItemValidator validator;
+	private MenuItem menuItem;
+
+	@BeforeEach
+	void setUp() {
+		validator = new OrderItemValidator();
+
+		menuItem = new MenuItem();
+		menuItem.setId(1L);
+		menuItem.setName("Pizza");
+		menuItem.setPrice(Money.of("9.99"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		validator.close();
+	}
+
+	private OrderItem item(MenuItem menuItem, int quantity) {
+		OrderItem item = new OrderItem();
+		item.setMenuItem(menuItem);
+		item.setQuantity(quantity);
+		return item;
+	}
+
+	/**
+	 * Tests that a list of valid items passes.
+	 */
+	@Test
+	void testValidate_ValidItems() {
+		List<OrderItem> items = Arrays.asList(item(menuItem, 1), item(menuItem, 3));
+
+		assertDoesNotThrow(() -> validator.validate(items));
+	}
+
+	/**
+	 * Tests that an empty list is rejected.
+	 */
+	@Test
+	void testValidate_EmptyItems() {
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> validator.validate(new ArrayList<>()));
+
+		assertEquals("Missing menu item", exception.getMessage());
+	}
+
+	/**
+	 * Tests that validation stops at the first invalid item.
+	 */
+	@Test
+	void testValidate_FailsFastOnFirstInvalidItem() {
+		List<OrderItem> items = Arrays.asList(item(menuItem, 1), item(null, 2), new OrderItem());
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> validator.validate(items));
+
+		assertEquals("Invalid OrderItem: Menu item cannot be null", exception.getMessage());
+	}
+
+	/**
+	 * Tests that a null element in the list is rejected.
+	 */
+	@Test
+	void testValidate_NullItem() {
+		List<OrderItem> items = new ArrayList<>();
+		items.add(null);
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> validator.validate(items));
+
+		assertEquals("Invalid OrderItem: Order item cannot be null", exception.getMessage());
+	}
+}
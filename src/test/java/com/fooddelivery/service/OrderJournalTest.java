@@ -0,0 +1,254 @@
+package com.fooddelivery.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link OrderJournal}.
+ */
+class OrderJournalTest {
+
+	private static final int SEGMENT_BYTES = 4096;
+
+	@TempDir
+	Path directory;
+
+	private OrderJournal open() throws IOException {
+		return new OrderJournal(directory, SEGMENT_BYTES, Duration.ofMillis(1), 1);
+	}
+
+	private static byte[] record(long n) {
+		return ("order " + n).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private Map<Long, byte[]> replayAll() throws IOException {
+		Map<Long, byte[]> records = new LinkedHashMap<>();
+		try (OrderJournal journal = open()) {
+			journal.replay(0, records::put);
+		}
+		return records;
+	}
+
+	private Path lastSegment() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.sorted().reduce((first, second) -> second).orElseThrow();
+		}
+	}
+
+	/**
+	 * Tests that records get consecutive sequences, complete once durable and
+	 * are replayed in order after reopening.
+	 */
+	@Test
+	void testAppendAndReplay() throws Exception {
+		try (OrderJournal journal = open()) {
+			for (long n = 1; n <= 3; n++) {
+				assertEquals(n, journal.append(record(n)).get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(3, journal.durableSequence());
+		}
+
+		Map<Long, byte[]> records = replayAll();
+
+		assertEquals(List.of(1L, 2L, 3L), new ArrayList<>(records.keySet()));
+		assertArrayEquals(record(2), records.get(2L));
+		try (OrderJournal journal = open()) {
+			assertEquals(4L, journal.append(record(4)).get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	/**
+	 * Tests that concurrent appends are all acknowledged, with distinct
+	 * sequences, across segment rotations.
+	 */
+	@Test
+	void testConcurrentAppendsAcrossSegments() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Long>> sequences = new ArrayList<>();
+		try (OrderJournal journal = open()) {
+			for (long n = 1; n <= 1000; n++) {
+				byte[] payload = record(n);
+				sequences.add(executor.submit(() -> journal.append(payload).join()));
+			}
+			for (Future<Long> sequence : sequences) {
+				sequence.get(10, TimeUnit.SECONDS);
+			}
+			assertTrue(journal.segmentCount() > 1);
+		} finally {
+			executor.shutdown();
+		}
+
+		Map<Long, byte[]> records = replayAll();
+
+		assertEquals(1000, records.size());
+		long expected = 1;
+		for (long sequence : records.keySet()) {
+			assertEquals(expected++, sequence);
+		}
+	}
+
+	/**
+	 * Tests that a record torn by a crash is cut off and its sequence reused.
+	 */
+	@Test
+	void testTornTailIsCutOff() throws Exception {
+		try (OrderJournal journal = open()) {
+			for (long n = 1; n <= 3; n++) {
+				journal.append(record(n)).join();
+			}
+		}
+		// Flip a byte of the last record's payload, as if the crash hit mid-write
+		Path segment = lastSegment();
+		byte[] bytes = Files.readAllBytes(segment);
+		int position = 0;
+		int length = 0;
+		for (int n = 0; n < 3; n++) {
+			length = ByteBuffer.wrap(bytes, position, 4).getInt();
+			position += OrderJournal.HEADER_BYTES + length;
+		}
+		bytes[position - 1] ^= 1;
+		Files.write(segment, bytes);
+
+		assertEquals(List.of(1L, 2L), new ArrayList<>(replayAll().keySet()));
+		try (OrderJournal journal = open()) {
+			assertEquals(3L, journal.append(record(5)).join());
+		}
+		assertArrayEquals(record(5), replayAll().get(3L));
+	}
+
+	/**
+	 * Tests that damage in a segment other than the last is reported rather
+	 * than silently dropping the records after it.
+	 */
+	@Test
+	void testCorruptEarlierSegmentFails() throws Exception {
+		try (OrderJournal journal = open()) {
+			for (long n = 1; n <= 500; n++) {
+				journal.append(record(n));
+			}
+		}
+		Path first;
+		try (Stream<Path> files = Files.list(directory)) {
+			first = files.sorted().findFirst().orElseThrow();
+		}
+		byte[] bytes = Files.readAllBytes(first);
+		bytes[OrderJournal.HEADER_BYTES] ^= 1;
+		Files.write(first, bytes);
+
+		assertThrows(IllegalStateException.class, this::open);
+	}
+
+	/**
+	 * Tests that segments are deleted once all their records are persisted,
+	 * and that replay then starts from the first kept record.
+	 */
+	@Test
+	void testReleaseDeletesPersistedSegments() throws Exception {
+		try (OrderJournal journal = open()) {
+			List<CompletableFuture<Long>> appended = new ArrayList<>();
+			for (long n = 1; n <= 500; n++) {
+				appended.add(journal.append(record(n)));
+			}
+			appended.forEach(CompletableFuture::join);
+			int segments = journal.segmentCount();
+
+			assertEquals(0, journal.release(0));
+			assertEquals(1L, journal.firstSequence());
+			assertTrue(journal.release(400) > 0);
+			assertTrue(journal.segmentCount() < segments);
+		}
+
+		Map<Long, byte[]> records = new LinkedHashMap<>();
+		try (OrderJournal journal = open()) {
+			assertTrue(journal.firstSequence() > 1 && journal.firstSequence() <= 401);
+			journal.replay(400, records::put);
+			assertEquals(501L, journal.append(record(501)).join());
+		}
+		assertEquals(100, records.size());
+		assertEquals(401L, records.keySet().iterator().next());
+	}
+
+	/**
+	 * Tests that every record acknowledged before the process is killed is
+	 * there after restart. The journal is written by a separate JVM that
+	 * prints each acknowledged sequence and is killed without warning.
+	 */
+	@Test
+	void testAcknowledgedRecordsSurviveKill() throws Exception {
+		String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+		Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				Writer.class.getName(), directory.toString())
+				.redirectError(ProcessBuilder.Redirect.INHERIT)
+				.start();
+		List<Long> acknowledged = new ArrayList<>();
+		try (BufferedReader output = new BufferedReader(
+				new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while (acknowledged.size() < 2000 && (line = output.readLine()) != null) {
+				acknowledged.add(Long.parseLong(line.trim()));
+			}
+			writer.destroyForcibly();
+			writer.waitFor(10, TimeUnit.SECONDS);
+		}
+		assertEquals(2000, acknowledged.size());
+
+		Map<Long, byte[]> records = replayAll();
+
+		for (long sequence : acknowledged) {
+			assertArrayEquals(record(sequence), records.get(sequence), "Lost record " + sequence);
+		}
+	}
+
+	/**
+	 * Appends records from several threads until killed, printing the
+	 * sequence of each record once it is acknowledged.
+	 */
+	static final class Writer {
+
+		public static void main(String[] args) throws Exception {
+			OrderJournal journal = new OrderJournal(Path.of(args[0]), SEGMENT_BYTES, Duration.ofMillis(1), 1);
+			Object out = new Object();
+			for (int t = 0; t < 4; t++) {
+				Thread thread = new Thread(() -> {
+					while (true) {
+						// The payload names its own sequence, which is not known before appending
+						CompletableFuture<Long> durable;
+						synchronized (journal) {
+							durable = journal.append(record(journal.appendedSequence() + 1));
+						}
+						long sequence = durable.join();
+						synchronized (out) {
+							System.out.println(sequence);
+							System.out.flush();
+						}
+					}
+				});
+				thread.start();
+			}
+			Thread.sleep(Long.MAX_VALUE);
+		}
+	}
+}
@@ -1,36 +1,60 @@
 package com.fooddelivery.service;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import com.fooddelivery.dto.BatchOrderRequest;
+import com.fooddelivery.dto.BatchOrderResult;
+import com.fooddelivery.dto.CourierPosition;
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.OrderReceipt;
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.exception.OrderConflictException;
 import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.DeliveryZone;
 import com.fooddelivery.model.MenuItem;
+import com.fooddelivery.model.Money;
 import com.fooddelivery.model.Order;
 import com.fooddelivery.model.OrderItem;
+import com.fooddelivery.model.Restaurant;
 import com.fooddelivery.model.User;
+import com.fooddelivery.repository.CourierRepository;
+import com.fooddelivery.repository.MenuItemRepository;
 import com.fooddelivery.repository.OrderRepository;
 import com.fooddelivery.repository.UserRepository;
 
+import jakarta.persistence.EntityManager;
+
 /**
  * Unit tests for {@link OrderService}.
  */
@@ -43,6 +67,36 @@ class OrderServiceTest {
 	@Mock
 	private UserRepository userRepository;
 
+	@Mock
+	private UserCache userCache;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private ActiveOrderIndex activeOrderIndex;
+
+	@Mock
+	private OrderIntake orderIntake;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private MenuItemRepository menuItemRepository;
+
+	@Mock
+	private CourierRepository courierRepository;
+
+	@Mock
+	private CourierLocationStore courierLocationStore;
+
+	@Spy
+	private DeliveryZoneIndex deliveryZoneIndex = new DeliveryZoneIndex(null);
+
+	@Spy
+	private OrderItemValidator orderItemValidator = new OrderItemValidator();
+
 	@InjectMocks
 	private OrderService orderService;
 
@@ -50,6 +104,7 @@ class OrderServiceTest {
 	private Order order;
 	private OrderItem orderItem;
 	private MenuItem menuItem;
+	private Restaurant restaurant;
 
 	/**
 	 * Sets up test data before each test.
@@ -60,10 +115,14 @@ class OrderServiceTest {
 		user.setId(1L);
 		user.setName("John Doe");
 
+		restaurant = new Restaurant();
+		restaurant.setId(7L);
+
 		menuItem = new MenuItem();
 		menuItem.setId(1L);
 		menuItem.setName("Pizza");
-		menuItem.setPrice(Double.valueOf(9.99));
+		menuItem.setPrice(Money.of("9.99"));
+		menuItem.setRestaurant(restaurant);
 
 		orderItem = new OrderItem();
 		orderItem.setId(1L);
@@ -74,7 +133,7 @@ class OrderServiceTest {
 		order.setId(1L);
 		order.setCustomer(user);
 		order.setItems(List.of(orderItem));
-		order.setTotalPrice(BigDecimal.valueOf(19.98));
+		order.setTotalPrice(Money.of("19.98"));
 		order.setStatus(Order.OrderStatus.PLACED);
 		order.setOrderTime(LocalDateTime.now());
 	}
@@ -84,16 +143,18 @@ class OrderServiceTest {
 	 */
 	@Test
 	void testPlaceOrder_Success() {
-		when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+		when(menuItemRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(menuItem));
 		when(orderRepository.save(any(Order.class))).thenReturn(order);
 
 		Order placedOrder = orderService.placeOrder(1L, List.of(orderItem));
 
 		assertNotNull(placedOrder);
 		assertEquals(1L, placedOrder.getCustomer().getId());
-		assertEquals(BigDecimal.valueOf(19.98), placedOrder.getTotalPrice());
-		verify(userRepository, times(1)).findById(1L);
+		assertEquals(Money.of("19.98"), placedOrder.getTotalPrice());
+		verify(userCache, times(1)).get(1L);
 		verify(orderRepository, times(1)).save(any(Order.class));
+		verify(eventPublisher, times(1)).publishEvent(any(OrderChangedEvent.class));
 	}
 
 	/**
@@ -101,13 +162,13 @@ class OrderServiceTest {
 	 */
 	@Test
 	void testPlaceOrder_UserNotFound() {
-		when(userRepository.findById(1L)).thenReturn(Optional.empty());
+		when(userCache.get(1L)).thenReturn(Optional.empty());
 
 		ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
 				() -> orderService.placeOrder(1L, List.of(orderItem)));
 
 		assertEquals("User not found with ID: 1", exception.getMessage());
-		verify(userRepository, times(1)).findById(1L);
+		verify(userCache, times(1)).get(1L);
 		verify(orderRepository, never()).save(any(Order.class));
 	}
 
@@ -120,41 +181,506 @@ class OrderServiceTest {
 		invalidItem.setId(2L);
 		invalidItem.setQuantity(2);
 
-		when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
 
 		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
 				() -> orderService.placeOrder(1L, List.of(invalidItem)));
 
 		assertEquals("Invalid OrderItem: Menu item cannot be null", exception.getMessage());
-		verify(userRepository, times(1)).findById(1L);
+		verify(userCache, times(1)).get(1L);
+		verify(orderRepository, never()).save(any(Order.class));
+	}
+
+	/**
+	 * Tests that unit prices and the total come from the stored menu item, not
+	 * from the price sent with the order.
+	 */
+	@Test
+	void testPlaceOrder_UsesCataloguePrice() {
+		MenuItem requested = new MenuItem();
+		requested.setId(1L);
+		requested.setPrice(Money.of("0.01"));
+		OrderItem item = new OrderItem();
+		item.setMenuItem(requested);
+		item.setQuantity(2);
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+		when(menuItemRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(menuItem));
+		when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		Order placedOrder = orderService.placeOrder(1L, List.of(item));
+
+		assertEquals(Money.of("19.98"), placedOrder.getTotalPrice());
+		assertEquals(Money.of("9.99"), item.getUnitPrice());
+		assertEquals(menuItem, item.getMenuItem());
+	}
+
+	/**
+	 * Tests that an order for a menu item that does not exist is rejected.
+	 */
+	@Test
+	void testPlaceOrder_UnknownMenuItem() {
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+		when(menuItemRepository.findByIdIn(Set.of(1L))).thenReturn(List.of());
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> orderService.placeOrder(1L, List.of(orderItem)));
+
+		assertEquals("Invalid OrderItem: Menu item not found with ID: 1", exception.getMessage());
+		verify(orderRepository, never()).save(any(Order.class));
+	}
+
+	/**
+	 * Tests that accepting an order validates it, hands it to the journal and
+	 * does not write to the database.
+	 */
+	@Test
+	void testAcceptOrder_WritesToJournal() {
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+		when(menuItemRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(menuItem));
+		when(orderIntake.accept(any(Order.class))).thenAnswer(invocation -> {
+			Order accepted = invocation.getArgument(0);
+			return new OrderReceipt(42L, 1L, accepted.getTotalPrice(), accepted.getOrderTime());
+		});
+
+		OrderReceipt receipt = orderService.acceptOrder(1L, List.of(orderItem));
+
+		assertEquals(42L, receipt.getJournalSequence());
+		assertEquals(Money.of("19.98"), receipt.getTotalPrice());
+		assertEquals(Money.of("9.99"), orderItem.getUnitPrice());
+		verify(orderRepository, never()).save(any(Order.class));
+		verifyNoInteractions(eventPublisher);
+	}
+
+	/**
+	 * Tests that an invalid order is rejected before it reaches the journal.
+	 */
+	@Test
+	void testAcceptOrder_InvalidOrderItem() {
+		OrderItem invalidItem = new OrderItem();
+		invalidItem.setQuantity(2);
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+
+		assertThrows(IllegalArgumentException.class, () -> orderService.acceptOrder(1L, List.of(invalidItem)));
+
+		verify(orderIntake, never()).accept(any(Order.class));
+	}
+
+	/**
+	 * Tests that a journaled order is reported pending until it is stored and
+	 * then loaded with its details.
+	 */
+	@Test
+	void testGetJournaledOrder() {
+		when(orderIntake.isPending(7L)).thenReturn(true, false);
+		when(orderIntake.findOrderId(7L)).thenReturn(1L);
+		when(orderRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(order));
+
+		assertFalse(orderService.getJournaledOrder(7L).isPresent());
+		assertEquals(order, orderService.getJournaledOrder(7L).orElseThrow());
+	}
+
+	/**
+	 * Tests that an unknown or rejected journal entry is not found.
+	 */
+	@Test
+	void testGetJournaledOrder_Unknown() {
+		when(orderIntake.findOrderId(8L)).thenReturn(null);
+
+		assertThrows(ResourceNotFoundException.class, () -> orderService.getJournaledOrder(8L));
+	}
+
+	/**
+	 * Zones restaurant 7, which menu item 1 is from, to a square around
+	 * 52.37, 4.89.
+	 */
+	private void zoneRestaurantOfMenuItem() {
+		restaurant.setDeliveryZone(DeliveryZone.of(
+				new double[][] { { 52.36, 4.88 }, { 52.36, 4.90 }, { 52.38, 4.90 }, { 52.38, 4.88 } }));
+		deliveryZoneIndex.index(restaurant);
+		when(menuItemRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(menuItem));
+	}
+
+	/**
+	 * Tests that an order inside the restaurant's delivery zone is placed.
+	 */
+	@Test
+	void testPlaceOrder_InsideDeliveryZone() {
+		zoneRestaurantOfMenuItem();
+		user.setLatitude(52.37);
+		user.setLongitude(4.89);
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+		when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+		assertNotNull(orderService.placeOrder(1L, List.of(orderItem)));
+	}
+
+	/**
+	 * Tests that an order outside the restaurant's delivery zone, or for a
+	 * user without a position, is rejected before anything is saved.
+	 */
+	@Test
+	void testPlaceOrder_OutsideDeliveryZone() {
+		zoneRestaurantOfMenuItem();
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+
+		IllegalArgumentException noLocation = assertThrows(IllegalArgumentException.class,
+				() -> orderService.placeOrder(1L, List.of(orderItem)));
+		user.setLatitude(51.92);
+		user.setLongitude(4.48);
+		IllegalArgumentException outside = assertThrows(IllegalArgumentException.class,
+				() -> orderService.placeOrder(1L, List.of(orderItem)));
+
+		assertEquals("User 1 has no location, which restaurant 7 needs to deliver", noLocation.getMessage());
+		assertEquals("Restaurant 7 does not deliver to the address of user 1", outside.getMessage());
+		verify(orderRepository, never()).save(any(Order.class));
+	}
+
+	/**
+	 * Tests that an item whose restaurant is unknown is rejected rather than
+	 * let through the delivery zone check.
+	 */
+	@Test
+	void testPlaceOrder_MenuItemWithoutRestaurant() {
+		zoneRestaurantOfMenuItem();
+		menuItem.setRestaurant(null);
+		when(userCache.get(1L)).thenReturn(Optional.of(user));
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> orderService.placeOrder(1L, List.of(orderItem)));
+
+		assertEquals("Menu item 1 has no restaurant", exception.getMessage());
+		verify(orderRepository, never()).save(any(Order.class));
+	}
+
+	/**
+	 * Tests placing a batch where some orders are invalid.
+	 */
+	@Test
+	void testPlaceOrders_ReportsPerOrderResults() {
+		OrderItem invalidItem = new OrderItem();
+		invalidItem.setQuantity(1);
+
+		when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user));
+		when(menuItemRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(menuItem));
+		when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Order> orders = invocation.getArgument(0);
+			long id = 100L;
+			for (Order saved : orders) {
+				saved.setId(id++);
+			}
+			return orders;
+		});
+
+		List<BatchOrderResult> results = orderService.placeOrders(List.of(
+				new BatchOrderRequest(1L, List.of(orderItem)),
+				new BatchOrderRequest(2L, List.of(orderItem)),
+				new BatchOrderRequest(1L, List.of(invalidItem)),
+				new BatchOrderRequest(1L, List.of(orderItem))));
+
+		assertEquals(4, results.size());
+		assertTrue(results.get(0).isSuccess());
+		assertEquals(100L, results.get(0).getOrderId());
+		assertFalse(results.get(1).isSuccess());
+		assertEquals("User not found with ID: 2", results.get(1).getError());
+		assertFalse(results.get(2).isSuccess());
+		assertEquals("Invalid OrderItem: Menu item cannot be null", results.get(2).getError());
+		assertTrue(results.get(3).isSuccess());
+		assertEquals(101L, results.get(3).getOrderId());
+		verify(userRepository, times(1)).findAllById(anyIterable());
+		verify(menuItemRepository, times(1)).findByIdIn(Set.of(1L));
+		verify(orderRepository, times(1)).saveAll(anyList());
 		verify(orderRepository, never()).save(any(Order.class));
+
+		ArgumentCaptor<OrderChangedEvent> event = ArgumentCaptor.forClass(OrderChangedEvent.class);
+		verify(eventPublisher, times(1)).publishEvent(event.capture());
+		assertEquals(List.of(100L, 101L), event.getValue().getOrderIds());
+	}
+
+	/**
+	 * Tests retrieving the first page of orders by status.
+	 */
+	@Test
+	void testGetOrdersByStatus_FirstPage() {
+		when(orderRepository.findFirstPageIdsByStatus(Order.OrderStatus.PLACED, PageRequest.of(0, 51)))
+				.thenReturn(List.of(1L));
+		when(orderRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(order));
+
+		CursorPage<Order> page = orderService.getOrdersByStatus(Order.OrderStatus.PLACED, null, 50);
+
+		assertEquals(1, page.getItems().size());
+		assertEquals(Order.OrderStatus.PLACED, page.getItems().get(0).getStatus());
+		assertNull(page.getNextCursor());
+		verify(orderRepository, times(1)).findFirstPageIdsByStatus(Order.OrderStatus.PLACED, PageRequest.of(0, 51));
+	}
+
+	/**
+	 * Tests that a full page returns a cursor which resumes after its last
+	 * order, and that orders keep the order of the page IDs.
+	 */
+	@Test
+	void testGetOrdersByStatus_NextCursor() {
+		Order second = new Order();
+		second.setId(2L);
+		second.setOrderTime(order.getOrderTime().plusMinutes(1));
+		Order third = new Order();
+		third.setId(3L);
+		third.setOrderTime(order.getOrderTime().plusMinutes(2));
+
+		when(orderRepository.findFirstPageIdsByStatus(Order.OrderStatus.PLACED, PageRequest.of(0, 3)))
+				.thenReturn(List.of(1L, 2L, 3L));
+		when(orderRepository.findWithDetailsByIdIn(List.of(1L, 2L))).thenReturn(List.of(second, order));
+		when(orderRepository.findPageIdsByStatusAfter(Order.OrderStatus.PLACED, second.getOrderTime(), 2L,
+				PageRequest.of(0, 3))).thenReturn(List.of(3L));
+		when(orderRepository.findWithDetailsByIdIn(List.of(3L))).thenReturn(List.of(third));
+
+		CursorPage<Order> first = orderService.getOrdersByStatus(Order.OrderStatus.PLACED, null, 2);
+		CursorPage<Order> next = orderService.getOrdersByStatus(Order.OrderStatus.PLACED, first.getNextCursor(), 2);
+
+		assertEquals(List.of(order, second), first.getItems());
+		assertNotNull(first.getNextCursor());
+		assertEquals(List.of(third), next.getItems());
+		assertNull(next.getNextCursor());
+	}
+
+	/**
+	 * Tests that active statuses are served from the index without querying
+	 * the database.
+	 */
+	@Test
+	void testGetOrdersByStatus_ServedFromActiveOrderIndex() {
+		CursorPage<Order> indexed = new CursorPage<>(List.of(order), null);
+		when(activeOrderIndex.isServing(Order.OrderStatus.PLACED)).thenReturn(true);
+		when(activeOrderIndex.getPage(Order.OrderStatus.PLACED, null, 50)).thenReturn(indexed);
+
+		CursorPage<Order> page = orderService.getOrdersByStatus(Order.OrderStatus.PLACED, null, 50);
+
+		assertEquals(indexed, page);
+		verifyNoInteractions(orderRepository);
+	}
+
+	/**
+	 * Tests that the page size is capped and an empty page issues no details
+	 * query.
+	 */
+	@Test
+	void testGetOrdersByStatus_PageSizeCapped() {
+		when(orderRepository.findFirstPageIdsByStatus(Order.OrderStatus.DELIVERED,
+				PageRequest.of(0, OrderService.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+
+		CursorPage<Order> page = orderService.getOrdersByStatus(Order.OrderStatus.DELIVERED, null, 100_000);
+
+		assertTrue(page.getItems().isEmpty());
+		verify(orderRepository, times(1)).findFirstPageIdsByStatus(Order.OrderStatus.DELIVERED,
+				PageRequest.of(0, OrderService.MAX_PAGE_SIZE + 1));
+		verify(orderRepository, never()).findWithDetailsByIdIn(anyList());
+	}
+
+	/**
+	 * Tests streaming orders by status.
+	 */
+	@Test
+	void testStreamOrdersByStatus() {
+		when(orderRepository.streamIdsByStatus(Order.OrderStatus.DELIVERED)).thenReturn(Stream.of(1L));
+		when(orderRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(order));
+
+		List<Order> streamed = new ArrayList<>();
+		orderService.streamOrdersByStatus(Order.OrderStatus.DELIVERED, streamed::add);
+
+		assertEquals(List.of(order), streamed);
+		verify(entityManager, times(1)).clear();
 	}
 
 	/**
-	 * Tests retrieving orders by status.
+	 * Tests a valid status transition.
 	 */
 	@Test
-	void testGetOrdersByStatus_Success() {
-		when(orderRepository.findByStatus(Order.OrderStatus.PLACED)).thenReturn(Arrays.asList(order));
+	void testTransitionStatus_Success() {
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, Order.OrderStatus.PLACED, 3L)));
+		when(orderRepository.updateStatusIfVersion(1L, Order.OrderStatus.PREPARING, 3L)).thenReturn(1);
 
-		List<Order> orders = orderService.getOrdersByStatus(Order.OrderStatus.PLACED);
+		OrderStatusView result = orderService.transitionStatus(1L, Order.OrderStatus.PREPARING, null);
 
-		assertFalse(orders.isEmpty());
-		assertEquals(1, orders.size());
-		assertEquals(Order.OrderStatus.PLACED, orders.get(0).getStatus());
-		verify(orderRepository, times(1)).findByStatus(Order.OrderStatus.PLACED);
+		assertEquals(Order.OrderStatus.PREPARING, result.getStatus());
+		assertEquals(4L, result.getVersion());
+		verify(eventPublisher, times(1)).publishEvent(any(OrderChangedEvent.class));
 	}
 
 	/**
-	 * Tests retrieving orders when there are no orders with the specified status.
+	 * Tests that a transition not allowed by the state machine is rejected.
 	 */
 	@Test
-	void testGetOrdersByStatus_NoOrdersFound() {
-		when(orderRepository.findByStatus(Order.OrderStatus.DELIVERED)).thenReturn(List.of());
+	void testTransitionStatus_InvalidTransition() {
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, Order.OrderStatus.DELIVERED, 5L)));
+
+		OrderConflictException exception = assertThrows(OrderConflictException.class,
+				() -> orderService.transitionStatus(1L, Order.OrderStatus.PREPARING, null));
 
-		List<Order> orders = orderService.getOrdersByStatus(Order.OrderStatus.DELIVERED);
+		assertEquals("Order 1 cannot move from DELIVERED to PREPARING", exception.getMessage());
+		verify(orderRepository, never()).updateStatusIfVersion(any(), any(), any());
+	}
+
+	/**
+	 * Tests that a stale expected version is rejected.
+	 */
+	@Test
+	void testTransitionStatus_StaleExpectedVersion() {
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, Order.OrderStatus.PLACED, 3L)));
+
+		assertThrows(OrderConflictException.class,
+				() -> orderService.transitionStatus(1L, Order.OrderStatus.PREPARING, 2L));
+		verify(orderRepository, never()).updateStatusIfVersion(any(), any(), any());
+	}
+
+	/**
+	 * Tests that a transition losing a race is re-validated against the new
+	 * status.
+	 */
+	@Test
+	void testTransitionStatus_RetriesAfterConcurrentChange() {
+		when(orderRepository.findStatusById(1L)).thenReturn(
+				Optional.of(new OrderStatusView(1L, Order.OrderStatus.PLACED, 3L)),
+				Optional.of(new OrderStatusView(1L, Order.OrderStatus.PREPARING, 4L)));
+		when(orderRepository.updateStatusIfVersion(1L, Order.OrderStatus.CANCELLED, 3L)).thenReturn(0);
+		when(orderRepository.updateStatusIfVersion(1L, Order.OrderStatus.CANCELLED, 4L)).thenReturn(1);
+
+		OrderStatusView result = orderService.transitionStatus(1L, Order.OrderStatus.CANCELLED, null);
+
+		assertEquals(Order.OrderStatus.CANCELLED, result.getStatus());
+		assertEquals(5L, result.getVersion());
+		verify(orderRepository, times(2)).findStatusById(1L);
+	}
+
+	/**
+	 * Tests that a missing order is reported.
+	 */
+	@Test
+	void testTransitionStatus_OrderNotFound() {
+		when(orderRepository.findStatusById(9L)).thenReturn(Optional.empty());
+
+		assertThrows(ResourceNotFoundException.class,
+				() -> orderService.transitionStatus(9L, Order.OrderStatus.CANCELLED, null));
+	}
+
+	/**
+	 * Tests assigning a courier to an active order.
+	 */
+	@Test
+	void testAssignCourier_Success() {
+		when(courierRepository.existsById(7L)).thenReturn(true);
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, Order.OrderStatus.PREPARING, 3L)));
+		when(orderRepository.updateCourierIfVersion(1L, 7L, 3L)).thenReturn(1);
+
+		OrderStatusView result = orderService.assignCourier(1L, 7L);
+
+		assertEquals(Order.OrderStatus.PREPARING, result.getStatus());
+		assertEquals(4L, result.getVersion());
+		verify(eventPublisher, times(1)).publishEvent(any(OrderChangedEvent.class));
+	}
+
+	/**
+	 * Tests that an unknown courier is reported before the order is read.
+	 */
+	@Test
+	void testAssignCourier_CourierNotFound() {
+		when(courierRepository.existsById(7L)).thenReturn(false);
+
+		assertThrows(ResourceNotFoundException.class, () -> orderService.assignCourier(1L, 7L));
+		verify(orderRepository, never()).findStatusById(any());
+	}
+
+	/**
+	 * Tests that a finished order cannot be assigned a courier.
+	 */
+	@Test
+	void testAssignCourier_TerminalOrder() {
+		when(courierRepository.existsById(7L)).thenReturn(true);
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, Order.OrderStatus.DELIVERED, 5L)));
+
+		assertThrows(OrderConflictException.class, () -> orderService.assignCourier(1L, 7L));
+		verify(orderRepository, never()).updateCourierIfVersion(any(), any(), any());
+	}
+
+	/**
+	 * Tests that dispatch assigns a courier on the version it planned with.
+	 */
+	@Test
+	void testDispatchCourier_Success() {
+		order.setStatus(Order.OrderStatus.PREPARING);
+		order.setVersion(3L);
+		when(courierRepository.existsById(7L)).thenReturn(true);
+		when(orderRepository.updateCourierIfVersion(1L, 7L, 3L)).thenReturn(1);
+
+		OrderStatusView result = orderService.dispatchCourier(order, 7L);
+
+		assertEquals(Order.OrderStatus.PREPARING, result.getStatus());
+		assertEquals(4L, result.getVersion());
+		verify(eventPublisher, times(1)).publishEvent(any(OrderChangedEvent.class));
+	}
+
+	/**
+	 * Tests that dispatch gives up at once on an order that changed since it
+	 * was planned, such as one assigned a courier by hand, instead of
+	 * re-reading it and overwriting the change.
+	 */
+	@Test
+	void testDispatchCourier_ChangedSincePlanned() {
+		order.setStatus(Order.OrderStatus.PREPARING);
+		order.setVersion(3L);
+		when(courierRepository.existsById(7L)).thenReturn(true);
+		when(orderRepository.updateCourierIfVersion(1L, 7L, 3L)).thenReturn(0);
+
+		assertThrows(OrderConflictException.class, () -> orderService.dispatchCourier(order, 7L));
+
+		verify(orderRepository, times(1)).updateCourierIfVersion(1L, 7L, 3L);
+		verify(orderRepository, never()).findStatusById(any());
+		verifyNoInteractions(eventPublisher);
+	}
+
+	/**
+	 * Tests that the courier position of an order out for delivery is read
+	 * from memory.
+	 */
+	@Test
+	void testGetCourierPosition_OutForDelivery() {
+		order.setStatus(Order.OrderStatus.OUT_FOR_DELIVERY);
+		order.setCourierId(7L);
+		CourierPosition position = new CourierPosition(7L, 52.52, 13.40, Instant.now());
+		when(activeOrderIndex.get(1L)).thenReturn(order);
+		when(courierLocationStore.latest(7L)).thenReturn(position);
+
+		assertEquals(position, orderService.getCourierPosition(1L));
+		verifyNoInteractions(orderRepository);
+	}
+
+	/**
+	 * Tests that the courier position is not shown before the order leaves the
+	 * restaurant.
+	 */
+	@Test
+	void testGetCourierPosition_NotOutForDelivery() {
+		order.setStatus(Order.OrderStatus.PREPARING);
+		order.setCourierId(7L);
+		when(activeOrderIndex.get(1L)).thenReturn(order);
+
+		assertThrows(ResourceNotFoundException.class, () -> orderService.getCourierPosition(1L));
+		verifyNoInteractions(courierLocationStore);
+	}
+
+	/**
+	 * Tests that a missing courier position is reported.
+	 */
+	@Test
+	void testGetCourierPosition_NoRecentPosition() {
+		order.setStatus(Order.OrderStatus.OUT_FOR_DELIVERY);
+		order.setCourierId(7L);
+		when(activeOrderIndex.get(1L)).thenReturn(order);
+		when(courierLocationStore.latest(7L)).thenReturn(null);
 
-		assertTrue(orders.isEmpty());
-		verify(orderRepository, times(1)).findByStatus(Order.OrderStatus.DELIVERED);
+		assertThrows(ResourceNotFoundException.class, () -> orderService.getCourierPosition(1L));
 	}
 }
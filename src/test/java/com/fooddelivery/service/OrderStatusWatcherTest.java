@@ -0,0 +1,150 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.fooddelivery.dto.OrderStatusView;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.model.Order.OrderStatus;
+import com.fooddelivery.repository.OrderRepository;
+
+/**
+ * Unit tests for {@link OrderStatusWatcher}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderStatusWatcherTest {
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	private OrderStatusWatcher watcher;
+
+	@BeforeEach
+	void setUp() {
+		watcher = new OrderStatusWatcher(orderRepository, Duration.ofSeconds(30));
+	}
+
+	private static OrderChangedEvent changed(long orderId, OrderStatus status, long version) {
+		return new OrderChangedEvent(List.of(new OrderStatusView(orderId, status, version)));
+	}
+
+	/**
+	 * Tests that a poll without a version is answered immediately.
+	 */
+	@Test
+	void testWatch_WithoutVersion() {
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, OrderStatus.PLACED, 0L)));
+
+		DeferredResult<OrderStatusView> result = watcher.watch(1L, null);
+
+		assertTrue(result.hasResult());
+		assertEquals(0L, ((OrderStatusView) result.getResult()).getVersion());
+		assertEquals(0, watcher.waiterCount(1L));
+	}
+
+	/**
+	 * Tests that a poll for an older version is answered immediately.
+	 */
+	@Test
+	void testWatch_AlreadyChanged() {
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, OrderStatus.PREPARING, 1L)));
+
+		DeferredResult<OrderStatusView> result = watcher.watch(1L, 0L);
+
+		assertTrue(result.hasResult());
+		assertEquals(OrderStatus.PREPARING, ((OrderStatusView) result.getResult()).getStatus());
+	}
+
+	/**
+	 * Tests that a poll on a finished order does not wait.
+	 */
+	@Test
+	void testWatch_TerminalStatus() {
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, OrderStatus.DELIVERED, 3L)));
+
+		DeferredResult<OrderStatusView> result = watcher.watch(1L, 3L);
+
+		assertTrue(result.hasResult());
+		assertEquals(0, watcher.waiterCount(1L));
+	}
+
+	/**
+	 * Tests that a waiting poll is completed by the next change only.
+	 */
+	@Test
+	void testWatch_WokenByChange() {
+		when(orderRepository.findStatusById(1L))
+				.thenReturn(Optional.of(new OrderStatusView(1L, OrderStatus.PLACED, 0L)));
+
+		DeferredResult<OrderStatusView> result = watcher.watch(1L, 0L);
+		assertFalse(result.hasResult());
+		assertEquals(1, watcher.waiterCount(1L));
+
+		watcher.onOrderChanged(changed(2L, OrderStatus.PREPARING, 1L));
+		assertFalse(result.hasResult());
+
+		watcher.onOrderChanged(changed(1L, OrderStatus.PREPARING, 1L));
+		assertTrue(result.hasResult());
+		assertEquals(1L, ((OrderStatusView) result.getResult()).getVersion());
+		assertEquals(0, watcher.waiterCount(1L));
+	}
+
+	/**
+	 * Tests that a change published just before the poll registers, after its
+	 * status read, still completes it.
+	 */
+	@Test
+	void testWatch_ChangeBeforeRegistration() {
+		when(orderRepository.findStatusById(1L)).thenAnswer(invocation -> {
+			watcher.onOrderChanged(changed(1L, OrderStatus.PREPARING, 1L));
+			return Optional.of(new OrderStatusView(1L, OrderStatus.PLACED, 0L));
+		});
+
+		DeferredResult<OrderStatusView> result = watcher.watch(1L, 0L);
+
+		assertTrue(result.hasResult());
+		assertEquals(OrderStatus.PREPARING, ((OrderStatusView) result.getResult()).getStatus());
+		assertEquals(0, watcher.waiterCount(1L));
+	}
+
+	/**
+	 * Tests that a recently published change answers the poll without a query.
+	 */
+	@Test
+	void testWatch_RecentChangeSkipsQuery() {
+		watcher.onOrderChanged(changed(1L, OrderStatus.OUT_FOR_DELIVERY, 2L));
+
+		DeferredResult<OrderStatusView> result = watcher.watch(1L, 1L);
+
+		assertTrue(result.hasResult());
+		verify(orderRepository, never()).findStatusById(1L);
+	}
+
+	/**
+	 * Tests that polling an unknown order fails.
+	 */
+	@Test
+	void testWatch_NotFound() {
+		when(orderRepository.findStatusById(9L)).thenReturn(Optional.empty());
+
+		assertThrows(ResourceNotFoundException.class, () -> watcher.watch(9L, 0L));
+	}
+}
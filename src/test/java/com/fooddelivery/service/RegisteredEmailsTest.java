@@ -0,0 +1,109 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import com.fooddelivery.model.User;
+import com.fooddelivery.repository.UserRepository;
+
+/**
+ * Unit tests for {@link RegisteredEmails}.
+ */
+@ExtendWith(MockitoExtension.class)
+class RegisteredEmailsTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	private RegisteredEmails registeredEmails;
+
+	@BeforeEach
+	void setUp() {
+		registeredEmails = new RegisteredEmails(userRepository, 0.01);
+	}
+
+	private static User user(long id, String email) {
+		User user = new User();
+		user.setId(id);
+		user.setEmail(email);
+		return user;
+	}
+
+	private void stubUsers(User... users) {
+		when(userRepository.count()).thenReturn((long) users.length);
+		when(userRepository.findFirstPage(PageRequest.of(0, 1000))).thenReturn(List.of(users));
+	}
+
+	/**
+	 * Tests that every email may be registered until the filter is built.
+	 */
+	@Test
+	void testMightBeRegistered_BeforeRebuild() {
+		assertTrue(registeredEmails.mightBeRegistered("new@example.com"));
+		assertEquals(false, registeredEmails.stats().get("ready"));
+	}
+
+	/**
+	 * Tests that the emails in the database are found whatever their case, and
+	 * other emails are ruled out.
+	 */
+	@Test
+	void testRebuild() {
+		stubUsers(user(1L, "John@Example.com"), user(2L, "jane@example.com"));
+
+		registeredEmails.rebuild();
+
+		assertTrue(registeredEmails.mightBeRegistered("john@example.com"));
+		assertTrue(registeredEmails.mightBeRegistered(" JANE@example.com"));
+		assertFalse(registeredEmails.mightBeRegistered("new@example.com"));
+		assertEquals(2L, registeredEmails.stats().get("entries"));
+		assertEquals(1L, registeredEmails.stats().get("definiteMisses"));
+	}
+
+	/**
+	 * Tests that added emails are found at once, and stale ones are only
+	 * counted until the next rebuild.
+	 */
+	@Test
+	void testAddAndMarkStale() {
+		stubUsers(user(1L, "john@example.com"));
+		registeredEmails.rebuild();
+
+		registeredEmails.add("New@Example.com");
+		registeredEmails.markStale();
+
+		assertTrue(registeredEmails.mightBeRegistered("new@example.com"));
+		assertEquals(1L, registeredEmails.stats().get("staleEntries"));
+
+		registeredEmails.rebuild();
+
+		assertFalse(registeredEmails.mightBeRegistered("new@example.com"));
+		assertEquals(0L, registeredEmails.stats().get("staleEntries"));
+	}
+
+	/**
+	 * Tests that a failed rebuild keeps the previous filter.
+	 */
+	@Test
+	void testRebuild_FailureKeepsPreviousFilter() {
+		stubUsers(user(1L, "john@example.com"));
+		registeredEmails.rebuild();
+		when(userRepository.count()).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+		registeredEmails.rebuild();
+
+		assertTrue(registeredEmails.mightBeRegistered("john@example.com"));
+		assertFalse(registeredEmails.mightBeRegistered("new@example.com"));
+	}
+}
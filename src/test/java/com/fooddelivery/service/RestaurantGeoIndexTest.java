@@ -0,0 +1,151 @@
+package com.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.dto.NearbyRestaurant;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.repository.RestaurantRepository;
+
+/**
+ * Unit tests for {@link RestaurantGeoIndex}.
+ */
+@ExtendWith(MockitoExtension.class)
+class RestaurantGeoIndexTest {
+
+	private static final String[] CUISINES = { "Thai", "Italian", "Indian", "Mexican" };
+
+	@Mock
+	private RestaurantRepository restaurantRepository;
+
+	private RestaurantGeoIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new RestaurantGeoIndex(restaurantRepository);
+	}
+
+	private static Restaurant restaurant(long id, String cuisine, Double latitude, Double longitude) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(id);
+		restaurant.setName("Restaurant " + id);
+		restaurant.setCuisine(cuisine);
+		restaurant.setLatitude(latitude);
+		restaurant.setLongitude(longitude);
+		return restaurant;
+	}
+
+	private static List<Long> ids(List<NearbyRestaurant> restaurants) {
+		return restaurants.stream().map(NearbyRestaurant::getRestaurantId).toList();
+	}
+
+	/**
+	 * Tests that the nearest restaurants and the restaurants within a radius
+	 * match a scan over all restaurants, with and without a cuisine filter.
+	 */
+	@Test
+	void testSearch_MatchesBruteForce() {
+		Random random = new Random(7);
+		List<Restaurant> restaurants = new ArrayList<>();
+		for (long id = 1; id <= 5000; id++) {
+			Restaurant restaurant = restaurant(id, CUISINES[random.nextInt(CUISINES.length)],
+					52.2 + random.nextDouble() * 0.4, 4.6 + random.nextDouble() * 0.6);
+			restaurants.add(restaurant);
+			index.index(restaurant);
+		}
+
+		for (int query = 0; query < 50; query++) {
+			GeoPoint from = GeoPoint.of(52.2 + random.nextDouble() * 0.4, 4.6 + random.nextDouble() * 0.6);
+			String cuisineKey = query % 2 == 0 ? null : "thai";
+			List<Long> expected = restaurants.stream()
+					.filter(r -> cuisineKey == null || cuisineKey.equals(r.getCuisineKey()))
+					.sorted(Comparator.comparingDouble((Restaurant r) -> from.distanceTo(r.getLocation()))
+							.thenComparing(Restaurant::getId))
+					.map(Restaurant::getId)
+					.toList();
+
+			assertEquals(expected.subList(0, 10), ids(index.nearest(from, 10, cuisineKey)));
+
+			List<Long> withinRadius = restaurants.stream()
+					.filter(r -> cuisineKey == null || cuisineKey.equals(r.getCuisineKey()))
+					.filter(r -> from.distanceTo(r.getLocation()) <= 1500)
+					.map(Restaurant::getId)
+					.toList();
+			List<NearbyRestaurant> found = index.withinRadius(from, 1500, cuisineKey, 10_000);
+			assertEquals(withinRadius.size(), found.size());
+			assertEquals(expected.subList(0, found.size()), ids(found));
+		}
+	}
+
+	/**
+	 * Tests that a nearest search stops at the maximum search radius.
+	 */
+	@Test
+	void testNearest_StopsAtMaxRadius() {
+		index.index(restaurant(1, "Thai", 52.37, 4.89));
+		index.index(restaurant(2, "Thai", 48.86, 2.35));
+
+		List<NearbyRestaurant> found = index.nearest(GeoPoint.of(52.36, 4.90), 5, null);
+
+		assertEquals(List.of(1L), ids(found));
+		assertTrue(found.get(0).getDistanceMeters() < 2000);
+	}
+
+	/**
+	 * Tests searching across the antimeridian.
+	 */
+	@Test
+	void testNearest_AcrossAntimeridian() {
+		index.index(restaurant(1, "Thai", -16.5, 179.999));
+		index.index(restaurant(2, "Thai", -16.5, -179.995));
+		index.index(restaurant(3, "Thai", -16.5, 179.9));
+
+		assertEquals(List.of(1L, 2L, 3L), ids(index.nearest(GeoPoint.of(-16.5, -179.999), 5, null)));
+	}
+
+	/**
+	 * Tests that a moved restaurant is found only at its new position and a
+	 * restaurant without a position is removed.
+	 */
+	@Test
+	void testIndex_MoveAndRemove() {
+		index.index(restaurant(1, "Thai", 52.37, 4.89));
+		index.index(restaurant(2, "Thai", 52.3701, 4.8901));
+		index.index(restaurant(1, "Thai", 51.92, 4.48));
+
+		assertEquals(List.of(2L), ids(index.withinRadius(GeoPoint.of(52.37, 4.89), 1000, null, 10)));
+		assertEquals(List.of(1L), ids(index.withinRadius(GeoPoint.of(51.92, 4.48), 1000, null, 10)));
+
+		index.index(restaurant(2, "Thai", null, null));
+		index.remove(1L);
+		assertEquals(0, index.size());
+		assertTrue(index.nearest(GeoPoint.of(52.37, 4.89), 5, null).isEmpty());
+	}
+
+	/**
+	 * Tests that a rebuild loads the restaurants that have a position.
+	 */
+	@Test
+	void testRebuild() {
+		when(restaurantRepository.findFirstPage(any())).thenReturn(List.of(restaurant(1, "Thai", 52.37, 4.89),
+				restaurant(2, "Thai", null, null), restaurant(3, "Italian", 52.38, 4.90)));
+
+		index.rebuild();
+
+		assertEquals(2, index.size());
+		assertEquals(List.of(3L), ids(index.nearest(GeoPoint.of(52.37, 4.89), 5, "italian")));
+	}
+}
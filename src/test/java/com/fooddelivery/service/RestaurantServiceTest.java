@@ -0,0 +1,220 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import com.fooddelivery.dto.CuisineFacet;
+import com.fooddelivery.dto.IdCursor;
+import com.fooddelivery.dto.NearbyRestaurant;
+import com.fooddelivery.dto.RestaurantBrowsePage;
+import com.fooddelivery.exception.ResourceNotFoundException;
+import com.fooddelivery.exception.UserNotFoundException;
+import com.fooddelivery.model.DeliveryZone;
+import com.fooddelivery.model.GeoPoint;
+import com.fooddelivery.model.Restaurant;
+import com.fooddelivery.model.User;
+import com.fooddelivery.repository.RestaurantRepository;
+import com.fooddelivery.repository.UserRepository;
+
+/**
+ * Unit tests for {@link RestaurantService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class RestaurantServiceTest {
+
+	@Mock
+	private RestaurantRepository restaurantRepository;
+
+	@Mock
+	private CuisineFacets cuisineFacets;
+
+	@Mock
+	private RestaurantGeoIndex restaurantGeoIndex;
+
+	@Mock
+	private DeliveryZoneIndex deliveryZoneIndex;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@InjectMocks
+	private RestaurantService restaurantService;
+
+	private static Restaurant restaurant(long id, String cuisine) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(id);
+		restaurant.setName("Restaurant " + id);
+		restaurant.setCuisine(cuisine);
+		return restaurant;
+	}
+
+	/**
+	 * Tests that a cuisine filter is normalized and a full page gets a cursor.
+	 */
+	@Test
+	void testBrowse_ByCuisine() {
+		List<CuisineFacet> facets = List.of(new CuisineFacet("italian", "Italian", 3));
+		when(restaurantRepository.findFirstPageByCuisineKey("italian", PageRequest.of(0, 3)))
+				.thenReturn(List.of(restaurant(1, "Italian"), restaurant(4, "italian"), restaurant(7, "Italian")));
+		when(cuisineFacets.count("italian")).thenReturn(3L);
+		when(cuisineFacets.getFacets()).thenReturn(facets);
+
+		RestaurantBrowsePage page = restaurantService.browse(" ITALIAN ", null, 2);
+
+		assertEquals(2, page.getItems().size());
+		assertEquals(4L, IdCursor.decode(page.getNextCursor()).getId());
+		assertEquals(3L, page.getTotal());
+		assertEquals(facets, page.getFacets());
+	}
+
+	/**
+	 * Tests that the last page of all restaurants has no cursor.
+	 */
+	@Test
+	void testBrowse_LastPage() {
+		when(restaurantRepository.findPageAfter(4L, PageRequest.of(0, 3))).thenReturn(List.of(restaurant(7, "Thai")));
+		when(cuisineFacets.count(null)).thenReturn(3L);
+
+		RestaurantBrowsePage page = restaurantService.browse(null, new IdCursor(4L).encode(), 2);
+
+		assertEquals(1, page.getItems().size());
+		assertNull(page.getNextCursor());
+		assertFalse(page.isHasMore());
+		verify(restaurantRepository).findPageAfter(4L, PageRequest.of(0, 3));
+	}
+
+	/**
+	 * Tests that the page size is capped.
+	 */
+	@Test
+	void testBrowse_CapsPageSize() {
+		when(restaurantRepository.findFirstPage(PageRequest.of(0, RestaurantService.MAX_PAGE_SIZE + 1)))
+				.thenReturn(List.of());
+
+		RestaurantBrowsePage page = restaurantService.browse("", null, 10_000);
+
+		assertTrue(page.getItems().isEmpty());
+	}
+
+	/**
+	 * Tests that a malformed cursor is rejected.
+	 */
+	@Test
+	void testBrowse_InvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> restaurantService.browse(null, "abc", 10));
+	}
+
+	/**
+	 * Tests retrieving an unknown restaurant.
+	 */
+	@Test
+	void testGetRestaurantById_NotFound() {
+		when(restaurantRepository.findById(9L)).thenReturn(Optional.empty());
+
+		assertThrows(ResourceNotFoundException.class, () -> restaurantService.getRestaurantById(9L));
+	}
+
+	/**
+	 * Tests that a search without coordinates uses the user's position.
+	 */
+	@Test
+	void testFindNearby_FromUser() {
+		User user = new User();
+		user.setLatitude(52.37);
+		user.setLongitude(4.89);
+		List<NearbyRestaurant> nearby = List.of(new NearbyRestaurant(1L, "Restaurant 1", "Thai", 52.371, 4.89, 111));
+		when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+		when(restaurantGeoIndex.nearest(GeoPoint.of(52.37, 4.89), 10, "thai")).thenReturn(nearby);
+
+		assertEquals(nearby, restaurantService.findNearby(null, null, 5L, null, " Thai", 10));
+	}
+
+	/**
+	 * Tests that a radius search is bounded.
+	 */
+	@Test
+	void testFindNearby_Radius() {
+		when(restaurantGeoIndex.withinRadius(GeoPoint.of(52.37, 4.89), 2000.0, null, RestaurantService.MAX_PAGE_SIZE))
+				.thenReturn(List.of());
+
+		assertTrue(restaurantService.findNearby(52.37, 4.89, null, 2000.0, null, 500).isEmpty());
+		assertThrows(IllegalArgumentException.class,
+				() -> restaurantService.findNearby(52.37, 4.89, null, 1e7, null, 10));
+	}
+
+	/**
+	 * Tests that a search needs a valid position.
+	 */
+	@Test
+	void testFindNearby_InvalidPosition() {
+		assertThrows(IllegalArgumentException.class,
+				() -> restaurantService.findNearby(null, null, null, null, null, 10));
+		assertThrows(IllegalArgumentException.class,
+				() -> restaurantService.findNearby(52.37, null, null, null, null, 10));
+		assertThrows(IllegalArgumentException.class,
+				() -> restaurantService.findNearby(91.0, 4.89, null, null, null, 10));
+
+		when(userRepository.findById(5L)).thenReturn(Optional.of(new User()));
+		assertThrows(IllegalArgumentException.class,
+				() -> restaurantService.findNearby(null, null, 5L, null, null, 10));
+		when(userRepository.findById(6L)).thenReturn(Optional.empty());
+		assertThrows(UserNotFoundException.class, () -> restaurantService.findNearby(null, null, 6L, null, null, 10));
+	}
+
+	/**
+	 * Tests that a new position is saved and indexed.
+	 */
+	@Test
+	void testUpdateLocation() {
+		Restaurant restaurant = restaurant(3, "Thai");
+		when(restaurantRepository.findById(3L)).thenReturn(Optional.of(restaurant));
+		when(restaurantRepository.save(restaurant)).thenReturn(restaurant);
+
+		Restaurant updated = restaurantService.updateLocation(3L, 52.37, 4.89);
+
+		assertEquals(52.37, updated.getLatitude());
+		assertEquals(4.89, updated.getLongitude());
+		verify(restaurantGeoIndex).index(restaurant);
+		assertThrows(IllegalArgumentException.class, () -> restaurantService.updateLocation(3L, 52.37, 181));
+	}
+
+	/**
+	 * Tests finding the restaurants delivering to a position.
+	 */
+	@Test
+	void testFindDeliveringTo() {
+		when(deliveryZoneIndex.restaurantsDeliveringTo(GeoPoint.of(52.37, 4.89))).thenReturn(List.of(1L, 3L));
+
+		assertEquals(List.of(1L, 3L), restaurantService.findDeliveringTo(52.37, 4.89, null));
+	}
+
+	/**
+	 * Tests that a new delivery zone is saved and indexed.
+	 */
+	@Test
+	void testUpdateDeliveryZone() {
+		Restaurant restaurant = restaurant(3, "Thai");
+		DeliveryZone zone = DeliveryZone.of(new double[][] { { 52.3, 4.8 }, { 52.3, 5.0 }, { 52.4, 4.9 } });
+		when(restaurantRepository.findById(3L)).thenReturn(Optional.of(restaurant));
+		when(restaurantRepository.save(restaurant)).thenReturn(restaurant);
+
+		Restaurant updated = restaurantService.updateDeliveryZone(3L, zone);
+
+		assertEquals(zone, updated.getDeliveryZone());
+		verify(deliveryZoneIndex).index(restaurant);
+	}
+}
@@ -0,0 +1,103 @@
+package com.fooddelivery.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.dto.Suggestion;
+import com.fooddelivery.dto.Suggestion.Type;
+
+/**
+ * Unit tests for {@link SuggestionTrie}.
+ */
+class SuggestionTrieTest {
+
+	private static List<String> texts(List<Suggestion> suggestions) {
+		return suggestions.stream().map(Suggestion::getText).toList();
+	}
+
+	/**
+	 * Tests that prefixes match the start of any word, ranked by popularity.
+	 */
+	@Test
+	void testSuggest_WordPrefixesByPopularity() {
+		SuggestionTrie trie = SuggestionTrie.builder()
+				.add(Type.DISH, 1L, "Pad Thai", 50)
+				.add(Type.DISH, 2L, "Pad See Ew", 20)
+				.add(Type.RESTAURANT, 3L, "Thai Palace", 80)
+				.add(Type.DISH, 4L, "Paella", 10)
+				.build();
+
+		assertEquals(List.of("Thai Palace", "Pad Thai", "Pad See Ew", "Paella"), texts(trie.suggest("pa", 10)));
+		assertEquals(List.of("Pad Thai", "Pad See Ew"), texts(trie.suggest("PAD", 10)));
+		assertEquals(List.of("Thai Palace", "Pad Thai"), texts(trie.suggest("th", 10)));
+		assertEquals(List.of("Thai Palace"), texts(trie.suggest("pal", 10)));
+		assertEquals(List.of("Pad Thai"), texts(trie.suggest("pad t", 10)));
+		assertEquals(List.of("Thai Palace"), texts(trie.suggest("pa", 1)));
+		assertTrue(trie.suggest("pizza", 10).isEmpty());
+		assertTrue(trie.suggest("  ", 10).isEmpty());
+	}
+
+	/**
+	 * Tests that a dish offered by several restaurants is suggested once,
+	 * with the combined popularity and the most popular one's ID.
+	 */
+	@Test
+	void testSuggest_MergesSameName() {
+		SuggestionTrie trie = SuggestionTrie.builder()
+				.add(Type.DISH, 1L, "Margherita", 5)
+				.add(Type.DISH, 2L, "margherita ", 30)
+				.add(Type.RESTAURANT, 3L, "Margherita", 1)
+				.build();
+
+		List<Suggestion> suggestions = trie.suggest("marg", 10);
+
+		assertEquals(2, suggestions.size());
+		assertEquals(Type.DISH, suggestions.get(0).getType());
+		assertEquals(2L, suggestions.get(0).getId());
+		assertEquals(35L, suggestions.get(0).getPopularity());
+		assertEquals("margherita", suggestions.get(0).getText());
+		assertEquals(Type.RESTAURANT, suggestions.get(1).getType());
+	}
+
+	/**
+	 * Tests that accents and punctuation are ignored.
+	 */
+	@Test
+	void testSuggest_FoldsAccents() {
+		SuggestionTrie trie = SuggestionTrie.builder().add(Type.DISH, 1L, "Crème Brûlée", 1).build();
+
+		assertEquals(List.of("Crème Brûlée"), texts(trie.suggest("creme bru", 10)));
+		assertEquals(List.of("Crème Brûlée"), texts(trie.suggest("brû", 10)));
+	}
+
+	/**
+	 * Tests that nodes with precomputed top lists rank like scanned ones.
+	 */
+	@Test
+	void testSuggest_LargeRanges() {
+		SuggestionTrie.Builder builder = SuggestionTrie.builder();
+		for (long i = 0; i < 500; i++) {
+			builder.add(Type.DISH, i, "Burger " + i, i);
+		}
+		SuggestionTrie trie = builder.build();
+
+		List<Suggestion> top = trie.suggest("b", 3);
+		assertEquals(List.of("Burger 499", "Burger 498", "Burger 497"), texts(top));
+		assertEquals(SuggestionTrie.MAX_SUGGESTIONS, trie.suggest("burger", 100).size());
+		assertEquals(List.of("Burger 429", "Burger 428"), texts(trie.suggest("burger 42", 2)));
+		assertEquals(List.of("Burger 499"), texts(trie.suggest("4", 1)));
+		assertEquals(List.of("Burger 79", "Burger 78"), texts(trie.suggest("7", 2)));
+		assertEquals(500, trie.size());
+	}
+
+	/**
+	 * Tests that an empty trie suggests nothing.
+	 */
+	@Test
+	void testSuggest_Empty() {
+		assertTrue(SuggestionTrie.builder().build().suggest("a", 5).isEmpty());
+	}
+}
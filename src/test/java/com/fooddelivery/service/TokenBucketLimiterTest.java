@@ -0,0 +1,122 @@
+package com.fooddelivery.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TokenBucketLimiter}.
+ */
+class TokenBucketLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	// Starts negative, as System.nanoTime may
+	private final AtomicLong now = new AtomicLong(-5 * SECOND);
+
+	/**
+	 * Tests that a key may take its burst at once and then one permit per
+	 * refill interval, and is told how long to wait in between.
+	 */
+	@Test
+	void testBurstThenRefill() {
+		TokenBucketLimiter<Long> limiter = new TokenBucketLimiter<>(2, 3, 4);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(1L, now.get()));
+		}
+		assertEquals(SECOND / 2, limiter.tryAcquire(1L, now.get()));
+		assertEquals(0, limiter.tryAcquire(2L, now.get()));
+
+		now.addAndGet(SECOND / 4);
+		assertEquals(SECOND / 4, limiter.tryAcquire(1L, now.get()));
+		now.addAndGet(SECOND / 4);
+		assertEquals(0, limiter.tryAcquire(1L, now.get()));
+		assertTrue(limiter.tryAcquire(1L, now.get()) > 0);
+
+		// A long pause refills the bucket only up to the burst
+		now.addAndGet(60 * SECOND);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(1L, now.get()));
+		}
+		assertTrue(limiter.tryAcquire(1L, now.get()) > 0);
+	}
+
+	/**
+	 * Tests that several permits are taken together or not at all, and that
+	 * more than the burst is refused.
+	 */
+	@Test
+	void testAcquireSeveralPermits() {
+		TokenBucketLimiter<Long> limiter = new TokenBucketLimiter<>(2, 4, 4);
+
+		assertEquals(0, limiter.tryAcquire(1L, 3, now.get()));
+		assertEquals(SECOND / 2, limiter.tryAcquire(1L, 2, now.get()));
+		assertEquals(0, limiter.tryAcquire(1L, now.get()));
+		now.addAndGet(SECOND);
+		assertEquals(0, limiter.tryAcquire(1L, 2, now.get()));
+		assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(1L, 5, now.get()));
+		assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(1L, 0, now.get()));
+	}
+
+	/**
+	 * Tests that refilled buckets are dropped and others kept.
+	 */
+	@Test
+	void testEvictIdle() {
+		TokenBucketLimiter<String> limiter = new TokenBucketLimiter<>(1, 2, 4);
+		limiter.tryAcquire("10.0.0.1", now.get());
+		limiter.tryAcquire("10.0.0.2", now.get());
+		now.addAndGet(SECOND / 2);
+		limiter.tryAcquire("10.0.0.2", now.get());
+
+		now.addAndGet(SECOND / 2);
+		assertEquals(1, limiter.evictIdle(now.get()));
+		assertEquals(1, limiter.size());
+		now.addAndGet(SECOND);
+		assertEquals(1, limiter.evictIdle(now.get()));
+		assertEquals(0, limiter.size());
+	}
+
+	/**
+	 * Tests that threads racing on one key are admitted exactly the burst.
+	 */
+	@Test
+	void testConcurrentAcquireAdmitsBurst() throws Exception {
+		TokenBucketLimiter<Long> limiter = new TokenBucketLimiter<>(1, 1000, 16);
+		AtomicInteger admitted = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (int t = 0; t < 8; t++) {
+				executor.execute(() -> {
+					for (int i = 0; i < 500; i++) {
+						if (limiter.tryAcquire(7L, now.get()) == 0) {
+							admitted.incrementAndGet();
+						}
+					}
+				});
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(1000, admitted.get());
+	}
+
+	/**
+	 * Tests that a limiter needs a positive rate and burst.
+	 */
+	@Test
+	void testInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter<Long>(0, 1, 1));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter<Long>(1, 0, 1));
+	}
+}
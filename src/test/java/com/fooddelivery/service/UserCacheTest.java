@@ -0,0 +1,146 @@
+package com.fooddelivery.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fooddelivery.model.User;
+import com.fooddelivery.repository.UserRepository;
+
+/**
+ * Unit tests for {@link UserCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	private AtomicLong nanos;
+	private UserCache userCache;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		nanos = new AtomicLong();
+		userCache = new UserCache(userRepository, 1_000, Duration.ofMinutes(10), Duration.ofSeconds(30), nanos::get);
+
+		user = new User();
+		user.setId(1L);
+		user.setName("John Doe");
+		user.setEmail("John@Example.com");
+	}
+
+	/**
+	 * Tests that repeated lookups by ID hit the database once.
+	 */
+	@Test
+	void testGet_Cached() {
+		when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+		userCache.get(1L);
+		Optional<User> cached = userCache.get(1L);
+
+		assertSame(user, cached.orElseThrow());
+		verify(userRepository, times(1)).findById(1L);
+		@SuppressWarnings("unchecked")
+		Map<String, Object> byId = (Map<String, Object>) userCache.stats().get("byId");
+		assertEquals(1L, byId.get("hitCount"));
+		assertEquals(1L, byId.get("missCount"));
+	}
+
+	/**
+	 * Tests that a missing user is remembered for the short time only, while a
+	 * found one is kept for the regular time.
+	 */
+	@Test
+	void testGet_MissingUserExpiresSooner() {
+		when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+		when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+		userCache.get(1L);
+		assertFalse(userCache.get(2L).isPresent());
+		nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+		assertFalse(userCache.get(2L).isPresent());
+		verify(userRepository, times(1)).findById(2L);
+
+		nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+		userCache.get(1L);
+		userCache.get(2L);
+
+		verify(userRepository, times(1)).findById(1L);
+		verify(userRepository, times(2)).findById(2L);
+	}
+
+	/**
+	 * Tests that emails are looked up normalized and resolve to the user cached
+	 * by ID.
+	 */
+	@Test
+	void testGetByEmail_Normalized() {
+		when(userRepository.findByEmailKey("john@example.com")).thenReturn(Optional.of(user));
+
+		Optional<User> first = userCache.getByEmail("  John@EXAMPLE.com ");
+		Optional<User> second = userCache.getByEmail("john@example.com");
+		Optional<User> byId = userCache.get(1L);
+
+		assertSame(user, first.orElseThrow());
+		assertSame(user, second.orElseThrow());
+		assertSame(user, byId.orElseThrow());
+		verify(userRepository, times(1)).findByEmailKey("john@example.com");
+		verify(userRepository, never()).findById(1L);
+	}
+
+	/**
+	 * Tests that evicting a user drops cached misses, so a newly created user
+	 * is found at once.
+	 */
+	@Test
+	void testEvict_DropsCachedMisses() {
+		when(userRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(user));
+		when(userRepository.findByEmailKey("john@example.com"))
+				.thenReturn(Optional.empty(), Optional.of(user));
+
+		assertFalse(userCache.get(1L).isPresent());
+		assertFalse(userCache.getByEmail("john@example.com").isPresent());
+		userCache.evict(1L, "John@Example.com");
+
+		assertTrue(userCache.get(1L).isPresent());
+		assertTrue(userCache.getByEmail("john@example.com").isPresent());
+	}
+
+	/**
+	 * Tests that after an email change the old email no longer finds the user,
+	 * even if only the user was evicted.
+	 */
+	@Test
+	void testGetByEmail_EmailChanged() {
+		User renamed = new User();
+		renamed.setId(1L);
+		renamed.setEmail("jane@example.com");
+		when(userRepository.findByEmailKey("john@example.com"))
+				.thenReturn(Optional.of(user), Optional.empty());
+		when(userRepository.findById(1L)).thenReturn(Optional.of(renamed));
+
+		userCache.getByEmail("john@example.com");
+		userCache.evict(1L);
+
+		assertFalse(userCache.getByEmail("john@example.com").isPresent());
+		verify(userRepository, times(2)).findByEmailKey("john@example.com");
+	}
+}
@@ -1,12 +1,15 @@
 package com.fooddelivery.service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,9 +22,15 @@ import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import com.fooddelivery.dto.CursorPage;
+import com.fooddelivery.dto.IdCursor;
+import com.fooddelivery.exception.DuplicateEmailException;
 import com.fooddelivery.exception.UserNotFoundException;
 import com.fooddelivery.model.User;
 import com.fooddelivery.repository.UserRepository;
@@ -35,6 +44,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private RegisteredEmails registeredEmails;
+
     @InjectMocks
     private UserService userService;
 
@@ -58,13 +73,76 @@ class UserServiceTest {
      */
     @Test
     void testCreateUser_Success() {
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         User createdUser = userService.createUser(user);
 
         assertNotNull(createdUser);
         assertEquals("John Doe", createdUser.getName());
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+        verify(userRepository, never()).existsByEmailKey(any());
+        verify(registeredEmails, times(1)).add("john@example.com");
+        verify(userCache, times(1)).evict(1L, "john@example.com");
+    }
+
+    /**
+     * Tests that an email the filter cannot rule out is looked up, and
+     * rejected if another user has it in a different case.
+     */
+    @Test
+    void testCreateUser_DuplicateEmail() {
+        user.setEmail(" John@Example.com");
+        when(registeredEmails.mightBeRegistered(" John@Example.com")).thenReturn(true);
+        when(userRepository.existsByEmailKey("john@example.com")).thenReturn(true);
+
+        DuplicateEmailException exception = assertThrows(DuplicateEmailException.class,
+                () -> userService.createUser(user));
+
+        assertEquals("Email is already registered:  John@Example.com", exception.getMessage());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    /**
+     * Tests that a signup racing with another one for the same email is
+     * rejected by the unique index.
+     */
+    @Test
+    void testCreateUser_ConcurrentDuplicateEmail() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException(
+                        "Unique index or primary key violation: \"PUBLIC.UK_USER_EMAIL_KEY_INDEX_2 ON PUBLIC.USER(EMAIL_KEY)\"")));
+
+        assertThrows(DuplicateEmailException.class, () -> userService.createUser(user));
+
+        verify(registeredEmails, never()).add(any());
+        verifyNoInteractions(userCache);
+    }
+
+    /**
+     * Tests that other integrity violations are not reported as duplicate
+     * emails.
+     */
+    @Test
+    void testCreateUser_OtherViolation() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("NULL not allowed for column \"NAME\"")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(user));
+    }
+
+    /**
+     * Tests that an email the filter rules out is reported as free without a
+     * lookup.
+     */
+    @Test
+    void testIsEmailRegistered() {
+        when(registeredEmails.mightBeRegistered("new@example.com")).thenReturn(false);
+        when(registeredEmails.mightBeRegistered("john@example.com")).thenReturn(true);
+        when(userRepository.existsByEmailKey("john@example.com")).thenReturn(true);
+
+        assertFalse(userService.isEmailRegistered("new@example.com"));
+        assertTrue(userService.isEmailRegistered("john@example.com"));
+        verify(userRepository, never()).existsByEmailKey("new@example.com");
     }
 
     /**
@@ -72,13 +150,13 @@ class UserServiceTest {
      */
     @Test
     void testGetUserById_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.get(1L)).thenReturn(Optional.of(user));
 
         Optional<User> foundUser = userService.getUserById(1L);
 
         assertTrue(foundUser.isPresent());
         assertEquals(1L, foundUser.get().getId());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userCache, times(1)).get(1L);
     }
 
     /**
@@ -86,12 +164,12 @@ class UserServiceTest {
      */
     @Test
     void testGetUserById_NotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userCache.get(1L)).thenReturn(Optional.empty());
 
         Optional<User> foundUser = userService.getUserById(1L);
 
         assertFalse(foundUser.isPresent());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userCache, times(1)).get(1L);
     }
 
     /**
@@ -99,27 +177,62 @@ class UserServiceTest {
      */
     @Test
     void testGetUserByEmail_Success() {
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(userCache.getByEmail("john@example.com")).thenReturn(Optional.of(user));
 
         Optional<User> foundUser = userService.getUserByEmail("john@example.com");
 
         assertTrue(foundUser.isPresent());
         assertEquals("john@example.com", foundUser.get().getEmail());
-        verify(userRepository, times(1)).findByEmail("john@example.com");
+        verify(userCache, times(1)).getByEmail("john@example.com");
     }
 
     /**
-     * Tests retrieving all users.
+     * Tests retrieving the first page of users.
      */
     @Test
-    void testGetAllUsers_Success() {
+    void testGetUsers_FirstPage() {
         List<User> users = Arrays.asList(user, new User());
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findFirstPage(PageRequest.of(0, 51))).thenReturn(users);
+
+        CursorPage<User> page = userService.getUsers(null, 50);
 
-        List<User> foundUsers = userService.getAllUsers();
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+        verify(userRepository, times(1)).findFirstPage(PageRequest.of(0, 51));
+    }
 
-        assertEquals(2, foundUsers.size());
-        verify(userRepository, times(1)).findAll();
+    /**
+     * Tests that a full page returns a cursor after the last ID and that it is used
+     * to fetch the next page.
+     */
+    @Test
+    void testGetUsers_NextPage() {
+        User second = new User();
+        second.setId(2L);
+        User third = new User();
+        third.setId(3L);
+        when(userRepository.findFirstPage(PageRequest.of(0, 3))).thenReturn(Arrays.asList(user, second, third));
+        when(userRepository.findPageAfter(2L, PageRequest.of(0, 3))).thenReturn(List.of(third));
+
+        CursorPage<User> first = userService.getUsers(null, 2);
+        CursorPage<User> next = userService.getUsers(first.getNextCursor(), 2);
+
+        assertEquals(2L, IdCursor.decode(first.getNextCursor()).getId());
+        assertEquals(List.of(third), next.getItems());
+        assertNull(next.getNextCursor());
+    }
+
+    /**
+     * Tests streaming all users.
+     */
+    @Test
+    void testStreamAllUsers() {
+        when(userRepository.streamAll()).thenReturn(Stream.of(user));
+
+        List<User> streamed = new ArrayList<>();
+        userService.streamAllUsers(streamed::add);
+
+        assertEquals(List.of(user), streamed);
     }
 
     /**
@@ -134,7 +247,7 @@ class UserServiceTest {
         updatedUser.setAddress("New Address");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(updatedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(updatedUser);
 
         Optional<User> result = userService.updateUser(1L, updatedUser);
 
@@ -142,7 +255,9 @@ class UserServiceTest {
         assertEquals("Updated Name", result.get().getName());
         assertEquals("updated@example.com", result.get().getEmail());
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(registeredEmails, times(1)).add("updated@example.com");
+        verify(userCache, times(1)).evict(1L, "john@example.com", "updated@example.com");
     }
 
     /**
@@ -159,7 +274,27 @@ class UserServiceTest {
 
         assertFalse(result.isPresent());
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(userCache);
+    }
+
+    /**
+     * Tests that changing the email to one of another user is rejected.
+     */
+    @Test
+    void testUpdateUser_DuplicateEmail() {
+        User updatedUser = new User();
+        updatedUser.setName("John Doe");
+        updatedUser.setEmail("Jane@Example.com");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(registeredEmails.mightBeRegistered("jane@example.com")).thenReturn(true);
+        when(userRepository.existsByEmailKeyAndIdNot("jane@example.com", 1L)).thenReturn(true);
+
+        assertThrows(DuplicateEmailException.class, () -> userService.updateUser(1L, updatedUser));
+
+        assertEquals("john@example.com", user.getEmail());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     /**
@@ -173,6 +308,7 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).existsById(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(userCache, times(1)).evict(1L);
     }
 
     /**